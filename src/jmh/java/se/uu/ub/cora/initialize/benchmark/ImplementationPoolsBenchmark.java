@@ -0,0 +1,89 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.initialize.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import se.uu.ub.cora.initialize.ImplementationPools;
+import se.uu.ub.cora.initialize.InitializedTypes;
+import se.uu.ub.cora.initialize.SelectType;
+import se.uu.ub.cora.initialize.internal.ModuleStarterImp;
+import se.uu.ub.cora.logger.LoggerProvider;
+
+/**
+ * ImplementationPoolsBenchmark compares borrowing an implementation of one type from
+ * {@link ImplementationPools}, with one implementation for each available processor, to
+ * synchronizing on the one shared implementation from {@link InitializedTypes}, as an
+ * implementation that is not safe to share must do, read by as many threads as there are
+ * processors.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ImplementationPoolsBenchmark {
+	private static final String TYPE = "type0";
+	private InitializedTypes<SelectType> sharedTypes;
+	private ImplementationPools<SelectType> pools;
+
+	@Setup
+	public void setup() {
+		LoggerProvider.setLoggerFactory(new NoOpLoggerFactory());
+		ModuleStarterImp starter = new ModuleStarterImp();
+		sharedTypes = starter
+				.getImplementationBasedOnDeclaredSelectTypeThrowErrorIfNoneOrMoreThanOneForEachType(
+						SyntheticImplementations.createSelectTypeProviders(1), "SelectType");
+		pools = starter.getPoolOfEachTypeThrowErrorIfNoneOrMoreThanOneForEachType(
+				SyntheticImplementations.createSelectTypeProviders(1), "SelectType",
+				Runtime.getRuntime().availableProcessors());
+	}
+
+	@Benchmark
+	@Threads(Threads.MAX)
+	public int useSharedImplementation() {
+		SelectType implementation = sharedTypes.getImplementationByType(TYPE);
+		synchronized (implementation) {
+			return work(implementation);
+		}
+	}
+
+	private static int work(SelectType implementation) {
+		return implementation.getTypeToSelectImplementionsBy().hashCode();
+	}
+
+	@Benchmark
+	@Threads(Threads.MAX)
+	public int usePooledImplementation() {
+		return pools.withImplementation(TYPE, ImplementationPoolsBenchmark::work);
+	}
+}
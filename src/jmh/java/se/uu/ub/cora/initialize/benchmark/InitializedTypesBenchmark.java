@@ -0,0 +1,154 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.initialize.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import se.uu.ub.cora.initialize.InitializedTypes;
+import se.uu.ub.cora.initialize.MutableInitializedTypes;
+import se.uu.ub.cora.initialize.SelectType;
+import se.uu.ub.cora.initialize.TypeHandle;
+import se.uu.ub.cora.initialize.internal.ModuleStarterImp;
+import se.uu.ub.cora.logger.LoggerProvider;
+
+/**
+ * InitializedTypesBenchmark measures {@link InitializedTypes#getImplementationByType(String)} for
+ * eagerly created types and for declared types, created on first request, read by one thread and
+ * by as many threads as there are processors. Lookups using type names are compared with lookups
+ * using types resolved once to a {@link TypeHandle}, and lookups in a
+ * {@link MutableInitializedTypes} with the same types.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InitializedTypesBenchmark {
+
+	@Param({ "10", "100", "1000", "10000" })
+	int noOfTypes;
+
+	private InitializedTypes<SelectType> types;
+	private InitializedTypes<SelectType> declaredTypes;
+	private MutableInitializedTypes<SelectType> mutableTypes;
+	private String[] typeNames;
+	private TypeHandle[] typeHandles;
+	private TypeHandle[] declaredTypeHandles;
+
+	@Setup
+	public void setup() {
+		LoggerProvider.setLoggerFactory(new NoOpLoggerFactory());
+		ModuleStarterImp starter = new ModuleStarterImp();
+		types = starter.getImplementationBasedOnSelectTypeThrowErrorIfNoneOrMoreThanOneForEachType(
+				SyntheticImplementations.createSelectTypeImplementations(noOfTypes),
+				"SelectType");
+		declaredTypes = starter
+				.getImplementationBasedOnDeclaredSelectTypeThrowErrorIfNoneOrMoreThanOneForEachType(
+						SyntheticImplementations.createSelectTypeProviders(noOfTypes),
+						"SelectType");
+		mutableTypes = MutableInitializedTypes.create();
+		for (SelectType implementation : SyntheticImplementations
+				.createSelectTypeImplementations(noOfTypes)) {
+			mutableTypes.register(implementation);
+		}
+		typeNames = SyntheticImplementations.createTypeNames(noOfTypes);
+		typeHandles = resolveTypes(types);
+		declaredTypeHandles = resolveTypes(declaredTypes);
+	}
+
+	private TypeHandle[] resolveTypes(InitializedTypes<SelectType> initializedTypes) {
+		TypeHandle[] handles = new TypeHandle[typeNames.length];
+		for (int i = 0; i < typeNames.length; i++) {
+			handles[i] = initializedTypes.resolveType(typeNames[i]);
+		}
+		return handles;
+	}
+
+	@State(Scope.Thread)
+	public static class Lookup {
+		private int next;
+
+		String nextTypeName(String[] typeNames) {
+			next = (next + 1) % typeNames.length;
+			return typeNames[next];
+		}
+
+		TypeHandle nextTypeHandle(TypeHandle[] typeHandles) {
+			next = (next + 1) % typeHandles.length;
+			return typeHandles[next];
+		}
+	}
+
+	@Benchmark
+	public SelectType getImplementationByType(Lookup lookup) {
+		return types.getImplementationByType(lookup.nextTypeName(typeNames));
+	}
+
+	@Benchmark
+	public SelectType getImplementationByDeclaredType(Lookup lookup) {
+		return declaredTypes.getImplementationByType(lookup.nextTypeName(typeNames));
+	}
+
+	@Benchmark
+	public SelectType getImplementationByMutableType(Lookup lookup) {
+		return mutableTypes.getImplementationByType(lookup.nextTypeName(typeNames));
+	}
+
+	@Benchmark
+	public SelectType getImplementationByHandle(Lookup lookup) {
+		return types.getImplementationByHandle(lookup.nextTypeHandle(typeHandles));
+	}
+
+	@Benchmark
+	public SelectType getImplementationByDeclaredTypeHandle(Lookup lookup) {
+		return declaredTypes.getImplementationByHandle(lookup.nextTypeHandle(declaredTypeHandles));
+	}
+
+	@Benchmark
+	@Threads(Threads.MAX)
+	public SelectType getImplementationByTypeMultiThreaded(Lookup lookup) {
+		return types.getImplementationByType(lookup.nextTypeName(typeNames));
+	}
+
+	@Benchmark
+	@Threads(Threads.MAX)
+	public SelectType getImplementationByDeclaredTypeMultiThreaded(Lookup lookup) {
+		return declaredTypes.getImplementationByType(lookup.nextTypeName(typeNames));
+	}
+
+	@Benchmark
+	@Threads(Threads.MAX)
+	public SelectType getImplementationByHandleMultiThreaded(Lookup lookup) {
+		return types.getImplementationByHandle(lookup.nextTypeHandle(typeHandles));
+	}
+}
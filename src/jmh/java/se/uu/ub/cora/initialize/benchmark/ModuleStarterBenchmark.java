@@ -0,0 +1,93 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.initialize.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import se.uu.ub.cora.initialize.InitializedTypes;
+import se.uu.ub.cora.initialize.SelectOrder;
+import se.uu.ub.cora.initialize.SelectType;
+import se.uu.ub.cora.initialize.internal.ModuleStarter;
+import se.uu.ub.cora.initialize.internal.ModuleStarterImp;
+import se.uu.ub.cora.logger.LoggerProvider;
+
+/**
+ * ModuleStarterBenchmark measures how long {@link ModuleStarterImp} takes to choose
+ * implementations using each of its strategies, with synthetic implementations instead of
+ * implementations found using javas module system.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ModuleStarterBenchmark {
+	private static final String INTERFACE_NAME = "SomeInterface";
+
+	@Param({ "1", "10", "100" })
+	int noOfImplementations;
+
+	private ModuleStarter starter;
+	private List<SelectOrder> selectOrderImplementations;
+	private List<SelectOrder> onlyImplementation;
+	private List<SelectType> selectTypeImplementations;
+
+	@Setup
+	public void setup() {
+		LoggerProvider.setLoggerFactory(new NoOpLoggerFactory());
+		starter = new ModuleStarterImp();
+		selectOrderImplementations = SyntheticImplementations
+				.createSelectOrderImplementations(noOfImplementations);
+		onlyImplementation = SyntheticImplementations.createSelectOrderImplementations(1);
+		selectTypeImplementations = SyntheticImplementations
+				.createSelectTypeImplementations(noOfImplementations);
+	}
+
+	@Benchmark
+	public SelectOrder selectOrder() {
+		return starter.getImplementationBasedOnSelectOrderThrowErrorIfNone(
+				selectOrderImplementations, INTERFACE_NAME);
+	}
+
+	@Benchmark
+	public SelectOrder onlyExisting() {
+		return starter.getImplementationThrowErrorIfNoneOrMoreThanOne(onlyImplementation,
+				INTERFACE_NAME);
+	}
+
+	@Benchmark
+	public InitializedTypes<SelectType> oneOfEachType() {
+		return starter.getImplementationBasedOnSelectTypeThrowErrorIfNoneOrMoreThanOneForEachType(
+				selectTypeImplementations, INTERFACE_NAME);
+	}
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.initialize.benchmark;
+
+import se.uu.ub.cora.logger.Logger;
+import se.uu.ub.cora.logger.LoggerFactory;
+
+/**
+ * NoOpLoggerFactory creates loggers that discard all messages, so that benchmarks measure the
+ * initialize code and not logging.
+ */
+public class NoOpLoggerFactory implements LoggerFactory {
+
+	@Override
+	public Logger factorForClass(Class<? extends Object> javaClass) {
+		return new NoOpLogger();
+	}
+
+	private static class NoOpLogger implements Logger {
+
+		@Override
+		public void logFatalUsingMessage(String message) {
+			// discard
+		}
+
+		@Override
+		public void logFatalUsingMessageAndException(String message, Exception exception) {
+			// discard
+		}
+
+		@Override
+		public void logErrorUsingMessage(String message) {
+			// discard
+		}
+
+		@Override
+		public void logErrorUsingMessageAndException(String message, Exception exception) {
+			// discard
+		}
+
+		@Override
+		public void logWarnUsingMessage(String message) {
+			// discard
+		}
+
+		@Override
+		public void logWarnUsingMessageAndException(String message, Exception exception) {
+			// discard
+		}
+
+		@Override
+		public void logInfoUsingMessage(String message) {
+			// discard
+		}
+
+		@Override
+		public void logDebugUsingMessage(String message) {
+			// discard
+		}
+	}
+}
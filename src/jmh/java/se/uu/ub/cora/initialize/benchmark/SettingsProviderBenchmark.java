@@ -0,0 +1,111 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.initialize.benchmark;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import se.uu.ub.cora.initialize.InitializationException;
+import se.uu.ub.cora.initialize.SettingsProvider;
+import se.uu.ub.cora.logger.LoggerProvider;
+
+/**
+ * SettingsProviderBenchmark measures {@link SettingsProvider#getSetting(String)} for existing and
+ * missing settings, read by one thread and by as many threads as there are processors,
+ * {@link SettingsProvider#getIntSetting(String)} for a setting already converted and
+ * {@link SettingsProvider#getSettingOrDefault(String, String)} for a missing optional setting.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SettingsProviderBenchmark {
+	private static final String MISSING_NAME = "missingSetting";
+	private static final String INT_NAME = "intSetting";
+
+	@Param({ "10", "1000" })
+	int noOfSettings;
+
+	private String existingName;
+
+	@Setup
+	public void setup() {
+		LoggerProvider.setLoggerFactory(new NoOpLoggerFactory());
+		SettingsProvider.onlyForTestSetLogger(new NoOpLoggerFactory().factorForClass(getClass()));
+		Map<String, String> settings = new HashMap<>();
+		for (int i = 0; i < noOfSettings; i++) {
+			settings.put("setting" + i, "value" + i);
+		}
+		settings.put(INT_NAME, "42");
+		SettingsProvider.setSettings(settings);
+		existingName = "setting" + (noOfSettings / 2);
+	}
+
+	@Benchmark
+	public String getSettingHit() {
+		return SettingsProvider.getSetting(existingName);
+	}
+
+	@Benchmark
+	public Object getSettingMiss() {
+		try {
+			return SettingsProvider.getSetting(MISSING_NAME);
+		} catch (InitializationException e) {
+			return e;
+		}
+	}
+
+	@Benchmark
+	public String getSettingOrDefaultMiss() {
+		return SettingsProvider.getSettingOrDefault(MISSING_NAME, "default");
+	}
+
+	@Benchmark
+	public int getIntSettingHit() {
+		return SettingsProvider.getIntSetting(INT_NAME);
+	}
+
+	@Benchmark
+	@Threads(Threads.MAX)
+	public String getSettingHitMultiThreaded() {
+		return SettingsProvider.getSetting(existingName);
+	}
+
+	@Benchmark
+	@Threads(Threads.MAX)
+	public Object getSettingMissMultiThreaded() {
+		return getSettingMiss();
+	}
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.initialize.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ServiceLoader.Provider;
+
+import se.uu.ub.cora.initialize.SelectOrder;
+import se.uu.ub.cora.initialize.SelectType;
+
+/**
+ * SyntheticImplementations creates implementations and providers used as input to the benchmarks,
+ * instead of implementations found using javas module system.
+ */
+final class SyntheticImplementations {
+
+	private SyntheticImplementations() {
+		throw new UnsupportedOperationException();
+	}
+
+	static List<SelectOrder> createSelectOrderImplementations(int noOfImplementations) {
+		List<SelectOrder> implementations = new ArrayList<>(noOfImplementations);
+		for (int i = 0; i < noOfImplementations; i++) {
+			implementations.add(new SyntheticSelectOrder(i));
+		}
+		return implementations;
+	}
+
+	static List<SelectType> createSelectTypeImplementations(int noOfImplementations) {
+		List<SelectType> implementations = new ArrayList<>(noOfImplementations);
+		for (int i = 0; i < noOfImplementations; i++) {
+			implementations.add(new SyntheticSelectType(typeName(i)));
+		}
+		return implementations;
+	}
+
+	static List<Provider<SelectType>> createSelectTypeProviders(int noOfImplementations) {
+		List<Provider<SelectType>> providers = new ArrayList<>(noOfImplementations);
+		for (int i = 0; i < noOfImplementations; i++) {
+			providers.add(new SyntheticProvider(typeName(i)));
+		}
+		return providers;
+	}
+
+	static String[] createTypeNames(int noOfTypes) {
+		String[] typeNames = new String[noOfTypes];
+		for (int i = 0; i < noOfTypes; i++) {
+			typeNames[i] = typeName(i);
+		}
+		return typeNames;
+	}
+
+	private static String typeName(int i) {
+		return "type" + i;
+	}
+
+	record SyntheticSelectOrder(int selectOrder) implements SelectOrder {
+
+		@Override
+		public int getOrderToSelectImplementionsBy() {
+			return selectOrder;
+		}
+	}
+
+	record SyntheticSelectType(String selectType) implements SelectType {
+
+		@Override
+		public String getTypeToSelectImplementionsBy() {
+			return selectType;
+		}
+	}
+
+	private record SyntheticProvider(String selectType) implements Provider<SelectType> {
+
+		@Override
+		public Class<? extends SelectType> type() {
+			return SyntheticSelectType.class;
+		}
+
+		@Override
+		public SelectType get() {
+			return new SyntheticSelectType(selectType);
+		}
+	}
+}
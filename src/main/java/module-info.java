@@ -3,6 +3,7 @@ import se.uu.ub.cora.initialize.example.SelectTypeExample;
 
 module se.uu.ub.cora.initialize {
 	requires transitive se.uu.ub.cora.logger;
+	requires static jdk.jfr;
 
 	uses SelectOrderExample;
 	uses SelectTypeExample;
@@ -1,5 +1,5 @@
 /*
- * Copyright 2022 Uppsala University Library
+ * Copyright 2022, 2026 Uppsala University Library
  *
  * This file is part of Cora.
  *
@@ -18,21 +18,117 @@
  */
 package se.uu.ub.cora.initialize;
 
+import java.util.Collections;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.function.Function;
+
+/**
+ * AbstractProvider is the base for the static providers that give access to implementations loaded
+ * using a {@link ModuleInitializer}.
+ * </p>
+ * Providers should keep the implementations they load in {@link CachedImplementation}s created
+ * using {@link #cachedImplementation(Function)}, such as:
+ * 
+ * <pre>
+ * private static final CachedImplementation&lt;RecordStorageInstanceProvider&gt; instanceProvider =
+ * 		cachedImplementation(initializer -&gt; initializer
+ * 				.loadOneImplementationBySelectOrder(RecordStorageInstanceProvider.class));
+ * </pre>
+ * 
+ * so that the implementation is loaded once, when first needed, and every later lookup is a read
+ * of one field.
+ * </p>
+ * Created CachedImplementations are only referenced weakly by AbstractProvider, so that a provider
+ * class, and the class loader that loaded it, can be garbage collected when it is no longer used.
+ * </p>
+ * Tests can make all providers load using another ModuleInitializer, such as a spy, using
+ * {@link #useModuleInitializerForTests(ModuleInitializer)}.
+ */
 public abstract class AbstractProvider {
 
-	protected static ModuleInitializer moduleInitializer = new ModuleInitializerImp();
+	protected static volatile ModuleInitializer moduleInitializer = new ModuleInitializerImp();
+	private static final Set<CachedImplementation<?>> cachedImplementations = Collections
+			.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
 
 	protected AbstractProvider() {
 		// prevent call to constructor
 		throw new UnsupportedOperationException();
 	}
 
-	public static ModuleInitializer onlyForTestGetModuleInitializer() {
+	/**
+	 * useCachingModuleInitializer makes all providers load implementations through a
+	 * {@link CachingModuleInitializer}, so that an interface already loaded by one provider is not
+	 * scanned for again when it is requested by another provider.
+	 */
+	public static synchronized void useCachingModuleInitializer() {
+		if (!(moduleInitializer instanceof CachingModuleInitializer)) {
+			moduleInitializer = new CachingModuleInitializer(moduleInitializer);
+		}
+	}
+
+	/**
+	 * useSummaryLogging makes all providers load implementations through a
+	 * {@link ModuleInitializerImp} using {@link LoadLogging#SUMMARY}, so that only one line is
+	 * logged on info level for each loaded interface. If providers currently use a
+	 * {@link CachingModuleInitializer} is the new initializer also cached.
+	 */
+	public static synchronized void useSummaryLogging() {
+		ModuleInitializer summaryInitializer = new ModuleInitializerImp(LoadLogging.SUMMARY);
+		if (moduleInitializer instanceof CachingModuleInitializer) {
+			moduleInitializer = new CachingModuleInitializer(summaryInitializer);
+		} else {
+			moduleInitializer = summaryInitializer;
+		}
+	}
+
+	/**
+	 * cachedImplementation creates a {@link CachedImplementation} that uses the specified load to
+	 * load its implementation, with the ModuleInitializer used by all providers, the first time it
+	 * is requested.
+	 * 
+	 * @param <T>
+	 *            The type of the loaded implementation
+	 * @param load
+	 *            A Function loading the implementation using the ModuleInitializer it is given
+	 * @return A new CachedImplementation
+	 */
+	protected static <T> CachedImplementation<T> cachedImplementation(
+			Function<ModuleInitializer, T> load) {
+		CachedImplementation<T> cachedImplementation = new CachedImplementation<>(load);
+		cachedImplementations.add(cachedImplementation);
+		return cachedImplementation;
+	}
+
+	/**
+	 * resetCachedImplementations forgets the implementations loaded by all
+	 * {@link CachedImplementation}s, so that they are loaded again when next requested.
+	 */
+	static void resetCachedImplementations() {
+		synchronized (cachedImplementations) {
+			for (CachedImplementation<?> cachedImplementation : cachedImplementations) {
+				cachedImplementation.reset();
+			}
+		}
+	}
+
+	static ModuleInitializer getModuleInitializer() {
 		return moduleInitializer;
 	}
 
-	public static void onlyForTestSetModuleInitializer(ModuleInitializer moduleInitializer) {
+	/**
+	 * useModuleInitializerForTests sets the ModuleInitializer used by all providers, and forgets
+	 * the implementations loaded by all {@link CachedImplementation}s so that they are loaded using
+	 * the new ModuleInitializer when next requested. This is intended for tests, that can set a
+	 * spy before a test and a new {@link ModuleInitializerImp} after it.
+	 * 
+	 * @param moduleInitializer
+	 *            A ModuleInitializer to use
+	 */
+	public static synchronized void useModuleInitializerForTests(
+			ModuleInitializer moduleInitializer) {
 		AbstractProvider.moduleInitializer = moduleInitializer;
+		resetCachedImplementations();
 	}
 
 }
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.initialize;
+
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import se.uu.ub.cora.initialize.internal.OneTimeLoader;
+
+/**
+ * CachedImplementation holds the implementation a provider loads using the {@link ModuleInitializer}
+ * of {@link AbstractProvider}. The implementation is loaded the first time {@link #get()} is called,
+ * threads calling get at the same time wait for that load, and every later call returns the loaded
+ * implementation by reading one volatile field, without locking and without allocating.
+ * </p>
+ * If the load throws an exception is nothing kept, and the next call to get loads again.
+ * </p>
+ * CachedImplementations are created using {@link AbstractProvider#cachedImplementation(Function)}
+ * and are intended to be kept in a static final field of the provider, so that it is safe to read
+ * from any thread. The JIT can treat that field as a constant, but not the loaded implementation,
+ * which is read from the volatile field on every call, as it can be reset.
+ * 
+ * @param <T>
+ *            The type of the loaded implementation
+ */
+public final class CachedImplementation<T> implements Supplier<T> {
+	private final OneTimeLoader<T> loader = new OneTimeLoader<>();
+	private final Supplier<T> loadUsingCurrentInitializer;
+
+	CachedImplementation(Function<ModuleInitializer, T> load) {
+		loadUsingCurrentInitializer = () -> load.apply(AbstractProvider.moduleInitializer);
+	}
+
+	/**
+	 * get returns the cached implementation, loading it using the current {@link ModuleInitializer}
+	 * of {@link AbstractProvider} if it is not already loaded.
+	 * 
+	 * @return The loaded implementation
+	 */
+	@Override
+	public T get() {
+		return loader.getOrLoad(loadUsingCurrentInitializer);
+	}
+
+	/**
+	 * isLoaded returns if the implementation is loaded
+	 * 
+	 * @return A boolean, true if the implementation is loaded
+	 */
+	public boolean isLoaded() {
+		return loader.isLoaded();
+	}
+
+	/**
+	 * reset forgets the loaded implementation, so that the next call to {@link #get()} loads it
+	 * again. This is intended for tests, and is done for all CachedImplementations when a new
+	 * ModuleInitializer is set using
+	 * {@link AbstractProvider#useModuleInitializerForTests(ModuleInitializer)}.
+	 */
+	public void reset() {
+		loader.clear();
+	}
+}
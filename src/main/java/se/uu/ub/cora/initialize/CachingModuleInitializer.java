@@ -0,0 +1,173 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.initialize;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import se.uu.ub.cora.initialize.internal.OneTimeLoader;
+
+/**
+ * CachingModuleInitializer is a {@link ModuleInitializer} that remembers what has been loaded for
+ * each requested interface, so that later requests for the same interface get the already loaded
+ * result instead of a new scan for implementations.
+ * </p>
+ * Requests for an interface that is not yet loaded are coalesced, one thread does the loading using
+ * the wrapped {@link ModuleInitializer} while other threads requesting the same interface wait for
+ * its result. A failed load is not remembered, the next request for the interface tries again.
+ * </p>
+ * Note that as the same instance is returned for all requests of an interface, must the loaded
+ * implementations be safe to share. Pools loaded using {@link #loadPoolOfEachType(Class, int)} are
+ * also shared, the max number of instances for each type is the one from the first request.
+ * </p>
+ * {@link #clear()} forgets everything loaded, so that nothing loaded is kept reachable from this
+ * CachingModuleInitializer, and closes loaded {@link ThreadConfinedTypes} so that their
+ * implementations are not kept reachable from the threads that used them.
+ */
+public class CachingModuleInitializer implements ModuleInitializer {
+	private final ModuleInitializer moduleInitializer;
+	private final Set<OneTimeLoader<Object>> loaders = ConcurrentHashMap.newKeySet();
+	private final ClassValue<OneTimeLoader<Object>> loadedBySelectOrder = new LoadedForClass();
+	private final ClassValue<OneTimeLoader<Object>> loadedByDeclaredSelectOrder = new LoadedForClass();
+	private final ClassValue<OneTimeLoader<Object>> loadedOnlyExisting = new LoadedForClass();
+	private final ClassValue<OneTimeLoader<Object>> loadedLazyByDeclaredSelectOrder =
+			new LoadedForClass();
+	private final ClassValue<OneTimeLoader<Object>> loadedLazyOnlyExisting = new LoadedForClass();
+	private final ClassValue<OneTimeLoader<Object>> loadedOfEachType = new LoadedForClass();
+	private final ClassValue<OneTimeLoader<Object>> loadedOfEachDeclaredType = new LoadedForClass();
+	private final ClassValue<OneTimeLoader<Object>> loadedPoolOfEachType = new LoadedForClass();
+	private final ClassValue<OneTimeLoader<Object>> loadedThreadConfinedOfEachType =
+			new LoadedForClass();
+	private final Set<ThreadConfinedTypes<?>> loadedConfinedTypes = ConcurrentHashMap
+			.newKeySet();
+
+	public CachingModuleInitializer() {
+		this(new ModuleInitializerImp());
+	}
+
+	public CachingModuleInitializer(ModuleInitializer moduleInitializer) {
+		this.moduleInitializer = moduleInitializer;
+	}
+
+	@Override
+	public <T extends SelectOrder> T loadOneImplementationBySelectOrder(Class<T> classToLoad) {
+		return classToLoad.cast(loadedBySelectOrder.get(classToLoad).getOrLoad(
+				() -> moduleInitializer.loadOneImplementationBySelectOrder(classToLoad)));
+	}
+
+	@Override
+	public <T extends SelectOrder> T loadOneImplementationByDeclaredSelectOrder(
+			Class<T> classToLoad) {
+		return classToLoad.cast(loadedByDeclaredSelectOrder.get(classToLoad).getOrLoad(
+				() -> moduleInitializer.loadOneImplementationByDeclaredSelectOrder(classToLoad)));
+	}
+
+	@Override
+	public <T> T loadTheOnlyExistingImplementation(Class<T> classToLoad) {
+		return classToLoad.cast(loadedOnlyExisting.get(classToLoad).getOrLoad(
+				() -> moduleInitializer.loadTheOnlyExistingImplementation(classToLoad)));
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T extends SelectType> InitializedTypes<T> loadOneImplementationOfEachType(
+			Class<T> classToLoad) {
+		return (InitializedTypes<T>) loadedOfEachType.get(classToLoad).getOrLoad(
+				() -> moduleInitializer.loadOneImplementationOfEachType(classToLoad));
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T extends SelectType> InitializedTypes<T> loadOneImplementationOfEachDeclaredType(
+			Class<T> classToLoad) {
+		return (InitializedTypes<T>) loadedOfEachDeclaredType.get(classToLoad).getOrLoad(
+				() -> moduleInitializer.loadOneImplementationOfEachDeclaredType(classToLoad));
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T extends SelectOrder> LazyImplementation<T> loadLazyImplementationByDeclaredSelectOrder(
+			Class<T> classToLoad) {
+		return (LazyImplementation<T>) loadedLazyByDeclaredSelectOrder.get(classToLoad).getOrLoad(
+				() -> moduleInitializer.loadLazyImplementationByDeclaredSelectOrder(classToLoad));
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T> LazyImplementation<T> loadLazyTheOnlyExistingImplementation(Class<T> classToLoad) {
+		return (LazyImplementation<T>) loadedLazyOnlyExisting.get(classToLoad).getOrLoad(
+				() -> moduleInitializer.loadLazyTheOnlyExistingImplementation(classToLoad));
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T extends SelectType> ImplementationPools<T> loadPoolOfEachType(Class<T> classToLoad,
+			int maxInstancesPerType) {
+		return (ImplementationPools<T>) loadedPoolOfEachType.get(classToLoad).getOrLoad(
+				() -> moduleInitializer.loadPoolOfEachType(classToLoad, maxInstancesPerType));
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T extends SelectType> ThreadConfinedTypes<T> loadThreadConfinedOfEachType(
+			Class<T> classToLoad) {
+		return (ThreadConfinedTypes<T>) loadedThreadConfinedOfEachType.get(classToLoad)
+				.getOrLoad(() -> loadAndRememberThreadConfinedOfEachType(classToLoad));
+	}
+
+	private <T extends SelectType> ThreadConfinedTypes<T> loadAndRememberThreadConfinedOfEachType(
+			Class<T> classToLoad) {
+		ThreadConfinedTypes<T> confinedTypes = moduleInitializer
+				.loadThreadConfinedOfEachType(classToLoad);
+		loadedConfinedTypes.add(confinedTypes);
+		return confinedTypes;
+	}
+
+	/**
+	 * clear forgets everything loaded by this CachingModuleInitializer, later requests for an
+	 * interface loads it again using the wrapped {@link ModuleInitializer}. Loaded
+	 * {@link ThreadConfinedTypes} are closed.
+	 */
+	public void clear() {
+		for (OneTimeLoader<Object> loader : loaders) {
+			loader.clear();
+		}
+		closeLoadedConfinedTypes();
+	}
+
+	private void closeLoadedConfinedTypes() {
+		for (ThreadConfinedTypes<?> confinedTypes : loadedConfinedTypes) {
+			loadedConfinedTypes.remove(confinedTypes);
+			confinedTypes.close();
+		}
+	}
+
+	ModuleInitializer onlyForTestGetModuleInitializer() {
+		return moduleInitializer;
+	}
+
+	private class LoadedForClass extends ClassValue<OneTimeLoader<Object>> {
+		@Override
+		protected OneTimeLoader<Object> computeValue(Class<?> type) {
+			OneTimeLoader<Object> loader = new OneTimeLoader<>();
+			loaders.add(loader);
+			return loader;
+		}
+	}
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.initialize;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * DeclaredSelectOrder declares the select order of a {@link SelectOrder} implementation on the
+ * implementing class, so that the select order can be read without creating an instance of the
+ * class.
+ * </p>
+ * The declared value should be the same as the value returned from
+ * {@link SelectOrder#getOrderToSelectImplementionsBy()}, when an implementation is loaded using
+ * {@link ModuleInitializer#loadOneImplementationByDeclaredSelectOrder(Class)} is the declared value
+ * used.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface DeclaredSelectOrder {
+	/**
+	 * value is the select order of the annotated implementation
+	 * 
+	 * @return an int with the implementations select order
+	 */
+	int value();
+}
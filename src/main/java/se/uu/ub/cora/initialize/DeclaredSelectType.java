@@ -0,0 +1,47 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.initialize;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * DeclaredSelectType declares the select type of a {@link SelectType} implementation on the
+ * implementing class, so that the select type can be read without creating an instance of the
+ * class.
+ * </p>
+ * The declared value should be the same as the value returned from
+ * {@link SelectType#getTypeToSelectImplementionsBy()}, when implementations are loaded using
+ * {@link ModuleInitializer#loadOneImplementationOfEachDeclaredType(Class)} is the declared value
+ * used.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface DeclaredSelectType {
+	/**
+	 * value is the select type of the annotated implementation
+	 * 
+	 * @return a String with the implementations select type
+	 */
+	String value();
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.initialize;
+
+import java.time.Duration;
+import java.util.ServiceLoader.Provider;
+
+import se.uu.ub.cora.initialize.internal.OneTimeLoader;
+
+/**
+ * DeferredImplementation is the {@link LazyImplementation} returned by
+ * {@link ModuleInitializerImp}, it creates the implementation using the chosen provider and adds
+ * the time it took to the {@link InitializationReport}.
+ */
+class DeferredImplementation<T> implements LazyImplementation<T> {
+	private final String interfaceName;
+	private final Provider<T> provider;
+	private final String className;
+	private final InitializationReport report;
+	private final OneTimeLoader<T> implementation = new OneTimeLoader<>();
+
+	DeferredImplementation(String interfaceName, Provider<T> provider,
+			InitializationReport report) {
+		this.interfaceName = interfaceName;
+		this.provider = provider;
+		this.className = provider.type().getName();
+		this.report = report;
+	}
+
+	@Override
+	public T get() {
+		return implementation.getOrLoad(this::createAndReportImplementation);
+	}
+
+	private T createAndReportImplementation() {
+		long startTime = System.nanoTime();
+		T createdImplementation = provider.get();
+		report.addDeferredInstantiation(new DeferredInstantiation(interfaceName,
+				createdImplementation.getClass().getName(),
+				Duration.ofNanos(System.nanoTime() - startTime)));
+		return createdImplementation;
+	}
+
+	@Override
+	public String getClassName() {
+		return className;
+	}
+
+	@Override
+	public boolean isCreated() {
+		return implementation.isLoaded();
+	}
+
+	@Override
+	public String toString() {
+		return "LazyImplementation of " + interfaceName + ": " + className;
+	}
+}
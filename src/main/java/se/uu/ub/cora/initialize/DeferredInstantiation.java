@@ -0,0 +1,35 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.initialize;
+
+import java.time.Duration;
+
+/**
+ * DeferredInstantiation holds the time it took to create a {@link LazyImplementation}, which is
+ * created after its load is finished.
+ * 
+ * @param interfaceName
+ *            the name of the interface the implementation was loaded for
+ * @param className
+ *            the name of the created class
+ * @param duration
+ *            the time it took to create the implementation
+ */
+public record DeferredInstantiation(String interfaceName, String className, Duration duration) {
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.initialize;
+
+import java.util.function.Function;
+
+/**
+ * ImplementationPools holds a bounded pool of implementations for each type, for implementations
+ * that are not safe to share between threads, such as implementations keeping parsers or buffers.
+ * Instead of one shared implementation for each type, as in {@link InitializedTypes}, is an
+ * implementation borrowed using {@link #borrow(String)} and given back using
+ * {@link #giveBack(String, SelectType)} when the caller is done with it.
+ * </p>
+ * New implementations are created by the found provider of the type when no implementation is
+ * idle, until the pool holds the max number of implementations for a type, after that must callers
+ * wait for an implementation to be given back. How the pool of a type is used is available using
+ * {@link #getStatistics(String)}.
+ */
+public interface ImplementationPools<T extends SelectType> {
+
+	/**
+	 * borrow returns an implementation for the type, that must not be used by other threads until
+	 * it is given back using {@link #giveBack(String, SelectType)}. If all implementations of the
+	 * type are borrowed and the pool is full, borrow waits until one is given back.
+	 * 
+	 * @param type
+	 *            The type to borrow an implementation for
+	 * @return An implementation for the type
+	 * @throws InitializationException
+	 *             if no implementation exists for the type or if interrupted while waiting
+	 */
+	T borrow(String type);
+
+	/**
+	 * giveBack returns an implementation borrowed using {@link #borrow(String)} to the pool of the
+	 * type, the implementation must not be used by the caller afterwards.
+	 * 
+	 * @param type
+	 *            The type the implementation was borrowed for
+	 * @param implementation
+	 *            The borrowed implementation
+	 * @throws InitializationException
+	 *             if no implementation exists for the type or if more implementations are given
+	 *             back than borrowed
+	 */
+	void giveBack(String type, T implementation);
+
+	/**
+	 * getStatistics returns counters for how the pool of the type has been used
+	 * 
+	 * @param type
+	 *            The type to get statistics for
+	 * @return A {@link PoolStatistics} for the pool of the type
+	 * @throws InitializationException
+	 *             if no implementation exists for the type
+	 */
+	PoolStatistics getStatistics(String type);
+
+	/**
+	 * withImplementation borrows an implementation for the type, calls work with it and gives it
+	 * back, also if work throws an exception.
+	 * 
+	 * @param <R>
+	 *            The type of result from work
+	 * @param type
+	 *            The type to borrow an implementation for
+	 * @param work
+	 *            The function to call with the borrowed implementation
+	 * @return The result of work
+	 */
+	default <R> R withImplementation(String type, Function<T, R> work) {
+		T implementation = borrow(type);
+		try {
+			return work.apply(implementation);
+		} finally {
+			giveBack(type, implementation);
+		}
+	}
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.initialize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * ImplementationRequests collects the interfaces to load using
+ * {@link ModuleInitializer#loadImplementations(ImplementationRequests)}, together with the
+ * {@link LoadStrategy} to use for each interface. Requesting the same interface with the same
+ * strategy more than once only loads it once.
+ * </p>
+ * Loaded implementations that are {@link Warmable} are warmed up before they are returned, within
+ * the budget set using {@link #warmUpWithin(Duration)}, by default {@link #DEFAULT_WARM_UP_BUDGET}.
+ */
+public class ImplementationRequests {
+	public static final Duration DEFAULT_WARM_UP_BUDGET = Duration.ofSeconds(30);
+	private final Set<ImplementationRequest> requests = new LinkedHashSet<>();
+	private Duration warmUpBudget = DEFAULT_WARM_UP_BUDGET;
+
+	/**
+	 * ImplementationRequests creates an empty set of requests, with the warm-up budget set to
+	 * {@link #DEFAULT_WARM_UP_BUDGET}.
+	 */
+	public ImplementationRequests() {
+		// requests are added using the request methods
+	}
+
+	public ImplementationRequests bySelectOrder(Class<? extends SelectOrder> classToLoad) {
+		return add(LoadStrategy.SELECT_ORDER, classToLoad);
+	}
+
+	public ImplementationRequests byDeclaredSelectOrder(Class<? extends SelectOrder> classToLoad) {
+		return add(LoadStrategy.DECLARED_SELECT_ORDER, classToLoad);
+	}
+
+	public ImplementationRequests theOnlyExisting(Class<?> classToLoad) {
+		return add(LoadStrategy.ONLY_EXISTING, classToLoad);
+	}
+
+	public ImplementationRequests lazyByDeclaredSelectOrder(
+			Class<? extends SelectOrder> classToLoad) {
+		return add(LoadStrategy.LAZY_DECLARED_SELECT_ORDER, classToLoad);
+	}
+
+	public ImplementationRequests lazyTheOnlyExisting(Class<?> classToLoad) {
+		return add(LoadStrategy.LAZY_ONLY_EXISTING, classToLoad);
+	}
+
+	public ImplementationRequests ofEachType(Class<? extends SelectType> classToLoad) {
+		return add(LoadStrategy.EACH_TYPE, classToLoad);
+	}
+
+	public ImplementationRequests ofEachDeclaredType(Class<? extends SelectType> classToLoad) {
+		return add(LoadStrategy.EACH_DECLARED_TYPE, classToLoad);
+	}
+
+	public ImplementationRequests poolOfEachType(Class<? extends SelectType> classToLoad) {
+		return add(LoadStrategy.POOL_OF_EACH_TYPE, classToLoad);
+	}
+
+	public ImplementationRequests threadConfinedOfEachType(
+			Class<? extends SelectType> classToLoad) {
+		return add(LoadStrategy.THREAD_CONFINED_OF_EACH_TYPE, classToLoad);
+	}
+
+	/**
+	 * warmUpWithin sets the time that warm-ups of {@link Warmable} implementations are allowed to
+	 * take together, as they run at the same time is this the time allowed for the slowest warm-up.
+	 * 
+	 * @param budget
+	 *            A Duration with the time allowed for warm-ups
+	 * @return This ImplementationRequests
+	 */
+	public ImplementationRequests warmUpWithin(Duration budget) {
+		warmUpBudget = budget;
+		return this;
+	}
+
+	Duration getWarmUpBudget() {
+		return warmUpBudget;
+	}
+
+	private ImplementationRequests add(LoadStrategy strategy, Class<?> classToLoad) {
+		requests.add(new ImplementationRequest(strategy, classToLoad));
+		return this;
+	}
+
+	List<ImplementationRequest> getRequests() {
+		return new ArrayList<>(requests);
+	}
+
+	record ImplementationRequest(LoadStrategy strategy, Class<?> classToLoad) {
+		Object load(ModuleInitializer moduleInitializer) {
+			return strategy.load(moduleInitializer, classToLoad);
+		}
+
+		String describe() {
+			return classToLoad.getSimpleName() + " (" + strategy + ")";
+		}
+	}
+}
@@ -0,0 +1,294 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.initialize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import se.uu.ub.cora.initialize.internal.JsonWriter;
+
+/**
+ * InitializationReport collects a {@link LoadReport} for each load done by a
+ * {@link ModuleInitializerImp}, so that it is possible to see which interfaces and implementations
+ * make startup slow, and a {@link WarmUpReport} for each warm-up done when loading using
+ * {@link ModuleInitializer#loadImplementations(ImplementationRequests)}. Implementations created
+ * after their load is finished, by a {@link LazyImplementation} or by the {@link InitializedTypes}
+ * returned from {@link ModuleInitializer#loadOneImplementationOfEachDeclaredType(Class)}, are
+ * reported as a {@link DeferredInstantiation}.
+ * </p>
+ * The report for the running system is found using {@link #getReport()}, it can be inspected
+ * using {@link #getLoads()}, {@link #getWarmUps()} and {@link #getDeferredInstantiations()} or
+ * serialized using {@link #toJson()}.
+ * </p>
+ * The interfaces and implementations named in the report can be exported as a class list using
+ * {@link #toClassList()} or {@link #writeClassList(Path)}, as a starting point for a CDS archive
+ * of the classes initialization needs.
+ * </p>
+ * The report keeps at most the latest {@value #MAX_ENTRIES} loads, warm-ups and deferred
+ * instantiations each, older entries are dropped, so that a long running system that loads again,
+ * such as when plugin layers are replaced, does not grow the report without bound. The report can
+ * be emptied using {@link #clear()}, for instance when startup has been inspected.
+ */
+public class InitializationReport {
+	static final int MAX_ENTRIES = 10_000;
+	private static final InitializationReport REPORT = new InitializationReport();
+	private final BoundedEntries<LoadReport> loads;
+	private final BoundedEntries<WarmUpReport> warmUps;
+	private final BoundedEntries<DeferredInstantiation> deferredInstantiations;
+
+	InitializationReport() {
+		this(MAX_ENTRIES);
+	}
+
+	InitializationReport(int maxEntries) {
+		loads = new BoundedEntries<>(maxEntries);
+		warmUps = new BoundedEntries<>(maxEntries);
+		deferredInstantiations = new BoundedEntries<>(maxEntries);
+	}
+
+	/**
+	 * getReport returns the report holding all loads done by ModuleInitializers in the running
+	 * system.
+	 * 
+	 * @return the InitializationReport for the running system
+	 */
+	public static InitializationReport getReport() {
+		return REPORT;
+	}
+
+	void addLoad(LoadReport loadReport) {
+		loads.add(loadReport);
+	}
+
+	/**
+	 * getLoads returns all loads in the order they finished
+	 * 
+	 * @return A List with a {@link LoadReport} for each finished load
+	 */
+	public List<LoadReport> getLoads() {
+		return loads.toList();
+	}
+
+	/**
+	 * getLoadsForInterface returns all loads of the specified interface
+	 * 
+	 * @param interfaceName
+	 *            The fully qualified name of the interface
+	 * @return A List with a {@link LoadReport} for each finished load of the interface
+	 */
+	public List<LoadReport> getLoadsForInterface(String interfaceName) {
+		List<LoadReport> loadsForInterface = new ArrayList<>();
+		for (LoadReport load : loads.toList()) {
+			if (load.interfaceName().equals(interfaceName)) {
+				loadsForInterface.add(load);
+			}
+		}
+		return loadsForInterface;
+	}
+
+	void addWarmUp(WarmUpReport warmUpReport) {
+		warmUps.add(warmUpReport);
+	}
+
+	/**
+	 * getWarmUps returns all warm-ups in the order they were reported
+	 * 
+	 * @return A List with a {@link WarmUpReport} for each warm-up
+	 */
+	public List<WarmUpReport> getWarmUps() {
+		return warmUps.toList();
+	}
+
+	void addDeferredInstantiation(DeferredInstantiation deferredInstantiation) {
+		deferredInstantiations.add(deferredInstantiation);
+	}
+
+	/**
+	 * getDeferredInstantiations returns all implementations created after their load was finished,
+	 * by a {@link LazyImplementation} or by the {@link InitializedTypes} returned from
+	 * {@link ModuleInitializer#loadOneImplementationOfEachDeclaredType(Class)}, in the order they
+	 * were created
+	 * 
+	 * @return A List with a {@link DeferredInstantiation} for each created implementation
+	 */
+	public List<DeferredInstantiation> getDeferredInstantiations() {
+		return deferredInstantiations.toList();
+	}
+
+	/**
+	 * toJson returns all loads, warm-ups and deferred instantiations as a JSON object, with all
+	 * durations in nanoseconds.
+	 * 
+	 * @return A String with the report as JSON
+	 */
+	public String toJson() {
+		JsonWriter json = new JsonWriter().beginObject();
+		json.name("loads").beginArray();
+		for (LoadReport load : loads.toList()) {
+			writeLoad(json, load);
+		}
+		json.endArray().name("warmUps").beginArray();
+		for (WarmUpReport warmUp : warmUps.toList()) {
+			writeWarmUp(json, warmUp);
+		}
+		json.endArray().name("deferredInstantiations").beginArray();
+		for (DeferredInstantiation deferred : deferredInstantiations.toList()) {
+			writeDeferred(json, deferred);
+		}
+		return json.endArray().endObject().toString();
+	}
+
+	private void writeLoad(JsonWriter json, LoadReport load) {
+		json.beginObject().name("interfaceName").value(load.interfaceName());
+		json.name("strategy").value(load.strategy().name());
+		json.name("candidateCount").value(load.candidateCount());
+		json.name("chosenClassName").value(load.chosenClassName());
+		json.name("discoveryNanos").value(load.discovery().toNanos());
+		json.name("instantiations").beginArray();
+		for (CandidateInstantiation instantiation : load.instantiations()) {
+			json.beginObject().name("className").value(instantiation.className());
+			json.name("nanos").value(instantiation.duration().toNanos()).endObject();
+		}
+		json.endArray().name("selectionNanos").value(load.selection().toNanos());
+		json.name("totalNanos").value(load.total().toNanos()).endObject();
+	}
+
+	private void writeWarmUp(JsonWriter json, WarmUpReport warmUp) {
+		json.beginObject().name("interfaceName").value(warmUp.interfaceName());
+		json.name("className").value(warmUp.className());
+		json.name("outcome").value(warmUp.outcome().name());
+		json.name("nanos").value(warmUp.duration().toNanos());
+		json.name("failure").value(warmUp.failure()).endObject();
+	}
+
+	private void writeDeferred(JsonWriter json, DeferredInstantiation deferred) {
+		json.beginObject().name("interfaceName").value(deferred.interfaceName());
+		json.name("className").value(deferred.className());
+		json.name("nanos").value(deferred.duration().toNanos()).endObject();
+	}
+
+	/**
+	 * toClassList returns the names of all loaded interfaces, all instantiated implementations and
+	 * all implementations reported as a {@link DeferredInstantiation}, in the class list format
+	 * read by the JVM option -XX:SharedClassListFile when dumping a CDS archive. Each class is
+	 * listed once, in the order it was first reported. Super classes and interfaces of the listed
+	 * classes are archived by the JVM without being listed.
+	 * </p>
+	 * The list only holds the classes named in the report, not all classes loaded during
+	 * initialization. Classes the implementations use, and implementations not yet created when
+	 * the list is made, are not listed. A complete list of the loaded classes is written by the
+	 * JVM option -XX:DumpLoadedClassList. Only classes from the class path or module path are
+	 * archived, classes loaded from a {@link PluginLayer} are skipped by the JVM when dumping.
+	 * 
+	 * @return A String with the class list
+	 */
+	public String toClassList() {
+		StringBuilder classList = new StringBuilder(
+				"# Classes used by ModuleInitializers, for -XX:SharedClassListFile\n");
+		for (String className : collectClassNames()) {
+			classList.append(className.replace('.', '/')).append('\n');
+		}
+		return classList.toString();
+	}
+
+	private Set<String> collectClassNames() {
+		Set<String> classNames = new LinkedHashSet<>();
+		for (LoadReport load : loads.toList()) {
+			addClassName(classNames, load.interfaceName());
+			for (CandidateInstantiation instantiation : load.instantiations()) {
+				addClassName(classNames, instantiation.className());
+			}
+			addClassName(classNames, load.chosenClassName());
+		}
+		for (DeferredInstantiation deferred : deferredInstantiations.toList()) {
+			addClassName(classNames, deferred.interfaceName());
+			addClassName(classNames, deferred.className());
+		}
+		return classNames;
+	}
+
+	private void addClassName(Set<String> classNames, String className) {
+		if (className != null && className.indexOf('/') == -1) {
+			classNames.add(className);
+		}
+	}
+
+	/**
+	 * writeClassList writes the class list returned by {@link #toClassList()} to the specified
+	 * file, replacing the file if it exists.
+	 * </p>
+	 * If the file can not be written MUST an {@link InitializationException} be thrown.
+	 * 
+	 * @param classListFile
+	 *            The Path of the file to write
+	 */
+	public void writeClassList(Path classListFile) {
+		try {
+			Files.writeString(classListFile, toClassList());
+		} catch (IOException e) {
+			throw new InitializationException("Could not write class list to: " + classListFile,
+					e);
+		}
+	}
+
+	/**
+	 * clear empties the report, loads, warm-ups and deferred instantiations reported after clear
+	 * are kept as before.
+	 */
+	public void clear() {
+		loads.clear();
+		warmUps.clear();
+		deferredInstantiations.clear();
+	}
+
+	/**
+	 * BoundedEntries keeps the latest entries up to a max number, adding an entry to a full
+	 * BoundedEntries drops the oldest entry. Adding is done in constant time, reading copies the
+	 * entries.
+	 */
+	private static final class BoundedEntries<E> {
+		private final int maxEntries;
+		private final ArrayDeque<E> entries = new ArrayDeque<>();
+
+		BoundedEntries(int maxEntries) {
+			this.maxEntries = maxEntries;
+		}
+
+		synchronized void add(E entry) {
+			if (entries.size() == maxEntries) {
+				entries.removeFirst();
+			}
+			entries.addLast(entry);
+		}
+
+		synchronized List<E> toList() {
+			return List.copyOf(entries);
+		}
+
+		synchronized void clear() {
+			entries.clear();
+		}
+	}
+}
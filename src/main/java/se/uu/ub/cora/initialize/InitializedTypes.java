@@ -18,8 +18,14 @@
  */
 package se.uu.ub.cora.initialize;
 
+import java.util.Set;
+
 /**
  * InitializedTypes holds one implementation for each type.
+ * </p>
+ * Callers that use the same types many times can resolve each type once using
+ * {@link #resolveType(String)}, and then fetch implementations using
+ * {@link #getImplementationByHandle(TypeHandle)}.
  */
 public interface InitializedTypes<T extends SelectType> {
 	/**
@@ -36,4 +42,51 @@ public interface InitializedTypes<T extends SelectType> {
 	 *             {@link InitializationException} be thrown.
 	 */
 	T getImplementationByType(String type);
+
+	/**
+	 * resolveType resolves the type once, so that the implementation for it can later be fetched
+	 * using {@link #getImplementationByHandle(TypeHandle)}. The default implementation looks up the
+	 * type using {@link #getImplementationByType(String)} both when resolving and when fetching.
+	 * 
+	 * @param type
+	 *            The type to resolve
+	 * @return A {@link TypeHandle} for the type
+	 * 
+	 * @throws InitializationException
+	 *             If no implementation exists for the type should an
+	 *             {@link InitializationException} be thrown.
+	 */
+	default TypeHandle resolveType(String type) {
+		if (getImplementationByType(type) == null) {
+			throw new InitializationException("No implementation found for type: " + type);
+		}
+		return new TypeHandle(this, type, TypeHandle.NO_SLOT);
+	}
+
+	/**
+	 * getImplementationByHandle returns the implementation for a type resolved using
+	 * {@link #resolveType(String)}.
+	 * 
+	 * @param handle
+	 *            The {@link TypeHandle} for the type
+	 * @return The found implementation of type T <SelectType>.
+	 * 
+	 * @throws InitializationException
+	 *             If no implementation exists for the type should an
+	 *             {@link InitializationException} be thrown.
+	 */
+	default T getImplementationByHandle(TypeHandle handle) {
+		return getImplementationByType(handle.type());
+	}
+
+	/**
+	 * getTypes returns the types that this InitializedTypes has implementations for. The default
+	 * implementation throws an InitializationException, as the types can not be listed using the
+	 * other methods of this interface.
+	 * 
+	 * @return An unmodifiable Set with the types
+	 */
+	default Set<String> getTypes() {
+		throw new InitializationException("getTypes is not supported by " + getClass().getName());
+	}
 }
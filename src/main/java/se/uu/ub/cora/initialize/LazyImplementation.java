@@ -0,0 +1,56 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.initialize;
+
+import java.util.function.Supplier;
+
+/**
+ * LazyImplementation holds an implementation that is chosen when loading, using the metadata of
+ * the found implementations, but not created until {@link #get()} is first called. This shortens
+ * startup for implementations that are only used by rarely called functionality.
+ * </p>
+ * The implementation is created only once, also when {@link #get()} is first called by many
+ * threads at the same time. If creating the implementation fails is nothing kept, and the next call
+ * to get tries again. The time it took to create the implementation is reported as a
+ * {@link DeferredInstantiation} in the {@link InitializationReport}.
+ */
+public interface LazyImplementation<T> extends Supplier<T> {
+
+	/**
+	 * get returns the implementation, creating it on the first call
+	 * 
+	 * @return The chosen implementation
+	 */
+	@Override
+	T get();
+
+	/**
+	 * getClassName returns the name of the chosen class, without creating the implementation
+	 * 
+	 * @return A String with the name of the chosen class
+	 */
+	String getClassName();
+
+	/**
+	 * isCreated returns if the implementation has been created
+	 * 
+	 * @return true if {@link #get()} has created the implementation
+	 */
+	boolean isCreated();
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.initialize;
+
+/**
+ * LoadLogging decides how much is logged when implementations are loaded by a
+ * {@link ModuleInitializerImp}.
+ */
+public enum LoadLogging {
+	/**
+	 * DETAILED logs each found implementation and the chosen implementation on info level, this is
+	 * the default.
+	 */
+	DETAILED,
+
+	/**
+	 * SUMMARY logs one line for each loaded interface on info level, with the number of found
+	 * implementations, the chosen implementation and the time it took. The found implementations
+	 * are only counted, their names are not collected.
+	 */
+	SUMMARY,
+
+	/**
+	 * SUMMARY_WITH_DETAILS logs the same line as {@link #SUMMARY}, and also logs the found
+	 * implementations together in one line on debug level.
+	 */
+	SUMMARY_WITH_DETAILS
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.initialize;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * LoadReport holds the timings for one load of an interface done by a {@link ModuleInitializer}.
+ * 
+ * @param interfaceName
+ *            the name of the loaded interface
+ * @param strategy
+ *            the {@link LoadStrategy} used for the load
+ * @param discovery
+ *            the time spent finding implementations
+ * @param instantiations
+ *            the time spent creating each instance, in the order they were created
+ * @param selection
+ *            the time spent choosing among the found implementations, which is the total time
+ *            minus discovery and instantiations
+ * @param total
+ *            the total time of the load
+ * @param candidateCount
+ *            the number of found implementations
+ * @param chosenClassName
+ *            the name of the chosen class, null for loads of one implementation of each type
+ */
+public record LoadReport(String interfaceName, LoadStrategy strategy, Duration discovery,
+		List<CandidateInstantiation> instantiations, Duration selection, Duration total,
+		int candidateCount, String chosenClassName) {
+
+	public LoadReport {
+		instantiations = List.copyOf(instantiations);
+	}
+}
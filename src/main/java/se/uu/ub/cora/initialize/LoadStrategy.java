@@ -0,0 +1,94 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.initialize;
+
+/**
+ * LoadStrategy names the ways a {@link ModuleInitializer} can load implementations of an
+ * interface, each strategy corresponds to one of the load methods in {@link ModuleInitializer}.
+ */
+public enum LoadStrategy {
+	SELECT_ORDER {
+		@Override
+		Object load(ModuleInitializer moduleInitializer, Class<?> classToLoad) {
+			return moduleInitializer
+					.loadOneImplementationBySelectOrder(classToLoad.asSubclass(SelectOrder.class));
+		}
+	},
+	DECLARED_SELECT_ORDER {
+		@Override
+		Object load(ModuleInitializer moduleInitializer, Class<?> classToLoad) {
+			return moduleInitializer.loadOneImplementationByDeclaredSelectOrder(
+					classToLoad.asSubclass(SelectOrder.class));
+		}
+	},
+	ONLY_EXISTING {
+		@Override
+		Object load(ModuleInitializer moduleInitializer, Class<?> classToLoad) {
+			return moduleInitializer.loadTheOnlyExistingImplementation(classToLoad);
+		}
+	},
+	LAZY_DECLARED_SELECT_ORDER {
+		@Override
+		Object load(ModuleInitializer moduleInitializer, Class<?> classToLoad) {
+			return moduleInitializer.loadLazyImplementationByDeclaredSelectOrder(
+					classToLoad.asSubclass(SelectOrder.class));
+		}
+	},
+	LAZY_ONLY_EXISTING {
+		@Override
+		Object load(ModuleInitializer moduleInitializer, Class<?> classToLoad) {
+			return moduleInitializer.loadLazyTheOnlyExistingImplementation(classToLoad);
+		}
+	},
+	EACH_TYPE {
+		@Override
+		Object load(ModuleInitializer moduleInitializer, Class<?> classToLoad) {
+			return moduleInitializer
+					.loadOneImplementationOfEachType(classToLoad.asSubclass(SelectType.class));
+		}
+	},
+	EACH_DECLARED_TYPE {
+		@Override
+		Object load(ModuleInitializer moduleInitializer, Class<?> classToLoad) {
+			return moduleInitializer.loadOneImplementationOfEachDeclaredType(
+					classToLoad.asSubclass(SelectType.class));
+		}
+	},
+	/**
+	 * POOL_OF_EACH_TYPE loads pools with at most one implementation for each available processor
+	 * for each type, when used through
+	 * {@link ModuleInitializer#loadImplementations(ImplementationRequests)}
+	 */
+	POOL_OF_EACH_TYPE {
+		@Override
+		Object load(ModuleInitializer moduleInitializer, Class<?> classToLoad) {
+			return moduleInitializer.loadPoolOfEachType(classToLoad.asSubclass(SelectType.class),
+					Runtime.getRuntime().availableProcessors());
+		}
+	},
+	THREAD_CONFINED_OF_EACH_TYPE {
+		@Override
+		Object load(ModuleInitializer moduleInitializer, Class<?> classToLoad) {
+			return moduleInitializer
+					.loadThreadConfinedOfEachType(classToLoad.asSubclass(SelectType.class));
+		}
+	};
+
+	abstract Object load(ModuleInitializer moduleInitializer, Class<?> classToLoad);
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.initialize;
+
+import java.util.List;
+import java.util.Map;
+
+import se.uu.ub.cora.initialize.ImplementationRequests.ImplementationRequest;
+
+/**
+ * LoadedImplementations holds the result of
+ * {@link ModuleInitializer#loadImplementations(ImplementationRequests)}, the loaded implementations
+ * are fetched using the interface and strategy they were requested with.
+ */
+public class LoadedImplementations {
+	private final Map<ImplementationRequest, Object> loaded;
+	private final List<WarmUpReport> warmUps;
+
+	LoadedImplementations(Map<ImplementationRequest, Object> loaded, List<WarmUpReport> warmUps) {
+		this.loaded = Map.copyOf(loaded);
+		this.warmUps = List.copyOf(warmUps);
+	}
+
+	/**
+	 * getWarmUps returns a report for each loaded implementation that was warmed up, so that it is
+	 * possible to decide if the system is ready for traffic.
+	 * 
+	 * @return A List with a {@link WarmUpReport} for each warmed up implementation
+	 */
+	public List<WarmUpReport> getWarmUps() {
+		return warmUps;
+	}
+
+	public <T extends SelectOrder> T getBySelectOrder(Class<T> loadedClass) {
+		return loadedClass.cast(get(LoadStrategy.SELECT_ORDER, loadedClass));
+	}
+
+	public <T extends SelectOrder> T getByDeclaredSelectOrder(Class<T> loadedClass) {
+		return loadedClass.cast(get(LoadStrategy.DECLARED_SELECT_ORDER, loadedClass));
+	}
+
+	public <T> T getTheOnlyExisting(Class<T> loadedClass) {
+		return loadedClass.cast(get(LoadStrategy.ONLY_EXISTING, loadedClass));
+	}
+
+	@SuppressWarnings("unchecked")
+	public <T extends SelectOrder> LazyImplementation<T> getLazyByDeclaredSelectOrder(
+			Class<T> loadedClass) {
+		return (LazyImplementation<T>) get(LoadStrategy.LAZY_DECLARED_SELECT_ORDER, loadedClass);
+	}
+
+	@SuppressWarnings("unchecked")
+	public <T> LazyImplementation<T> getLazyTheOnlyExisting(Class<T> loadedClass) {
+		return (LazyImplementation<T>) get(LoadStrategy.LAZY_ONLY_EXISTING, loadedClass);
+	}
+
+	@SuppressWarnings("unchecked")
+	public <T extends SelectType> InitializedTypes<T> getOfEachType(Class<T> loadedClass) {
+		return (InitializedTypes<T>) get(LoadStrategy.EACH_TYPE, loadedClass);
+	}
+
+	@SuppressWarnings("unchecked")
+	public <T extends SelectType> InitializedTypes<T> getOfEachDeclaredType(Class<T> loadedClass) {
+		return (InitializedTypes<T>) get(LoadStrategy.EACH_DECLARED_TYPE, loadedClass);
+	}
+
+	@SuppressWarnings("unchecked")
+	public <T extends SelectType> ImplementationPools<T> getPoolOfEachType(Class<T> loadedClass) {
+		return (ImplementationPools<T>) get(LoadStrategy.POOL_OF_EACH_TYPE, loadedClass);
+	}
+
+	@SuppressWarnings("unchecked")
+	public <T extends SelectType> ThreadConfinedTypes<T> getThreadConfinedOfEachType(
+			Class<T> loadedClass) {
+		return (ThreadConfinedTypes<T>) get(LoadStrategy.THREAD_CONFINED_OF_EACH_TYPE,
+				loadedClass);
+	}
+
+	private Object get(LoadStrategy strategy, Class<?> loadedClass) {
+		ImplementationRequest request = new ImplementationRequest(strategy, loadedClass);
+		if (!loaded.containsKey(request)) {
+			throw new InitializationException(
+					"No implementation loaded for: " + request.describe());
+		}
+		return loaded.get(request);
+	}
+}
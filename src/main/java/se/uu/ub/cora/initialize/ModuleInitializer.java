@@ -27,9 +27,15 @@ import se.uu.ub.cora.initialize.internal.ModuleStarter;
  * find:
  * <ol>
  * <li>for one use {@link #loadTheOnlyExistingImplementation(Class)}</li>
- * <li>for more than one use {@link #loadOneImplementationBySelectOrder(Class)}</li>
+ * <li>for more than one use {@link #loadOneImplementationBySelectOrder(Class)} or
+ * {@link #loadOneImplementationByDeclaredSelectOrder(Class)}</li>
  * </ol>
  * </p>
+ * The methods using declared select orders or types find implementations using javas module
+ * system, and read the declared values from the {@link DeclaredSelectOrder} and
+ * {@link DeclaredSelectType} annotations of the found classes, so that no instances are needed to
+ * choose between them.
+ * </p>
  * There is a method {@link #onlyForTestSetStarter(ModuleStarter)} that makes it possible to change
  * the starter to enable easier testing.
  * 
@@ -50,6 +56,56 @@ public interface ModuleInitializer {
 	 */
 	<T extends SelectOrder> T loadOneImplementationBySelectOrder(Class<T> classToLoad);
 
+	/**
+	 * loadOneImplementationByDeclaredSelectOrder uses javas module system to find and return an
+	 * implementation of the specified classToLoad, in the same way as
+	 * {@link #loadOneImplementationBySelectOrder(Class)}, but reads the select order of each found
+	 * implementation from its {@link DeclaredSelectOrder} annotation. Only the chosen implementation
+	 * is instantiated, implementations without the annotation are instantiated to get their select
+	 * order.
+	 * </p>
+	 * If no implementations can be found MUST an @throws InitializationException be thrown
+	 * </p>
+	 * The default implementation uses {@link #loadOneImplementationBySelectOrder(Class)}, so that
+	 * implementations of ModuleInitializer written before this method existed choose the same
+	 * implementation.
+	 * 
+	 * @param <T>
+	 *            A found implementation of the specified classToLoad
+	 * @param classToLoad
+	 *            A Class to load
+	 * @return An instance of the specified classToLoad
+	 */
+	default <T extends SelectOrder> T loadOneImplementationByDeclaredSelectOrder(
+			Class<T> classToLoad) {
+		return loadOneImplementationBySelectOrder(classToLoad);
+	}
+
+	/**
+	 * loadLazyImplementationByDeclaredSelectOrder chooses an implementation of the specified
+	 * classToLoad in the same way as {@link #loadOneImplementationByDeclaredSelectOrder(Class)},
+	 * but does not create the chosen implementation until it is first requested from the returned
+	 * {@link LazyImplementation}.
+	 * </p>
+	 * If no implementations can be found MUST an @throws InitializationException be thrown, this
+	 * is checked when loading and not when the implementation is first requested.
+	 * </p>
+	 * The default implementation throws an InitializationException, as lazy implementations can not
+	 * be created using the other methods of this interface.
+	 * 
+	 * @param <T>
+	 *            A found implementation of the specified classToLoad
+	 * @param classToLoad
+	 *            A Class to load
+	 * @return A {@link LazyImplementation} that creates the chosen implementation when it is first
+	 *         requested
+	 */
+	default <T extends SelectOrder> LazyImplementation<T> loadLazyImplementationByDeclaredSelectOrder(
+			Class<T> classToLoad) {
+		throw new InitializationException("loadLazyImplementationByDeclaredSelectOrder is not "
+				+ "supported by " + getClass().getName());
+	}
+
 	/**
 	 * loadTheOnlyExistingImplementation uses javas module system to find and return an
 	 * implementation of the specified classToLoad.
@@ -65,6 +121,29 @@ public interface ModuleInitializer {
 	 */
 	<T extends Object> T loadTheOnlyExistingImplementation(Class<T> classToLoad);
 
+	/**
+	 * loadLazyTheOnlyExistingImplementation finds the implementation of the specified classToLoad
+	 * in the same way as {@link #loadTheOnlyExistingImplementation(Class)}, but does not create it
+	 * until it is first requested from the returned {@link LazyImplementation}.
+	 * </p>
+	 * If none or more than one implementation is found MUST an @throws InitializationException be
+	 * thrown, this is checked when loading and not when the implementation is first requested.
+	 * </p>
+	 * The default implementation throws an InitializationException, as lazy implementations can not
+	 * be created using the other methods of this interface.
+	 * 
+	 * @param <T>
+	 *            A found implementation of the specified classToLoad
+	 * @param classToLoad
+	 *            A Class to load
+	 * @return A {@link LazyImplementation} that creates the implementation when it is first
+	 *         requested
+	 */
+	default <T> LazyImplementation<T> loadLazyTheOnlyExistingImplementation(Class<T> classToLoad) {
+		throw new InitializationException("loadLazyTheOnlyExistingImplementation is not "
+				+ "supported by " + getClass().getName());
+	}
+
 	/**
 	 * loadOneImplementationOfEachType uses javas module system to find and return an implementation
 	 * of each type of the specified classToLoad.
@@ -82,4 +161,106 @@ public interface ModuleInitializer {
 	<T extends SelectType> InitializedTypes<T> loadOneImplementationOfEachType(
 			Class<T> classToLoad);
 
+	/**
+	 * loadOneImplementationOfEachDeclaredType uses javas module system to find the implementations
+	 * of the specified classToLoad, in the same way as {@link #loadOneImplementationOfEachType(Class)},
+	 * but reads the type of each found implementation from its {@link DeclaredSelectType}
+	 * annotation. The implementation for a type is not created until it is first requested from the
+	 * returned {@link InitializedTypes}, implementations without the annotation are instantiated
+	 * directly to get their type.
+	 * 
+	 * If more than one implementation of a type or no impementations at all are found MUST
+	 * an @throws InitializationException be thrown, this is checked when loading and not when an
+	 * implementation is first requested.
+	 * </p>
+	 * The default implementation uses {@link #loadOneImplementationOfEachType(Class)}, so that
+	 * implementations of ModuleInitializer written before this method existed choose the same
+	 * implementations.
+	 * 
+	 * @param <T>
+	 *            A found implementation of the specified classToLoad
+	 * @param classToLoad
+	 *            A Class to load
+	 * @return An {@link InitializedTypes} object, that creates the implementation for a type when
+	 *         it is first requested.
+	 */
+	default <T extends SelectType> InitializedTypes<T> loadOneImplementationOfEachDeclaredType(
+			Class<T> classToLoad) {
+		return loadOneImplementationOfEachType(classToLoad);
+	}
+
+	/**
+	 * loadPoolOfEachType uses javas module system to find the providers of the specified
+	 * classToLoad, organized by type in the same way as
+	 * {@link #loadOneImplementationOfEachDeclaredType(Class)}. Instead of one shared implementation
+	 * for each type is the provider of each type used as a factory for a bounded pool of
+	 * implementations, for implementations that are not safe to use from many threads at the same
+	 * time.
+	 * 
+	 * If more than one implementation of a type or no impementations at all are found MUST
+	 * an @throws InitializationException be thrown.
+	 * </p>
+	 * The default implementation throws an InitializationException, as pools can not be created
+	 * using the other methods of this interface.
+	 * 
+	 * @param <T>
+	 *            A found implementation of the specified classToLoad
+	 * @param classToLoad
+	 *            A Class to load
+	 * @param maxInstancesPerType
+	 *            The max number of implementations to create for each type
+	 * @return An {@link ImplementationPools} object, with a pool of implementations for each type
+	 */
+	default <T extends SelectType> ImplementationPools<T> loadPoolOfEachType(Class<T> classToLoad,
+			int maxInstancesPerType) {
+		throw new InitializationException(
+				"loadPoolOfEachType is not supported by " + getClass().getName());
+	}
+
+	/**
+	 * loadThreadConfinedOfEachType uses javas module system to find the providers of the specified
+	 * classToLoad, organized by type in the same way as
+	 * {@link #loadOneImplementationOfEachDeclaredType(Class)}. Instead of one shared implementation
+	 * for each type is the provider of each type used to create implementations confined to the
+	 * threads using them, for implementations that are cheap to create but keep mutable state.
+	 * 
+	 * If more than one implementation of a type or no impementations at all are found MUST
+	 * an @throws InitializationException be thrown.
+	 * </p>
+	 * The default implementation throws an InitializationException, as thread confined
+	 * implementations can not be created using the other methods of this interface.
+	 * 
+	 * @param <T>
+	 *            A found implementation of the specified classToLoad
+	 * @param classToLoad
+	 *            A Class to load
+	 * @return A {@link ThreadConfinedTypes} object, with thread confined implementations for each
+	 *         type
+	 */
+	default <T extends SelectType> ThreadConfinedTypes<T> loadThreadConfinedOfEachType(
+			Class<T> classToLoad) {
+		throw new InitializationException(
+				"loadThreadConfinedOfEachType is not supported by " + getClass().getName());
+	}
+
+	/**
+	 * loadImplementations loads implementations for all the requested interfaces at the same time,
+	 * each on its own virtual thread, using the {@link LoadStrategy} requested for each interface.
+	 * Loading is done using the other load methods of this ModuleInitializer.
+	 * </p>
+	 * Loaded implementations that are {@link Warmable} are warmed up at the same time before they
+	 * are returned, within the budget of the requests. The outcome and duration of each warm-up is
+	 * found in the returned LoadedImplementations and in the {@link InitializationReport}.
+	 * </p>
+	 * If loading fails for one or more of the requested interfaces MUST one @throws
+	 * InitializationException be thrown, listing all failed interfaces.
+	 * 
+	 * @param requests
+	 *            An {@link ImplementationRequests} with the interfaces to load
+	 * @return A {@link LoadedImplementations} with the loaded implementations
+	 */
+	default LoadedImplementations loadImplementations(ImplementationRequests requests) {
+		return new ParallelImplementationLoader(this).load(requests);
+	}
+
 }
@@ -19,60 +19,354 @@
  */
 package se.uu.ub.cora.initialize;
 
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
 import java.util.ServiceLoader;
+import java.util.ServiceLoader.Provider;
 
+import se.uu.ub.cora.initialize.internal.LoadRecording;
 import se.uu.ub.cora.initialize.internal.ModuleStarter;
 import se.uu.ub.cora.initialize.internal.ModuleStarterImp;
+import se.uu.ub.cora.initialize.internal.ProviderFinder;
+import se.uu.ub.cora.initialize.internal.SelectionCache;
+import se.uu.ub.cora.initialize.internal.SelectionCacheFile;
 import se.uu.ub.cora.logger.Logger;
 import se.uu.ub.cora.logger.LoggerProvider;
 
 public class ModuleInitializerImp implements ModuleInitializer {
 	private Logger log = LoggerProvider.getLoggerForClass(ModuleInitializerImp.class);
-	private ModuleStarter starter = new ModuleStarterImp();
+	private final LoadLogging loadLogging;
+	private final ModuleLayer layer;
+	private ModuleStarter starter;
+	private ProviderFinder providerFinder = this::findServiceProviders;
+	private SelectionCache selectionCache = SelectionCache.disabled();
+	private InitializationReport report = InitializationReport.getReport();
+
+	public ModuleInitializerImp() {
+		this(LoadLogging.DETAILED);
+	}
+
+	/**
+	 * Creates a ModuleInitializerImp that logs the loading of implementations according to the
+	 * specified loadLogging. With {@link LoadLogging#SUMMARY} and
+	 * {@link LoadLogging#SUMMARY_WITH_DETAILS} are the start and finish messages of each load
+	 * logged on debug level, so that only the summary of each load is logged on info level.
+	 * 
+	 * @param loadLogging
+	 *            A {@link LoadLogging} to use
+	 */
+	public ModuleInitializerImp(LoadLogging loadLogging) {
+		this(loadLogging, (ModuleLayer) null);
+	}
+
+	/**
+	 * Creates a ModuleInitializerImp that remembers the implementation chosen for each interface in
+	 * the specified selectionCacheFile. On later starts where the same implementations of an
+	 * interface are found, is only the remembered implementation created, instead of all found
+	 * implementations. Implementations are still found using javas module system on every start.
+	 * If the found implementations have changed are all found implementations created again, and
+	 * the file is rewritten with the new choices.
+	 * </p>
+	 * Selections are remembered for the loads that choose one implementation, loads that choose
+	 * one implementation of each type need all implementations to know their types.
+	 * 
+	 * @param loadLogging
+	 *            A {@link LoadLogging} to use
+	 * @param selectionCacheFile
+	 *            A Path to the file to remember chosen implementations in
+	 */
+	public ModuleInitializerImp(LoadLogging loadLogging, Path selectionCacheFile) {
+		this(loadLogging);
+		selectionCache = new SelectionCacheFile(selectionCacheFile);
+	}
+
+	/**
+	 * Creates a ModuleInitializerImp that loads implementations found in the specified layer and
+	 * its parent layers, instead of the implementations visible to javas default
+	 * {@link ServiceLoader}. This is used by {@link PluginLayer}.
+	 */
+	ModuleInitializerImp(LoadLogging loadLogging, ModuleLayer layer) {
+		this.loadLogging = loadLogging;
+		this.layer = layer;
+		starter = new ModuleStarterImp(loadLogging);
+	}
 
 	@Override
 	public <T extends SelectOrder> T loadOneImplementationBySelectOrder(Class<T> classToLoad) {
 		String nameOfClass = classToLoad.getSimpleName();
 		logStartMessage(nameOfClass);
+		LoadRecording recording = startRecording(classToLoad, LoadStrategy.SELECT_ORDER);
+		Candidates<T> candidates = findSelectedCandidates(classToLoad, LoadStrategy.SELECT_ORDER,
+				recording);
 		T loadedImpl = starter.getImplementationBasedOnSelectOrderThrowErrorIfNone(
-				ServiceLoader.load(classToLoad), nameOfClass);
+				candidates.createImplementations(), nameOfClass);
+		finishRecording(recording, loadedImpl);
+		storeSelection(classToLoad, LoadStrategy.SELECT_ORDER, candidates, loadedImpl);
 		logFinishedMessage(nameOfClass);
 		return loadedImpl;
 	}
 
+	@Override
+	public <T extends SelectOrder> T loadOneImplementationByDeclaredSelectOrder(
+			Class<T> classToLoad) {
+		String nameOfClass = classToLoad.getSimpleName();
+		logStartMessage(nameOfClass);
+		LoadRecording recording = startRecording(classToLoad, LoadStrategy.DECLARED_SELECT_ORDER);
+		Candidates<T> candidates = findSelectedCandidates(classToLoad,
+				LoadStrategy.DECLARED_SELECT_ORDER, recording);
+		T loadedImpl = starter.getImplementationBasedOnDeclaredSelectOrderThrowErrorIfNone(
+				candidates.providers(), nameOfClass);
+		finishRecording(recording, loadedImpl);
+		storeSelection(classToLoad, LoadStrategy.DECLARED_SELECT_ORDER, candidates, loadedImpl);
+		logFinishedMessage(nameOfClass);
+		return loadedImpl;
+	}
+
+	@Override
+	public <T extends SelectOrder> LazyImplementation<T> loadLazyImplementationByDeclaredSelectOrder(
+			Class<T> classToLoad) {
+		logStartMessage(classToLoad.getSimpleName());
+		LoadStrategy strategy = LoadStrategy.LAZY_DECLARED_SELECT_ORDER;
+		LoadRecording recording = startRecording(classToLoad, strategy);
+		Candidates<T> candidates = findSelectedCandidates(classToLoad, strategy, recording);
+		Provider<T> chosenProvider = starter.getProviderBasedOnDeclaredSelectOrderThrowErrorIfNone(
+				candidates.providers(), classToLoad.getSimpleName());
+		return finishLazyLoad(classToLoad, strategy, recording, candidates, chosenProvider);
+	}
+
+	private <T> LazyImplementation<T> finishLazyLoad(Class<T> classToLoad, LoadStrategy strategy,
+			LoadRecording recording, Candidates<T> candidates, Provider<T> chosenProvider) {
+		LazyImplementation<T> lazyImplementation = new DeferredImplementation<>(
+				classToLoad.getName(), chosenProvider, report);
+		report.addLoad(recording.finish(lazyImplementation.getClassName()));
+		storeSelectedClassName(classToLoad, strategy, candidates,
+				lazyImplementation.getClassName());
+		logFinishedMessage(classToLoad.getSimpleName());
+		return lazyImplementation;
+	}
+
+	private LoadRecording startRecording(Class<?> classToLoad, LoadStrategy strategy) {
+		return new LoadRecording(classToLoad.getName(), strategy);
+	}
+
+	private <T> List<Provider<T>> findProviders(Class<T> classToLoad, LoadRecording recording) {
+		long startTime = System.nanoTime();
+		List<Provider<T>> providers = providerFinder.findProviders(classToLoad);
+		recording.recordDiscovery(System.nanoTime() - startTime);
+		return recording.recordProviders(providers);
+	}
+
+	private <T> List<Provider<T>> findServiceProviders(Class<T> classToLoad) {
+		return loadServices(classToLoad).stream().toList();
+	}
+
+	private <T> Candidates<T> findSelectedCandidates(Class<T> classToLoad, LoadStrategy strategy,
+			LoadRecording recording) {
+		long startTime = System.nanoTime();
+		List<Provider<T>> providers = providerFinder.findProviders(classToLoad);
+		List<String> classNames = listSortedClassNames(providers);
+		Optional<String> cachedClassName = selectionCache
+				.findSelectedClassName(classToLoad.getName(), strategy, classNames);
+		List<Provider<T>> selectedProviders = keepCachedSelection(providers, cachedClassName);
+		recording.recordDiscovery(System.nanoTime() - startTime);
+		return new Candidates<>(classNames, recording.recordProviders(selectedProviders));
+	}
+
+	private <T> List<String> listSortedClassNames(List<Provider<T>> providers) {
+		return providers.stream().map(provider -> provider.type().getName()).sorted().toList();
+	}
+
+	private <T> List<Provider<T>> keepCachedSelection(List<Provider<T>> providers,
+			Optional<String> cachedClassName) {
+		if (cachedClassName.isEmpty()) {
+			return providers;
+		}
+		List<Provider<T>> selectedProviders = providers.stream()
+				.filter(provider -> provider.type().getName().equals(cachedClassName.get()))
+				.toList();
+		return selectedProviders.isEmpty() ? providers : selectedProviders;
+	}
+
+	private void storeSelection(Class<?> classToLoad, LoadStrategy strategy,
+			Candidates<?> candidates, Object loadedImpl) {
+		storeSelectedClassName(classToLoad, strategy, candidates, loadedImpl.getClass().getName());
+	}
+
+	private void storeSelectedClassName(Class<?> classToLoad, LoadStrategy strategy,
+			Candidates<?> candidates, String className) {
+		try {
+			selectionCache.storeSelectedClassName(classToLoad.getName(), strategy,
+					candidates.classNames(), className);
+		} catch (InitializationException e) {
+			log.logWarnUsingMessageAndException(e.getMessage(), e);
+		}
+	}
+
+	private <T> ServiceLoader<T> loadServices(Class<T> classToLoad) {
+		if (layer == null) {
+			return ServiceLoader.load(classToLoad);
+		}
+		ensureModuleCanUseService(classToLoad);
+		return ServiceLoader.load(layer, classToLoad);
+	}
+
+	private void ensureModuleCanUseService(Class<?> classToLoad) {
+		Module module = ModuleInitializerImp.class.getModule();
+		if (module.isNamed() && !module.canUse(classToLoad)) {
+			module.addReads(classToLoad.getModule());
+			module.addUses(classToLoad);
+		}
+	}
+
+	private void finishRecording(LoadRecording recording, Object loadedImpl) {
+		report.addLoad(recording.finish(loadedImpl.getClass().getName()));
+	}
+
+	private void finishRecordingForTypes(LoadRecording recording) {
+		report.addLoad(recording.finish(null));
+	}
+
 	private void logStartMessage(String nameOfClass) {
-		log.logInfoUsingMessage(
-				"ModuleInitializer start loading implementation of: " + nameOfClass + "...");
+		logUsingMessage("ModuleInitializer start loading implementation of: " + nameOfClass + "...");
 	}
 
 	private void logFinishedMessage(String nameOfClass) {
-		log.logInfoUsingMessage(
-				"...moduleInitializer finished loading implementation of: " + nameOfClass);
+		logUsingMessage("...moduleInitializer finished loading implementation of: " + nameOfClass);
+	}
+
+	private void logUsingMessage(String message) {
+		if (loadLogging == LoadLogging.DETAILED) {
+			log.logInfoUsingMessage(message);
+		} else {
+			log.logDebugUsingMessage(message);
+		}
 	}
 
 	@Override
 	public <T extends Object> T loadTheOnlyExistingImplementation(Class<T> classToLoad) {
 		String nameOfClass = classToLoad.getSimpleName();
 		logStartMessage(nameOfClass);
+		LoadRecording recording = startRecording(classToLoad, LoadStrategy.ONLY_EXISTING);
+		Candidates<T> candidates = findSelectedCandidates(classToLoad, LoadStrategy.ONLY_EXISTING,
+				recording);
 		T loadedImp = starter.getImplementationThrowErrorIfNoneOrMoreThanOne(
-				ServiceLoader.load(classToLoad), nameOfClass);
+				candidates.createImplementations(), nameOfClass);
+		finishRecording(recording, loadedImp);
+		storeSelection(classToLoad, LoadStrategy.ONLY_EXISTING, candidates, loadedImp);
 		logFinishedMessage(nameOfClass);
 		return loadedImp;
 	}
 
+	@Override
+	public <T> LazyImplementation<T> loadLazyTheOnlyExistingImplementation(Class<T> classToLoad) {
+		logStartMessage(classToLoad.getSimpleName());
+		LoadStrategy strategy = LoadStrategy.LAZY_ONLY_EXISTING;
+		LoadRecording recording = startRecording(classToLoad, strategy);
+		Candidates<T> candidates = findSelectedCandidates(classToLoad, strategy, recording);
+		Provider<T> chosenProvider = starter.getProviderThrowErrorIfNoneOrMoreThanOne(
+				candidates.providers(), classToLoad.getSimpleName());
+		return finishLazyLoad(classToLoad, strategy, recording, candidates, chosenProvider);
+	}
+
 	@Override
 	public <T extends SelectType> InitializedTypes<T> loadOneImplementationOfEachType(
 			Class<T> classToLoad) {
 		String nameOfClass = classToLoad.getSimpleName();
 
 		logStartMessage(nameOfClass);
+		LoadRecording recording = startRecording(classToLoad, LoadStrategy.EACH_TYPE);
 		InitializedTypes<T> implementationForTypes = starter
 				.getImplementationBasedOnSelectTypeThrowErrorIfNoneOrMoreThanOneForEachType(
-						ServiceLoader.load(classToLoad), nameOfClass);
+						recording.recordIterations(loadServices(classToLoad)), nameOfClass);
+		finishRecordingForTypes(recording);
 		logFinishedMessage(nameOfClass);
 		return implementationForTypes;
 	}
 
+	@Override
+	public <T extends SelectType> InitializedTypes<T> loadOneImplementationOfEachDeclaredType(
+			Class<T> classToLoad) {
+		String nameOfClass = classToLoad.getSimpleName();
+
+		logStartMessage(nameOfClass);
+		LoadRecording recording = startRecording(classToLoad, LoadStrategy.EACH_DECLARED_TYPE);
+		recording.reportDeferredInstantiationsTo(report::addDeferredInstantiation);
+		InitializedTypes<T> implementationForTypes = starter
+				.getImplementationBasedOnDeclaredSelectTypeThrowErrorIfNoneOrMoreThanOneForEachType(
+						findProviders(classToLoad, recording), nameOfClass);
+		finishRecordingForTypes(recording);
+		logFinishedMessage(nameOfClass);
+		return implementationForTypes;
+	}
+
+	LoadLogging onlyForTestGetLoadLogging() {
+		return loadLogging;
+	}
+
+	ModuleLayer onlyForTestGetLayer() {
+		return layer;
+	}
+
+	@Override
+	public <T extends SelectType> ImplementationPools<T> loadPoolOfEachType(Class<T> classToLoad,
+			int maxInstancesPerType) {
+		String nameOfClass = classToLoad.getSimpleName();
+
+		logStartMessage(nameOfClass);
+		LoadRecording recording = startRecording(classToLoad, LoadStrategy.POOL_OF_EACH_TYPE);
+		ImplementationPools<T> pools = starter
+				.getPoolOfEachTypeThrowErrorIfNoneOrMoreThanOneForEachType(
+						findProviders(classToLoad, recording), nameOfClass, maxInstancesPerType);
+		finishRecordingForTypes(recording);
+		logFinishedMessage(nameOfClass);
+		return pools;
+	}
+
+	@Override
+	public <T extends SelectType> ThreadConfinedTypes<T> loadThreadConfinedOfEachType(
+			Class<T> classToLoad) {
+		String nameOfClass = classToLoad.getSimpleName();
+
+		logStartMessage(nameOfClass);
+		LoadRecording recording = startRecording(classToLoad,
+				LoadStrategy.THREAD_CONFINED_OF_EACH_TYPE);
+		ThreadConfinedTypes<T> confinedTypes = starter
+				.getThreadConfinedOfEachTypeThrowErrorIfNoneOrMoreThanOneForEachType(
+						findProviders(classToLoad, recording), nameOfClass);
+		finishRecordingForTypes(recording);
+		logFinishedMessage(nameOfClass);
+		return confinedTypes;
+	}
+
+	/**
+	 * Candidates holds the sorted names of all classes found implementing an interface, and the
+	 * providers left to choose from after a cached selection is applied.
+	 */
+	private record Candidates<T>(List<String> classNames, List<Provider<T>> providers) {
+		/**
+		 * createImplementations returns the implementations of the providers, each implementation
+		 * is created when the iteration reaches it, in the same way as by a {@link ServiceLoader}
+		 */
+		Iterable<T> createImplementations() {
+			return () -> new CreatingIterator<>(providers.iterator());
+		}
+	}
+
+	private record CreatingIterator<T>(Iterator<Provider<T>> providers) implements Iterator<T> {
+
+		@Override
+		public boolean hasNext() {
+			return providers.hasNext();
+		}
+
+		@Override
+		public T next() {
+			return providers.next().get();
+		}
+	}
+
 	void onlyForTestSetStarter(ModuleStarter starter) {
 		this.starter = starter;
 	}
@@ -81,4 +375,28 @@ public class ModuleInitializerImp implements ModuleInitializer {
 		return starter;
 	}
 
+	void onlyForTestSetProviderFinder(ProviderFinder providerFinder) {
+		this.providerFinder = providerFinder;
+	}
+
+	ProviderFinder onlyForTestGetProviderFinder() {
+		return providerFinder;
+	}
+
+	void onlyForTestSetReport(InitializationReport report) {
+		this.report = report;
+	}
+
+	InitializationReport onlyForTestGetReport() {
+		return report;
+	}
+
+	void onlyForTestSetSelectionCache(SelectionCache selectionCache) {
+		this.selectionCache = selectionCache;
+	}
+
+	SelectionCache onlyForTestGetSelectionCache() {
+		return selectionCache;
+	}
+
 }
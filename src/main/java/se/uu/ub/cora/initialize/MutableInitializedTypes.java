@@ -0,0 +1,100 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.initialize;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import se.uu.ub.cora.initialize.internal.CopyOnWriteImplementationForTypes;
+
+/**
+ * MutableInitializedTypes is an {@link InitializedTypes} where implementations for types can be
+ * registered, replaced and removed while the system is running, for instance to add an
+ * implementation for a new record type without a restart.
+ * </p>
+ * Changes are published as a whole, readers see the implementations either as they were before or
+ * after a change, never a partial change. Reading never waits for a change to finish.
+ * </p>
+ * A MutableInitializedTypes is usually started from the implementations loaded at startup, using
+ * {@link #copyOf(InitializedTypes)}, and then changed while running.
+ * </p>
+ * A {@link TypeHandle} resolved before a change is still valid after it, but it is then no longer
+ * a shortcut, it is looked up by its type and gives the implementation currently registered for
+ * the type. If the type has been removed is an InitializationException thrown, in the same way as
+ * for a type that never had an implementation. Callers that keep handles for long should resolve
+ * them again after changes, to get the shortcut back.
+ */
+public interface MutableInitializedTypes<T extends SelectType> extends InitializedTypes<T> {
+
+	/**
+	 * create returns a new MutableInitializedTypes without any implementations
+	 * 
+	 * @param <T>
+	 *            The interface of the implementations
+	 * @return An empty MutableInitializedTypes
+	 */
+	static <T extends SelectType> MutableInitializedTypes<T> create() {
+		return new CopyOnWriteImplementationForTypes<>(Map.of());
+	}
+
+	/**
+	 * copyOf returns a new MutableInitializedTypes with the implementations for all types in the
+	 * specified initializedTypes, such as the types loaded using
+	 * {@link ModuleInitializer#loadOneImplementationOfEachType(Class)}. Implementations not yet
+	 * created by lazily loaded types are created by the copy. Later changes to the copy do not
+	 * change initializedTypes.
+	 * 
+	 * @param <T>
+	 *            The interface of the implementations
+	 * @param initializedTypes
+	 *            The InitializedTypes to copy implementations from, it must support
+	 *            {@link InitializedTypes#getTypes()}
+	 * @return A MutableInitializedTypes with the implementations of initializedTypes
+	 * @throws InitializationException
+	 *             if initializedTypes can not list its types
+	 */
+	static <T extends SelectType> MutableInitializedTypes<T> copyOf(
+			InitializedTypes<T> initializedTypes) {
+		Map<String, T> implementations = new HashMap<>();
+		for (String type : initializedTypes.getTypes()) {
+			implementations.put(type, initializedTypes.getImplementationByType(type));
+		}
+		return new CopyOnWriteImplementationForTypes<>(implementations);
+	}
+
+	/**
+	 * register adds the implementation for the type returned by its
+	 * {@link SelectType#getTypeToSelectImplementionsBy()}, replacing any implementation already
+	 * registered for the type.
+	 * 
+	 * @param implementation
+	 *            The implementation to register
+	 * @return The replaced implementation, or null if no implementation was registered for the type
+	 */
+	T register(T implementation);
+
+	/**
+	 * remove removes the implementation for the type, if there is one.
+	 * 
+	 * @param type
+	 *            The type to remove the implementation for
+	 * @return The removed implementation, or null if no implementation was registered for the type
+	 */
+	T remove(String type);
+}
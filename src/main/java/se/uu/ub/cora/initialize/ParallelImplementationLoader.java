@@ -0,0 +1,109 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.initialize;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import se.uu.ub.cora.initialize.ImplementationRequests.ImplementationRequest;
+
+/**
+ * ParallelImplementationLoader loads all requested implementations at the same time, using one
+ * virtual thread for each request, and waits for all of them to finish. If any load fails is one
+ * {@link InitializationException} thrown, listing all failed requests and with their exceptions
+ * added as suppressed exceptions.
+ * </p>
+ * When all requests are loaded are the loaded implementations that are {@link Warmable} warmed up
+ * using {@link ParallelWarmUp}, before the loaded implementations are returned.
+ */
+class ParallelImplementationLoader {
+	private final ModuleInitializer moduleInitializer;
+	private InitializationReport report = InitializationReport.getReport();
+
+	ParallelImplementationLoader(ModuleInitializer moduleInitializer) {
+		this.moduleInitializer = moduleInitializer;
+	}
+
+	LoadedImplementations load(ImplementationRequests requests) {
+		Map<ImplementationRequest, Future<Object>> futures = new LinkedHashMap<>();
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (ImplementationRequest request : requests.getRequests()) {
+				futures.put(request, executor.submit(() -> request.load(moduleInitializer)));
+			}
+		}
+		Map<ImplementationRequest, Object> loaded = collectResults(futures);
+		List<WarmUpReport> warmUps = new ParallelWarmUp(report).warmUp(loaded,
+				requests.getWarmUpBudget());
+		return new LoadedImplementations(loaded, warmUps);
+	}
+
+	private Map<ImplementationRequest, Object> collectResults(
+			Map<ImplementationRequest, Future<Object>> futures) {
+		Map<ImplementationRequest, Object> loaded = new LinkedHashMap<>();
+		Map<ImplementationRequest, Throwable> failures = new LinkedHashMap<>();
+		for (Map.Entry<ImplementationRequest, Future<Object>> entry : futures.entrySet()) {
+			collectResult(entry.getKey(), entry.getValue(), loaded, failures);
+		}
+		throwErrorIfAnyFailed(failures, futures.size());
+		return loaded;
+	}
+
+	private void collectResult(ImplementationRequest request, Future<Object> future,
+			Map<ImplementationRequest, Object> loaded,
+			Map<ImplementationRequest, Throwable> failures) {
+		try {
+			loaded.put(request, future.get());
+		} catch (ExecutionException e) {
+			failures.put(request, e.getCause());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			failures.put(request, e);
+		}
+	}
+
+	private void throwErrorIfAnyFailed(Map<ImplementationRequest, Throwable> failures,
+			int noOfRequests) {
+		if (!failures.isEmpty()) {
+			InitializationException exception = new InitializationException(
+					createErrorMessage(failures, noOfRequests));
+			failures.values().forEach(exception::addSuppressed);
+			throw exception;
+		}
+	}
+
+	private String createErrorMessage(Map<ImplementationRequest, Throwable> failures,
+			int noOfRequests) {
+		List<String> failed = new ArrayList<>();
+		for (Map.Entry<ImplementationRequest, Throwable> failure : failures.entrySet()) {
+			failed.add(failure.getKey().describe() + ": " + failure.getValue().getMessage());
+		}
+		return "Loading failed for " + failures.size() + " of " + noOfRequests
+				+ " requested implementations, " + String.join(", ", failed);
+	}
+
+	void onlyForTestSetReport(InitializationReport report) {
+		this.report = report;
+	}
+}
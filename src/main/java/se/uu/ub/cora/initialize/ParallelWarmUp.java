@@ -0,0 +1,164 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.initialize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import se.uu.ub.cora.initialize.ImplementationRequests.ImplementationRequest;
+
+/**
+ * ParallelWarmUp warms up all loaded implementations that are {@link Warmable} at the same time,
+ * using one virtual thread for each implementation, and waits for them until the budget runs out.
+ * Warm-ups still running when the budget runs out are interrupted and reported as
+ * {@link WarmUpOutcome#OUT_OF_TIME}. The executor is shut down with shutdownNow without waiting
+ * for the warm-ups to stop, so a warm-up that ignores being interrupted keeps running on its
+ * virtual thread after warmUp has returned. The duration of each warm-up is measured by the warm-up
+ * itself, from when it starts running. An implementation loaded for more than one request is only
+ * warmed up once.
+ */
+class ParallelWarmUp {
+	private final InitializationReport report;
+
+	ParallelWarmUp(InitializationReport report) {
+		this.report = report;
+	}
+
+	List<WarmUpReport> warmUp(Map<ImplementationRequest, Object> loaded, Duration budget) {
+		Map<ImplementationRequest, Warmable> warmables = findWarmables(loaded);
+		if (warmables.isEmpty()) {
+			return Collections.emptyList();
+		}
+		long deadline = System.nanoTime() + budget.toNanos();
+		ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+		try {
+			Map<WarmUpTask, Future<WarmUpReport>> futures = startWarmUps(executor, warmables);
+			return collectWarmUps(futures, deadline);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private Map<ImplementationRequest, Warmable> findWarmables(
+			Map<ImplementationRequest, Object> loaded) {
+		Map<ImplementationRequest, Warmable> warmables = new LinkedHashMap<>();
+		Set<Object> alreadyFound = Collections.newSetFromMap(new IdentityHashMap<>());
+		for (Map.Entry<ImplementationRequest, Object> entry : loaded.entrySet()) {
+			if (entry.getValue() instanceof Warmable warmable && alreadyFound.add(warmable)) {
+				warmables.put(entry.getKey(), warmable);
+			}
+		}
+		return warmables;
+	}
+
+	private Map<WarmUpTask, Future<WarmUpReport>> startWarmUps(ExecutorService executor,
+			Map<ImplementationRequest, Warmable> warmables) {
+		Map<WarmUpTask, Future<WarmUpReport>> futures = new LinkedHashMap<>();
+		for (Map.Entry<ImplementationRequest, Warmable> entry : warmables.entrySet()) {
+			WarmUpTask task = new WarmUpTask(entry.getKey(), entry.getValue());
+			futures.put(task, executor.submit(task));
+		}
+		return futures;
+	}
+
+	private List<WarmUpReport> collectWarmUps(Map<WarmUpTask, Future<WarmUpReport>> futures,
+			long deadline) {
+		List<WarmUpReport> warmUps = new ArrayList<>();
+		for (Map.Entry<WarmUpTask, Future<WarmUpReport>> entry : futures.entrySet()) {
+			WarmUpReport warmUp = waitForWarmUp(entry.getKey(), entry.getValue(), deadline);
+			report.addWarmUp(warmUp);
+			warmUps.add(warmUp);
+		}
+		return warmUps;
+	}
+
+	private WarmUpReport waitForWarmUp(WarmUpTask task, Future<WarmUpReport> future,
+			long deadline) {
+		try {
+			long timeLeft = Math.max(0, deadline - System.nanoTime());
+			return future.get(timeLeft, TimeUnit.NANOSECONDS);
+		} catch (ExecutionException e) {
+			return task.createReport(WarmUpOutcome.FAILED, e.getCause().getMessage());
+		} catch (TimeoutException e) {
+			return task.createReport(WarmUpOutcome.OUT_OF_TIME, null);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return task.createReport(WarmUpOutcome.OUT_OF_TIME, null);
+		}
+	}
+
+	/**
+	 * WarmUpTask warms up one implementation and records when the warm-up started and ended, so
+	 * that the reported duration is the time spent in that warm-up, also when it failed or ran out
+	 * of time. A warm-up that never started is reported with a duration of zero, and one still
+	 * running with the time it has run so far.
+	 */
+	private static final class WarmUpTask implements Callable<WarmUpReport> {
+		private final ImplementationRequest request;
+		private final Warmable warmable;
+		private volatile long startTime;
+		private volatile boolean started;
+		private volatile long endTime;
+		private volatile boolean ended;
+
+		private WarmUpTask(ImplementationRequest request, Warmable warmable) {
+			this.request = request;
+			this.warmable = warmable;
+		}
+
+		@Override
+		public WarmUpReport call() {
+			startTime = System.nanoTime();
+			started = true;
+			try {
+				warmable.warmUp();
+			} finally {
+				endTime = System.nanoTime();
+				ended = true;
+			}
+			return createReport(WarmUpOutcome.FINISHED, null);
+		}
+
+		private WarmUpReport createReport(WarmUpOutcome outcome, String failure) {
+			return new WarmUpReport(request.classToLoad().getName(),
+					warmable.getClass().getName(), outcome, measureDuration(), failure);
+		}
+
+		private Duration measureDuration() {
+			if (!started) {
+				return Duration.ZERO;
+			}
+			long end = ended ? endTime : System.nanoTime();
+			return Duration.ofNanos(end - startTime);
+		}
+	}
+}
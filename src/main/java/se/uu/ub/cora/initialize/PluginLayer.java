@@ -0,0 +1,170 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.initialize;
+
+import java.lang.module.Configuration;
+import java.lang.module.ModuleDescriptor;
+import java.lang.module.ModuleFinder;
+import java.lang.module.ModuleReference;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+
+/**
+ * PluginLayer loads the modules found in a directory, such as customer specific implementations,
+ * into a {@link ModuleLayer} of their own, so that they can be deployed without changing the
+ * modules the system is started with.
+ * </p>
+ * Implementations in the plugin layer, and in the layers it is created from, are loaded using the
+ * {@link ModuleInitializer} returned by {@link #getModuleInitializer()}. Each PluginLayer has its
+ * own {@link CachingModuleInitializer}, so what is loaded for one layer is never returned for
+ * another layer.
+ * </p>
+ * When a PluginLayer is no longer needed should it be closed using {@link #close()}. Closing
+ * forgets everything loaded for the layer and drops the layer, so that its modules and class
+ * loader can be garbage collected as soon as no loaded implementations are used any more.
+ */
+public final class PluginLayer implements AutoCloseable {
+	private volatile ModuleLayer layer;
+	private volatile CachingModuleInitializer moduleInitializer;
+	private final Path directory;
+
+	/**
+	 * loadFromDirectory creates a PluginLayer with all modules found in the specified directory,
+	 * as modular jars or exploded modules. The layer is created as a child of the layer this module
+	 * is loaded in, or the boot layer if this module is not loaded as a named module.
+	 * 
+	 * @param directory
+	 *            A Path to the directory with plugin modules
+	 * @return A PluginLayer with the found modules
+	 * @throws InitializationException
+	 *             if the directory does not exist or the modules in it can not be resolved
+	 */
+	public static PluginLayer loadFromDirectory(Path directory) {
+		ModuleLayer parent = PluginLayer.class.getModule().getLayer();
+		return loadFromDirectory(directory, parent != null ? parent : ModuleLayer.boot(),
+				PluginLayer.class.getClassLoader());
+	}
+
+	/**
+	 * loadFromDirectory creates a PluginLayer with all modules found in the specified directory,
+	 * as a child of the specified parent layer. All plugin modules are defined to one new class
+	 * loader, using the specified parentLoader as its parent.
+	 * 
+	 * @param directory
+	 *            A Path to the directory with plugin modules
+	 * @param parent
+	 *            The ModuleLayer to create the plugin layer as a child of
+	 * @param parentLoader
+	 *            The ClassLoader to use as parent for the class loader of the plugin modules
+	 * @return A PluginLayer with the found modules
+	 * @throws InitializationException
+	 *             if the directory does not exist or the modules in it can not be resolved
+	 */
+	public static PluginLayer loadFromDirectory(Path directory, ModuleLayer parent,
+			ClassLoader parentLoader) {
+		throwErrorIfNotADirectory(directory);
+		try {
+			return new PluginLayer(directory,
+					createLayer(ModuleFinder.of(directory), parent, parentLoader));
+		} catch (RuntimeException e) {
+			throw new InitializationException(
+					"Could not load plugin layer from: " + directory + ".", e);
+		}
+	}
+
+	private static void throwErrorIfNotADirectory(Path directory) {
+		if (!Files.isDirectory(directory)) {
+			throw new InitializationException("Plugin directory does not exist: " + directory);
+		}
+	}
+
+	private static ModuleLayer createLayer(ModuleFinder finder, ModuleLayer parent,
+			ClassLoader parentLoader) {
+		Configuration configuration = parent.configuration().resolveAndBind(finder,
+				ModuleFinder.of(), findModuleNames(finder));
+		return parent.defineModulesWithOneLoader(configuration, parentLoader);
+	}
+
+	private static Set<String> findModuleNames(ModuleFinder finder) {
+		return finder.findAll().stream().map(ModuleReference::descriptor)
+				.map(ModuleDescriptor::name).collect(Collectors.toSet());
+	}
+
+	private PluginLayer(Path directory, ModuleLayer layer) {
+		this.directory = directory;
+		this.layer = layer;
+		moduleInitializer = new CachingModuleInitializer(
+				new ModuleInitializerImp(LoadLogging.DETAILED, layer));
+	}
+
+	/**
+	 * getModuleInitializer returns the {@link ModuleInitializer} to use to load implementations
+	 * from this plugin layer, results are cached for the plugin layer until it is closed.
+	 * 
+	 * @return A ModuleInitializer for this plugin layer
+	 * @throws InitializationException
+	 *             if the plugin layer is closed
+	 */
+	public ModuleInitializer getModuleInitializer() {
+		CachingModuleInitializer current = moduleInitializer;
+		throwErrorIfClosed(current);
+		return current;
+	}
+
+	/**
+	 * getLayer returns the {@link ModuleLayer} with the plugin modules
+	 * 
+	 * @return The ModuleLayer of this plugin layer
+	 * @throws InitializationException
+	 *             if the plugin layer is closed
+	 */
+	public ModuleLayer getLayer() {
+		ModuleLayer current = layer;
+		throwErrorIfClosed(current);
+		return current;
+	}
+
+	private void throwErrorIfClosed(Object current) {
+		if (current == null) {
+			throw new InitializationException("Plugin layer is closed: " + directory);
+		}
+	}
+
+	/**
+	 * close forgets everything loaded for this plugin layer and drops the layer. Closing an already
+	 * closed plugin layer does nothing.
+	 */
+	@Override
+	public void close() {
+		CachingModuleInitializer current = moduleInitializer;
+		moduleInitializer = null;
+		layer = null;
+		if (current != null) {
+			current.clear();
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "PluginLayer[" + directory + "]";
+	}
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.initialize;
+
+import java.time.Duration;
+
+/**
+ * PoolStatistics holds the counters for the pool of one type in an {@link ImplementationPools}.
+ * 
+ * @param type
+ *            the type of the pool
+ * @param maxInstances
+ *            the max number of implementations the pool can hold
+ * @param created
+ *            the number of implementations created for the pool
+ * @param idle
+ *            the number of implementations not currently borrowed
+ * @param hits
+ *            the number of borrows given an idle implementation directly
+ * @param misses
+ *            the number of borrows that created a new implementation
+ * @param waits
+ *            the number of borrows that had to wait for an implementation to be given back
+ * @param waitTime
+ *            the total time spent waiting for implementations to be given back
+ */
+public record PoolStatistics(String type, int maxInstances, int created, int idle, long hits,
+		long misses, long waits, Duration waitTime) {
+}
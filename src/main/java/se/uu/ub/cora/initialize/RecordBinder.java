@@ -0,0 +1,118 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.initialize;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.RecordComponent;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * RecordBinder creates records from settings for {@link SettingsProvider#bind(Class)}. All
+ * components are read before the record is created, so that all problems can be reported at once.
+ */
+final class RecordBinder {
+	private static final Map<Class<?>, SettingConversion> CONVERSIONS = Map.ofEntries(
+			Map.entry(String.class, SettingConversion.STRING),
+			Map.entry(int.class, SettingConversion.INT),
+			Map.entry(Integer.class, SettingConversion.INT),
+			Map.entry(long.class, SettingConversion.LONG),
+			Map.entry(Long.class, SettingConversion.LONG),
+			Map.entry(boolean.class, SettingConversion.BOOLEAN),
+			Map.entry(Boolean.class, SettingConversion.BOOLEAN),
+			Map.entry(Duration.class, SettingConversion.DURATION),
+			Map.entry(URI.class, SettingConversion.URI));
+
+	/**
+	 * SettingReader reads a setting converted using the specified conversion, and throws an
+	 * {@link InitializationException} if that is not possible
+	 */
+	@FunctionalInterface
+	interface SettingReader {
+		Object readSetting(String name, SettingConversion conversion);
+	}
+
+	private RecordBinder() {
+		throw new UnsupportedOperationException();
+	}
+
+	static <R extends Record> R bind(Class<R> recordClass, SettingReader reader) {
+		RecordComponent[] components = recordClass.getRecordComponents();
+		Object[] values = new Object[components.length];
+		List<String> errors = new ArrayList<>();
+		for (int i = 0; i < components.length; i++) {
+			try {
+				values[i] = readComponent(components[i], reader);
+			} catch (InitializationException e) {
+				errors.add(e.getMessage());
+			}
+		}
+		throwErrorIfAnyComponentFailed(recordClass, errors);
+		return createRecord(recordClass, components, values);
+	}
+
+	private static Object readComponent(RecordComponent component, SettingReader reader) {
+		SettingConversion conversion = CONVERSIONS.get(component.getType());
+		if (conversion == null) {
+			throw new InitializationException("Record component: " + component.getName()
+					+ " has unsupported type: " + component.getType().getName() + ".");
+		}
+		return reader.readSetting(settingNameFor(component), conversion);
+	}
+
+	private static String settingNameFor(RecordComponent component) {
+		SettingName settingName = component.getAnnotation(SettingName.class);
+		return settingName != null ? settingName.value() : component.getName();
+	}
+
+	private static void throwErrorIfAnyComponentFailed(Class<?> recordClass, List<String> errors) {
+		if (!errors.isEmpty()) {
+			throw new InitializationException("Could not bind settings to "
+					+ recordClass.getName() + ": " + String.join(" ", errors));
+		}
+	}
+
+	private static <R extends Record> R createRecord(Class<R> recordClass,
+			RecordComponent[] components, Object[] values) {
+		try {
+			return tryToCreateRecord(recordClass, components, values);
+		} catch (InvocationTargetException e) {
+			throw new InitializationException("Could not bind settings to " + recordClass.getName()
+					+ ": " + e.getCause().getMessage(), e);
+		} catch (ReflectiveOperationException e) {
+			throw new InitializationException(
+					"Could not create record bound to settings: " + recordClass.getName(), e);
+		}
+	}
+
+	private static <R extends Record> R tryToCreateRecord(Class<R> recordClass,
+			RecordComponent[] components, Object[] values) throws ReflectiveOperationException {
+		Class<?>[] componentTypes = new Class<?>[components.length];
+		for (int i = 0; i < components.length; i++) {
+			componentTypes[i] = components[i].getType();
+		}
+		Constructor<R> constructor = recordClass.getDeclaredConstructor(componentTypes);
+		constructor.trySetAccessible();
+		return constructor.newInstance(values);
+	}
+}
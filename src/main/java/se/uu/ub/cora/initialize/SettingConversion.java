@@ -0,0 +1,66 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.initialize;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * SettingConversion lists the conversions SettingsProvider can do from the String value of a
+ * setting to a typed value.
+ */
+enum SettingConversion {
+	STRING("String", value -> value),
+
+	INT("int", Integer::valueOf),
+
+	LONG("long", Long::valueOf),
+
+	BOOLEAN("boolean", SettingConversion::parseBoolean),
+
+	DURATION("duration", Duration::parse),
+
+	URI("uri", java.net.URI::create);
+
+	private final String typeName;
+	private final Function<String, Object> converter;
+
+	SettingConversion(String typeName, Function<String, Object> converter) {
+		this.typeName = typeName;
+		this.converter = converter;
+	}
+
+	String typeName() {
+		return typeName;
+	}
+
+	Object convert(String value) {
+		return converter.apply(value);
+	}
+
+	private static Boolean parseBoolean(String value) {
+		if ("true".equalsIgnoreCase(value)) {
+			return Boolean.TRUE;
+		}
+		if ("false".equalsIgnoreCase(value)) {
+			return Boolean.FALSE;
+		}
+		throw new IllegalArgumentException("Not a boolean: " + value);
+	}
+}
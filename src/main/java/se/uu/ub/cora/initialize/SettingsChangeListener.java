@@ -0,0 +1,37 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.initialize;
+
+import java.util.Set;
+
+/**
+ * SettingsChangeListener is notified by {@link SettingsProvider} when settings are replaced and one
+ * or more settings have been added, removed or changed value.
+ */
+@FunctionalInterface
+public interface SettingsChangeListener {
+	/**
+	 * settingsChanged is called after the new settings are in place, so the new values can be read
+	 * from SettingsProvider.
+	 * 
+	 * @param changedNames
+	 *            A Set with the names of all settings that were added, removed or changed value
+	 */
+	void settingsChanged(Set<String> changedNames);
+}
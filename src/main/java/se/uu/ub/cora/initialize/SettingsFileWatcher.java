@@ -0,0 +1,200 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.initialize;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import se.uu.ub.cora.logger.Logger;
+import se.uu.ub.cora.logger.LoggerProvider;
+
+/**
+ * SettingsFileWatcher reads settings from a properties file into {@link SettingsProvider}, and
+ * watches the file using a {@link WatchService} so that the settings are read again when the file
+ * changes.
+ * </p>
+ * The settings in the file are merged with the settings already in SettingsProvider, settings
+ * with the same name as a setting in the file are replaced, all other settings are kept. When the
+ * file changes are the settings earlier read from the file replaced by the settings now in the
+ * file, settings removed from the file are removed unless they have been changed by another
+ * source. Note that a later call to {@link SettingsProvider#setSettings(Map)} replaces all
+ * settings, also those read from the file, so other sources should set their settings before
+ * watching starts.
+ * </p>
+ * The file is read and parsed completely before the settings in SettingsProvider are replaced, so
+ * readers never see a partly read file. The file is read when no more changes to it have been seen
+ * for {@value #SETTLE_MILLISECONDS} milliseconds, to avoid reading a file that is being written,
+ * but the safest way to change the file is to write a new file and move it in place of the old.
+ * Reading is done by the watching thread, and does not block threads reading settings. If the
+ * changed file can not be read or parsed, is an error logged and the previous settings are kept.
+ * </p>
+ * Any change in the directory of the file makes the watcher read the file again, and the settings
+ * are only replaced if the read settings differ from the settings last read. The watched file is
+ * often not changed itself, for instance a Kubernetes ConfigMap mounted as a volume is updated by
+ * swapping the ..data symlink in the directory, while the file is a symlink through ..data that
+ * never changes.
+ * </p>
+ * Use {@link #watch(Path)} to start watching and {@link #close()} to stop.
+ */
+public final class SettingsFileWatcher implements AutoCloseable {
+	static final long SETTLE_MILLISECONDS = 100;
+	private final Logger log = LoggerProvider.getLoggerForClass(SettingsFileWatcher.class);
+	private final Path file;
+	private final WatchService watchService;
+	private Map<String, String> currentSettings = Map.of();
+
+	/**
+	 * watch reads the settings in the file into SettingsProvider and starts watching the file for
+	 * changes
+	 * 
+	 * @param file
+	 *            A Path to a properties file with the settings
+	 * @return A SettingsFileWatcher that can be closed to stop watching the file
+	 * @throws InitializationException
+	 *             if the file can not be read or watched
+	 */
+	public static SettingsFileWatcher watch(Path file) {
+		SettingsFileWatcher watcher = new SettingsFileWatcher(file.toAbsolutePath());
+		watcher.startWatching();
+		return watcher;
+	}
+
+	private SettingsFileWatcher(Path file) {
+		this.file = file;
+		this.watchService = createWatchService(file);
+		replaceCurrentSettings(readSettingsOrThrowError());
+	}
+
+	private void replaceCurrentSettings(Map<String, String> readSettings) {
+		SettingsProvider.replaceSettingsFromSource(currentSettings, readSettings);
+		currentSettings = readSettings;
+	}
+
+	private WatchService createWatchService(Path file) {
+		try {
+			WatchService createdWatchService = file.getFileSystem().newWatchService();
+			file.getParent().register(createdWatchService, ENTRY_CREATE, ENTRY_MODIFY);
+			return createdWatchService;
+		} catch (IOException e) {
+			throw new InitializationException("Could not watch settings file: " + file, e);
+		}
+	}
+
+	private Map<String, String> readSettingsOrThrowError() {
+		try {
+			return readSettings();
+		} catch (IOException | IllegalArgumentException e) {
+			closeWatchService();
+			throw new InitializationException("Could not read settings file: " + file, e);
+		}
+	}
+
+	private Map<String, String> readSettings() throws IOException {
+		Properties properties = new Properties();
+		try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+			properties.load(reader);
+		}
+		Map<String, String> settings = new HashMap<>();
+		for (String name : properties.stringPropertyNames()) {
+			settings.put(name, properties.getProperty(name));
+		}
+		return settings;
+	}
+
+	private void startWatching() {
+		Thread.ofPlatform().daemon().name("settings-file-watcher-" + file.getFileName())
+				.start(this::watchForChanges);
+	}
+
+	private void watchForChanges() {
+		try {
+			while (true) {
+				WatchKey key = watchService.take();
+				if (hasEventsAndReset(key)) {
+					waitForChangesToSettle();
+					reloadSettings();
+				}
+			}
+		} catch (ClosedWatchServiceException e) {
+			// closed, stop watching
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private boolean hasEventsAndReset(WatchKey key) {
+		boolean hasEvents = !key.pollEvents().isEmpty();
+		key.reset();
+		return hasEvents;
+	}
+
+	private void waitForChangesToSettle() throws InterruptedException {
+		WatchKey key = watchService.poll(SETTLE_MILLISECONDS, TimeUnit.MILLISECONDS);
+		while (key != null) {
+			hasEventsAndReset(key);
+			key = watchService.poll(SETTLE_MILLISECONDS, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	/**
+	 * reloadSettings reads the file again and replaces the settings in SettingsProvider, if the
+	 * settings in the file differ from the settings last read
+	 */
+	synchronized void reloadSettings() {
+		try {
+			Map<String, String> readSettings = readSettings();
+			if (!readSettings.equals(currentSettings)) {
+				replaceCurrentSettings(readSettings);
+				log.logInfoUsingMessage("Settings reloaded from: " + file);
+			}
+		} catch (IOException | IllegalArgumentException e) {
+			log.logErrorUsingMessageAndException("Could not reload settings file: " + file
+					+ ", keeping previous settings.", e);
+		}
+	}
+
+	/**
+	 * close stops watching the file, the settings last read are kept in SettingsProvider
+	 */
+	@Override
+	public void close() {
+		closeWatchService();
+	}
+
+	private void closeWatchService() {
+		try {
+			watchService.close();
+		} catch (IOException e) {
+			log.logWarnUsingMessage("Could not close watch of settings file: " + file);
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2022, 2025 Uppsala University Library
+ * Copyright 2022, 2025, 2026 Uppsala University Library
  *
  * This file is part of Cora.
  *
@@ -18,10 +18,21 @@
  */
 package se.uu.ub.cora.initialize;
 
-import java.util.HashSet;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
 
+import se.uu.ub.cora.initialize.SettingsSnapshot.Setting;
+import se.uu.ub.cora.initialize.internal.FlightRecorderEvents;
+import se.uu.ub.cora.initialize.internal.SettingMissEvent;
 import se.uu.ub.cora.logger.Logger;
 import se.uu.ub.cora.logger.LoggerProvider;
 
@@ -32,12 +43,31 @@ import se.uu.ub.cora.logger.LoggerProvider;
  * Intended use is that on system starup settings are collected and {@link #setSettings(Map)} is
  * called with these settings so that other parts of the system has direct access to the settings
  * through {@link #getSetting(String)}.
+ * </p>
+ * Settings are kept as an immutable snapshot that is replaced as a whole when settings are set, so
+ * settings can be read from many threads at the same time without locking. Reading a setting that
+ * has been read before does not write to any shared state. Each setting is logged the first time
+ * it is read after settings are set, the logged state is kept in the snapshot, so a read only
+ * touches the current snapshot.
+ * </p>
+ * Settings can also be read as other types than String, using for instance
+ * {@link #getIntSetting(String)} or {@link #getDurationSetting(String)}. The converted value is
+ * cached until settings are set again, so each setting is only converted once.
+ * </p>
+ * Settings that are optional should be read using {@link #findSetting(String)} or
+ * {@link #getSettingOrDefault(String, String)}, these never throw exceptions for missing settings
+ * and remember missing names until settings are set again, so that probing for optional settings
+ * is cheap also when it is done often.
+ * </p>
+ * Settings can be replaced while the system is running, for instance by a
+ * {@link SettingsFileWatcher}. Components that need to know about changed settings can register a
+ * {@link SettingsChangeListener} using {@link #addChangeListener(SettingsChangeListener)}.
  */
 public class SettingsProvider {
 
-	private static Map<String, String> settings;
+	private static final AtomicReference<SettingsSnapshot> snapshot = new AtomicReference<>();
 	private static Logger log = LoggerProvider.getLoggerForClass(SettingsProvider.class);
-	private static Set<String> loggedNames = new HashSet<>();
+	private static final List<SettingsChangeListener> changeListeners = new CopyOnWriteArrayList<>();
 
 	private SettingsProvider() {
 		// prevent call to constructor
@@ -54,31 +84,95 @@ public class SettingsProvider {
 	 *             if the setting name is not present
 	 */
 	public static String getSetting(String name) {
+		return getSettingFromSnapshot(snapshot.get(), name);
+	}
+
+	private static String getSettingFromSnapshot(SettingsSnapshot currentSnapshot, String name) {
 		try {
-			return tryToGetSetting(name);
+			return tryToGetSetting(currentSnapshot, name);
 		} catch (Exception e) {
+			commitSettingMissEvent(name);
 			log.logFatalUsingMessage(createMessageForName(name));
 			throw new InitializationException(createMessageForName(name), e);
 		}
 	}
 
-	private static String tryToGetSetting(String name) {
-		if (settings.containsKey(name)) {
-			return getExistingSetting(name);
+	private static String tryToGetSetting(SettingsSnapshot currentSnapshot, String name) {
+		throwErrorIfNoSettingsAreSet(currentSnapshot);
+		Setting setting = currentSnapshot.findSetting(name);
+		if (setting != null) {
+			logFirstCallForSetting(name, setting);
+			return setting.value();
 		}
 		throw new InitializationException(createMessageForName(name));
 	}
 
-	private static String getExistingSetting(String name) {
-		String value = settings.get(name);
-		logFirstCallForSettingName(name, value);
-		return value;
+	private static void throwErrorIfNoSettingsAreSet(SettingsSnapshot currentSnapshot) {
+		if (currentSnapshot == null) {
+			throw new IllegalStateException("No settings are set in SettingsProvider.");
+		}
+	}
+
+	private static void logFirstCallForSetting(String name, Setting setting) {
+		if (setting.shouldLogAsFound()) {
+			log.logInfoUsingMessage("Found: " + setting.value() + " as: " + name);
+		}
+	}
+
+	/**
+	 * findSetting returns the setting for the specified setting name, if it exists. Use this method
+	 * for optional settings, as no exception is created when the setting is missing.
+	 * </p>
+	 * The first time a name is found to be missing, after settings are set, is this logged and a
+	 * {@link SettingMissEvent} committed, later requests for the same missing name are answered
+	 * without logging.
+	 * 
+	 * @param name
+	 *            A String with the name of the setting to return
+	 * @return An Optional with the String value corresponding to the passed setting name, or an
+	 *         empty Optional if the setting is not present, its value is null or no settings are
+	 *         set
+	 */
+	public static Optional<String> findSetting(String name) {
+		return Optional.ofNullable(findSettingInSnapshot(snapshot.get(), name));
+	}
+
+	/**
+	 * getSettingOrDefault returns the setting for the specified setting name, or the specified
+	 * default value if it does not exist. Missing settings are handled in the same way as for
+	 * {@link #findSetting(String)}.
+	 * 
+	 * @param name
+	 *            A String with the name of the setting to return
+	 * @param defaultValue
+	 *            A String to return if the setting is not present, its value is null or no settings
+	 *            are set
+	 * @return The String value corresponding to the passed setting name, or the defaultValue
+	 */
+	public static String getSettingOrDefault(String name, String defaultValue) {
+		String value = findSettingInSnapshot(snapshot.get(), name);
+		return value != null ? value : defaultValue;
+	}
+
+	private static String findSettingInSnapshot(SettingsSnapshot currentSnapshot, String name) {
+		if (currentSnapshot == null) {
+			return null;
+		}
+		Setting setting = currentSnapshot.findSetting(name);
+		if (setting != null && setting.value() != null) {
+			logFirstCallForSetting(name, setting);
+			return setting.value();
+		}
+		if (currentSnapshot.shouldLogAbsentName(name)) {
+			commitSettingMissEvent(name);
+			log.logInfoUsingMessage("No value found for: " + name);
+		}
+		return null;
 	}
 
-	private static void logFirstCallForSettingName(String name, String value) {
-		if (!loggedNames.contains(name)) {
-			log.logInfoUsingMessage("Found: " + value + " as: " + name);
-			loggedNames.add(name);
+	private static void commitSettingMissEvent(String name) {
+		if (FlightRecorderEvents.areAvailable()) {
+			SettingMissEvent.commitForSettingName(name);
 		}
 	}
 
@@ -87,14 +181,240 @@ public class SettingsProvider {
 	}
 
 	/**
-	 * setSettings sets all settings using a Map
+	 * getIntSetting returns the setting for the specified setting name as an int.
+	 * 
+	 * @param name
+	 *            A String with the name of the setting to return
+	 * @return The int value corresponding to the passed setting name.
+	 * @throws InitializationException
+	 *             if the setting name is not present or if the value is not an int
+	 */
+	public static int getIntSetting(String name) {
+		return (Integer) getConvertedSetting(name, SettingConversion.INT);
+	}
+
+	/**
+	 * getLongSetting returns the setting for the specified setting name as a long.
+	 * 
+	 * @param name
+	 *            A String with the name of the setting to return
+	 * @return The long value corresponding to the passed setting name.
+	 * @throws InitializationException
+	 *             if the setting name is not present or if the value is not a long
+	 */
+	public static long getLongSetting(String name) {
+		return (Long) getConvertedSetting(name, SettingConversion.LONG);
+	}
+
+	/**
+	 * getBooleanSetting returns the setting for the specified setting name as a boolean, the value
+	 * must be true or false ignoring case.
+	 * 
+	 * @param name
+	 *            A String with the name of the setting to return
+	 * @return The boolean value corresponding to the passed setting name.
+	 * @throws InitializationException
+	 *             if the setting name is not present or if the value is not true or false
+	 */
+	public static boolean getBooleanSetting(String name) {
+		return (Boolean) getConvertedSetting(name, SettingConversion.BOOLEAN);
+	}
+
+	/**
+	 * getDurationSetting returns the setting for the specified setting name as a {@link Duration},
+	 * the value must be in the ISO-8601 format read by {@link Duration#parse(CharSequence)}, such as
+	 * PT30S.
+	 * 
+	 * @param name
+	 *            A String with the name of the setting to return
+	 * @return The Duration corresponding to the passed setting name.
+	 * @throws InitializationException
+	 *             if the setting name is not present or if the value is not a duration
+	 */
+	public static Duration getDurationSetting(String name) {
+		return (Duration) getConvertedSetting(name, SettingConversion.DURATION);
+	}
+
+	/**
+	 * getUriSetting returns the setting for the specified setting name as a {@link URI}.
+	 * 
+	 * @param name
+	 *            A String with the name of the setting to return
+	 * @return The URI corresponding to the passed setting name.
+	 * @throws InitializationException
+	 *             if the setting name is not present or if the value is not a URI
+	 */
+	public static URI getUriSetting(String name) {
+		return (URI) getConvertedSetting(name, SettingConversion.URI);
+	}
+
+	private static Object getConvertedSetting(String name, SettingConversion conversion) {
+		return getConvertedSettingFromSnapshot(snapshot.get(), name, conversion);
+	}
+
+	private static Object getConvertedSettingFromSnapshot(SettingsSnapshot currentSnapshot,
+			String name, SettingConversion conversion) {
+		if (currentSnapshot != null) {
+			Object convertedValue = currentSnapshot.findConvertedSetting(name, conversion);
+			if (convertedValue != null) {
+				return convertedValue;
+			}
+		}
+		String value = getSettingFromSnapshot(currentSnapshot, name);
+		Object convertedValue = convertSetting(name, value, conversion);
+		currentSnapshot.addConvertedSetting(name, conversion, convertedValue);
+		return convertedValue;
+	}
+
+	private static Object convertSetting(String name, String value, SettingConversion conversion) {
+		try {
+			return conversion.convert(value);
+		} catch (RuntimeException e) {
+			String message = "Setting name: " + name + " with value: " + value
+					+ " could not be converted to " + conversion.typeName() + ".";
+			log.logFatalUsingMessage(message);
+			throw new InitializationException(message, e);
+		}
+	}
+
+	/**
+	 * bind creates an instance of the record class with the value of each record component read
+	 * from the setting with the same name as the component, or with the name given using
+	 * {@link SettingName} on the component. Components can be of the types String, int, long,
+	 * boolean, {@link Duration} and {@link URI}, or the boxed versions of the primitive types, and
+	 * are converted in the same way as for instance {@link #getIntSetting(String)}.
+	 * </p>
+	 * All components are validated at once, and the created record is cached until settings are set
+	 * again, so repeated calls return the same instance as long as the settings are unchanged.
+	 * 
+	 * @param <R>
+	 *            The type of record to bind settings to
+	 * @param recordClass
+	 *            The record class to bind settings to
+	 * @return An instance of recordClass holding the current settings
+	 * @throws InitializationException
+	 *             if one or more settings are missing or can not be converted, listing all of them
+	 */
+	public static <R extends Record> R bind(Class<R> recordClass) {
+		SettingsSnapshot currentSnapshot = snapshot.get();
+		if (currentSnapshot != null) {
+			R boundRecord = currentSnapshot.findBoundRecord(recordClass);
+			if (boundRecord != null) {
+				return boundRecord;
+			}
+		}
+		R boundRecord = RecordBinder.bind(recordClass, (name,
+				conversion) -> getConvertedSettingFromSnapshot(currentSnapshot, name, conversion));
+		if (currentSnapshot != null) {
+			currentSnapshot.addBoundRecord(recordClass, boundRecord);
+		}
+		return boundRecord;
+	}
+
+	/**
+	 * setSettings sets all settings using a Map. The settings are copied, so later changes to the
+	 * map are not seen by SettingsProvider.
+	 * </p>
+	 * All settings are replaced at once, readers see either the old or the new settings. When the
+	 * new settings are in place are all registered {@link SettingsChangeListener}s called with the
+	 * names of the settings that changed, if any.
 	 * 
 	 * @param settings
 	 *            A {@link Map} with the settings to keep track of
 	 */
 	public static void setSettings(Map<String, String> settings) {
-		SettingsProvider.settings = settings;
+		SettingsSnapshot newSnapshot = settings == null ? null : new SettingsSnapshot(settings);
+		SettingsSnapshot previousSnapshot = snapshot.getAndSet(newSnapshot);
+		notifyChangeListenersIfChanged(previousSnapshot, newSnapshot);
+	}
 
+	private static void notifyChangeListenersIfChanged(SettingsSnapshot previousSnapshot,
+			SettingsSnapshot newSnapshot) {
+		Set<String> changedNames = findChangedNames(previousSnapshot, newSnapshot);
+		if (!changedNames.isEmpty()) {
+			notifyChangeListeners(Collections.unmodifiableSet(changedNames));
+		}
+	}
+
+	/**
+	 * replaceSettingsFromSource replaces the settings earlier read from one source, such as a
+	 * settings file, with the settings now read from the same source, and keeps all other
+	 * settings. Settings in previousFromSource that still have the value read from the source are
+	 * removed, and all settings in fromSource are added, replacing settings with the same name.
+	 * </p>
+	 * The settings are replaced at once and listeners are called in the same way as for
+	 * {@link #setSettings(Map)}. If settings are set by another thread at the same time, is the
+	 * replacement done again on top of the settings set by the other thread.
+	 */
+	static void replaceSettingsFromSource(Map<String, String> previousFromSource,
+			Map<String, String> fromSource) {
+		SettingsSnapshot previousSnapshot;
+		SettingsSnapshot newSnapshot;
+		do {
+			previousSnapshot = snapshot.get();
+			newSnapshot = new SettingsSnapshot(
+					mergeSettings(previousSnapshot, previousFromSource, fromSource));
+		} while (!snapshot.compareAndSet(previousSnapshot, newSnapshot));
+		notifyChangeListenersIfChanged(previousSnapshot, newSnapshot);
+	}
+
+	private static Map<String, String> mergeSettings(SettingsSnapshot currentSnapshot,
+			Map<String, String> previousFromSource, Map<String, String> fromSource) {
+		Map<String, String> merged = currentSnapshot == null ? new HashMap<>()
+				: currentSnapshot.toValues();
+		merged.entrySet().removeIf(setting -> previousFromSource.containsKey(setting.getKey())
+				&& Objects.equals(previousFromSource.get(setting.getKey()), setting.getValue()));
+		merged.putAll(fromSource);
+		return merged;
+	}
+
+	private static Set<String> findChangedNames(SettingsSnapshot previousSnapshot,
+			SettingsSnapshot newSnapshot) {
+		if (previousSnapshot == null) {
+			return newSnapshot == null ? Collections.emptySet() : newSnapshot.getNames();
+		}
+		if (newSnapshot == null) {
+			return previousSnapshot.getNames();
+		}
+		return newSnapshot.findChangedNames(previousSnapshot);
+	}
+
+	private static void notifyChangeListeners(Set<String> changedNames) {
+		for (SettingsChangeListener listener : changeListeners) {
+			notifyChangeListener(listener, changedNames);
+		}
+	}
+
+	private static void notifyChangeListener(SettingsChangeListener listener,
+			Set<String> changedNames) {
+		try {
+			listener.settingsChanged(changedNames);
+		} catch (RuntimeException e) {
+			log.logErrorUsingMessageAndException(
+					"SettingsChangeListener failed for changed settings: " + changedNames, e);
+		}
+	}
+
+	/**
+	 * addChangeListener registers a listener that is called each time settings are set and one or
+	 * more settings changed
+	 * 
+	 * @param listener
+	 *            The {@link SettingsChangeListener} to call
+	 */
+	public static void addChangeListener(SettingsChangeListener listener) {
+		changeListeners.add(listener);
+	}
+
+	/**
+	 * removeChangeListener removes a listener registered using
+	 * {@link #addChangeListener(SettingsChangeListener)}
+	 * 
+	 * @param listener
+	 *            The {@link SettingsChangeListener} to remove
+	 */
+	public static void removeChangeListener(SettingsChangeListener listener) {
+		changeListeners.remove(listener);
 	}
 
 	public static void onlyForTestSetLogger(Logger onlyForTestlogger) {
@@ -102,6 +422,9 @@ public class SettingsProvider {
 	}
 
 	public static void onlyForTestClearLoggedNames() {
-		loggedNames = new HashSet<>();
+		SettingsSnapshot currentSnapshot = snapshot.get();
+		if (currentSnapshot != null) {
+			currentSnapshot.forgetLoggedSettings();
+		}
 	}
 }
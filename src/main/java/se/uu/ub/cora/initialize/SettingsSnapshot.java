@@ -0,0 +1,183 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.initialize;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * SettingsSnapshot is an immutable copy of the settings set in {@link SettingsProvider}. A new
+ * snapshot is created each time settings are set, so readers always see one complete set of
+ * settings.
+ * </p>
+ * Settings converted to other types and records bound to settings are cached in the snapshot, so
+ * each setting is converted once for each snapshot and the cache is dropped together with the
+ * snapshot when settings are set again. In the same way are names of absent settings that have been
+ * logged remembered for the life of the snapshot, so that each is only logged once. At most
+ * {@value #MAX_LOGGED_ABSENT_NAMES} names are remembered, absent names requested after that are
+ * logged each time.
+ * </p>
+ * Each setting is kept as a {@link Setting} that also remembers if the setting has been logged as
+ * found, so that reading a setting only looks up the name once in the snapshot and touches no state
+ * shared with other snapshots.
+ */
+final class SettingsSnapshot {
+	private final Map<String, Setting> settings;
+	private final Map<SettingConversion, Map<String, Object>> convertedSettings = new EnumMap<>(
+			SettingConversion.class);
+	private final Map<Class<?>, Record> boundRecords = new ConcurrentHashMap<>();
+	static final int MAX_LOGGED_ABSENT_NAMES = 1000;
+	private final Set<String> loggedAbsentNames = ConcurrentHashMap.newKeySet();
+
+	SettingsSnapshot(Map<String, String> settings) {
+		this.settings = Collections.unmodifiableMap(createSettings(settings));
+		for (SettingConversion conversion : SettingConversion.values()) {
+			convertedSettings.put(conversion, new ConcurrentHashMap<>());
+		}
+	}
+
+	private static Map<String, Setting> createSettings(Map<String, String> values) {
+		Map<String, Setting> settings = new HashMap<>(values.size() + values.size() / 3 + 1);
+		for (Map.Entry<String, String> entry : values.entrySet()) {
+			settings.put(entry.getKey(), new Setting(entry.getValue()));
+		}
+		return settings;
+	}
+
+	/**
+	 * findSetting returns the setting for the name, or null if there is no setting with the name
+	 */
+	Setting findSetting(String name) {
+		return settings.get(name);
+	}
+
+	/**
+	 * shouldLogAbsentName is used to suppress repeated logging of a name requested without a value,
+	 * it does not make finding the setting faster.
+	 * 
+	 * @return true the first time it is called for the name in this snapshot, or if
+	 *         {@value #MAX_LOGGED_ABSENT_NAMES} names are already remembered, otherwise false
+	 */
+	boolean shouldLogAbsentName(String name) {
+		if (loggedAbsentNames.size() >= MAX_LOGGED_ABSENT_NAMES) {
+			return !loggedAbsentNames.contains(name);
+		}
+		return loggedAbsentNames.add(name);
+	}
+
+	/**
+	 * findChangedNames returns the names of all settings that differ between this snapshot and the
+	 * previous, including settings only present in one of them
+	 */
+	Set<String> findChangedNames(SettingsSnapshot previous) {
+		Set<String> changedNames = new HashSet<>();
+		addNamesWithOtherValue(changedNames, settings, previous.settings);
+		addNamesWithOtherValue(changedNames, previous.settings, settings);
+		return changedNames;
+	}
+
+	private static void addNamesWithOtherValue(Set<String> changedNames,
+			Map<String, Setting> from, Map<String, Setting> to) {
+		for (Map.Entry<String, Setting> entry : from.entrySet()) {
+			Setting other = to.get(entry.getKey());
+			if (other == null || !Objects.equals(entry.getValue().value(), other.value())) {
+				changedNames.add(entry.getKey());
+			}
+		}
+	}
+
+	Set<String> getNames() {
+		return settings.keySet();
+	}
+
+	/**
+	 * toValues returns a new modifiable map with the name and value of all settings
+	 */
+	Map<String, String> toValues() {
+		Map<String, String> values = new HashMap<>(settings.size() + settings.size() / 3 + 1);
+		for (Map.Entry<String, Setting> entry : settings.entrySet()) {
+			values.put(entry.getKey(), entry.getValue().value());
+		}
+		return values;
+	}
+
+	/**
+	 * findConvertedSetting returns the converted value for the name, or null if it has not been
+	 * converted in this snapshot
+	 */
+	Object findConvertedSetting(String name, SettingConversion conversion) {
+		return convertedSettings.get(conversion).get(name);
+	}
+
+	void addConvertedSetting(String name, SettingConversion conversion, Object convertedValue) {
+		if (convertedValue != null) {
+			convertedSettings.get(conversion).put(name, convertedValue);
+		}
+	}
+
+	/**
+	 * findBoundRecord returns the record bound to the settings in this snapshot, or null if it has
+	 * not been bound in this snapshot
+	 */
+	<R extends Record> R findBoundRecord(Class<R> recordClass) {
+		return recordClass.cast(boundRecords.get(recordClass));
+	}
+
+	void addBoundRecord(Class<? extends Record> recordClass, Record boundRecord) {
+		boundRecords.put(recordClass, boundRecord);
+	}
+
+	void forgetLoggedSettings() {
+		for (Setting setting : settings.values()) {
+			setting.logged.set(false);
+		}
+		loggedAbsentNames.clear();
+	}
+
+	/**
+	 * Setting holds the value of one setting, and if it has been logged as found in this snapshot
+	 */
+	static final class Setting {
+		private final String value;
+		private final AtomicBoolean logged = new AtomicBoolean();
+
+		private Setting(String value) {
+			this.value = value;
+		}
+
+		String value() {
+			return value;
+		}
+
+		/**
+		 * shouldLogAsFound returns true the first time it is called for this setting, a setting
+		 * already logged is answered by one volatile read
+		 */
+		boolean shouldLogAsFound() {
+			return !logged.get() && logged.compareAndSet(false, true);
+		}
+	}
+}
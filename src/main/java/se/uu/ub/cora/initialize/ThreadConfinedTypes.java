@@ -0,0 +1,69 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.initialize;
+
+import java.util.function.Function;
+
+/**
+ * ThreadConfinedTypes holds implementations for each type that are never used by two threads at
+ * the same time, for implementations that are cheap to create but keep mutable scratch state, such
+ * as converters keeping parsers or buffers. Implementations are created by the found provider of
+ * each type, so the implementations do not need any locking of their own.
+ * </p>
+ * Implementations are only used through {@link #withImplementation(String, Function)}. Platform
+ * threads get one implementation of each type, kept for the thread until the thread ends or
+ * {@link #close()} is called. Virtual threads are too many to keep one implementation each, instead
+ * are they lent one of a bounded number of implementations kept for virtual threads, for as long as
+ * the work runs.
+ * </p>
+ * Implementations kept for platform threads are only released when the thread ends, so when
+ * pooled platform threads outlive the loaded implementations, such as when a plugin or web
+ * application is unloaded, must {@link #close()} be called to release them.
+ */
+public interface ThreadConfinedTypes<T extends SelectType> {
+
+	/**
+	 * withImplementation calls work with an implementation of the type that no other thread uses
+	 * until work returns. A platform thread gets the same implementation every time, a virtual
+	 * thread gets an idle implementation kept for virtual threads, or a new one if none is idle. If
+	 * the max number of implementations for virtual threads are in use, waits the virtual thread
+	 * until one is done.
+	 * 
+	 * @param <R>
+	 *            The type of result from work
+	 * @param type
+	 *            The type to use an implementation for
+	 * @param work
+	 *            A Function using the implementation, it must not keep the implementation after it
+	 *            returns
+	 * @return The result from work
+	 * @throws InitializationException
+	 *             if no implementation exists for the type, if called after {@link #close()} or if
+	 *             interrupted while waiting for an implementation
+	 */
+	<R> R withImplementation(String type, Function<T, R> work);
+
+	/**
+	 * close releases all implementations kept for platform threads and virtual threads, so that
+	 * pooled threads do not keep the implementations, and their class loaders, reachable. Calling
+	 * {@link #withImplementation(String, Function)} after close throws an InitializationException.
+	 * Closing already closed ThreadConfinedTypes does nothing.
+	 */
+	void close();
+}
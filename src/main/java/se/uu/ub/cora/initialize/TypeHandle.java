@@ -0,0 +1,75 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.initialize;
+
+/**
+ * TypeHandle is a type resolved once by {@link InitializedTypes#resolveType(String)}, so that the
+ * implementation for the type can be fetched using
+ * {@link InitializedTypes#getImplementationByHandle(TypeHandle)} without hashing and comparing the
+ * type again.
+ * </p>
+ * A TypeHandle is only a shortcut for the InitializedTypes that resolved it, if it is used with
+ * another InitializedTypes is the implementation looked up using its type.
+ */
+public final class TypeHandle {
+	/**
+	 * NO_SLOT is used as slot by InitializedTypes that do not keep their implementations in slots.
+	 */
+	public static final int NO_SLOT = -1;
+	private final InitializedTypes<?> resolvedBy;
+	private final String type;
+	private final int slot;
+
+	/**
+	 * Creates a TypeHandle, intended to be used by implementations of {@link InitializedTypes}
+	 * 
+	 * @param resolvedBy
+	 *            The InitializedTypes that resolved the type
+	 * @param type
+	 *            The resolved type
+	 * @param slot
+	 *            The slot where resolvedBy keeps the implementation for the type
+	 */
+	public TypeHandle(InitializedTypes<?> resolvedBy, String type, int slot) {
+		this.resolvedBy = resolvedBy;
+		this.type = type;
+		this.slot = slot;
+	}
+
+	public String type() {
+		return type;
+	}
+
+	public int slot() {
+		return slot;
+	}
+
+	/**
+	 * isResolvedBy returns true if this handle was resolved by the specified initializedTypes, and
+	 * its slot can be used
+	 */
+	public boolean isResolvedBy(InitializedTypes<?> initializedTypes) {
+		return resolvedBy == initializedTypes;
+	}
+
+	@Override
+	public String toString() {
+		return "TypeHandle[" + type + "]";
+	}
+}
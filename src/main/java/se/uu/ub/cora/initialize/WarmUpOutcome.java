@@ -0,0 +1,40 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.initialize;
+
+/**
+ * WarmUpOutcome tells how the warm-up of a {@link Warmable} implementation ended.
+ */
+public enum WarmUpOutcome {
+	/**
+	 * FINISHED is used when the warm-up finished within the budget.
+	 */
+	FINISHED,
+
+	/**
+	 * FAILED is used when the warm-up threw an exception.
+	 */
+	FAILED,
+
+	/**
+	 * OUT_OF_TIME is used when the warm-up had not finished when the budget ran out, the warm-up is
+	 * then interrupted.
+	 */
+	OUT_OF_TIME
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.initialize;
+
+import java.time.Duration;
+
+/**
+ * WarmUpReport holds the result of warming up one {@link Warmable} implementation.
+ * 
+ * @param interfaceName
+ *            the name of the interface the implementation was loaded for
+ * @param className
+ *            the name of the warmed up class
+ * @param outcome
+ *            the {@link WarmUpOutcome} of the warm-up
+ * @param duration
+ *            the time spent warming up, measured from when the warm-up started running, for
+ *            warm-ups that ran out of time the time they had run when the budget ran out
+ * @param failure
+ *            the message of the exception thrown by a failed warm-up, null for other outcomes
+ */
+public record WarmUpReport(String interfaceName, String className, WarmUpOutcome outcome,
+		Duration duration, String failure) {
+}
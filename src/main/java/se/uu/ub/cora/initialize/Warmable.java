@@ -0,0 +1,50 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.initialize;
+
+/**
+ * Warmable is an optional interface for implementations that want to be warmed up before they are
+ * used, so that JIT compilation, lazy caches and class loading happen before the first real request
+ * instead of during it.
+ * </p>
+ * When an implementation loaded using
+ * {@link ModuleInitializer#loadImplementations(ImplementationRequests)} implements Warmable is
+ * {@link #warmUp()} called before loadImplementations returns. Warm-ups of different
+ * implementations are run at the same time, within the budget set using
+ * {@link ImplementationRequests#warmUpWithin(java.time.Duration)}. Only implementations loaded as
+ * one implementation are warmed up, implementations of each type are created when first requested
+ * or used from pools and are not warmed up.
+ * </p>
+ * Implementations loaded one at a time through a provider, such as those returned by
+ * {@link AbstractProvider} or {@link CachedImplementation}, are never warmed up even if they
+ * implement Warmable.
+ */
+public interface Warmable {
+	/**
+	 * warmUp should exercise the implementation in the same way as real requests do, without
+	 * changing any state that is visible to real requests.
+	 * </p>
+	 * A warm-up still running when the budget runs out is interrupted, and should stop as soon as
+	 * possible. Interruption can not be forced, a warm-up that ignores it keeps running on its own
+	 * virtual thread after loadImplementations has returned, and is reported as
+	 * {@link WarmUpOutcome#OUT_OF_TIME}. Exceptions thrown by warmUp do not stop loading, they are
+	 * reported as a {@link WarmUpOutcome#FAILED} warm-up.
+	 */
+	void warmUp();
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2022 Uppsala University Library
+ * Copyright 2022, 2026 Uppsala University Library
  * 
  * This file is part of Cora.
  *
@@ -18,12 +18,15 @@
  */
 package se.uu.ub.cora.initialize.example;
 
+import se.uu.ub.cora.initialize.DeclaredSelectOrder;
+
 /**
  * SelectOrderImplementationExample is here so that we can test with something that fullfills the
  * uses part of module-info
  *
  */
 // public class InterfaceClassSpy implements SelectOrder {
+@DeclaredSelectOrder(0)
 public class SelectOrderImplementationExample implements SelectOrderExample {
 
 	@Override
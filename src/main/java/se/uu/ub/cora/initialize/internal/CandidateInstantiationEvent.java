@@ -0,0 +1,56 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.initialize.internal;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * CandidateInstantiationEvent is a Java Flight Recorder event for the creation of one found
+ * implementation by ModuleStarterImp, with the select order or select type of the created
+ * implementation. The event is disabled by default and is enabled in a recording using its name,
+ * {@value #NAME}.
+ */
+@Name(CandidateInstantiationEvent.NAME)
+@Label("Candidate Instantiation")
+@Description("Creation of a found implementation while choosing implementations")
+@Category({ "Cora", "Initialize" })
+@Enabled(false)
+@StackTrace(false)
+public final class CandidateInstantiationEvent extends jdk.jfr.Event {
+	public static final String NAME = "se.uu.ub.cora.initialize.CandidateInstantiation";
+
+	@Label("Interface Name")
+	String interfaceName;
+
+	@Label("Implementation Class")
+	String implementationClass;
+
+	@Label("Select Order")
+	@Description("The select order of the implementation, if it has one")
+	int selectOrder;
+
+	@Label("Select Type")
+	@Description("The select type of the implementation, if it has one")
+	String selectType;
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.initialize.internal;
+
+import java.util.Map;
+import java.util.Set;
+
+import se.uu.ub.cora.initialize.MutableInitializedTypes;
+import se.uu.ub.cora.initialize.SelectType;
+import se.uu.ub.cora.initialize.TypeHandle;
+
+/**
+ * CopyOnWriteImplementationForTypes keeps its implementations in an
+ * {@link ImplementationForTypesImpl} that is never changed. Each change creates a new
+ * ImplementationForTypesImpl from a copy of the current implementations and publishes it using one
+ * volatile write, so reads are one volatile read followed by a lookup in an immutable table.
+ * </p>
+ * Changes are serialized, as each change copies all implementations are changes expected to be
+ * rare compared to reads.
+ */
+public class CopyOnWriteImplementationForTypes<T extends SelectType>
+		implements MutableInitializedTypes<T> {
+	private volatile ImplementationForTypesImpl<T> current;
+
+	public CopyOnWriteImplementationForTypes(Map<String, T> implementations) {
+		current = new ImplementationForTypesImpl<>(implementations);
+	}
+
+	@Override
+	public T getImplementationByType(String type) {
+		return current.getImplementationByType(type);
+	}
+
+	@Override
+	public TypeHandle resolveType(String type) {
+		return current.resolveType(type);
+	}
+
+	@Override
+	public T getImplementationByHandle(TypeHandle handle) {
+		return current.getImplementationByHandle(handle);
+	}
+
+	@Override
+	public Set<String> getTypes() {
+		return current.getTypes();
+	}
+
+	@Override
+	public synchronized T register(T implementation) {
+		Map<String, T> implementations = current.toMap();
+		T replaced = implementations.put(implementation.getTypeToSelectImplementionsBy(),
+				implementation);
+		current = new ImplementationForTypesImpl<>(implementations);
+		return replaced;
+	}
+
+	@Override
+	public synchronized T remove(String type) {
+		Map<String, T> implementations = current.toMap();
+		T removed = implementations.remove(type);
+		if (removed != null) {
+			current = new ImplementationForTypesImpl<>(implementations);
+		}
+		return removed;
+	}
+}
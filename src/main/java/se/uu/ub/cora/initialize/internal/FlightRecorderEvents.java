@@ -0,0 +1,51 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.initialize.internal;
+
+import java.util.Optional;
+
+/**
+ * FlightRecorderEvents tells if the Java Flight Recorder events of this module can be used. The
+ * module only requires jdk.jfr statically, so that it also runs on a java runtime built without
+ * it, and the event classes must not be loaded unless {@link #areAvailable()} returns true.
+ */
+public final class FlightRecorderEvents {
+	private static final String JFR_MODULE_NAME = "jdk.jfr";
+	private static final boolean AVAILABLE = isJfrModuleReadable();
+
+	private FlightRecorderEvents() {
+		throw new UnsupportedOperationException();
+	}
+
+	private static boolean isJfrModuleReadable() {
+		Optional<Module> jfrModule = ModuleLayer.boot().findModule(JFR_MODULE_NAME);
+		return jfrModule.isPresent()
+				&& FlightRecorderEvents.class.getModule().canRead(jfrModule.get());
+	}
+
+	/**
+	 * areAvailable returns if the jdk.jfr module is present in the running java and readable by
+	 * this module, it is checked once when this class is loaded
+	 * 
+	 * @return A boolean, true if events can be created and committed
+	 */
+	public static boolean areAvailable() {
+		return AVAILABLE;
+	}
+}
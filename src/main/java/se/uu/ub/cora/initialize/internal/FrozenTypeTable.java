@@ -0,0 +1,130 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.initialize.internal;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+/**
+ * FrozenTypeTable is an immutable lookup table from type to value, built once from the final set
+ * of types when loading is finished.
+ * </p>
+ * Types and values are kept in two arrays of exactly the number of types, each type has a slot with
+ * the same index in both arrays. Slots are found using a compact open addressing table of ints,
+ * sized to the smallest power of two that keeps it at most three quarters full, and searched using
+ * linear probing. As all fields are final and all arrays are filled in before the constructor
+ * returns, is the table safely published to all threads without volatile reads.
+ */
+final class FrozenTypeTable<V> {
+	static final int NOT_FOUND = -1;
+	private static final int EMPTY = 0;
+	private final String[] types;
+	private final Object[] values;
+	private final int[] slotTable;
+	private final int mask;
+
+	FrozenTypeTable(Map<String, V> valuesByType) {
+		int noOfTypes = valuesByType.size();
+		types = new String[noOfTypes];
+		values = new Object[noOfTypes];
+		slotTable = new int[tableSizeFor(noOfTypes)];
+		mask = slotTable.length - 1;
+		int slot = 0;
+		for (Entry<String, V> entry : valuesByType.entrySet()) {
+			types[slot] = entry.getKey();
+			values[slot] = entry.getValue();
+			addSlotToTable(slot, entry.getKey());
+			slot++;
+		}
+	}
+
+	private static int tableSizeFor(int noOfTypes) {
+		int minimumSize = Math.max(2, noOfTypes + (noOfTypes + 2) / 3);
+		return Integer.highestOneBit(minimumSize - 1) << 1;
+	}
+
+	private void addSlotToTable(int slot, String type) {
+		int index = indexFor(type);
+		while (slotTable[index] != EMPTY) {
+			index = (index + 1) & mask;
+		}
+		slotTable[index] = slot + 1;
+	}
+
+	private int indexFor(String type) {
+		int hash = type.hashCode();
+		return (hash ^ (hash >>> 16)) & mask;
+	}
+
+	/**
+	 * slotForType returns the slot for the type, or {@link #NOT_FOUND} if the table has no such
+	 * type
+	 */
+	int slotForType(String type) {
+		int index = indexFor(type);
+		int storedSlot = slotTable[index];
+		while (storedSlot != EMPTY) {
+			int slot = storedSlot - 1;
+			if (types[slot].equals(type)) {
+				return slot;
+			}
+			index = (index + 1) & mask;
+			storedSlot = slotTable[index];
+		}
+		return NOT_FOUND;
+	}
+
+	@SuppressWarnings("unchecked")
+	V valueInSlot(int slot) {
+		return (V) values[slot];
+	}
+
+	V get(String type) {
+		int slot = slotForType(type);
+		return slot == NOT_FOUND ? null : valueInSlot(slot);
+	}
+
+	/**
+	 * types returns an unmodifiable set with all types in the table
+	 */
+	Set<String> types() {
+		return Set.of(types);
+	}
+
+	/**
+	 * toMap returns a new modifiable map with all types and values in the table
+	 */
+	Map<String, V> toMap() {
+		Map<String, V> valuesByType = new HashMap<>(types.length + types.length / 3 + 1);
+		for (int slot = 0; slot < types.length; slot++) {
+			valuesByType.put(types[slot], valueInSlot(slot));
+		}
+		return valuesByType;
+	}
+
+	int size() {
+		return types.length;
+	}
+
+	int onlyForTestGetTableSize() {
+		return slotTable.length;
+	}
+}
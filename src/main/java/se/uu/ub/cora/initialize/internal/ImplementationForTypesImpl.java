@@ -18,17 +18,62 @@
  */
 package se.uu.ub.cora.initialize.internal;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
+import se.uu.ub.cora.initialize.InitializationException;
 import se.uu.ub.cora.initialize.InitializedTypes;
 import se.uu.ub.cora.initialize.SelectType;
+import se.uu.ub.cora.initialize.TypeHandle;
 
+/**
+ * ImplementationForTypesImpl holds the implementations created for each type, in a
+ * {@link FrozenTypeTable} that can not change after loading is finished. A {@link TypeHandle}
+ * resolved by it holds the slot of the type in the table.
+ */
 public class ImplementationForTypesImpl<T extends SelectType> implements InitializedTypes<T> {
-	Map<String, T> map = new HashMap<>();
+	private final FrozenTypeTable<T> implementations;
+
+	ImplementationForTypesImpl(Map<String, T> implementations) {
+		this.implementations = new FrozenTypeTable<>(implementations);
+	}
 
 	@Override
 	public T getImplementationByType(String type) {
-		return map.get(type);
+		T implementation = implementations.get(type);
+		if (implementation == null) {
+			throw createNoImplementationException(type);
+		}
+		return implementation;
+	}
+
+	private InitializationException createNoImplementationException(String type) {
+		return new InitializationException("No implementation found for type: " + type);
+	}
+
+	@Override
+	public TypeHandle resolveType(String type) {
+		int slot = implementations.slotForType(type);
+		if (slot == FrozenTypeTable.NOT_FOUND) {
+			throw createNoImplementationException(type);
+		}
+		return new TypeHandle(this, type, slot);
+	}
+
+	@Override
+	public T getImplementationByHandle(TypeHandle handle) {
+		if (handle.isResolvedBy(this)) {
+			return implementations.valueInSlot(handle.slot());
+		}
+		return getImplementationByType(handle.type());
+	}
+
+	@Override
+	public Set<String> getTypes() {
+		return implementations.types();
+	}
+
+	Map<String, T> toMap() {
+		return implementations.toMap();
 	}
 }
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.initialize.internal;
+
+import java.util.Iterator;
+import java.util.ServiceLoader.Provider;
+import java.util.function.Supplier;
+
+import se.uu.ub.cora.initialize.SelectOrder;
+import se.uu.ub.cora.initialize.SelectType;
+
+/**
+ * InstantiationEvents wraps implementations and providers so that each created implementation is
+ * committed as a {@link CandidateInstantiationEvent}. When the event is not enabled is only the
+ * check if it should be committed added to each instantiation, and if
+ * {@link FlightRecorderEvents#areAvailable()} is false is no event created.
+ */
+final class InstantiationEvents {
+
+	private InstantiationEvents() {
+		throw new UnsupportedOperationException();
+	}
+
+	static <T> Iterable<T> recordImplementations(Iterable<T> implementations,
+			String interfaceClassName) {
+		return () -> new EventIterator<>(implementations.iterator(), interfaceClassName);
+	}
+
+	static <T> Iterable<Provider<T>> recordProviders(Iterable<Provider<T>> providers,
+			String interfaceClassName) {
+		return () -> new ProviderEventIterator<>(providers.iterator(), interfaceClassName);
+	}
+
+	static <T> T instantiate(String interfaceClassName, Supplier<T> instantiation) {
+		if (!FlightRecorderEvents.areAvailable()) {
+			return instantiation.get();
+		}
+		return instantiateAndCommitEvent(interfaceClassName, instantiation);
+	}
+
+	private static <T> T instantiateAndCommitEvent(String interfaceClassName,
+			Supplier<T> instantiation) {
+		CandidateInstantiationEvent event = new CandidateInstantiationEvent();
+		event.begin();
+		T implementation = instantiation.get();
+		event.end();
+		if (event.shouldCommit()) {
+			commitEvent(event, interfaceClassName, implementation);
+		}
+		return implementation;
+	}
+
+	private static void commitEvent(CandidateInstantiationEvent event, String interfaceClassName,
+			Object implementation) {
+		event.interfaceName = interfaceClassName;
+		event.implementationClass = implementation.getClass().getName();
+		if (implementation instanceof SelectOrder selectOrder) {
+			event.selectOrder = selectOrder.getOrderToSelectImplementionsBy();
+		}
+		if (implementation instanceof SelectType selectType) {
+			event.selectType = selectType.getTypeToSelectImplementionsBy();
+		}
+		event.commit();
+	}
+
+	private record EventIterator<T>(Iterator<T> iterator, String interfaceClassName)
+			implements Iterator<T> {
+
+		@Override
+		public boolean hasNext() {
+			return iterator.hasNext();
+		}
+
+		@Override
+		public T next() {
+			return instantiate(interfaceClassName, iterator::next);
+		}
+	}
+
+	private record ProviderEventIterator<T>(Iterator<Provider<T>> iterator,
+			String interfaceClassName) implements Iterator<Provider<T>> {
+
+		@Override
+		public boolean hasNext() {
+			return iterator.hasNext();
+		}
+
+		@Override
+		public Provider<T> next() {
+			return new EventProvider<>(iterator.next(), interfaceClassName);
+		}
+	}
+
+	private record EventProvider<T>(Provider<T> provider, String interfaceClassName)
+			implements Provider<T> {
+
+		@Override
+		public Class<? extends T> type() {
+			return provider.type();
+		}
+
+		@Override
+		public T get() {
+			return instantiate(interfaceClassName, provider::get);
+		}
+	}
+}
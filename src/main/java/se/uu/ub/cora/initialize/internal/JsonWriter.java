@@ -0,0 +1,124 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.initialize.internal;
+
+/**
+ * JsonWriter builds a JSON text one name and value at a time, adding the separators between them
+ * and escaping all strings, so that callers never concatenate JSON by hand. Strings are escaped as
+ * required by RFC 8259, quotes, backslashes and all control characters are escaped.
+ * </p>
+ * JsonWriter does not check that names and values are written in a valid order, callers must write
+ * a name before each value in an object.
+ */
+public final class JsonWriter {
+	private final StringBuilder json = new StringBuilder();
+	private boolean valueWritten = false;
+
+	public JsonWriter beginObject() {
+		writeSeparatorIfNeeded();
+		json.append('{');
+		valueWritten = false;
+		return this;
+	}
+
+	private void writeSeparatorIfNeeded() {
+		if (valueWritten) {
+			json.append(',');
+		}
+	}
+
+	public JsonWriter endObject() {
+		json.append('}');
+		valueWritten = true;
+		return this;
+	}
+
+	public JsonWriter beginArray() {
+		writeSeparatorIfNeeded();
+		json.append('[');
+		valueWritten = false;
+		return this;
+	}
+
+	public JsonWriter endArray() {
+		json.append(']');
+		valueWritten = true;
+		return this;
+	}
+
+	public JsonWriter name(String name) {
+		writeSeparatorIfNeeded();
+		writeQuoted(name);
+		json.append(':');
+		valueWritten = false;
+		return this;
+	}
+
+	public JsonWriter value(String value) {
+		writeSeparatorIfNeeded();
+		if (value == null) {
+			json.append("null");
+		} else {
+			writeQuoted(value);
+		}
+		valueWritten = true;
+		return this;
+	}
+
+	public JsonWriter value(long value) {
+		writeSeparatorIfNeeded();
+		json.append(value);
+		valueWritten = true;
+		return this;
+	}
+
+	private void writeQuoted(String value) {
+		json.append('"');
+		for (int i = 0; i < value.length(); i++) {
+			writeEscaped(value.charAt(i));
+		}
+		json.append('"');
+	}
+
+	private void writeEscaped(char character) {
+		switch (character) {
+			case '"' -> json.append("\\\"");
+			case '\\' -> json.append("\\\\");
+			case '\b' -> json.append("\\b");
+			case '\f' -> json.append("\\f");
+			case '\n' -> json.append("\\n");
+			case '\r' -> json.append("\\r");
+			case '\t' -> json.append("\\t");
+			default -> writeOtherCharacter(character);
+		}
+	}
+
+	private void writeOtherCharacter(char character) {
+		if (character < 0x20) {
+			json.append(String.format("\\u%04x", (int) character));
+		} else {
+			json.append(character);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return json.toString();
+	}
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.initialize.internal;
+
+import java.util.Map;
+import java.util.Set;
+
+import se.uu.ub.cora.initialize.InitializationException;
+import se.uu.ub.cora.initialize.InitializedTypes;
+import se.uu.ub.cora.initialize.SelectType;
+import se.uu.ub.cora.initialize.TypeHandle;
+
+/**
+ * LazyImplementationForTypes knows which provider to use for each type, and creates the
+ * implementation for a type the first time it is requested. The candidates are kept in a
+ * {@link FrozenTypeTable} that can not change after loading is finished.
+ */
+public class LazyImplementationForTypes<T extends SelectType> implements InitializedTypes<T> {
+	private final FrozenTypeTable<SelectTypeCandidate<T>> candidates;
+
+	LazyImplementationForTypes(Map<String, SelectTypeCandidate<T>> candidates) {
+		this.candidates = new FrozenTypeTable<>(candidates);
+	}
+
+	@Override
+	public T getImplementationByType(String type) {
+		SelectTypeCandidate<T> candidate = candidates.get(type);
+		if (candidate == null) {
+			throw createNoImplementationException(type);
+		}
+		return candidate.getOrCreateImplementation();
+	}
+
+	private InitializationException createNoImplementationException(String type) {
+		return new InitializationException("No implementation found for type: " + type);
+	}
+
+	@Override
+	public TypeHandle resolveType(String type) {
+		int slot = candidates.slotForType(type);
+		if (slot == FrozenTypeTable.NOT_FOUND) {
+			throw createNoImplementationException(type);
+		}
+		return new TypeHandle(this, type, slot);
+	}
+
+	@Override
+	public T getImplementationByHandle(TypeHandle handle) {
+		if (handle.isResolvedBy(this)) {
+			return candidates.valueInSlot(handle.slot()).getOrCreateImplementation();
+		}
+		return getImplementationByType(handle.type());
+	}
+
+	@Override
+	public Set<String> getTypes() {
+		return candidates.types();
+	}
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.initialize.internal;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * LoadEvent is a Java Flight Recorder event for one load of an implementation done by a
+ * ModuleInitializer. The event is disabled by default and is enabled in a recording using its name,
+ * {@value #NAME}.
+ */
+@Name(LoadEvent.NAME)
+@Label("Module Load")
+@Description("Loading of implementations of an interface by a ModuleInitializer")
+@Category({ "Cora", "Initialize" })
+@Enabled(false)
+@StackTrace(false)
+public final class LoadEvent extends jdk.jfr.Event {
+	public static final String NAME = "se.uu.ub.cora.initialize.Load";
+
+	@Label("Interface Name")
+	String interfaceName;
+
+	@Label("Strategy")
+	String strategy;
+
+	@Label("Implementation Class")
+	@Description("The chosen implementation, not set when one implementation of each type is loaded")
+	String implementationClass;
+
+	@Label("Candidate Count")
+	int candidateCount;
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.initialize.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import se.uu.ub.cora.initialize.LoadLogging;
+import se.uu.ub.cora.logger.Logger;
+
+/**
+ * LoadLog logs what ModuleStarterImp finds and chooses while loading implementations of one
+ * interface, according to the used {@link LoadLogging}.
+ * </p>
+ * With {@link LoadLogging#SUMMARY} are found implementations only counted, and one summary message
+ * is logged on info level when the load is finished. With {@link LoadLogging#SUMMARY_WITH_DETAILS}
+ * are found implementations also kept as class name and select value until the load is finished,
+ * then are they logged together in one debug message before the summary message.
+ */
+abstract class LoadLog {
+	protected final Logger log;
+	protected final String interfaceClassName;
+
+	static LoadLog forLogging(LoadLogging loadLogging, Logger log, String interfaceClassName) {
+		if (loadLogging == LoadLogging.SUMMARY) {
+			return new SummaryLoadLog(log, interfaceClassName, false);
+		}
+		if (loadLogging == LoadLogging.SUMMARY_WITH_DETAILS) {
+			return new SummaryLoadLog(log, interfaceClassName, true);
+		}
+		return new DetailedLoadLog(log, interfaceClassName);
+	}
+
+	private LoadLog(Logger log, String interfaceClassName) {
+		this.log = log;
+		this.interfaceClassName = interfaceClassName;
+	}
+
+	/**
+	 * found is called for each found implementation
+	 * 
+	 * @param className
+	 *            The name of the found class
+	 * @param selectKind
+	 *            What the select value is, such as "select order", or null if it has none
+	 * @param selectValue
+	 *            The select order or select type of the found class
+	 */
+	abstract void found(String className, String selectKind, Object selectValue);
+
+	/**
+	 * foundImplementation is called for each found implementation that is already created, its
+	 * class name is only read if it is logged
+	 * 
+	 * @param implementation
+	 *            The found implementation
+	 * @param selectKind
+	 *            What the select value is, such as "select order", or null if it has none
+	 * @param selectValue
+	 *            The select order or select type of the found implementation
+	 */
+	abstract void foundImplementation(Object implementation, String selectKind,
+			Object selectValue);
+
+	/**
+	 * chose is called with the chosen implementation, when one implementation is chosen
+	 */
+	abstract void chose(String className);
+
+	/**
+	 * finish is called when loading is successfully finished
+	 */
+	abstract void finish();
+
+	protected String createFoundMessage(String className, String selectKind, Object selectValue) {
+		return "Found " + className + " as " + interfaceClassName + " implementation"
+				+ describeSelection(selectKind, selectValue) + ".";
+	}
+
+	private static String describeSelection(String selectKind, Object selectValue) {
+		if (selectKind == null) {
+			return "";
+		}
+		return " with " + selectKind + " " + selectValue;
+	}
+
+	private static final class DetailedLoadLog extends LoadLog {
+
+		private DetailedLoadLog(Logger log, String interfaceClassName) {
+			super(log, interfaceClassName);
+		}
+
+		@Override
+		void found(String className, String selectKind, Object selectValue) {
+			log.logInfoUsingMessage(createFoundMessage(className, selectKind, selectValue));
+		}
+
+		@Override
+		void foundImplementation(Object implementation, String selectKind, Object selectValue) {
+			found(implementation.getClass().getName(), selectKind, selectValue);
+		}
+
+		@Override
+		void chose(String className) {
+			log.logInfoUsingMessage(
+					"Using " + className + " as " + interfaceClassName + " implementation.");
+		}
+
+		@Override
+		void finish() {
+			// everything is already logged
+		}
+	}
+
+	private static final class SummaryLoadLog extends LoadLog {
+		private final long startTime = System.nanoTime();
+		private final boolean logFoundDetails;
+		private final List<Object> foundParts = new ArrayList<>();
+		private int noOfFound;
+		private String chosenClassName;
+
+		private SummaryLoadLog(Logger log, String interfaceClassName, boolean logFoundDetails) {
+			super(log, interfaceClassName);
+			this.logFoundDetails = logFoundDetails;
+		}
+
+		@Override
+		void found(String className, String selectKind, Object selectValue) {
+			noOfFound++;
+			if (logFoundDetails) {
+				foundParts.add(className);
+				foundParts.add(selectKind);
+				foundParts.add(selectValue);
+			}
+		}
+
+		@Override
+		void foundImplementation(Object implementation, String selectKind, Object selectValue) {
+			if (logFoundDetails) {
+				found(implementation.getClass().getName(), selectKind, selectValue);
+			} else {
+				noOfFound++;
+			}
+		}
+
+		@Override
+		void chose(String className) {
+			chosenClassName = className;
+		}
+
+		@Override
+		void finish() {
+			if (logFoundDetails) {
+				log.logDebugUsingMessage(createFoundDetailsMessage());
+			}
+			log.logInfoUsingMessage(createSummaryMessage());
+		}
+
+		private String createFoundDetailsMessage() {
+			StringBuilder message = new StringBuilder();
+			for (int i = 0; i < foundParts.size(); i += 3) {
+				if (i > 0) {
+					message.append(' ');
+				}
+				message.append(createFoundMessage((String) foundParts.get(i),
+						(String) foundParts.get(i + 1), foundParts.get(i + 2)));
+			}
+			return message.toString();
+		}
+
+		private String createSummaryMessage() {
+			long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+			String chosen = chosenClassName != null ? chosenClassName : "one for each type";
+			return "Loaded " + interfaceClassName + ", found: " + noOfFound + ", chosen: " + chosen
+					+ ", elapsed: " + elapsedMillis + " ms.";
+		}
+	}
+}
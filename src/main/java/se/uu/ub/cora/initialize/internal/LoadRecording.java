@@ -0,0 +1,157 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.initialize.internal;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ServiceLoader.Provider;
+import java.util.function.Consumer;
+
+import se.uu.ub.cora.initialize.CandidateInstantiation;
+import se.uu.ub.cora.initialize.DeferredInstantiation;
+import se.uu.ub.cora.initialize.LoadReport;
+import se.uu.ub.cora.initialize.LoadStrategy;
+
+/**
+ * LoadRecording records the timings of one load while it is running, and creates a
+ * {@link LoadReport} when the load is finished. Implementations and providers are wrapped using
+ * {@link #recordIterations(Iterable)} and {@link #recordProviders(List)} so that finding and
+ * creating implementations is timed without changing how they are chosen.
+ * </p>
+ * Instances created after the load is finished, such as lazily created implementations of a type,
+ * are not part of the report of the load. They are ignored, or passed on as a
+ * {@link DeferredInstantiation} if {@link #reportDeferredInstantiationsTo(Consumer)} is used.
+ * </p>
+ * Each finished load is also committed as a {@link LoadEvent}, if that event is enabled in a
+ * running flight recording and {@link FlightRecorderEvents#areAvailable()}.
+ */
+public class LoadRecording {
+	private final String interfaceName;
+	private final LoadStrategy strategy;
+	private final long startTime;
+	private final List<CandidateInstantiation> instantiations = new ArrayList<>();
+	private long discoveryNanos;
+	private int candidateCount;
+	private boolean finished;
+	private Consumer<DeferredInstantiation> deferredInstantiations = deferred -> {
+	};
+	private final LoadEvent event = FlightRecorderEvents.areAvailable() ? new LoadEvent() : null;
+
+	public LoadRecording(String interfaceName, LoadStrategy strategy) {
+		this.interfaceName = interfaceName;
+		this.strategy = strategy;
+		this.startTime = System.nanoTime();
+		if (event != null) {
+			event.begin();
+		}
+	}
+
+	public <T> Iterable<T> recordIterations(Iterable<T> implementations) {
+		return new RecordingIterable<>(implementations, this);
+	}
+
+	public <T> List<Provider<T>> recordProviders(List<Provider<T>> providers) {
+		List<Provider<T>> recordingProviders = new ArrayList<>(providers.size());
+		for (Provider<T> provider : providers) {
+			recordingProviders.add(new RecordingProvider<>(provider, this));
+		}
+		recordCandidates(providers.size());
+		return recordingProviders;
+	}
+
+	public synchronized void recordDiscovery(long nanos) {
+		if (!finished) {
+			discoveryNanos += nanos;
+		}
+	}
+
+	synchronized void recordCandidates(int noOfCandidates) {
+		if (!finished) {
+			candidateCount += noOfCandidates;
+		}
+	}
+
+	synchronized void recordInstantiation(String className, long nanos) {
+		if (!finished) {
+			instantiations.add(new CandidateInstantiation(className, Duration.ofNanos(nanos)));
+		} else {
+			deferredInstantiations.accept(
+					new DeferredInstantiation(interfaceName, className, Duration.ofNanos(nanos)));
+		}
+	}
+
+	/**
+	 * reportDeferredInstantiationsTo passes each instance created by a recorded provider after the
+	 * load is finished on to the specified consumer, as a {@link DeferredInstantiation}.
+	 * 
+	 * @param consumer
+	 *            A Consumer to pass deferred instantiations on to
+	 */
+	public synchronized void reportDeferredInstantiationsTo(
+			Consumer<DeferredInstantiation> consumer) {
+		deferredInstantiations = consumer;
+	}
+
+	/**
+	 * finish ends the recording and creates the report of the load
+	 * 
+	 * @param chosenClassName
+	 *            The name of the chosen class, or null if the load chose one implementation of
+	 *            each type
+	 * @return A {@link LoadReport} with the recorded timings
+	 */
+	public synchronized LoadReport finish(String chosenClassName) {
+		if (!finished) {
+			finished = true;
+			commitEventIfAvailable(chosenClassName);
+		}
+		long totalNanos = System.nanoTime() - startTime;
+		long instantiationNanos = sumInstantiationNanos();
+		long selectionNanos = Math.max(0, totalNanos - discoveryNanos - instantiationNanos);
+		return new LoadReport(interfaceName, strategy, Duration.ofNanos(discoveryNanos),
+				instantiations, Duration.ofNanos(selectionNanos), Duration.ofNanos(totalNanos),
+				candidateCount, chosenClassName);
+	}
+
+	private void commitEventIfAvailable(String chosenClassName) {
+		if (event != null) {
+			commitEvent(chosenClassName);
+		}
+	}
+
+	private void commitEvent(String chosenClassName) {
+		event.end();
+		if (event.shouldCommit()) {
+			event.interfaceName = interfaceName;
+			event.strategy = strategy.name();
+			event.implementationClass = chosenClassName;
+			event.candidateCount = candidateCount;
+			event.commit();
+		}
+	}
+
+	private long sumInstantiationNanos() {
+		long sum = 0;
+		for (CandidateInstantiation instantiation : instantiations) {
+			sum += instantiation.duration().toNanos();
+		}
+		return sum;
+	}
+}
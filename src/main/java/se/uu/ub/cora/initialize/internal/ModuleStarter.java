@@ -19,12 +19,17 @@
 package se.uu.ub.cora.initialize.internal;
 
 import java.util.ServiceLoader;
+import java.util.ServiceLoader.Provider;
 
-import se.uu.ub.cora.initialize.InitializedTypes;
+import se.uu.ub.cora.initialize.DeclaredSelectOrder;
+import se.uu.ub.cora.initialize.DeclaredSelectType;
+import se.uu.ub.cora.initialize.ImplementationPools;
 import se.uu.ub.cora.initialize.InitializationException;
+import se.uu.ub.cora.initialize.InitializedTypes;
 import se.uu.ub.cora.initialize.ModuleInitializerImp;
 import se.uu.ub.cora.initialize.SelectOrder;
 import se.uu.ub.cora.initialize.SelectType;
+import se.uu.ub.cora.initialize.ThreadConfinedTypes;
 
 /**
  * ModuleStarter handles implementations found by {@link ModuleInitializerImp}. It helps to split
@@ -45,6 +50,26 @@ public interface ModuleStarter {
 	<T extends SelectOrder> T getImplementationBasedOnSelectOrderThrowErrorIfNone(
 			Iterable<T> implementations, String interfaceClassName);
 
+	/**
+	 * getImplementationBasedOnDeclaredSelectOrderThrowErrorIfNone chooses the provider with the
+	 * highest select order and returns an instance created by that provider. The select order of a
+	 * provider is read from its {@link DeclaredSelectOrder} annotation so that only the chosen
+	 * provider is instantiated. Providers without the annotation are instantiated to get their
+	 * select order.
+	 * 
+	 * @param <T>
+	 *            A found implementation of the specified classToLoad
+	 * @param providers
+	 *            An Iterable with the providers for the class to load
+	 * @param interfaceClassName
+	 *            Name of the class to load
+	 * @throws InitializationException
+	 *             if no implementations can be found
+	 * @return An instance created by the chosen provider
+	 */
+	<T extends SelectOrder> T getImplementationBasedOnDeclaredSelectOrderThrowErrorIfNone(
+			Iterable<Provider<T>> providers, String interfaceClassName);
+
 	/**
 	 * getImplementationBasedOnSelectTypeThrowErrorIfNoneOrMoreThanOneForEachType organize an
 	 * implementation for each type from the given implementation iterable.
@@ -64,6 +89,110 @@ public interface ModuleStarter {
 	<T extends SelectType> InitializedTypes<T> getImplementationBasedOnSelectTypeThrowErrorIfNoneOrMoreThanOneForEachType(
 			Iterable<T> implementations, String interfaceClassName);
 
+	/**
+	 * getImplementationBasedOnDeclaredSelectTypeThrowErrorIfNoneOrMoreThanOneForEachType organize
+	 * the given providers by type, using the {@link DeclaredSelectType} annotation of each provider.
+	 * The implementation for a type is created the first time it is requested from the returned
+	 * {@link InitializedTypes}. Providers without the annotation are instantiated to get their
+	 * select type.
+	 * 
+	 * If more than one provider of a type or no providers at all are found MUST an @throws
+	 * InitializationException be thrown.
+	 * 
+	 * @param <T>
+	 *            A found implementation of the specified classToLoad
+	 * @param providers
+	 *            An Iterable with the providers for the class to load
+	 * @param interfaceClassName
+	 *            Name of the class to load
+	 * @return An {@link InitializedTypes} object, that creates the implementation for a type when
+	 *         it is first requested.
+	 */
+	<T extends SelectType> InitializedTypes<T> getImplementationBasedOnDeclaredSelectTypeThrowErrorIfNoneOrMoreThanOneForEachType(
+			Iterable<Provider<T>> providers, String interfaceClassName);
+
+	/**
+	 * getPoolOfEachTypeThrowErrorIfNoneOrMoreThanOneForEachType organize the given providers by
+	 * type in the same way as
+	 * {@link #getImplementationBasedOnDeclaredSelectTypeThrowErrorIfNoneOrMoreThanOneForEachType(Iterable, String)},
+	 * but uses the provider of each type as a factory for a bounded pool of implementations of the
+	 * type.
+	 * 
+	 * If more than one provider of a type or no providers at all are found, or if
+	 * maxInstancesPerType is less than one, MUST an @throws InitializationException be thrown.
+	 * 
+	 * @param <T>
+	 *            A found implementation of the specified classToLoad
+	 * @param providers
+	 *            An Iterable with the providers for the class to load
+	 * @param interfaceClassName
+	 *            Name of the class to load
+	 * @param maxInstancesPerType
+	 *            The max number of implementations to create for each type
+	 * @return An {@link ImplementationPools} object, with a pool for each type
+	 */
+	<T extends SelectType> ImplementationPools<T> getPoolOfEachTypeThrowErrorIfNoneOrMoreThanOneForEachType(
+			Iterable<Provider<T>> providers, String interfaceClassName, int maxInstancesPerType);
+
+	/**
+	 * getThreadConfinedOfEachTypeThrowErrorIfNoneOrMoreThanOneForEachType organize the given
+	 * providers by type in the same way as
+	 * {@link #getImplementationBasedOnDeclaredSelectTypeThrowErrorIfNoneOrMoreThanOneForEachType(Iterable, String)},
+	 * but uses the provider of each type to create implementations confined to the threads using
+	 * them.
+	 * 
+	 * If more than one provider of a type or no providers at all are found MUST an @throws
+	 * InitializationException be thrown.
+	 * 
+	 * @param <T>
+	 *            A found implementation of the specified classToLoad
+	 * @param providers
+	 *            An Iterable with the providers for the class to load
+	 * @param interfaceClassName
+	 *            Name of the class to load
+	 * @return A {@link ThreadConfinedTypes} object, with thread confined implementations for each
+	 *         type
+	 */
+	<T extends SelectType> ThreadConfinedTypes<T> getThreadConfinedOfEachTypeThrowErrorIfNoneOrMoreThanOneForEachType(
+			Iterable<Provider<T>> providers, String interfaceClassName);
+
+	/**
+	 * getProviderBasedOnDeclaredSelectOrderThrowErrorIfNone chooses the provider with the highest
+	 * select order in the same way as
+	 * {@link #getImplementationBasedOnDeclaredSelectOrderThrowErrorIfNone(Iterable, String)}, but
+	 * returns the chosen provider without creating an instance. If the chosen provider was
+	 * instantiated to get its select order, does the returned provider return that instance.
+	 * 
+	 * @param <T>
+	 *            A found implementation of the specified classToLoad
+	 * @param providers
+	 *            An Iterable with the providers for the class to load
+	 * @param interfaceClassName
+	 *            Name of the class to load
+	 * @throws InitializationException
+	 *             if no implementations can be found
+	 * @return The chosen provider
+	 */
+	<T extends SelectOrder> Provider<T> getProviderBasedOnDeclaredSelectOrderThrowErrorIfNone(
+			Iterable<Provider<T>> providers, String interfaceClassName);
+
+	/**
+	 * getProviderThrowErrorIfNoneOrMoreThanOne returns the only provider among the given providers,
+	 * without creating an instance.
+	 * 
+	 * @param <T>
+	 *            A found implementation of the specified classToLoad
+	 * @param providers
+	 *            An Iterable with the providers for the class to load
+	 * @param interfaceClassName
+	 *            Name of the class to load
+	 * @throws InitializationException
+	 *             if none or more than one provider is found
+	 * @return The only provider
+	 */
+	<T> Provider<T> getProviderThrowErrorIfNoneOrMoreThanOne(Iterable<Provider<T>> providers,
+			String interfaceClassName);
+
 	/**
 	 * getImplementationThrowErrorIfNoneOrMoreThanOne
 	 * 
@@ -1,6 +1,6 @@
 /*
  * Copyright 2019 Olov McKie
- * Copyright 2019, 2022 Uppsala University Library
+ * Copyright 2019, 2022, 2026 Uppsala University Library
  *
  * This file is part of Cora.
  *
@@ -19,53 +19,122 @@
  */
 package se.uu.ub.cora.initialize.internal;
 
+import java.util.HashMap;
 import java.util.Map;
+import java.util.ServiceLoader.Provider;
 
+import se.uu.ub.cora.initialize.ImplementationPools;
 import se.uu.ub.cora.initialize.InitializedTypes;
 import se.uu.ub.cora.initialize.InitializationException;
+import se.uu.ub.cora.initialize.LoadLogging;
 import se.uu.ub.cora.initialize.SelectOrder;
 import se.uu.ub.cora.initialize.SelectType;
+import se.uu.ub.cora.initialize.ThreadConfinedTypes;
 import se.uu.ub.cora.logger.Logger;
 import se.uu.ub.cora.logger.LoggerProvider;
 
 public class ModuleStarterImp implements ModuleStarter {
 	private static final int SMALLEST_PREFERENCE_LEVEL = -99999;
+	private static final String SELECT_ORDER = "select order";
+	private static final String DECLARED_SELECT_ORDER = "declared select order";
+	private static final String SELECT_TYPE = "select type";
+	private static final String DECLARED_SELECT_TYPE = "declared select type";
 	private Logger log = LoggerProvider.getLoggerForClass(ModuleStarterImp.class);
+	private final LoadLogging loadLogging;
+
+	public ModuleStarterImp() {
+		this(LoadLogging.DETAILED);
+	}
+
+	/**
+	 * Creates a ModuleStarterImp that logs what it finds and chooses according to the specified
+	 * loadLogging
+	 * 
+	 * @param loadLogging
+	 *            A {@link LoadLogging} to use
+	 */
+	public ModuleStarterImp(LoadLogging loadLogging) {
+		this.loadLogging = loadLogging;
+	}
+
+	private LoadLog startLoadLog(String interfaceClassName) {
+		return LoadLog.forLogging(loadLogging, log, interfaceClassName);
+	}
 
 	@Override
 	public <T extends SelectOrder> T getImplementationBasedOnSelectOrderThrowErrorIfNone(
 			Iterable<T> implementations, String interfaceClassName) {
-		T implementation = findAndLogPreferedImplementation(implementations, interfaceClassName);
+		LoadLog loadLog = startLoadLog(interfaceClassName);
+		T implementation = findAndLogPreferedImplementation(
+				InstantiationEvents.recordImplementations(implementations, interfaceClassName),
+				loadLog);
 		throwErrorIfNoImplementationFound(implementation, interfaceClassName);
-		logChosenImplementationClass(interfaceClassName, implementation);
+		logChosenImplementationClass(loadLog, implementation);
 		return implementation;
 	}
 
-	private <T extends Object> void logChosenImplementationClass(String interfaceClassName,
+	private <T extends Object> void logChosenImplementationClass(LoadLog loadLog,
 			T implementation) {
-		log.logInfoUsingMessage("Using " + implementation.getClass().getName() + " as "
-				+ interfaceClassName + " implementation.");
+		logChosenClassName(loadLog, implementation.getClass().getName());
+	}
+
+	private void logChosenClassName(LoadLog loadLog, String className) {
+		loadLog.chose(className);
+		loadLog.finish();
 	}
 
 	private <T extends SelectOrder> T findAndLogPreferedImplementation(Iterable<T> implementations,
-			String interfaceClassName) {
+			LoadLog loadLog) {
 		T implementation = null;
 		int preferenceLevel = SMALLEST_PREFERENCE_LEVEL;
 		for (T currentImplementation : implementations) {
-			if (preferenceLevel < currentImplementation.getOrderToSelectImplementionsBy()) {
-				preferenceLevel = currentImplementation.getOrderToSelectImplementionsBy();
+			int selectOrder = currentImplementation.getOrderToSelectImplementionsBy();
+			if (preferenceLevel < selectOrder) {
+				preferenceLevel = selectOrder;
 				implementation = currentImplementation;
 			}
-			logFoundClassWithSelectOrder(interfaceClassName, currentImplementation);
+			loadLog.foundImplementation(currentImplementation, SELECT_ORDER, selectOrder);
 		}
 		return implementation;
 	}
 
-	private <T extends SelectOrder> void logFoundClassWithSelectOrder(String interfaceClassName,
-			T currentImplementation) {
-		log.logInfoUsingMessage("Found " + currentImplementation.getClass().getName() + " as "
-				+ interfaceClassName + " implementation with select order "
-				+ currentImplementation.getOrderToSelectImplementionsBy() + ".");
+	@Override
+	public <T extends SelectOrder> T getImplementationBasedOnDeclaredSelectOrderThrowErrorIfNone(
+			Iterable<Provider<T>> providers, String interfaceClassName) {
+		LoadLog loadLog = startLoadLog(interfaceClassName);
+		SelectOrderCandidate<T> candidate = findAndLogPreferedCandidate(
+				InstantiationEvents.recordProviders(providers, interfaceClassName), loadLog);
+		throwErrorIfNoImplementationFound(candidate, interfaceClassName);
+		T implementation = candidate.getOrCreateImplementation();
+		logChosenImplementationClass(loadLog, implementation);
+		return implementation;
+	}
+
+	@Override
+	public <T extends SelectOrder> Provider<T> getProviderBasedOnDeclaredSelectOrderThrowErrorIfNone(
+			Iterable<Provider<T>> providers, String interfaceClassName) {
+		LoadLog loadLog = startLoadLog(interfaceClassName);
+		SelectOrderCandidate<T> candidate = findAndLogPreferedCandidate(
+				InstantiationEvents.recordProviders(providers, interfaceClassName), loadLog);
+		throwErrorIfNoImplementationFound(candidate, interfaceClassName);
+		logChosenClassName(loadLog, candidate.className());
+		return candidate.asProvider();
+	}
+
+	private <T extends SelectOrder> SelectOrderCandidate<T> findAndLogPreferedCandidate(
+			Iterable<Provider<T>> providers, LoadLog loadLog) {
+		SelectOrderCandidate<T> preferedCandidate = null;
+		int preferenceLevel = SMALLEST_PREFERENCE_LEVEL;
+		for (Provider<T> provider : providers) {
+			SelectOrderCandidate<T> candidate = SelectOrderCandidate.forProvider(provider);
+			if (preferenceLevel < candidate.selectOrder()) {
+				preferenceLevel = candidate.selectOrder();
+				preferedCandidate = candidate;
+			}
+			String selectKind = candidate.isDeclared() ? DECLARED_SELECT_ORDER : SELECT_ORDER;
+			loadLog.found(candidate.className(), selectKind, candidate.selectOrder());
+		}
+		return preferedCandidate;
 	}
 
 	private <T extends Object> void throwErrorIfNoImplementationFound(T implementation,
@@ -80,19 +149,41 @@ public class ModuleStarterImp implements ModuleStarter {
 	@Override
 	public <T extends Object> T getImplementationThrowErrorIfNoneOrMoreThanOne(
 			Iterable<T> implementations, String interfaceClassName) {
+		LoadLog loadLog = startLoadLog(interfaceClassName);
 		T implementation = null;
 		int noOfImplementationsFound = 0;
-		for (T currentImplementation : implementations) {
+		for (T currentImplementation : InstantiationEvents.recordImplementations(implementations,
+				interfaceClassName)) {
 			noOfImplementationsFound++;
 			implementation = currentImplementation;
-			logFoundClass(interfaceClassName, currentImplementation);
+			loadLog.foundImplementation(currentImplementation, null, null);
 		}
 		throwErrorIfNoImplementationFound(implementation, interfaceClassName);
 		throwErrorIfMoreThanOne(noOfImplementationsFound, interfaceClassName);
-		logChosenImplementationClass(interfaceClassName, implementation);
+		logChosenImplementationClass(loadLog, implementation);
 		return implementation;
 	}
 
+	@Override
+	public <T> Provider<T> getProviderThrowErrorIfNoneOrMoreThanOne(
+			Iterable<Provider<T>> providers, String interfaceClassName) {
+		LoadLog loadLog = startLoadLog(interfaceClassName);
+		Provider<T> chosenProvider = null;
+		String chosenClassName = null;
+		int noOfProvidersFound = 0;
+		for (Provider<T> provider : InstantiationEvents.recordProviders(providers,
+				interfaceClassName)) {
+			noOfProvidersFound++;
+			chosenProvider = provider;
+			chosenClassName = provider.type().getName();
+			loadLog.found(chosenClassName, null, null);
+		}
+		throwErrorIfNoImplementationFound(chosenProvider, interfaceClassName);
+		throwErrorIfMoreThanOne(noOfProvidersFound, interfaceClassName);
+		logChosenClassName(loadLog, chosenClassName);
+		return chosenProvider;
+	}
+
 	private void throwErrorIfMoreThanOne(int noOfImplementationsFound, String interfaceClassName) {
 		if (noOfImplementationsFound > 1) {
 			String errorMessage = "More than one implementation found for: " + interfaceClassName;
@@ -101,53 +192,52 @@ public class ModuleStarterImp implements ModuleStarter {
 		}
 	}
 
-	private <T extends Object> void logFoundClass(String interfaceClassName,
-			T currentImplementation) {
-		log.logInfoUsingMessage("Found " + currentImplementation.getClass().getName() + " as "
-				+ interfaceClassName + " implementation.");
-	}
-
 	@Override
 	public <T extends SelectType> InitializedTypes<T> getImplementationBasedOnSelectTypeThrowErrorIfNoneOrMoreThanOneForEachType(
 			Iterable<T> implementations, String interfaceClassName) {
 		throwErrorIfNoImplementationsFound(implementations, interfaceClassName);
-		return organizeFoundImplementationsByType(implementations, interfaceClassName);
+		LoadLog loadLog = startLoadLog(interfaceClassName);
+		InitializedTypes<T> implementationsForTypes = organizeFoundImplementationsByType(
+				InstantiationEvents.recordImplementations(implementations, interfaceClassName),
+				interfaceClassName, loadLog);
+		loadLog.finish();
+		return implementationsForTypes;
 	}
 
-	private <T extends SelectType> void throwErrorIfNoImplementationsFound(
-			Iterable<T> implementations, String interfaceClassName) {
+	private <T> void throwErrorIfNoImplementationsFound(Iterable<T> implementations,
+			String interfaceClassName) {
 		if (hasNoImplementations(implementations)) {
 			throwErrorIfNoImplementationsFound(interfaceClassName);
 		}
 	}
 
-	private <T extends SelectType> InitializedTypes<T> organizeFoundImplementationsByType(Iterable<T> implementations,
-			String interfaceClassName) {
-		ImplementationForTypesImpl<T> implementationForTypes = new ImplementationForTypesImpl<>();
-		addImplementationsToMapByType(implementationForTypes.map, implementations,
-				interfaceClassName);
-		return implementationForTypes;
+	private <T extends SelectType> InitializedTypes<T> organizeFoundImplementationsByType(
+			Iterable<T> implementations, String interfaceClassName, LoadLog loadLog) {
+		Map<String, T> implementationsByType = new HashMap<>();
+		addImplementationsToMapByType(implementationsByType, implementations, interfaceClassName,
+				loadLog);
+		return new ImplementationForTypesImpl<>(implementationsByType);
 	}
 
 	private <T extends SelectType> void addImplementationsToMapByType(Map<String, T> map,
-			Iterable<T> implementations, String interfaceClassName) {
+			Iterable<T> implementations, String interfaceClassName, LoadLog loadLog) {
 		for (T currentImplementation : implementations) {
-			logFoundClassWithSelectType(interfaceClassName, currentImplementation);
-			addImplementationToMapByType(interfaceClassName, map, currentImplementation);
+			String currentType = currentImplementation.getTypeToSelectImplementionsBy();
+			loadLog.foundImplementation(currentImplementation, SELECT_TYPE, currentType);
+			addImplementationToMapByType(interfaceClassName, map, currentImplementation,
+					currentType);
 		}
 	}
 
 	private <T extends SelectType> void addImplementationToMapByType(String interfaceClassName,
-			Map<String, T> implementationsMap, T currentImplementation) {
-		String currentType = currentImplementation.getTypeToSelectImplementionsBy();
+			Map<String, T> implementationsMap, T currentImplementation, String currentType) {
 		if (typeAlreadyExists(implementationsMap, currentType)) {
 			throwExceptionWhenTypeAlreadyExists(interfaceClassName, currentType);
 		}
 		implementationsMap.put(currentType, currentImplementation);
 	}
 
-	private <T extends SelectType> boolean typeAlreadyExists(Map<String, T> map,
-			String currentType) {
+	private boolean typeAlreadyExists(Map<String, ?> map, String currentType) {
 		return map.containsKey(currentType);
 	}
 
@@ -159,7 +249,7 @@ public class ModuleStarterImp implements ModuleStarter {
 		throw new InitializationException(errorMessage);
 	}
 
-	private <T extends SelectType> boolean hasNoImplementations(Iterable<T> implementations) {
+	private <T> boolean hasNoImplementations(Iterable<T> implementations) {
 		return !implementations.iterator().hasNext();
 	}
 
@@ -169,11 +259,66 @@ public class ModuleStarterImp implements ModuleStarter {
 		throw new InitializationException(errorMessage);
 	}
 
-	private <T extends SelectType> void logFoundClassWithSelectType(String interfaceClassName,
-			T currentImplementation) {
-		log.logInfoUsingMessage("Found " + currentImplementation.getClass().getName() + " as "
-				+ interfaceClassName + " implementation with select type "
-				+ currentImplementation.getTypeToSelectImplementionsBy() + ".");
+	@Override
+	public <T extends SelectType> InitializedTypes<T> getImplementationBasedOnDeclaredSelectTypeThrowErrorIfNoneOrMoreThanOneForEachType(
+			Iterable<Provider<T>> providers, String interfaceClassName) {
+		return new LazyImplementationForTypes<>(
+				organizeCandidatesByType(providers, interfaceClassName));
+	}
+
+	private <T extends SelectType> Map<String, SelectTypeCandidate<T>> organizeCandidatesByType(
+			Iterable<Provider<T>> providers, String interfaceClassName) {
+		throwErrorIfNoImplementationsFound(providers, interfaceClassName);
+		LoadLog loadLog = startLoadLog(interfaceClassName);
+		Map<String, SelectTypeCandidate<T>> candidates = new HashMap<>();
+		for (Provider<T> provider : InstantiationEvents.recordProviders(providers,
+				interfaceClassName)) {
+			SelectTypeCandidate<T> candidate = SelectTypeCandidate.forProvider(provider);
+			String selectKind = candidate.isDeclared() ? DECLARED_SELECT_TYPE : SELECT_TYPE;
+			loadLog.found(candidate.className(), selectKind, candidate.selectType());
+			addCandidateToMapByType(interfaceClassName, candidates, candidate);
+		}
+		loadLog.finish();
+		return candidates;
+	}
+
+	@Override
+	public <T extends SelectType> ImplementationPools<T> getPoolOfEachTypeThrowErrorIfNoneOrMoreThanOneForEachType(
+			Iterable<Provider<T>> providers, String interfaceClassName, int maxInstancesPerType) {
+		throwErrorIfMaxInstancesIsLessThanOne(maxInstancesPerType, interfaceClassName);
+		return new PooledImplementationForTypes<>(
+				organizeCandidatesByType(providers, interfaceClassName), maxInstancesPerType);
+	}
+
+	@Override
+	public <T extends SelectType> ThreadConfinedTypes<T> getThreadConfinedOfEachTypeThrowErrorIfNoneOrMoreThanOneForEachType(
+			Iterable<Provider<T>> providers, String interfaceClassName) {
+		return new ThreadConfinedImplementationForTypes<>(
+				organizeCandidatesByType(providers, interfaceClassName),
+				Runtime.getRuntime().availableProcessors());
+	}
+
+	private void throwErrorIfMaxInstancesIsLessThanOne(int maxInstancesPerType,
+			String interfaceClassName) {
+		if (maxInstancesPerType < 1) {
+			String errorMessage = "Max instances per type must be at least 1 for: "
+					+ interfaceClassName + ", was: " + maxInstancesPerType;
+			log.logFatalUsingMessage(errorMessage);
+			throw new InitializationException(errorMessage);
+		}
+	}
+
+	private <T extends SelectType> void addCandidateToMapByType(String interfaceClassName,
+			Map<String, SelectTypeCandidate<T>> candidates, SelectTypeCandidate<T> candidate) {
+		String currentType = candidate.selectType();
+		if (typeAlreadyExists(candidates, currentType)) {
+			throwExceptionWhenTypeAlreadyExists(interfaceClassName, currentType);
+		}
+		candidates.put(currentType, candidate);
+	}
+
+	public LoadLogging onlyForTestGetLoadLogging() {
+		return loadLogging;
 	}
 
 }
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.initialize.internal;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * OneTimeLoader keeps the result of a load so that the load is only done once. Threads calling
+ * {@link #getOrLoad(Supplier)} at the same time, before anything is loaded, wait for the thread that
+ * does the load and then get its result.
+ * </p>
+ * If the load throws an exception is nothing kept, and the next call tries to load again.
+ * </p>
+ * {@link #clear()} forgets the kept result, so that the next call loads again, and
+ * {@link #isLoaded()} tells if a result is kept.
+ * </p>
+ * Loading is guarded by a {@link ReentrantLock} and not by synchronized, as a virtual thread
+ * waiting for a lock held while loading would otherwise pin its carrier thread on JDKs before 24.
+ */
+public class OneTimeLoader<T> {
+	private final ReentrantLock lock = new ReentrantLock();
+	private volatile T loaded;
+
+	public T getOrLoad(Supplier<T> loader) {
+		T current = loaded;
+		if (current != null) {
+			return current;
+		}
+		return loadIfNotAlreadyLoaded(loader);
+	}
+
+	private T loadIfNotAlreadyLoaded(Supplier<T> loader) {
+		lock.lock();
+		try {
+			if (loaded == null) {
+				loaded = loader.get();
+			}
+			return loaded;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	public boolean isLoaded() {
+		return loaded != null;
+	}
+
+	public void clear() {
+		lock.lock();
+		try {
+			loaded = null;
+		} finally {
+			lock.unlock();
+		}
+	}
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.initialize.internal;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import se.uu.ub.cora.initialize.ImplementationPools;
+import se.uu.ub.cora.initialize.InitializationException;
+import se.uu.ub.cora.initialize.PoolStatistics;
+import se.uu.ub.cora.initialize.SelectType;
+
+/**
+ * PooledImplementationForTypes holds one {@link TypePool} for each type, in a
+ * {@link FrozenTypeTable} as the types can not change after loading is finished. Each pool creates
+ * implementations using the provider found for its type. An implementation created while loading,
+ * to read its select type, is added to the pool of its type.
+ */
+class PooledImplementationForTypes<T extends SelectType> implements ImplementationPools<T> {
+	private final FrozenTypeTable<TypePool<T>> pools;
+
+	PooledImplementationForTypes(Map<String, SelectTypeCandidate<T>> candidates,
+			int maxInstancesPerType) {
+		Map<String, TypePool<T>> poolsByType = new HashMap<>();
+		candidates.forEach((type, candidate) -> poolsByType.put(type,
+				createPoolForCandidate(type, candidate, maxInstancesPerType)));
+		pools = new FrozenTypeTable<>(poolsByType);
+	}
+
+	private TypePool<T> createPoolForCandidate(String type, SelectTypeCandidate<T> candidate,
+			int maxInstancesPerType) {
+		TypePool<T> pool = new TypePool<>(type, candidate.provider(), maxInstancesPerType);
+		if (!candidate.isDeclared()) {
+			pool.addCreated(candidate.getOrCreateImplementation());
+		}
+		return pool;
+	}
+
+	@Override
+	public T borrow(String type) {
+		return getPoolForType(type).borrow();
+	}
+
+	private TypePool<T> getPoolForType(String type) {
+		TypePool<T> pool = pools.get(type);
+		if (pool == null) {
+			throw new InitializationException("No implementation found for type: " + type);
+		}
+		return pool;
+	}
+
+	@Override
+	public void giveBack(String type, T implementation) {
+		getPoolForType(type).giveBack(implementation);
+	}
+
+	@Override
+	public PoolStatistics getStatistics(String type) {
+		return getPoolForType(type).getStatistics();
+	}
+}
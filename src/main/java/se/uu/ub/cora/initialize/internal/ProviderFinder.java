@@ -0,0 +1,41 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.initialize.internal;
+
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.ServiceLoader.Provider;
+
+/**
+ * ProviderFinder finds the providers of the implementations of an interface, without creating any
+ * instances of them. ModuleInitializerImp finds providers using {@link ServiceLoader#stream()}.
+ */
+public interface ProviderFinder {
+	/**
+	 * findProviders returns the providers of all implementations found for the specified
+	 * classToLoad
+	 * 
+	 * @param <T>
+	 *            The interface to find providers for
+	 * @param classToLoad
+	 *            A Class to find providers for
+	 * @return A List with the found providers
+	 */
+	<T> List<Provider<T>> findProviders(Class<T> classToLoad);
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.initialize.internal;
+
+import java.util.Iterator;
+import java.util.ServiceLoader;
+
+/**
+ * RecordingIterable wraps the implementations to choose from and records the time spent in
+ * {@link Iterator#hasNext()} as discovery and the time spent in {@link Iterator#next()} as
+ * instantiation. This matches how a {@link ServiceLoader} finds the next provider in hasNext and
+ * creates its instance in next.
+ */
+public class RecordingIterable<T> implements Iterable<T> {
+	private final Iterable<T> implementations;
+	private final LoadRecording recording;
+
+	RecordingIterable(Iterable<T> implementations, LoadRecording recording) {
+		this.implementations = implementations;
+		this.recording = recording;
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		return new RecordingIterator(implementations.iterator());
+	}
+
+	public Iterable<T> onlyForTestGetImplementations() {
+		return implementations;
+	}
+
+	private class RecordingIterator implements Iterator<T> {
+		private final Iterator<T> iterator;
+
+		RecordingIterator(Iterator<T> iterator) {
+			this.iterator = iterator;
+		}
+
+		@Override
+		public boolean hasNext() {
+			long start = System.nanoTime();
+			boolean hasNext = iterator.hasNext();
+			recording.recordDiscovery(System.nanoTime() - start);
+			return hasNext;
+		}
+
+		@Override
+		public T next() {
+			long start = System.nanoTime();
+			T implementation = iterator.next();
+			recording.recordInstantiation(implementation.getClass().getName(),
+					System.nanoTime() - start);
+			recording.recordCandidates(1);
+			return implementation;
+		}
+	}
+}
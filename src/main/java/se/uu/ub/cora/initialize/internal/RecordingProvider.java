@@ -0,0 +1,49 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.initialize.internal;
+
+import java.util.ServiceLoader.Provider;
+
+/**
+ * RecordingProvider wraps a provider and records the time spent in {@link #get()} as the
+ * instantiation of a candidate.
+ */
+class RecordingProvider<T> implements Provider<T> {
+	private final Provider<T> provider;
+	private final LoadRecording recording;
+
+	RecordingProvider(Provider<T> provider, LoadRecording recording) {
+		this.provider = provider;
+		this.recording = recording;
+	}
+
+	@Override
+	public Class<? extends T> type() {
+		return provider.type();
+	}
+
+	@Override
+	public T get() {
+		long start = System.nanoTime();
+		T implementation = provider.get();
+		recording.recordInstantiation(implementation.getClass().getName(),
+				System.nanoTime() - start);
+		return implementation;
+	}
+}
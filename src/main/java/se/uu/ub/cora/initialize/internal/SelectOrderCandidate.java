@@ -0,0 +1,99 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.initialize.internal;
+
+import java.util.ServiceLoader.Provider;
+
+import se.uu.ub.cora.initialize.DeclaredSelectOrder;
+import se.uu.ub.cora.initialize.SelectOrder;
+
+/**
+ * SelectOrderCandidate holds a found provider together with its select order. The select order is
+ * read from {@link DeclaredSelectOrder} if the provided class has it, otherwise is an instance
+ * created to ask for its select order, and that instance is kept so that it is not created twice.
+ */
+class SelectOrderCandidate<T extends SelectOrder> {
+	private final Provider<T> provider;
+	private final String className;
+	private final int selectOrder;
+	private final boolean declared;
+	private T implementation;
+
+	static <T extends SelectOrder> SelectOrderCandidate<T> forProvider(Provider<T> provider) {
+		Class<? extends T> type = provider.type();
+		DeclaredSelectOrder declaredSelectOrder = type.getAnnotation(DeclaredSelectOrder.class);
+		if (declaredSelectOrder != null) {
+			return new SelectOrderCandidate<>(provider, type.getName(), declaredSelectOrder.value(),
+					true, null);
+		}
+		T implementation = provider.get();
+		return new SelectOrderCandidate<>(provider, type.getName(),
+				implementation.getOrderToSelectImplementionsBy(), false, implementation);
+	}
+
+	private SelectOrderCandidate(Provider<T> provider, String className, int selectOrder,
+			boolean declared, T implementation) {
+		this.provider = provider;
+		this.className = className;
+		this.selectOrder = selectOrder;
+		this.declared = declared;
+		this.implementation = implementation;
+	}
+
+	int selectOrder() {
+		return selectOrder;
+	}
+
+	boolean isDeclared() {
+		return declared;
+	}
+
+	String className() {
+		return className;
+	}
+
+	T getOrCreateImplementation() {
+		if (implementation == null) {
+			implementation = provider.get();
+		}
+		return implementation;
+	}
+
+	/**
+	 * asProvider returns a provider of the implementation of this candidate, that returns the
+	 * instance created to read the select order, if there is one, instead of creating a new one
+	 */
+	Provider<T> asProvider() {
+		return new CandidateProvider<>(this);
+	}
+
+	private record CandidateProvider<T extends SelectOrder>(SelectOrderCandidate<T> candidate)
+			implements Provider<T> {
+
+		@Override
+		public Class<? extends T> type() {
+			return candidate.provider.type();
+		}
+
+		@Override
+		public T get() {
+			return candidate.getOrCreateImplementation();
+		}
+	}
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.initialize.internal;
+
+import java.util.ServiceLoader.Provider;
+
+import se.uu.ub.cora.initialize.DeclaredSelectType;
+import se.uu.ub.cora.initialize.SelectType;
+
+/**
+ * SelectTypeCandidate holds a found provider together with its select type. The select type is
+ * read from {@link DeclaredSelectType} if the provided class has it, otherwise is an instance
+ * created to ask for its select type, and that instance is kept so that it is not created twice.
+ * </p>
+ * {@link #getOrCreateImplementation()} is safe to call from many threads, the implementation is
+ * only created once.
+ */
+class SelectTypeCandidate<T extends SelectType> {
+	private final Provider<T> provider;
+	private final String className;
+	private final String selectType;
+	private final boolean declared;
+	private final OneTimeLoader<T> implementation = new OneTimeLoader<>();
+
+	static <T extends SelectType> SelectTypeCandidate<T> forProvider(Provider<T> provider) {
+		Class<? extends T> type = provider.type();
+		DeclaredSelectType declaredSelectType = type.getAnnotation(DeclaredSelectType.class);
+		if (declaredSelectType != null) {
+			return new SelectTypeCandidate<>(provider, type.getName(), declaredSelectType.value(),
+					true);
+		}
+		T createdImplementation = provider.get();
+		SelectTypeCandidate<T> candidate = new SelectTypeCandidate<>(provider, type.getName(),
+				createdImplementation.getTypeToSelectImplementionsBy(), false);
+		candidate.implementation.getOrLoad(() -> createdImplementation);
+		return candidate;
+	}
+
+	private SelectTypeCandidate(Provider<T> provider, String className, String selectType,
+			boolean declared) {
+		this.provider = provider;
+		this.className = className;
+		this.selectType = selectType;
+		this.declared = declared;
+	}
+
+	String selectType() {
+		return selectType;
+	}
+
+	boolean isDeclared() {
+		return declared;
+	}
+
+	String className() {
+		return className;
+	}
+
+	Provider<T> provider() {
+		return provider;
+	}
+
+	T getOrCreateImplementation() {
+		return implementation.getOrLoad(provider::get);
+	}
+}
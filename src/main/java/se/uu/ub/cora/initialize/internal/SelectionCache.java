@@ -0,0 +1,80 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.initialize.internal;
+
+import java.util.List;
+import java.util.Optional;
+
+import se.uu.ub.cora.initialize.LoadStrategy;
+
+/**
+ * SelectionCache remembers which implementation was chosen for an interface, so that later starts
+ * of the same application only need to create the chosen implementation instead of all found
+ * implementations.
+ * </p>
+ * A selection is stored together with the names of all candidates found when it was made, and is
+ * only found again if the same candidates are found. A selection is therefore not used if an
+ * implementation has been added or removed. Implementations are still found on every start, only
+ * the creation of the implementations that were not chosen is avoided.
+ */
+public interface SelectionCache {
+	/**
+	 * findSelectedClassName returns the name of the class chosen the last time an implementation of
+	 * the specified interface was loaded using the specified strategy, if the same candidates were
+	 * found then.
+	 * 
+	 * @param interfaceName
+	 *            The name of the loaded interface
+	 * @param strategy
+	 *            The {@link LoadStrategy} used to load the interface
+	 * @param candidateClassNames
+	 *            A sorted List with the names of all classes found implementing the interface
+	 * @return An Optional with the name of the chosen class, or an empty Optional if no selection
+	 *         is cached
+	 */
+	Optional<String> findSelectedClassName(String interfaceName, LoadStrategy strategy,
+			List<String> candidateClassNames);
+
+	/**
+	 * storeSelectedClassName remembers the name of the class chosen when an implementation of the
+	 * specified interface was loaded using the specified strategy.
+	 * </p>
+	 * If the selection can not be stored MUST an @throws InitializationException be thrown
+	 * 
+	 * @param interfaceName
+	 *            The name of the loaded interface
+	 * @param strategy
+	 *            The {@link LoadStrategy} used to load the interface
+	 * @param candidateClassNames
+	 *            A sorted List with the names of all classes found implementing the interface
+	 * @param className
+	 *            The name of the chosen class
+	 */
+	void storeSelectedClassName(String interfaceName, LoadStrategy strategy,
+			List<String> candidateClassNames, String className);
+
+	/**
+	 * disabled returns a SelectionCache that never finds and never stores any selections
+	 * 
+	 * @return A disabled SelectionCache
+	 */
+	static SelectionCache disabled() {
+		return DisabledSelectionCache.INSTANCE;
+	}
+}
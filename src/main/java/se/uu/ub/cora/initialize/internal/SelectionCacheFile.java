@@ -0,0 +1,133 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.initialize.internal;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Optional;
+import java.util.Properties;
+
+import se.uu.ub.cora.initialize.InitializationException;
+import se.uu.ub.cora.initialize.LoadStrategy;
+
+/**
+ * SelectionCacheFile is a {@link SelectionCache} stored in a properties file. For each loaded
+ * interface and strategy the file holds the name of the chosen class and the names of all
+ * candidates it was chosen from.
+ * </p>
+ * A selection is only found if it was chosen from the same candidates as are found now. If the
+ * file can not be read is the cache empty, so that all found implementations are created again,
+ * and the file is rewritten when the first selection is stored.
+ */
+public class SelectionCacheFile implements SelectionCache {
+	static final String CANDIDATES_PREFIX = "candidates.";
+	private static final String CANDIDATE_SEPARATOR = ",";
+	private static final String COMMENT = "Selections of ModuleInitializers";
+	private final Path file;
+	private final Properties selections = new Properties();
+
+	public SelectionCacheFile(Path file) {
+		this.file = file;
+		selections.putAll(readStoredSelections());
+	}
+
+	private Properties readStoredSelections() {
+		Properties stored = new Properties();
+		if (Files.isRegularFile(file)) {
+			try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+				stored.load(reader);
+			} catch (IOException | IllegalArgumentException e) {
+				return new Properties();
+			}
+		}
+		return stored;
+	}
+
+	@Override
+	public Optional<String> findSelectedClassName(String interfaceName, LoadStrategy strategy,
+			List<String> candidateClassNames) {
+		String key = createKey(interfaceName, strategy);
+		if (!joinCandidates(candidateClassNames)
+				.equals(selections.getProperty(CANDIDATES_PREFIX + key))) {
+			return Optional.empty();
+		}
+		return Optional.ofNullable(selections.getProperty(key));
+	}
+
+	private String joinCandidates(List<String> candidateClassNames) {
+		return String.join(CANDIDATE_SEPARATOR, candidateClassNames);
+	}
+
+	private String createKey(String interfaceName, LoadStrategy strategy) {
+		return strategy.name() + ":" + interfaceName;
+	}
+
+	@Override
+	public synchronized void storeSelectedClassName(String interfaceName, LoadStrategy strategy,
+			List<String> candidateClassNames, String className) {
+		String key = createKey(interfaceName, strategy);
+		String candidates = joinCandidates(candidateClassNames);
+		if (!className.equals(selections.getProperty(key))
+				|| !candidates.equals(selections.getProperty(CANDIDATES_PREFIX + key))) {
+			selections.setProperty(key, className);
+			selections.setProperty(CANDIDATES_PREFIX + key, candidates);
+			writeSelections();
+		}
+	}
+
+	private void writeSelections() {
+		try {
+			replaceFileUsingTempFile(createTempFile());
+		} catch (IOException e) {
+			throw new InitializationException("Could not write selection cache to: " + file, e);
+		}
+	}
+
+	private Path createTempFile() throws IOException {
+		Path directory = file.toAbsolutePath().getParent();
+		Files.createDirectories(directory);
+		return Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+	}
+
+	private void replaceFileUsingTempFile(Path tempFile) throws IOException {
+		try {
+			writeSelectionsTo(tempFile);
+			Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING,
+					StandardCopyOption.ATOMIC_MOVE);
+		} finally {
+			Files.deleteIfExists(tempFile);
+		}
+	}
+
+	private void writeSelectionsTo(Path tempFile) throws IOException {
+		try (Writer writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+			selections.store(writer, COMMENT);
+		}
+	}
+
+	public Path onlyForTestGetFile() {
+		return file;
+	}
+}
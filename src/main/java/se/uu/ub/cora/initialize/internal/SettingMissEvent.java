@@ -0,0 +1,56 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.initialize.internal;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * SettingMissEvent is a Java Flight Recorder event for a request of a setting that does not exist
+ * in SettingsProvider. The event is disabled by default and is enabled in a recording using its
+ * name, {@value #NAME}.
+ */
+@Name(SettingMissEvent.NAME)
+@Label("Setting Miss")
+@Description("Request for a setting that is not present in SettingsProvider")
+@Category({ "Cora", "Initialize" })
+@Enabled(false)
+public final class SettingMissEvent extends jdk.jfr.Event {
+	public static final String NAME = "se.uu.ub.cora.initialize.SettingMiss";
+
+	@Label("Setting Name")
+	String settingName;
+
+	/**
+	 * commitForSettingName commits an event for the missing setting, if the event is enabled
+	 * 
+	 * @param settingName
+	 *            The name of the missing setting
+	 */
+	public static void commitForSettingName(String settingName) {
+		SettingMissEvent event = new SettingMissEvent();
+		if (event.shouldCommit()) {
+			event.settingName = settingName;
+			event.commit();
+		}
+	}
+}
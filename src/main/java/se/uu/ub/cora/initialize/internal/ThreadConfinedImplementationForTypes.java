@@ -0,0 +1,71 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.initialize.internal;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import se.uu.ub.cora.initialize.InitializationException;
+import se.uu.ub.cora.initialize.SelectType;
+import se.uu.ub.cora.initialize.ThreadConfinedTypes;
+
+/**
+ * ThreadConfinedImplementationForTypes holds one {@link ThreadConfinedType} for each type, in a
+ * {@link FrozenTypeTable} as the types can not change after loading is finished. Each type creates
+ * implementations using the provider found for it. An implementation created while loading, to read
+ * its select type, is kept as an idle implementation for virtual threads.
+ */
+class ThreadConfinedImplementationForTypes<T extends SelectType> implements ThreadConfinedTypes<T> {
+	private final FrozenTypeTable<ThreadConfinedType<T>> types;
+
+	ThreadConfinedImplementationForTypes(Map<String, SelectTypeCandidate<T>> candidates,
+			int maxForVirtualThreads) {
+		Map<String, ThreadConfinedType<T>> typesByName = new HashMap<>();
+		candidates.forEach((type, candidate) -> typesByName.put(type,
+				createTypeForCandidate(type, candidate, maxForVirtualThreads)));
+		types = new FrozenTypeTable<>(typesByName);
+	}
+
+	private ThreadConfinedType<T> createTypeForCandidate(String type,
+			SelectTypeCandidate<T> candidate, int maxForVirtualThreads) {
+		ThreadConfinedType<T> confinedType = new ThreadConfinedType<>(type, candidate.provider(),
+				maxForVirtualThreads);
+		if (!candidate.isDeclared()) {
+			confinedType.addCreated(candidate.getOrCreateImplementation());
+		}
+		return confinedType;
+	}
+
+	@Override
+	public <R> R withImplementation(String type, Function<T, R> work) {
+		ThreadConfinedType<T> confinedType = types.get(type);
+		if (confinedType == null) {
+			throw new InitializationException("No implementation found for type: " + type);
+		}
+		return confinedType.withImplementation(work);
+	}
+
+	@Override
+	public void close() {
+		for (ThreadConfinedType<T> confinedType : types.toMap().values()) {
+			confinedType.close();
+		}
+	}
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.initialize.internal;
+
+import java.util.Collections;
+import java.util.ServiceLoader.Provider;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import se.uu.ub.cora.initialize.InitializationException;
+
+/**
+ * ThreadConfinedType creates and keeps the thread confined implementations of one type. Platform
+ * threads keep their implementation in a {@link ThreadLocal}, so they never contend. Virtual
+ * threads do not use the ThreadLocal, as one implementation for each virtual thread would use far
+ * too much memory, instead are implementations for them lent from a {@link TypePool}, bounded to
+ * the number of available processors as that is how many virtual threads that can run at the same
+ * time.
+ * </p>
+ * The ThreadLocal keeps a holder for the implementation of each platform thread, and the holders
+ * are registered weakly, so that {@link #close()} can empty the holders of all threads without
+ * keeping the holders of ended threads reachable. A closed ThreadConfinedType only leaves empty
+ * holders in the threads, that do not keep the implementations or their class loaders reachable.
+ */
+final class ThreadConfinedType<T> {
+	private final Provider<T> provider;
+	private final TypePool<T> virtualThreadPool;
+	private final Set<AtomicReference<T>> platformThreadHolders = Collections
+			.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+	private final ThreadLocal<AtomicReference<T>> platformThreadImplementation = ThreadLocal
+			.withInitial(this::createRegisteredHolder);
+	private volatile boolean closed = false;
+
+	ThreadConfinedType(String type, Provider<T> provider, int maxForVirtualThreads) {
+		this.provider = provider;
+		virtualThreadPool = new TypePool<>(type, provider, maxForVirtualThreads);
+	}
+
+	private AtomicReference<T> createRegisteredHolder() {
+		AtomicReference<T> holder = new AtomicReference<>();
+		platformThreadHolders.add(holder);
+		return holder;
+	}
+
+	/**
+	 * addCreated adds an implementation already created by the provider, such as one created to
+	 * read its select type, as an idle implementation for virtual threads
+	 */
+	void addCreated(T implementation) {
+		virtualThreadPool.addCreated(implementation);
+	}
+
+	<R> R withImplementation(Function<T, R> work) {
+		throwErrorIfClosed();
+		if (!Thread.currentThread().isVirtual()) {
+			return work.apply(getForPlatformThread());
+		}
+		return withImplementationForVirtualThread(work);
+	}
+
+	private void throwErrorIfClosed() {
+		if (closed) {
+			throw new InitializationException("Thread confined implementations are closed");
+		}
+	}
+
+	private T getForPlatformThread() {
+		AtomicReference<T> holder = platformThreadImplementation.get();
+		T implementation = holder.get();
+		if (implementation == null) {
+			implementation = provider.get();
+			holder.set(implementation);
+			emptyHolderAndThrowErrorIfClosedWhileCreating(holder);
+		}
+		return implementation;
+	}
+
+	private void emptyHolderAndThrowErrorIfClosedWhileCreating(AtomicReference<T> holder) {
+		if (closed) {
+			holder.set(null);
+			throwErrorIfClosed();
+		}
+	}
+
+	private <R> R withImplementationForVirtualThread(Function<T, R> work) {
+		T implementation = virtualThreadPool.borrow();
+		try {
+			return work.apply(implementation);
+		} finally {
+			virtualThreadPool.giveBack(implementation);
+			if (closed) {
+				virtualThreadPool.dropIdle();
+			}
+		}
+	}
+
+	void close() {
+		closed = true;
+		synchronized (platformThreadHolders) {
+			for (AtomicReference<T> holder : platformThreadHolders) {
+				holder.set(null);
+			}
+			platformThreadHolders.clear();
+		}
+		platformThreadImplementation.remove();
+		virtualThreadPool.dropIdle();
+	}
+
+	int onlyForTestGetNoOfIdle() {
+		return virtualThreadPool.getStatistics().idle();
+	}
+
+	int onlyForTestGetNoOfPlatformThreadHolders() {
+		return platformThreadHolders.size();
+	}
+}
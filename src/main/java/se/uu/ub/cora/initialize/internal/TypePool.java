@@ -0,0 +1,152 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.initialize.internal;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ServiceLoader.Provider;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import se.uu.ub.cora.initialize.InitializationException;
+import se.uu.ub.cora.initialize.PoolStatistics;
+
+/**
+ * TypePool is the bounded pool of implementations for one type. Idle implementations are kept in a
+ * queue sized to the max number of implementations, so borrowing an idle implementation and giving
+ * it back never locks more than the queue does. A new implementation is only created after a slot
+ * for it is reserved, so the pool never holds more than the max number of implementations.
+ * </p>
+ * Counters are kept in {@link LongAdder}s so that counting does not make threads borrowing at the
+ * same time contend.
+ */
+final class TypePool<T> {
+	private static final long RECHECK_MILLISECONDS = 10;
+	private final String type;
+	private final Provider<T> provider;
+	private final int maxInstances;
+	private final BlockingQueue<T> idle;
+	private final AtomicInteger created = new AtomicInteger();
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder waits = new LongAdder();
+	private final LongAdder waitNanos = new LongAdder();
+
+	TypePool(String type, Provider<T> provider, int maxInstances) {
+		this.type = type;
+		this.provider = provider;
+		this.maxInstances = maxInstances;
+		idle = new ArrayBlockingQueue<>(maxInstances);
+	}
+
+	/**
+	 * addCreated adds an implementation already created by the provider, such as one created to
+	 * read its select type, as an idle implementation
+	 */
+	void addCreated(T implementation) {
+		created.incrementAndGet();
+		idle.offer(implementation);
+	}
+
+	T borrow() {
+		T implementation = idle.poll();
+		if (implementation != null) {
+			hits.increment();
+			return implementation;
+		}
+		if (tryToReserveImplementation()) {
+			misses.increment();
+			return createImplementation();
+		}
+		return waitForImplementation();
+	}
+
+	private boolean tryToReserveImplementation() {
+		int current = created.get();
+		while (current < maxInstances) {
+			if (created.compareAndSet(current, current + 1)) {
+				return true;
+			}
+			current = created.get();
+		}
+		return false;
+	}
+
+	private T createImplementation() {
+		try {
+			return provider.get();
+		} catch (RuntimeException e) {
+			created.decrementAndGet();
+			throw e;
+		}
+	}
+
+	private T waitForImplementation() {
+		waits.increment();
+		long start = System.nanoTime();
+		try {
+			return pollUntilImplementationIsAvailable();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InitializationException(
+					"Interrupted while waiting for an implementation of type: " + type, e);
+		} finally {
+			waitNanos.add(System.nanoTime() - start);
+		}
+	}
+
+	private T pollUntilImplementationIsAvailable() throws InterruptedException {
+		while (true) {
+			T implementation = idle.poll(RECHECK_MILLISECONDS, TimeUnit.MILLISECONDS);
+			if (implementation != null) {
+				return implementation;
+			}
+			if (tryToReserveImplementation()) {
+				return createImplementation();
+			}
+		}
+	}
+
+	void giveBack(T implementation) {
+		if (!idle.offer(implementation)) {
+			throw new InitializationException(
+					"More implementations given back than borrowed for type: " + type);
+		}
+	}
+
+	/**
+	 * dropIdle drops all idle implementations so that the pool no longer keeps them reachable,
+	 * borrowed implementations are not affected. Dropped implementations no longer count as
+	 * created, so callers waiting for an implementation can create a new one.
+	 */
+	void dropIdle() {
+		List<T> dropped = new ArrayList<>();
+		idle.drainTo(dropped);
+		created.addAndGet(-dropped.size());
+	}
+
+	PoolStatistics getStatistics() {
+		return new PoolStatistics(type, maxInstances, created.get(), idle.size(), hits.sum(),
+				misses.sum(), waits.sum(), Duration.ofNanos(waitNanos.sum()));
+	}
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2022 Uppsala University Library
+ * Copyright 2022, 2026 Uppsala University Library
  *
  * This file is part of Cora.
  *
@@ -18,11 +18,14 @@
  */
 package se.uu.ub.cora.initialize;
 
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNotNull;
 import static org.testng.Assert.assertSame;
 import static org.testng.Assert.assertTrue;
 
 import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 
 import org.testng.annotations.BeforeMethod;
@@ -61,16 +64,80 @@ public class AbstractProviderTest {
 
 	@Test
 	public void testDefaultInitializerIsModuleInitalizer() throws Exception {
-		ModuleInitializer initializer = AbstractProvider.onlyForTestGetModuleInitializer();
+		ModuleInitializer initializer = AbstractProvider.getModuleInitializer();
 		assertNotNull(initializer);
 		assertTrue(initializer instanceof ModuleInitializerImp);
 	}
 
 	@Test
-	public void testOnlyForTestSetModuleInitalizer() throws Exception {
+	public void testUseModuleInitializerForTests() throws Exception {
 		ModuleInitializerSpy initializerSpy = new ModuleInitializerSpy();
-		AbstractProvider.onlyForTestSetModuleInitializer(initializerSpy);
-		assertSame(AbstractProvider.onlyForTestGetModuleInitializer(), initializerSpy);
+		AbstractProvider.useModuleInitializerForTests(initializerSpy);
+		assertSame(AbstractProvider.getModuleInitializer(), initializerSpy);
+	}
+
+	@Test
+	public void testOnlyForTestStaticsAreRemoved() throws Exception {
+		for (Method method : AbstractProvider.class.getDeclaredMethods()) {
+			assertFalse(method.getName().startsWith("onlyForTest"), method.getName());
+		}
+	}
+
+	@Test
+	public void testResetCachedImplementationsIsNotPublic() throws Exception {
+		int modifiers = AbstractProvider.class.getDeclaredMethod("resetCachedImplementations")
+				.getModifiers();
+
+		assertFalse(Modifier.isPublic(modifiers));
+	}
+
+	@Test
+	public void testModuleInitializerIsSafelyPublished() throws Exception {
+		int modifiers = AbstractProvider.class.getDeclaredField("moduleInitializer").getModifiers();
+
+		assertTrue(Modifier.isVolatile(modifiers));
+		assertTrue(Modifier.isProtected(modifiers));
+	}
+
+	@Test
+	public void testUseCachingModuleInitializerWrapsCurrentInitializer() throws Exception {
+		ModuleInitializerSpy initializerSpy = new ModuleInitializerSpy();
+		AbstractProvider.useModuleInitializerForTests(initializerSpy);
+
+		AbstractProvider.useCachingModuleInitializer();
+		AbstractProvider.useCachingModuleInitializer();
+
+		CachingModuleInitializer cachingInitializer = (CachingModuleInitializer) AbstractProvider
+				.getModuleInitializer();
+		assertSame(cachingInitializer.onlyForTestGetModuleInitializer(), initializerSpy);
+		AbstractProvider.useModuleInitializerForTests(new ModuleInitializerImp());
+	}
+
+	@Test
+	public void testUseSummaryLogging() throws Exception {
+		AbstractProvider.useModuleInitializerForTests(new ModuleInitializerSpy());
+
+		AbstractProvider.useSummaryLogging();
+
+		ModuleInitializerImp initializer = (ModuleInitializerImp) AbstractProvider
+				.getModuleInitializer();
+		assertEquals(initializer.onlyForTestGetLoadLogging(), LoadLogging.SUMMARY);
+		AbstractProvider.useModuleInitializerForTests(new ModuleInitializerImp());
+	}
+
+	@Test
+	public void testUseSummaryLoggingKeepsCaching() throws Exception {
+		AbstractProvider.useModuleInitializerForTests(new ModuleInitializerSpy());
+		AbstractProvider.useCachingModuleInitializer();
+
+		AbstractProvider.useSummaryLogging();
+
+		CachingModuleInitializer cachingInitializer = (CachingModuleInitializer) AbstractProvider
+				.getModuleInitializer();
+		ModuleInitializerImp initializer = (ModuleInitializerImp) cachingInitializer
+				.onlyForTestGetModuleInitializer();
+		assertEquals(initializer.onlyForTestGetLoadLogging(), LoadLogging.SUMMARY);
+		AbstractProvider.useModuleInitializerForTests(new ModuleInitializerImp());
 	}
 
 }
@@ -0,0 +1,209 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.initialize;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import se.uu.ub.cora.logger.LoggerProvider;
+import se.uu.ub.cora.logger.spies.LoggerFactorySpy;
+
+public class CachedImplementationTest {
+	private static final int MAX_GC_ATTEMPTS = 20;
+	private static final int GC_WAIT_MILLIS = 50;
+	private ModuleInitializerSpy initializer;
+	private AtomicInteger noOfLoads;
+	private CachedImplementation<Runnable> cachedImplementation;
+
+	@BeforeMethod
+	public void beforeMethod() {
+		LoggerProvider.setLoggerFactory(new LoggerFactorySpy());
+		initializer = createInitializerSpy();
+		AbstractProvider.useModuleInitializerForTests(initializer);
+		noOfLoads = new AtomicInteger();
+		cachedImplementation = AbstractProvider.cachedImplementation(this::countAndLoad);
+	}
+
+	private ModuleInitializerSpy createInitializerSpy() {
+		ModuleInitializerSpy initializerSpy = new ModuleInitializerSpy();
+		initializerSpy.MRV.setDefaultReturnValuesSupplier("loadTheOnlyExistingImplementation",
+				RunnableExample::new);
+		return initializerSpy;
+	}
+
+	private Runnable countAndLoad(ModuleInitializer moduleInitializer) {
+		noOfLoads.incrementAndGet();
+		return moduleInitializer.loadTheOnlyExistingImplementation(Runnable.class);
+	}
+
+	@AfterMethod
+	public void afterMethod() {
+		AbstractProvider.useModuleInitializerForTests(new ModuleInitializerImp());
+	}
+
+	@Test
+	public void testNotLoadedUntilRequested() {
+		assertFalse(cachedImplementation.isLoaded());
+		initializer.MCR.assertMethodNotCalled("loadTheOnlyExistingImplementation");
+	}
+
+	@Test
+	public void testLoadedUsingModuleInitializerOfProviders() {
+		Runnable implementation = cachedImplementation.get();
+
+		initializer.MCR.assertParameters("loadTheOnlyExistingImplementation", 0, Runnable.class);
+		initializer.MCR.assertReturn("loadTheOnlyExistingImplementation", 0, implementation);
+		assertTrue(cachedImplementation.isLoaded());
+	}
+
+	@Test
+	public void testLoadIsOnlyDoneOnce() {
+		Runnable first = cachedImplementation.get();
+		Runnable second = cachedImplementation.get();
+
+		assertSame(second, first);
+		initializer.MCR.assertNumberOfCallsToMethod("loadTheOnlyExistingImplementation", 1);
+	}
+
+	@Test
+	public void testLoadIsOnlyDoneOnceWhenRequestedFromManyThreads() throws Exception {
+		int noOfThreads = 16;
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<Runnable>> results = new ArrayList<>();
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (int i = 0; i < noOfThreads; i++) {
+				results.add(executor.submit(() -> {
+					start.await();
+					return cachedImplementation.get();
+				}));
+			}
+			start.countDown();
+		}
+
+		Runnable first = results.get(0).get();
+		for (Future<Runnable> result : results) {
+			assertSame(result.get(), first);
+		}
+		assertEquals(noOfLoads.get(), 1);
+	}
+
+	@Test
+	public void testFailedLoadIsNotKept() {
+		CachedImplementation<Runnable> failingOnce = AbstractProvider
+				.cachedImplementation(this::failFirstLoad);
+		try {
+			failingOnce.get();
+			fail("An exception should have been thrown");
+		} catch (InitializationException e) {
+			assertEquals(e.getMessage(), "first load failed");
+		}
+		assertFalse(failingOnce.isLoaded());
+
+		failingOnce.get();
+
+		assertEquals(noOfLoads.get(), 2);
+		assertTrue(failingOnce.isLoaded());
+	}
+
+	private Runnable failFirstLoad(ModuleInitializer moduleInitializer) {
+		if (noOfLoads.getAndIncrement() == 0) {
+			throw new InitializationException("first load failed");
+		}
+		return moduleInitializer.loadTheOnlyExistingImplementation(Runnable.class);
+	}
+
+	@Test
+	public void testResetMakesNextGetLoadAgain() {
+		Runnable first = cachedImplementation.get();
+
+		cachedImplementation.reset();
+
+		assertFalse(cachedImplementation.isLoaded());
+		assertNotSame(cachedImplementation.get(), first);
+		assertEquals(noOfLoads.get(), 2);
+	}
+
+	@Test
+	public void testResetCachedImplementationsResetsAll() {
+		CachedImplementation<Runnable> other = AbstractProvider
+				.cachedImplementation(this::countAndLoad);
+		cachedImplementation.get();
+		other.get();
+
+		AbstractProvider.resetCachedImplementations();
+
+		assertFalse(cachedImplementation.isLoaded());
+		assertFalse(other.isLoaded());
+	}
+
+	@Test
+	public void testCachedImplementationIsOnlyReferencedWeakly() throws Exception {
+		WeakReference<CachedImplementation<Runnable>> notKept = new WeakReference<>(
+				AbstractProvider.cachedImplementation(this::countAndLoad));
+
+		assertTrue(isGarbageCollected(notKept),
+				"A CachedImplementation should not be kept reachable by AbstractProvider");
+		AbstractProvider.resetCachedImplementations();
+	}
+
+	private boolean isGarbageCollected(WeakReference<?> reference) throws InterruptedException {
+		for (int i = 0; i < MAX_GC_ATTEMPTS && reference.get() != null; i++) {
+			System.gc();
+			Thread.sleep(GC_WAIT_MILLIS);
+		}
+		return reference.get() == null;
+	}
+
+	@Test
+	public void testSetModuleInitializerResetsAndLoadsUsingNewInitializer() {
+		cachedImplementation.get();
+		ModuleInitializerSpy newInitializer = createInitializerSpy();
+
+		AbstractProvider.useModuleInitializerForTests(newInitializer);
+
+		assertFalse(cachedImplementation.isLoaded());
+		Runnable implementation = cachedImplementation.get();
+		newInitializer.MCR.assertReturn("loadTheOnlyExistingImplementation", 0, implementation);
+		initializer.MCR.assertNumberOfCallsToMethod("loadTheOnlyExistingImplementation", 1);
+	}
+
+	private static class RunnableExample implements Runnable {
+		@Override
+		public void run() {
+			// nothing to run
+		}
+	}
+}
@@ -0,0 +1,289 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.initialize;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import se.uu.ub.cora.initialize.example.SelectOrderExample;
+import se.uu.ub.cora.initialize.example.SelectOrderImplementationExample;
+import se.uu.ub.cora.initialize.example.SelectTypeExample;
+import se.uu.ub.cora.initialize.internal.ImplementationPoolsSpy;
+import se.uu.ub.cora.initialize.internal.InitializedTypesSpy;
+import se.uu.ub.cora.initialize.internal.ProviderSpy;
+import se.uu.ub.cora.initialize.internal.ThreadConfinedTypesSpy;
+import se.uu.ub.cora.logger.LoggerProvider;
+import se.uu.ub.cora.logger.spies.LoggerFactorySpy;
+
+public class CachingModuleInitializerTest {
+	private ModuleInitializerSpy wrappedInitializer;
+	private CachingModuleInitializer initializer;
+
+	@BeforeMethod
+	public void beforeMethod() {
+		LoggerProvider.setLoggerFactory(new LoggerFactorySpy());
+		wrappedInitializer = new ModuleInitializerSpy();
+		wrappedInitializer.MRV.setDefaultReturnValuesSupplier("loadOneImplementationBySelectOrder",
+				SelectOrderImplementationExample::new);
+		wrappedInitializer.MRV.setDefaultReturnValuesSupplier(
+				"loadOneImplementationByDeclaredSelectOrder", SelectOrderImplementationExample::new);
+		wrappedInitializer.MRV.setDefaultReturnValuesSupplier("loadTheOnlyExistingImplementation",
+				SelectOrderImplementationExample::new);
+		wrappedInitializer.MRV.setDefaultReturnValuesSupplier("loadOneImplementationOfEachType",
+				InitializedTypesSpy::new);
+		wrappedInitializer.MRV.setDefaultReturnValuesSupplier(
+				"loadOneImplementationOfEachDeclaredType", InitializedTypesSpy::new);
+		wrappedInitializer.MRV.setDefaultReturnValuesSupplier("loadPoolOfEachType",
+				ImplementationPoolsSpy::new);
+		wrappedInitializer.MRV.setDefaultReturnValuesSupplier("loadThreadConfinedOfEachType",
+				ThreadConfinedTypesSpy::new);
+		wrappedInitializer.MRV.setDefaultReturnValuesSupplier(
+				"loadLazyImplementationByDeclaredSelectOrder", this::createLazyImplementation);
+		wrappedInitializer.MRV.setDefaultReturnValuesSupplier(
+				"loadLazyTheOnlyExistingImplementation", this::createLazyImplementation);
+		initializer = new CachingModuleInitializer(wrappedInitializer);
+	}
+
+	private LazyImplementation<SelectOrderExample> createLazyImplementation() {
+		return new DeferredImplementation<>(SelectOrderExample.class.getName(),
+				new ProviderSpy<>(SelectOrderImplementationExample.class,
+						SelectOrderImplementationExample::new),
+				new InitializationReport());
+	}
+
+	@Test
+	public void testLazyImplementationsAreLoadedOnlyOnce() {
+		LazyImplementation<SelectOrderExample> first = initializer
+				.loadLazyImplementationByDeclaredSelectOrder(SelectOrderExample.class);
+		LazyImplementation<SelectOrderExample> onlyExisting = initializer
+				.loadLazyTheOnlyExistingImplementation(SelectOrderExample.class);
+
+		assertSame(initializer.loadLazyImplementationByDeclaredSelectOrder(
+				SelectOrderExample.class), first);
+		assertSame(initializer.loadLazyTheOnlyExistingImplementation(SelectOrderExample.class),
+				onlyExisting);
+		assertNotSame(onlyExisting, first);
+		wrappedInitializer.MCR.assertNumberOfCallsToMethod(
+				"loadLazyImplementationByDeclaredSelectOrder", 1);
+		wrappedInitializer.MCR.assertNumberOfCallsToMethod(
+				"loadLazyTheOnlyExistingImplementation", 1);
+	}
+
+	@Test
+	public void testDefaultWrapsModuleInitializerImp() {
+		initializer = new CachingModuleInitializer();
+
+		assertTrue(initializer.onlyForTestGetModuleInitializer() instanceof ModuleInitializerImp);
+	}
+
+	@Test
+	public void testSelectOrderIsLoadedOnlyOnce() {
+		SelectOrderExample first = initializer
+				.loadOneImplementationBySelectOrder(SelectOrderExample.class);
+		SelectOrderExample second = initializer
+				.loadOneImplementationBySelectOrder(SelectOrderExample.class);
+
+		wrappedInitializer.MCR.assertNumberOfCallsToMethod("loadOneImplementationBySelectOrder", 1);
+		wrappedInitializer.MCR.assertParameters("loadOneImplementationBySelectOrder", 0,
+				SelectOrderExample.class);
+		wrappedInitializer.MCR.assertReturn("loadOneImplementationBySelectOrder", 0, first);
+		assertSame(second, first);
+	}
+
+	@Test
+	public void testDeclaredSelectOrderIsLoadedOnlyOnce() {
+		SelectOrderExample first = initializer
+				.loadOneImplementationByDeclaredSelectOrder(SelectOrderExample.class);
+		SelectOrderExample second = initializer
+				.loadOneImplementationByDeclaredSelectOrder(SelectOrderExample.class);
+
+		wrappedInitializer.MCR
+				.assertNumberOfCallsToMethod("loadOneImplementationByDeclaredSelectOrder", 1);
+		wrappedInitializer.MCR.assertReturn("loadOneImplementationByDeclaredSelectOrder", 0, first);
+		assertSame(second, first);
+	}
+
+	@Test
+	public void testOnlyExistingIsLoadedOnlyOnce() {
+		SelectOrderExample first = initializer
+				.loadTheOnlyExistingImplementation(SelectOrderExample.class);
+		SelectOrderExample second = initializer
+				.loadTheOnlyExistingImplementation(SelectOrderExample.class);
+
+		wrappedInitializer.MCR.assertNumberOfCallsToMethod("loadTheOnlyExistingImplementation", 1);
+		wrappedInitializer.MCR.assertReturn("loadTheOnlyExistingImplementation", 0, first);
+		assertSame(second, first);
+	}
+
+	@Test
+	public void testEachTypeIsLoadedOnlyOnce() {
+		InitializedTypes<SelectTypeExample> first = initializer
+				.loadOneImplementationOfEachType(SelectTypeExample.class);
+		InitializedTypes<SelectTypeExample> second = initializer
+				.loadOneImplementationOfEachType(SelectTypeExample.class);
+
+		wrappedInitializer.MCR.assertNumberOfCallsToMethod("loadOneImplementationOfEachType", 1);
+		wrappedInitializer.MCR.assertReturn("loadOneImplementationOfEachType", 0, first);
+		assertSame(second, first);
+	}
+
+	@Test
+	public void testEachDeclaredTypeIsLoadedOnlyOnce() {
+		InitializedTypes<SelectTypeExample> first = initializer
+				.loadOneImplementationOfEachDeclaredType(SelectTypeExample.class);
+		InitializedTypes<SelectTypeExample> second = initializer
+				.loadOneImplementationOfEachDeclaredType(SelectTypeExample.class);
+
+		wrappedInitializer.MCR.assertNumberOfCallsToMethod("loadOneImplementationOfEachDeclaredType",
+				1);
+		wrappedInitializer.MCR.assertReturn("loadOneImplementationOfEachDeclaredType", 0, first);
+		assertSame(second, first);
+	}
+
+	@Test
+	public void testThreadConfinedOfEachTypeIsLoadedOnlyOnce() {
+		ThreadConfinedTypes<SelectTypeExample> first = initializer
+				.loadThreadConfinedOfEachType(SelectTypeExample.class);
+		ThreadConfinedTypes<SelectTypeExample> second = initializer
+				.loadThreadConfinedOfEachType(SelectTypeExample.class);
+
+		wrappedInitializer.MCR.assertNumberOfCallsToMethod("loadThreadConfinedOfEachType", 1);
+		wrappedInitializer.MCR.assertReturn("loadThreadConfinedOfEachType", 0, first);
+		assertSame(second, first);
+	}
+
+	@Test
+	public void testPoolOfEachTypeIsLoadedOnlyOnce() {
+		ImplementationPools<SelectTypeExample> first = initializer
+				.loadPoolOfEachType(SelectTypeExample.class, 2);
+		ImplementationPools<SelectTypeExample> second = initializer
+				.loadPoolOfEachType(SelectTypeExample.class, 3);
+
+		wrappedInitializer.MCR.assertNumberOfCallsToMethod("loadPoolOfEachType", 1);
+		wrappedInitializer.MCR.assertParameters("loadPoolOfEachType", 0, SelectTypeExample.class,
+				2);
+		wrappedInitializer.MCR.assertReturn("loadPoolOfEachType", 0, first);
+		assertSame(second, first);
+	}
+
+	@Test
+	public void testLoadStrategiesAreCachedSeparately() {
+		SelectOrderExample bySelectOrder = initializer
+				.loadOneImplementationBySelectOrder(SelectOrderExample.class);
+		SelectOrderExample onlyExisting = initializer
+				.loadTheOnlyExistingImplementation(SelectOrderExample.class);
+
+		assertNotSame(onlyExisting, bySelectOrder);
+	}
+
+	@Test
+	public void testFailedLoadIsNotCached() {
+		wrappedInitializer.MRV.setAlwaysThrowException("loadOneImplementationBySelectOrder",
+				new InitializationException("no implementation"));
+		try {
+			initializer.loadOneImplementationBySelectOrder(SelectOrderExample.class);
+			fail();
+		} catch (InitializationException e) {
+			assertEquals(e.getMessage(), "no implementation");
+		}
+		try {
+			initializer.loadOneImplementationBySelectOrder(SelectOrderExample.class);
+			fail();
+		} catch (InitializationException e) {
+			wrappedInitializer.MCR.assertNumberOfCallsToMethod("loadOneImplementationBySelectOrder",
+					2);
+		}
+	}
+
+	@Test
+	public void testConcurrentFirstRequestsAreCoalesced() throws Exception {
+		CountDownLatch loadStarted = new CountDownLatch(1);
+		CountDownLatch releaseLoad = new CountDownLatch(1);
+		wrappedInitializer.MRV.setDefaultReturnValuesSupplier("loadOneImplementationBySelectOrder",
+				() -> waitForReleaseAndCreateImplementation(loadStarted, releaseLoad));
+
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		List<Future<SelectOrderExample>> results = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			results.add(executor.submit(() -> initializer
+					.loadOneImplementationBySelectOrder(SelectOrderExample.class)));
+		}
+		loadStarted.await(5, TimeUnit.SECONDS);
+		releaseLoad.countDown();
+
+		SelectOrderExample first = results.get(0).get(5, TimeUnit.SECONDS);
+		for (Future<SelectOrderExample> result : results) {
+			assertSame(result.get(5, TimeUnit.SECONDS), first);
+		}
+		executor.shutdown();
+		wrappedInitializer.MCR.assertNumberOfCallsToMethod("loadOneImplementationBySelectOrder", 1);
+	}
+
+	private SelectOrderImplementationExample waitForReleaseAndCreateImplementation(
+			CountDownLatch loadStarted, CountDownLatch releaseLoad) {
+		loadStarted.countDown();
+		try {
+			releaseLoad.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		return new SelectOrderImplementationExample();
+	}
+
+	@Test
+	public void testClearForgetsLoadedImplementations() {
+		SelectOrderExample first = initializer
+				.loadOneImplementationBySelectOrder(SelectOrderExample.class);
+		initializer.loadOneImplementationOfEachType(SelectTypeExample.class);
+
+		initializer.clear();
+
+		SelectOrderExample second = initializer
+				.loadOneImplementationBySelectOrder(SelectOrderExample.class);
+		initializer.loadOneImplementationOfEachType(SelectTypeExample.class);
+		wrappedInitializer.MCR.assertNumberOfCallsToMethod("loadOneImplementationBySelectOrder", 2);
+		wrappedInitializer.MCR.assertNumberOfCallsToMethod("loadOneImplementationOfEachType", 2);
+		assertNotSame(second, first);
+	}
+
+	@Test
+	public void testClearClosesLoadedThreadConfinedTypes() {
+		ThreadConfinedTypesSpy<?> confinedTypes = (ThreadConfinedTypesSpy<?>) initializer
+				.loadThreadConfinedOfEachType(SelectTypeExample.class);
+
+		initializer.clear();
+		initializer.clear();
+
+		confinedTypes.MCR.assertNumberOfCallsToMethod("close", 1);
+	}
+}
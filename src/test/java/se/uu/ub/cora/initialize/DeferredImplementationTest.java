@@ -0,0 +1,129 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.initialize;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import se.uu.ub.cora.initialize.example.SelectOrderExample;
+import se.uu.ub.cora.initialize.example.SelectOrderImplementationExample;
+import se.uu.ub.cora.initialize.internal.ProviderSpy;
+
+public class DeferredImplementationTest {
+	private InitializationReport report;
+	private AtomicInteger noOfCreations;
+	private CountDownLatch allStarted;
+
+	@BeforeMethod
+	public void beforeMethod() {
+		report = new InitializationReport();
+		noOfCreations = new AtomicInteger();
+		allStarted = new CountDownLatch(0);
+	}
+
+	@Test
+	public void testImplementationIsOnlyCreatedOnceByThreadsAtTheSameTime() throws Exception {
+		allStarted = new CountDownLatch(4);
+		DeferredImplementation<SelectOrderExample> lazyImplementation = createDeferredImplementation(
+				this::countCreation);
+
+		List<Future<SelectOrderExample>> results = new ArrayList<>();
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (int i = 0; i < 4; i++) {
+				results.add(executor.submit(() -> getWhenAllStarted(lazyImplementation)));
+			}
+		}
+
+		for (Future<SelectOrderExample> result : results) {
+			assertSame(result.get(), results.get(0).get());
+		}
+		assertEquals(noOfCreations.get(), 1);
+		assertEquals(report.getDeferredInstantiations().size(), 1);
+	}
+
+	private DeferredImplementation<SelectOrderExample> createDeferredImplementation(
+			Supplier<SelectOrderExample> creation) {
+		return new DeferredImplementation<>(SelectOrderExample.class.getName(),
+				new ProviderSpy<>(SelectOrderImplementationExample.class, creation), report);
+	}
+
+	private SelectOrderExample countCreation() {
+		noOfCreations.incrementAndGet();
+		return new SelectOrderImplementationExample();
+	}
+
+	private SelectOrderExample getWhenAllStarted(
+			DeferredImplementation<SelectOrderExample> lazyImplementation)
+			throws InterruptedException {
+		allStarted.countDown();
+		allStarted.await(5, TimeUnit.SECONDS);
+		return lazyImplementation.get();
+	}
+
+	@Test
+	public void testFailedCreationIsNotKept() {
+		DeferredImplementation<SelectOrderExample> lazyImplementation = createDeferredImplementation(
+				this::failFirstCreation);
+		try {
+			lazyImplementation.get();
+			fail();
+		} catch (RuntimeException e) {
+			assertEquals(e.getMessage(), "creation failed");
+		}
+		assertFalse(lazyImplementation.isCreated());
+		assertEquals(report.getDeferredInstantiations().size(), 0);
+
+		lazyImplementation.get();
+
+		assertEquals(noOfCreations.get(), 2);
+		assertEquals(report.getDeferredInstantiations().size(), 1);
+	}
+
+	private SelectOrderExample failFirstCreation() {
+		if (noOfCreations.getAndIncrement() == 0) {
+			throw new RuntimeException("creation failed");
+		}
+		return new SelectOrderImplementationExample();
+	}
+
+	@Test
+	public void testToString() {
+		DeferredImplementation<SelectOrderExample> lazyImplementation = createDeferredImplementation(
+				SelectOrderImplementationExample::new);
+
+		assertEquals(lazyImplementation.toString(),
+				"LazyImplementation of " + SelectOrderExample.class.getName() + ": "
+						+ SelectOrderImplementationExample.class.getName());
+	}
+}
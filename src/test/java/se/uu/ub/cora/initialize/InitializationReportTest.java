@@ -0,0 +1,262 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.initialize;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class InitializationReportTest {
+	private InitializationReport report;
+
+	@BeforeMethod
+	public void beforeMethod() {
+		report = new InitializationReport();
+	}
+
+	@Test
+	public void testGetReportReturnsSameReport() {
+		assertSame(InitializationReport.getReport(), InitializationReport.getReport());
+	}
+
+	@Test
+	public void testNoLoads() {
+		assertTrue(report.getLoads().isEmpty());
+		assertTrue(report.getWarmUps().isEmpty());
+		assertTrue(report.getDeferredInstantiations().isEmpty());
+		assertEquals(report.toJson(),
+				"{\"loads\":[],\"warmUps\":[],\"deferredInstantiations\":[]}");
+	}
+
+	@Test
+	public void testGetLoadsInAddedOrder() {
+		LoadReport first = createLoadReport("some.First", "some.FirstImp");
+		LoadReport second = createLoadReport("some.Second", null);
+
+		report.addLoad(first);
+		report.addLoad(second);
+
+		assertEquals(report.getLoads(), List.of(first, second));
+	}
+
+	private LoadReport createLoadReport(String interfaceName, String chosenClassName) {
+		List<CandidateInstantiation> instantiations = List
+				.of(new CandidateInstantiation("some.FirstImp", Duration.ofNanos(20)));
+		return new LoadReport(interfaceName, LoadStrategy.SELECT_ORDER, Duration.ofNanos(10),
+				instantiations, Duration.ofNanos(5), Duration.ofNanos(35), 1, chosenClassName);
+	}
+
+	@Test
+	public void testGetLoadsForInterface() {
+		LoadReport first = createLoadReport("some.First", "some.FirstImp");
+		LoadReport second = createLoadReport("some.Second", "some.SecondImp");
+		LoadReport third = createLoadReport("some.First", "some.FirstImp");
+		report.addLoad(first);
+		report.addLoad(second);
+		report.addLoad(third);
+
+		assertEquals(report.getLoadsForInterface("some.First"), List.of(first, third));
+		assertTrue(report.getLoadsForInterface("some.Other").isEmpty());
+	}
+
+	@Test
+	public void testLoadReportKeepsCopyOfInstantiations() {
+		List<CandidateInstantiation> instantiations = new ArrayList<>();
+		LoadReport load = new LoadReport("some.First", LoadStrategy.SELECT_ORDER, Duration.ZERO,
+				instantiations, Duration.ZERO, Duration.ZERO, 0, null);
+
+		instantiations.add(new CandidateInstantiation("some.FirstImp", Duration.ZERO));
+
+		assertTrue(load.instantiations().isEmpty());
+	}
+
+	@Test
+	public void testToJson() {
+		report.addLoad(createLoadReport("some.First", "some.FirstImp"));
+		report.addLoad(createLoadReport("some.\"Second\"\n", null));
+
+		assertEquals(report.toJson(), "{\"loads\":["
+				+ "{\"interfaceName\":\"some.First\",\"strategy\":\"SELECT_ORDER\","
+				+ "\"candidateCount\":1,\"chosenClassName\":\"some.FirstImp\","
+				+ "\"discoveryNanos\":10,"
+				+ "\"instantiations\":[{\"className\":\"some.FirstImp\",\"nanos\":20}],"
+				+ "\"selectionNanos\":5,\"totalNanos\":35},"
+				+ "{\"interfaceName\":\"some.\\\"Second\\\"\\n\",\"strategy\":\"SELECT_ORDER\","
+				+ "\"candidateCount\":1,\"chosenClassName\":null,\"discoveryNanos\":10,"
+				+ "\"instantiations\":[{\"className\":\"some.FirstImp\",\"nanos\":20}],"
+				+ "\"selectionNanos\":5,\"totalNanos\":35}],\"warmUps\":[],"
+				+ "\"deferredInstantiations\":[]}");
+	}
+
+	@Test
+	public void testGetWarmUpsInAddedOrder() {
+		WarmUpReport first = new WarmUpReport("some.First", "some.FirstImp",
+				WarmUpOutcome.FINISHED, Duration.ofNanos(10), null);
+		WarmUpReport second = new WarmUpReport("some.Second", "some.SecondImp",
+				WarmUpOutcome.OUT_OF_TIME, Duration.ofNanos(20), null);
+
+		report.addWarmUp(first);
+		report.addWarmUp(second);
+
+		assertEquals(report.getWarmUps(), List.of(first, second));
+	}
+
+	@Test
+	public void testToJsonWithWarmUps() {
+		report.addWarmUp(new WarmUpReport("some.First", "some.FirstImp", WarmUpOutcome.FINISHED,
+				Duration.ofNanos(10), null));
+		report.addWarmUp(new WarmUpReport("some.Second", "some.SecondImp", WarmUpOutcome.FAILED,
+				Duration.ofNanos(20), "some \"error\""));
+
+		assertEquals(report.toJson(), "{\"loads\":[],\"warmUps\":["
+				+ "{\"interfaceName\":\"some.First\",\"className\":\"some.FirstImp\","
+				+ "\"outcome\":\"FINISHED\",\"nanos\":10,\"failure\":null},"
+				+ "{\"interfaceName\":\"some.Second\",\"className\":\"some.SecondImp\","
+				+ "\"outcome\":\"FAILED\",\"nanos\":20,\"failure\":\"some \\\"error\\\"\"}],"
+				+ "\"deferredInstantiations\":[]}");
+	}
+
+	@Test
+	public void testGetDeferredInstantiationsInAddedOrder() {
+		DeferredInstantiation first = new DeferredInstantiation("some.First", "some.FirstImp",
+				Duration.ofNanos(10));
+		DeferredInstantiation second = new DeferredInstantiation("some.Second", "some.SecondImp",
+				Duration.ofNanos(20));
+
+		report.addDeferredInstantiation(first);
+		report.addDeferredInstantiation(second);
+
+		assertEquals(report.getDeferredInstantiations(), List.of(first, second));
+	}
+
+	@Test
+	public void testToJsonWithDeferredInstantiations() {
+		report.addDeferredInstantiation(
+				new DeferredInstantiation("some.First", "some.FirstImp", Duration.ofNanos(10)));
+
+		assertEquals(report.toJson(), "{\"loads\":[],\"warmUps\":[],\"deferredInstantiations\":["
+				+ "{\"interfaceName\":\"some.First\",\"className\":\"some.FirstImp\","
+				+ "\"nanos\":10}]}");
+	}
+
+	@Test
+	public void testNoClassList() {
+		assertEquals(report.toClassList(),
+				"# Classes used by ModuleInitializers, for -XX:SharedClassListFile\n");
+	}
+
+	@Test
+	public void testClassListHoldsEachClassOnceInReportedOrder() {
+		report.addLoad(createLoadReport("some.First", "some.FirstImp"));
+		report.addLoad(createLoadReport("some.Second", null));
+		report.addLoad(new LoadReport("some.Third", LoadStrategy.SELECT_ORDER, Duration.ZERO,
+				List.of(new CandidateInstantiation("some.Third$Inner", Duration.ZERO),
+						new CandidateInstantiation("some.Hidden/0x01", Duration.ZERO)),
+				Duration.ZERO, Duration.ZERO, 2, "some.ChosenThird"));
+		report.addDeferredInstantiation(
+				new DeferredInstantiation("some.Lazy", "some.LazyImp", Duration.ZERO));
+
+		assertEquals(report.toClassList(),
+				"# Classes used by ModuleInitializers, for -XX:SharedClassListFile\n"
+						+ "some/First\nsome/FirstImp\nsome/Second\nsome/Third\n"
+						+ "some/Third$Inner\nsome/ChosenThird\nsome/Lazy\nsome/LazyImp\n");
+	}
+
+	@Test
+	public void testWriteClassList() throws Exception {
+		report.addLoad(createLoadReport("some.First", "some.FirstImp"));
+		Path classListFile = Files.createTempFile("initialization", ".classlist");
+		try {
+			report.writeClassList(classListFile);
+
+			assertEquals(Files.readString(classListFile), report.toClassList());
+		} finally {
+			Files.deleteIfExists(classListFile);
+		}
+	}
+
+	@Test
+	public void testWriteClassListFails() throws Exception {
+		Path directory = Files.createTempDirectory("initialization");
+		try {
+			report.writeClassList(directory);
+			fail();
+		} catch (InitializationException e) {
+			assertEquals(e.getMessage(), "Could not write class list to: " + directory);
+			assertTrue(e.getCause() instanceof IOException);
+		} finally {
+			Files.deleteIfExists(directory);
+		}
+	}
+
+	@Test
+	public void testDefaultMaxEntries() {
+		assertEquals(InitializationReport.MAX_ENTRIES, 10_000);
+	}
+
+	@Test
+	public void testOldestEntriesAreDroppedWhenFull() {
+		report = new InitializationReport(2);
+		LoadReport second = createLoadReport("some.Second", "some.SecondImp");
+		LoadReport third = createLoadReport("some.Third", "some.ThirdImp");
+		DeferredInstantiation lastDeferred = new DeferredInstantiation("some.Third",
+				"some.ThirdImp", Duration.ZERO);
+
+		report.addLoad(createLoadReport("some.First", "some.FirstImp"));
+		report.addLoad(second);
+		report.addLoad(third);
+		for (int i = 0; i < 3; i++) {
+			report.addWarmUp(new WarmUpReport("some.First", "some.FirstImp",
+					WarmUpOutcome.FINISHED, Duration.ofNanos(i), null));
+			report.addDeferredInstantiation(lastDeferred);
+		}
+
+		assertEquals(report.getLoads(), List.of(second, third));
+		assertEquals(report.getWarmUps().size(), 2);
+		assertEquals(report.getWarmUps().get(0).duration(), Duration.ofNanos(1));
+		assertEquals(report.getDeferredInstantiations(), List.of(lastDeferred, lastDeferred));
+	}
+
+	@Test
+	public void testClear() {
+		report.addLoad(createLoadReport("some.First", "some.FirstImp"));
+		report.addWarmUp(new WarmUpReport("some.First", "some.FirstImp", WarmUpOutcome.FINISHED,
+				Duration.ZERO, null));
+
+		report.addDeferredInstantiation(
+				new DeferredInstantiation("some.First", "some.FirstImp", Duration.ZERO));
+
+		report.clear();
+
+		assertTrue(report.getLoads().isEmpty());
+		assertTrue(report.getDeferredInstantiations().isEmpty());
+		assertTrue(report.getWarmUps().isEmpty());
+	}
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.initialize;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.fail;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import se.uu.ub.cora.initialize.example.SelectOrderExample;
+import se.uu.ub.cora.initialize.example.SelectOrderImplementationExample;
+import se.uu.ub.cora.initialize.example.SelectTypeExample;
+import se.uu.ub.cora.initialize.internal.InitializedTypesSpy;
+import se.uu.ub.cora.testutils.mcr.MethodCallRecorder;
+import se.uu.ub.cora.testutils.mrv.MethodReturnValues;
+
+/**
+ * ModuleInitializerDefaultsTest tests the default methods of {@link ModuleInitializer}, using an
+ * implementation that only implements the methods that have no default.
+ */
+public class ModuleInitializerDefaultsTest {
+	private MinimalModuleInitializer initializer;
+
+	@BeforeMethod
+	public void beforeMethod() {
+		initializer = new MinimalModuleInitializer();
+	}
+
+	@Test
+	public void testLoadOneImplementationByDeclaredSelectOrderUsesSelectOrder() {
+		SelectOrderExample implementation = initializer
+				.loadOneImplementationByDeclaredSelectOrder(SelectOrderExample.class);
+
+		initializer.MCR.assertParameters("loadOneImplementationBySelectOrder", 0,
+				SelectOrderExample.class);
+		initializer.MCR.assertReturn("loadOneImplementationBySelectOrder", 0, implementation);
+	}
+
+	@Test
+	public void testLoadOneImplementationOfEachDeclaredTypeUsesEachType() {
+		InitializedTypes<SelectTypeExample> types = initializer
+				.loadOneImplementationOfEachDeclaredType(SelectTypeExample.class);
+
+		initializer.MCR.assertParameters("loadOneImplementationOfEachType", 0,
+				SelectTypeExample.class);
+		initializer.MCR.assertReturn("loadOneImplementationOfEachType", 0, types);
+	}
+
+	@Test
+	public void testLoadPoolOfEachTypeIsNotSupported() {
+		try {
+			initializer.loadPoolOfEachType(SelectTypeExample.class, 4);
+			fail("An exception should have been thrown");
+		} catch (InitializationException e) {
+			assertEquals(e.getMessage(), "loadPoolOfEachType is not supported by "
+					+ MinimalModuleInitializer.class.getName());
+		}
+	}
+
+	@Test
+	public void testLoadThreadConfinedOfEachTypeIsNotSupported() {
+		try {
+			initializer.loadThreadConfinedOfEachType(SelectTypeExample.class);
+			fail("An exception should have been thrown");
+		} catch (InitializationException e) {
+			assertEquals(e.getMessage(), "loadThreadConfinedOfEachType is not supported by "
+					+ MinimalModuleInitializer.class.getName());
+		}
+	}
+
+	@Test
+	public void testLoadLazyImplementationByDeclaredSelectOrderIsNotSupported() {
+		try {
+			initializer.loadLazyImplementationByDeclaredSelectOrder(SelectOrderExample.class);
+			fail("An exception should have been thrown");
+		} catch (InitializationException e) {
+			assertEquals(e.getMessage(),
+					"loadLazyImplementationByDeclaredSelectOrder is not supported by "
+							+ MinimalModuleInitializer.class.getName());
+		}
+	}
+
+	@Test
+	public void testLoadLazyTheOnlyExistingImplementationIsNotSupported() {
+		try {
+			initializer.loadLazyTheOnlyExistingImplementation(SelectOrderExample.class);
+			fail("An exception should have been thrown");
+		} catch (InitializationException e) {
+			assertEquals(e.getMessage(), "loadLazyTheOnlyExistingImplementation is not supported by "
+					+ MinimalModuleInitializer.class.getName());
+		}
+	}
+
+	private static class MinimalModuleInitializer implements ModuleInitializer {
+		MethodCallRecorder MCR = new MethodCallRecorder();
+		MethodReturnValues MRV = new MethodReturnValues();
+
+		MinimalModuleInitializer() {
+			MCR.useMRV(MRV);
+			MRV.setDefaultReturnValuesSupplier("loadOneImplementationBySelectOrder",
+					SelectOrderImplementationExample::new);
+			MRV.setDefaultReturnValuesSupplier("loadOneImplementationOfEachType",
+					InitializedTypesSpy::new);
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public <T extends SelectOrder> T loadOneImplementationBySelectOrder(Class<T> classToLoad) {
+			return (T) MCR.addCallAndReturnFromMRV("classToLoad", classToLoad);
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public <T> T loadTheOnlyExistingImplementation(Class<T> classToLoad) {
+			return (T) MCR.addCallAndReturnFromMRV("classToLoad", classToLoad);
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public <T extends SelectType> InitializedTypes<T> loadOneImplementationOfEachType(
+				Class<T> classToLoad) {
+			return (InitializedTypes<T>) MCR.addCallAndReturnFromMRV("classToLoad", classToLoad);
+		}
+	}
+}
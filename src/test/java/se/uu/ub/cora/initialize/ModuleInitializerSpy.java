@@ -1,5 +1,5 @@
 /*
- * Copyright 2022 Uppsala University Library
+ * Copyright 2022, 2026 Uppsala University Library
  *
  * This file is part of Cora.
  *
@@ -34,6 +34,23 @@ public class ModuleInitializerSpy implements ModuleInitializer {
 		return (T) MCR.addCallAndReturnFromMRV("classToLoad", classToLoad);
 	}
 
+	@Override
+	public <T extends SelectOrder> T loadOneImplementationByDeclaredSelectOrder(
+			Class<T> classToLoad) {
+		return (T) MCR.addCallAndReturnFromMRV("classToLoad", classToLoad);
+	}
+
+	@Override
+	public <T extends SelectOrder> LazyImplementation loadLazyImplementationByDeclaredSelectOrder(
+			Class<T> classToLoad) {
+		return (LazyImplementation) MCR.addCallAndReturnFromMRV("classToLoad", classToLoad);
+	}
+
+	@Override
+	public <T> LazyImplementation loadLazyTheOnlyExistingImplementation(Class<T> classToLoad) {
+		return (LazyImplementation) MCR.addCallAndReturnFromMRV("classToLoad", classToLoad);
+	}
+
 	@Override
 	public <T> T loadTheOnlyExistingImplementation(Class<T> classToLoad) {
 		return (T) MCR.addCallAndReturnFromMRV("classToLoad", classToLoad);
@@ -44,4 +61,23 @@ public class ModuleInitializerSpy implements ModuleInitializer {
 			Class<T> classToLoad) {
 		return (InitializedTypes) MCR.addCallAndReturnFromMRV("classToLoad", classToLoad);
 	}
+
+	@Override
+	public <T extends SelectType> InitializedTypes loadOneImplementationOfEachDeclaredType(
+			Class<T> classToLoad) {
+		return (InitializedTypes) MCR.addCallAndReturnFromMRV("classToLoad", classToLoad);
+	}
+
+	@Override
+	public <T extends SelectType> ImplementationPools loadPoolOfEachType(Class<T> classToLoad,
+			int maxInstancesPerType) {
+		return (ImplementationPools) MCR.addCallAndReturnFromMRV("classToLoad", classToLoad,
+				"maxInstancesPerType", maxInstancesPerType);
+	}
+
+	@Override
+	public <T extends SelectType> ThreadConfinedTypes loadThreadConfinedOfEachType(
+			Class<T> classToLoad) {
+		return (ThreadConfinedTypes) MCR.addCallAndReturnFromMRV("classToLoad", classToLoad);
+	}
 }
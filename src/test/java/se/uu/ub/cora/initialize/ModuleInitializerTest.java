@@ -19,24 +19,43 @@
  */
 package se.uu.ub.cora.initialize;
 
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
 import static org.testng.Assert.assertTrue;
 
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
 import java.util.ServiceLoader;
+import java.util.ServiceLoader.Provider;
 
 import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
 import se.uu.ub.cora.initialize.example.SelectOrderExample;
 import se.uu.ub.cora.initialize.example.SelectOrderImplementationExample;
 import se.uu.ub.cora.initialize.example.SelectTypeExample;
+import se.uu.ub.cora.initialize.example.SelectTypeImplementationExample;
 import se.uu.ub.cora.initialize.internal.ModuleStarter;
 import se.uu.ub.cora.initialize.internal.ModuleStarterImp;
 import se.uu.ub.cora.initialize.internal.ModuleStarterSpy;
+import se.uu.ub.cora.initialize.internal.ProviderFinderSpy;
+import se.uu.ub.cora.initialize.internal.ProviderSpy;
+import se.uu.ub.cora.initialize.internal.RecordingIterable;
+import se.uu.ub.cora.initialize.internal.SelectionCache;
+import se.uu.ub.cora.initialize.internal.SelectionCacheFile;
+import se.uu.ub.cora.initialize.internal.SelectionCacheSpy;
 import se.uu.ub.cora.logger.LoggerProvider;
 import se.uu.ub.cora.logger.spies.LoggerFactorySpy;
 import se.uu.ub.cora.logger.spies.LoggerSpy;
 
 public class ModuleInitializerTest {
+	private static final List<String> CANDIDATES = List.of(
+			OtherSelectOrderExample.class.getName(),
+			SelectOrderImplementationExample.class.getName());
 	private ModuleInitializerImp initializer;
 	private LoggerFactorySpy loggerFactorySpy;
 
@@ -44,6 +63,9 @@ public class ModuleInitializerTest {
 	private Class<SelectOrderExample> classToLoadSelectOrder;
 	private Class<SelectTypeExample> classToLoadSelectType;
 	private ModuleStarterSpy starter;
+	private ProviderFinderSpy providerFinder;
+	private SelectionCacheSpy selectionCache;
+	private InitializationReport report;
 
 	@BeforeMethod
 	public void beforeMethod() {
@@ -56,9 +78,18 @@ public class ModuleInitializerTest {
 		loggerSpy = (LoggerSpy) loggerFactorySpy.MCR.getReturnValue("factorForClass", 0);
 		starter = new ModuleStarterSpy();
 		initializer.onlyForTestSetStarter(starter);
+		providerFinder = new ProviderFinderSpy();
+		initializer.onlyForTestSetProviderFinder(providerFinder);
+		selectionCache = new SelectionCacheSpy();
+		initializer.onlyForTestSetSelectionCache(selectionCache);
+		report = new InitializationReport();
+		initializer.onlyForTestSetReport(report);
 		starter.MRV.setDefaultReturnValuesSupplier(
 				"getImplementationBasedOnSelectOrderThrowErrorIfNone",
 				SelectOrderImplementationExample::new);
+		starter.MRV.setDefaultReturnValuesSupplier(
+				"getImplementationBasedOnDeclaredSelectOrderThrowErrorIfNone",
+				SelectOrderImplementationExample::new);
 		starter.MRV.setDefaultReturnValuesSupplier("getImplementationThrowErrorIfNoneOrMoreThanOne",
 				SelectOrderImplementationExample::new);
 	}
@@ -84,6 +115,53 @@ public class ModuleInitializerTest {
 		assertParametersAndReturnForStaterModule(methodName, loadedImpl);
 	}
 
+	@Test
+	public void testLogMessagesOnStartup_declaredSelectOrder() {
+		initializer.loadOneImplementationByDeclaredSelectOrder(classToLoadSelectOrder);
+
+		String simpleName = classToLoadSelectOrder.getSimpleName();
+		loggerSpy.MCR.assertParameters("logInfoUsingMessage", 0,
+				"ModuleInitializer start loading implementation of: " + simpleName + "...");
+
+		loggerSpy.MCR.assertParameters("logInfoUsingMessage", 1,
+				"...moduleInitializer finished loading implementation of: " + simpleName);
+	}
+
+	@Test
+	public void testProvidersArePassedOnToStarter_declaredSelectOrder() {
+		SelectOrderImplementationExample loadedImpl = (SelectOrderImplementationExample) initializer
+				.loadOneImplementationByDeclaredSelectOrder(classToLoadSelectOrder);
+
+		String methodName = "getImplementationBasedOnDeclaredSelectOrderThrowErrorIfNone";
+		Object providers = starter.MCR.getParameterForMethodAndCallNumberAndParameter(methodName,
+				0, "providers");
+		assertTrue(providers instanceof List);
+		starter.MCR.assertParameter(methodName, 0, "interfaceClassName",
+				classToLoadSelectOrder.getSimpleName());
+		starter.MCR.assertReturn(methodName, 0, loadedImpl);
+	}
+
+	@Test
+	public void testFoundProvidersArePassedOnToStarter_declaredSelectOrder() {
+		ProviderSpy<SelectOrderExample> foundProvider = new ProviderSpy<>(
+				SelectOrderImplementationExample.class, SelectOrderImplementationExample::new);
+		providerFinder.MRV.setDefaultReturnValuesSupplier("findProviders",
+				() -> List.of(foundProvider));
+
+		initializer.loadOneImplementationByDeclaredSelectOrder(classToLoadSelectOrder);
+
+		providerFinder.MCR.assertParameter("findProviders", 0, "classToLoad",
+				classToLoadSelectOrder);
+		List<Provider<?>> providers = (List<Provider<?>>) starter.MCR
+				.getParameterForMethodAndCallNumberAndParameter(
+						"getImplementationBasedOnDeclaredSelectOrderThrowErrorIfNone", 0,
+						"providers");
+		assertEquals(providers.size(), 1);
+		Object implementation = providers.get(0).get();
+		foundProvider.MCR.assertReturn("get", 0, implementation);
+		assertEquals(report.getLoads().get(0).candidateCount(), 1);
+	}
+
 	@Test
 	public void testLogMessagesOnStartup_oneImplementation() {
 		initializer.loadTheOnlyExistingImplementation(classToLoadSelectOrder);
@@ -108,16 +186,32 @@ public class ModuleInitializerTest {
 
 	private void assertParametersAndReturnForStaterModule(String methodName,
 			Object loadedImplementations) {
-		assertServiceLoaderAsPassedParameter(methodName);
+		assertImplementationsFromProvidersAsPassedParameter(methodName);
 		starter.MCR.assertParameter(methodName, 0, "interfaceClassName",
 				classToLoadSelectOrder.getSimpleName());
 		starter.MCR.assertReturn(methodName, 0, loadedImplementations);
 	}
 
+	private void assertImplementationsFromProvidersAsPassedParameter(String methodName) {
+		providerFinder.MCR.assertParameter("findProviders", 0, "classToLoad",
+				classToLoadSelectOrder);
+		Object implementations = starter.MCR
+				.getParameterForMethodAndCallNumberAndParameter(methodName, 0, "implementations");
+		assertTrue(implementations instanceof Iterable);
+	}
+
+	private List<Object> createImplementationsPassedToStarter(String methodName) {
+		Iterable<?> implementations = (Iterable<?>) starter.MCR
+				.getParameterForMethodAndCallNumberAndParameter(methodName, 0, "implementations");
+		List<Object> createdImplementations = new ArrayList<>();
+		implementations.forEach(createdImplementations::add);
+		return createdImplementations;
+	}
+
 	private void assertServiceLoaderAsPassedParameter(String methodName) {
-		ServiceLoader<?> implementations = (ServiceLoader<?>) starter.MCR
+		RecordingIterable<?> implementations = (RecordingIterable<?>) starter.MCR
 				.getParameterForMethodAndCallNumberAndParameter(methodName, 0, "implementations");
-		assertTrue(implementations instanceof ServiceLoader);
+		assertTrue(implementations.onlyForTestGetImplementations() instanceof ServiceLoader);
 	}
 
 	@Test
@@ -150,6 +244,229 @@ public class ModuleInitializerTest {
 		starter.MCR.assertReturn(methodName, 0, loadedImplementations);
 	}
 
+	@Test
+	public void testProvidersArePassedOnToStarter_declaredSelectType() {
+		InitializedTypes<SelectTypeExample> loadedImplementations = initializer
+				.loadOneImplementationOfEachDeclaredType(classToLoadSelectType);
+
+		String methodName = "getImplementationBasedOnDeclaredSelectTypeThrowErrorIfNoneOrMoreThanOneForEachType";
+		Object providers = starter.MCR.getParameterForMethodAndCallNumberAndParameter(methodName,
+				0, "providers");
+		assertTrue(providers instanceof List);
+		starter.MCR.assertParameter(methodName, 0, "interfaceClassName",
+				classToLoadSelectType.getSimpleName());
+		starter.MCR.assertReturn(methodName, 0, loadedImplementations);
+		providerFinder.MCR.assertParameter("findProviders", 0, "classToLoad",
+				classToLoadSelectType);
+		loggerSpy.MCR.assertParameters("logInfoUsingMessage", 1,
+				"...moduleInitializer finished loading implementation of: "
+						+ classToLoadSelectType.getSimpleName());
+	}
+
+	@Test
+	public void testTypeCreatedAfterLoadIsReportedAsDeferred_declaredSelectType() {
+		ProviderSpy<SelectTypeExample> provider = new ProviderSpy<>(
+				SelectTypeImplementationExample.class, SelectTypeImplementationExample::new);
+		providerFinder.MRV.setDefaultReturnValuesSupplier("findProviders",
+				() -> List.of(provider));
+		initializer.loadOneImplementationOfEachDeclaredType(classToLoadSelectType);
+		String methodName = "getImplementationBasedOnDeclaredSelectTypeThrowErrorIfNoneOrMoreThanOneForEachType";
+		List<Provider<SelectTypeExample>> providers = (List<Provider<SelectTypeExample>>) starter.MCR
+				.getParameterForMethodAndCallNumberAndParameter(methodName, 0, "providers");
+
+		providers.get(0).get();
+
+		List<DeferredInstantiation> deferredInstantiations = report.getDeferredInstantiations();
+		assertEquals(deferredInstantiations.size(), 1);
+		assertEquals(deferredInstantiations.get(0).interfaceName(),
+				classToLoadSelectType.getName());
+		assertEquals(deferredInstantiations.get(0).className(),
+				SelectTypeImplementationExample.class.getName());
+	}
+
+	@Test
+	public void testProvidersArePassedOnToStarter_lazyDeclaredSelectOrder() {
+		ProviderSpy<SelectOrderExample> chosenProvider = new ProviderSpy<>(
+				SelectOrderImplementationExample.class, SelectOrderImplementationExample::new);
+		starter.MRV.setDefaultReturnValuesSupplier(
+				"getProviderBasedOnDeclaredSelectOrderThrowErrorIfNone", () -> chosenProvider);
+
+		LazyImplementation<SelectOrderExample> lazyImplementation = initializer
+				.loadLazyImplementationByDeclaredSelectOrder(classToLoadSelectOrder);
+
+		String methodName = "getProviderBasedOnDeclaredSelectOrderThrowErrorIfNone";
+		Object providers = starter.MCR.getParameterForMethodAndCallNumberAndParameter(methodName,
+				0, "providers");
+		assertTrue(providers instanceof List);
+		starter.MCR.assertParameter(methodName, 0, "interfaceClassName",
+				classToLoadSelectOrder.getSimpleName());
+		providerFinder.MCR.assertParameter("findProviders", 0, "classToLoad",
+				classToLoadSelectOrder);
+		assertLazyImplementationIsCreatedOnFirstGet(lazyImplementation, chosenProvider);
+		assertLoadIsAddedToReport(LoadStrategy.LAZY_DECLARED_SELECT_ORDER, classToLoadSelectOrder,
+				SelectOrderImplementationExample.class.getName());
+	}
+
+	private void assertLazyImplementationIsCreatedOnFirstGet(
+			LazyImplementation<SelectOrderExample> lazyImplementation,
+			ProviderSpy<SelectOrderExample> chosenProvider) {
+		assertEquals(lazyImplementation.getClassName(),
+				SelectOrderImplementationExample.class.getName());
+		assertFalse(lazyImplementation.isCreated());
+		chosenProvider.MCR.assertMethodNotCalled("get");
+		assertTrue(report.getDeferredInstantiations().isEmpty());
+
+		SelectOrderExample implementation = lazyImplementation.get();
+
+		assertTrue(lazyImplementation.isCreated());
+		assertSame(lazyImplementation.get(), implementation);
+		chosenProvider.MCR.assertNumberOfCallsToMethod("get", 1);
+		chosenProvider.MCR.assertReturn("get", 0, implementation);
+		assertEquals(report.getDeferredInstantiations().size(), 1);
+		DeferredInstantiation deferred = report.getDeferredInstantiations().get(0);
+		assertEquals(deferred.interfaceName(), classToLoadSelectOrder.getName());
+		assertEquals(deferred.className(), SelectOrderImplementationExample.class.getName());
+		assertTrue(deferred.duration().toNanos() > 0);
+	}
+
+	@Test
+	public void testProvidersArePassedOnToStarter_lazyOnlyExisting() {
+		ProviderSpy<SelectOrderExample> chosenProvider = new ProviderSpy<>(
+				SelectOrderImplementationExample.class, SelectOrderImplementationExample::new);
+		starter.MRV.setDefaultReturnValuesSupplier("getProviderThrowErrorIfNoneOrMoreThanOne",
+				() -> chosenProvider);
+
+		LazyImplementation<SelectOrderExample> lazyImplementation = initializer
+				.loadLazyTheOnlyExistingImplementation(classToLoadSelectOrder);
+
+		String methodName = "getProviderThrowErrorIfNoneOrMoreThanOne";
+		Object providers = starter.MCR.getParameterForMethodAndCallNumberAndParameter(methodName,
+				0, "providers");
+		assertTrue(providers instanceof List);
+		starter.MCR.assertParameter(methodName, 0, "interfaceClassName",
+				classToLoadSelectOrder.getSimpleName());
+		assertLazyImplementationIsCreatedOnFirstGet(lazyImplementation, chosenProvider);
+		assertLoadIsAddedToReport(LoadStrategy.LAZY_ONLY_EXISTING, classToLoadSelectOrder,
+				SelectOrderImplementationExample.class.getName());
+	}
+
+	@Test
+	public void testLogMessagesOnStartup_lazyOnlyExisting() {
+		initializer.loadLazyTheOnlyExistingImplementation(classToLoadSelectOrder);
+
+		String simpleName = classToLoadSelectOrder.getSimpleName();
+		loggerSpy.MCR.assertParameters("logInfoUsingMessage", 0,
+				"ModuleInitializer start loading implementation of: " + simpleName + "...");
+		loggerSpy.MCR.assertParameters("logInfoUsingMessage", 1,
+				"...moduleInitializer finished loading implementation of: " + simpleName);
+	}
+
+	@Test
+	public void testProvidersArePassedOnToStarter_threadConfinedOfEachType() {
+		ThreadConfinedTypes<SelectTypeExample> loadedTypes = initializer
+				.loadThreadConfinedOfEachType(classToLoadSelectType);
+
+		String methodName = "getThreadConfinedOfEachTypeThrowErrorIfNoneOrMoreThanOneForEachType";
+		Object providers = starter.MCR.getParameterForMethodAndCallNumberAndParameter(methodName,
+				0, "providers");
+		assertTrue(providers instanceof List);
+		starter.MCR.assertParameter(methodName, 0, "interfaceClassName",
+				classToLoadSelectType.getSimpleName());
+		starter.MCR.assertReturn(methodName, 0, loadedTypes);
+		providerFinder.MCR.assertParameter("findProviders", 0, "classToLoad",
+				classToLoadSelectType);
+		assertLoadIsAddedToReport(LoadStrategy.THREAD_CONFINED_OF_EACH_TYPE,
+				classToLoadSelectType, null);
+	}
+
+	@Test
+	public void testProvidersArePassedOnToStarter_poolOfEachType() {
+		ImplementationPools<SelectTypeExample> loadedPools = initializer
+				.loadPoolOfEachType(classToLoadSelectType, 4);
+
+		String methodName = "getPoolOfEachTypeThrowErrorIfNoneOrMoreThanOneForEachType";
+		Object providers = starter.MCR.getParameterForMethodAndCallNumberAndParameter(methodName,
+				0, "providers");
+		assertTrue(providers instanceof List);
+		starter.MCR.assertParameter(methodName, 0, "interfaceClassName",
+				classToLoadSelectType.getSimpleName());
+		starter.MCR.assertParameter(methodName, 0, "maxInstancesPerType", 4);
+		starter.MCR.assertReturn(methodName, 0, loadedPools);
+		providerFinder.MCR.assertParameter("findProviders", 0, "classToLoad",
+				classToLoadSelectType);
+		assertLoadIsAddedToReport(LoadStrategy.POOL_OF_EACH_TYPE, classToLoadSelectType, null);
+	}
+
+	@Test
+	public void testLoadIsAddedToReport_selectOrder() {
+		Object loadedImpl = initializer.loadOneImplementationBySelectOrder(classToLoadSelectOrder);
+
+		assertLoadIsAddedToReport(LoadStrategy.SELECT_ORDER, classToLoadSelectOrder,
+				loadedImpl.getClass().getName());
+	}
+
+	private void assertLoadIsAddedToReport(LoadStrategy strategy, Class<?> classToLoad,
+			String chosenClassName) {
+		assertEquals(report.getLoads().size(), 1);
+		LoadReport load = report.getLoads().get(0);
+		assertEquals(load.interfaceName(), classToLoad.getName());
+		assertSame(load.strategy(), strategy);
+		assertEquals(load.chosenClassName(), chosenClassName);
+		assertTrue(load.total().toNanos() >= load.discovery().toNanos());
+	}
+
+	@Test
+	public void testLoadIsAddedToReport_declaredSelectOrder() {
+		Object loadedImpl = initializer
+				.loadOneImplementationByDeclaredSelectOrder(classToLoadSelectOrder);
+
+		assertLoadIsAddedToReport(LoadStrategy.DECLARED_SELECT_ORDER, classToLoadSelectOrder,
+				loadedImpl.getClass().getName());
+	}
+
+	@Test
+	public void testLoadIsAddedToReport_oneImplementation() {
+		Object loadedImpl = initializer.loadTheOnlyExistingImplementation(classToLoadSelectOrder);
+
+		assertLoadIsAddedToReport(LoadStrategy.ONLY_EXISTING, classToLoadSelectOrder,
+				loadedImpl.getClass().getName());
+	}
+
+	@Test
+	public void testLoadIsAddedToReport_selectType() {
+		initializer.loadOneImplementationOfEachType(classToLoadSelectType);
+
+		assertLoadIsAddedToReport(LoadStrategy.EACH_TYPE, classToLoadSelectType, null);
+	}
+
+	@Test
+	public void testLoadIsAddedToReport_declaredSelectType() {
+		initializer.loadOneImplementationOfEachDeclaredType(classToLoadSelectType);
+
+		assertLoadIsAddedToReport(LoadStrategy.EACH_DECLARED_TYPE, classToLoadSelectType, null);
+	}
+
+	@Test
+	public void testNoLoadIsAddedToReportOnError() {
+		starter.MRV.setAlwaysThrowException("getImplementationBasedOnSelectOrderThrowErrorIfNone",
+				new InitializationException("error"));
+
+		try {
+			initializer.loadOneImplementationBySelectOrder(classToLoadSelectOrder);
+		} catch (InitializationException e) {
+			// expected
+		}
+
+		assertTrue(report.getLoads().isEmpty());
+	}
+
+	@Test
+	public void testInitUsesDefaultReport() {
+		initializer = new ModuleInitializerImp();
+
+		assertSame(initializer.onlyForTestGetReport(), InitializationReport.getReport());
+	}
+
 	@Test
 	public void testInitUsesDefaultModuleStarter() {
 		initializer = new ModuleInitializerImp();
@@ -159,6 +476,282 @@ public class ModuleInitializerTest {
 		assertStarterIsModuleStarter(defaultStarter);
 	}
 
+	@Test
+	public void testInitUsesDetailedLoadLoggingByDefault() {
+		initializer = new ModuleInitializerImp();
+
+		ModuleStarterImp defaultStarter = (ModuleStarterImp) initializer.onlyForTestGetStarter();
+
+		assertEquals(initializer.onlyForTestGetLoadLogging(), LoadLogging.DETAILED);
+		assertEquals(defaultStarter.onlyForTestGetLoadLogging(), LoadLogging.DETAILED);
+	}
+
+	@Test
+	public void testInitWithSummaryLoadLogging() {
+		initializer = new ModuleInitializerImp(LoadLogging.SUMMARY);
+
+		ModuleStarterImp defaultStarter = (ModuleStarterImp) initializer.onlyForTestGetStarter();
+
+		assertEquals(initializer.onlyForTestGetLoadLogging(), LoadLogging.SUMMARY);
+		assertEquals(defaultStarter.onlyForTestGetLoadLogging(), LoadLogging.SUMMARY);
+	}
+
+	@DataProvider(name = "summaryLoadLoggings")
+	public Object[][] summaryLoadLoggings() {
+		return new Object[][] { { LoadLogging.SUMMARY }, { LoadLogging.SUMMARY_WITH_DETAILS } };
+	}
+
+	@Test(dataProvider = "summaryLoadLoggings")
+	public void testLogMessagesOnStartupAreDebugWithSummaryLoadLogging(LoadLogging loadLogging) {
+		initializer = new ModuleInitializerImp(loadLogging);
+		loggerSpy = (LoggerSpy) loggerFactorySpy.MCR.getReturnValue("factorForClass", 2);
+		initializer.onlyForTestSetStarter(starter);
+		initializer.onlyForTestSetReport(report);
+
+		initializer.loadOneImplementationBySelectOrder(classToLoadSelectOrder);
+
+		String simpleName = classToLoadSelectOrder.getSimpleName();
+		loggerSpy.MCR.assertMethodNotCalled("logInfoUsingMessage");
+		loggerSpy.MCR.assertParameters("logDebugUsingMessage", 0,
+				"ModuleInitializer start loading implementation of: " + simpleName + "...");
+		loggerSpy.MCR.assertParameters("logDebugUsingMessage", 1,
+				"...moduleInitializer finished loading implementation of: " + simpleName);
+	}
+
+	@Test
+	public void testInitFindsProvidersUsingServiceLoader() {
+		initializer = new ModuleInitializerImp();
+
+		List<Provider<SelectOrderExample>> providers = initializer.onlyForTestGetProviderFinder()
+				.findProviders(classToLoadSelectOrder);
+
+		assertEquals(listClassNames(providers),
+				listClassNames(ServiceLoader.load(classToLoadSelectOrder).stream().toList()));
+	}
+
+	private List<String> listClassNames(List<Provider<SelectOrderExample>> providers) {
+		return providers.stream().map(provider -> provider.type().getName()).toList();
+	}
+
+	@Test
+	public void testInitUsesDisabledSelectionCache() {
+		initializer = new ModuleInitializerImp();
+
+		assertSame(initializer.onlyForTestGetSelectionCache(), SelectionCache.disabled());
+	}
+
+	@Test
+	public void testInitWithSelectionCacheFile() {
+		Path file = Path.of("selections.properties");
+
+		initializer = new ModuleInitializerImp(LoadLogging.SUMMARY, file);
+
+		assertEquals(initializer.onlyForTestGetLoadLogging(), LoadLogging.SUMMARY);
+		SelectionCacheFile cache = (SelectionCacheFile) initializer
+				.onlyForTestGetSelectionCache();
+		assertEquals(cache.onlyForTestGetFile(), file);
+	}
+
+	@Test
+	public void testSelectionIsStoredWhenNotCached_selectOrder() {
+		initializer.loadOneImplementationBySelectOrder(classToLoadSelectOrder);
+
+		selectionCache.MCR.assertParameters("findSelectedClassName", 0,
+				classToLoadSelectOrder.getName(), LoadStrategy.SELECT_ORDER, List.of());
+		assertImplementationsFromProvidersAsPassedParameter(
+				"getImplementationBasedOnSelectOrderThrowErrorIfNone");
+		selectionCache.MCR.assertParameters("storeSelectedClassName", 0,
+				classToLoadSelectOrder.getName(), LoadStrategy.SELECT_ORDER, List.of(),
+				SelectOrderImplementationExample.class.getName());
+	}
+
+	@Test
+	public void testOnlyCachedSelectionIsCreated_selectOrder() {
+		ProviderSpy<SelectOrderExample> otherProvider = createOtherProvider();
+		ProviderSpy<SelectOrderExample> cachedProvider = createCachedProviderAfter(otherProvider);
+
+		initializer.loadOneImplementationBySelectOrder(classToLoadSelectOrder);
+
+		List<Object> implementations = createImplementationsPassedToStarter(
+				"getImplementationBasedOnSelectOrderThrowErrorIfNone");
+		assertEquals(implementations.size(), 1);
+		cachedProvider.MCR.assertReturn("get", 0, implementations.get(0));
+		otherProvider.MCR.assertMethodNotCalled("get");
+		assertEquals(report.getLoads().get(0).candidateCount(), 1);
+	}
+
+	@Test
+	public void testImplementationsAreCreatedWhenStarterIteratesThem_selectOrder() {
+		ProviderSpy<SelectOrderExample> otherProvider = createOtherProvider();
+		providerFinder.MRV.setDefaultReturnValuesSupplier("findProviders",
+				() -> List.of(otherProvider));
+
+		initializer.loadOneImplementationBySelectOrder(classToLoadSelectOrder);
+
+		otherProvider.MCR.assertMethodNotCalled("get");
+		assertTrue(report.getLoads().get(0).instantiations().isEmpty());
+
+		List<Object> implementations = createImplementationsPassedToStarter(
+				"getImplementationBasedOnSelectOrderThrowErrorIfNone");
+
+		otherProvider.MCR.assertNumberOfCallsToMethod("get", 1);
+		otherProvider.MCR.assertReturn("get", 0, implementations.get(0));
+	}
+
+	private ProviderSpy<SelectOrderExample> createOtherProvider() {
+		return new ProviderSpy<>(OtherSelectOrderExample.class, OtherSelectOrderExample::new);
+	}
+
+	private ProviderSpy<SelectOrderExample> createCachedProviderAfter(
+			ProviderSpy<SelectOrderExample> otherProvider) {
+		ProviderSpy<SelectOrderExample> cachedProvider = new ProviderSpy<>(
+				SelectOrderImplementationExample.class, SelectOrderImplementationExample::new);
+		providerFinder.MRV.setDefaultReturnValuesSupplier("findProviders",
+				() -> List.of(otherProvider, cachedProvider));
+		selectionCache.MRV.setDefaultReturnValuesSupplier("findSelectedClassName",
+				() -> Optional.of(SelectOrderImplementationExample.class.getName()));
+		return cachedProvider;
+	}
+
+	@Test
+	public void testAllProvidersAreUsedWhenCachedSelectionIsNotFound_selectOrder() {
+		ProviderSpy<SelectOrderExample> otherProvider = createOtherProvider();
+		providerFinder.MRV.setDefaultReturnValuesSupplier("findProviders",
+				() -> List.of(otherProvider));
+		selectionCache.MRV.setDefaultReturnValuesSupplier("findSelectedClassName",
+				() -> Optional.of("se.uu.ub.cora.RemovedImplementation"));
+
+		initializer.loadOneImplementationBySelectOrder(classToLoadSelectOrder);
+
+		List<Object> implementations = createImplementationsPassedToStarter(
+				"getImplementationBasedOnSelectOrderThrowErrorIfNone");
+		assertEquals(implementations.size(), 1);
+		otherProvider.MCR.assertReturn("get", 0, implementations.get(0));
+	}
+
+	@Test
+	public void testOnlyCachedSelectionIsCreated_onlyExisting() {
+		createCachedProviderAfter(createOtherProvider());
+
+		initializer.loadTheOnlyExistingImplementation(classToLoadSelectOrder);
+
+		selectionCache.MCR.assertParameters("findSelectedClassName", 0,
+				classToLoadSelectOrder.getName(), LoadStrategy.ONLY_EXISTING,
+				CANDIDATES);
+		List<Object> implementations = createImplementationsPassedToStarter(
+				"getImplementationThrowErrorIfNoneOrMoreThanOne");
+		assertEquals(implementations.size(), 1);
+		selectionCache.MCR.assertParameters("storeSelectedClassName", 0,
+				classToLoadSelectOrder.getName(), LoadStrategy.ONLY_EXISTING, CANDIDATES,
+				SelectOrderImplementationExample.class.getName());
+	}
+
+	@Test
+	public void testOnlyCachedSelectionIsPassedOnToStarter_declaredSelectOrder() {
+		ProviderSpy<SelectOrderExample> cachedProvider = createCachedProviderAfter(createOtherProvider());
+
+		initializer.loadOneImplementationByDeclaredSelectOrder(classToLoadSelectOrder);
+
+		selectionCache.MCR.assertParameters("findSelectedClassName", 0,
+				classToLoadSelectOrder.getName(), LoadStrategy.DECLARED_SELECT_ORDER,
+				CANDIDATES);
+		assertOnlyCachedProviderPassedOnToStarter(
+				"getImplementationBasedOnDeclaredSelectOrderThrowErrorIfNone", cachedProvider);
+		selectionCache.MCR.assertParameters("storeSelectedClassName", 0,
+				classToLoadSelectOrder.getName(), LoadStrategy.DECLARED_SELECT_ORDER,
+				CANDIDATES, SelectOrderImplementationExample.class.getName());
+	}
+
+	private void assertOnlyCachedProviderPassedOnToStarter(String methodName,
+			ProviderSpy<SelectOrderExample> cachedProvider) {
+		List<Provider<?>> providers = (List<Provider<?>>) starter.MCR
+				.getParameterForMethodAndCallNumberAndParameter(methodName, 0, "providers");
+		assertEquals(providers.size(), 1);
+		assertEquals(providers.get(0).type(), cachedProvider.type());
+	}
+
+	@Test
+	public void testOnlyCachedSelectionIsPassedOnToStarter_lazyDeclaredSelectOrder() {
+		ProviderSpy<SelectOrderExample> cachedProvider = createCachedProviderAfter(createOtherProvider());
+		starter.MRV.setDefaultReturnValuesSupplier(
+				"getProviderBasedOnDeclaredSelectOrderThrowErrorIfNone", () -> cachedProvider);
+
+		initializer.loadLazyImplementationByDeclaredSelectOrder(classToLoadSelectOrder);
+
+		selectionCache.MCR.assertParameters("findSelectedClassName", 0,
+				classToLoadSelectOrder.getName(), LoadStrategy.LAZY_DECLARED_SELECT_ORDER,
+				CANDIDATES);
+		assertOnlyCachedProviderPassedOnToStarter(
+				"getProviderBasedOnDeclaredSelectOrderThrowErrorIfNone", cachedProvider);
+		selectionCache.MCR.assertParameters("storeSelectedClassName", 0,
+				classToLoadSelectOrder.getName(), LoadStrategy.LAZY_DECLARED_SELECT_ORDER,
+				CANDIDATES, SelectOrderImplementationExample.class.getName());
+		cachedProvider.MCR.assertMethodNotCalled("get");
+	}
+
+	@Test
+	public void testOnlyCachedSelectionIsPassedOnToStarter_lazyOnlyExisting() {
+		ProviderSpy<SelectOrderExample> cachedProvider = createCachedProviderAfter(createOtherProvider());
+		starter.MRV.setDefaultReturnValuesSupplier("getProviderThrowErrorIfNoneOrMoreThanOne",
+				() -> cachedProvider);
+
+		initializer.loadLazyTheOnlyExistingImplementation(classToLoadSelectOrder);
+
+		selectionCache.MCR.assertParameters("findSelectedClassName", 0,
+				classToLoadSelectOrder.getName(), LoadStrategy.LAZY_ONLY_EXISTING,
+				CANDIDATES);
+		assertOnlyCachedProviderPassedOnToStarter("getProviderThrowErrorIfNoneOrMoreThanOne",
+				cachedProvider);
+		selectionCache.MCR.assertParameters("storeSelectedClassName", 0,
+				classToLoadSelectOrder.getName(), LoadStrategy.LAZY_ONLY_EXISTING, CANDIDATES,
+				SelectOrderImplementationExample.class.getName());
+	}
+
+	@Test
+	public void testCandidatesAreSortedByClassName() {
+		ProviderSpy<SelectOrderExample> cachedProvider = new ProviderSpy<>(
+				SelectOrderImplementationExample.class, SelectOrderImplementationExample::new);
+		ProviderSpy<SelectOrderExample> otherProvider = createOtherProvider();
+		providerFinder.MRV.setDefaultReturnValuesSupplier("findProviders",
+				() -> List.of(cachedProvider, otherProvider));
+
+		initializer.loadOneImplementationByDeclaredSelectOrder(classToLoadSelectOrder);
+
+		selectionCache.MCR.assertParameter("findSelectedClassName", 0, "candidateClassNames",
+				CANDIDATES);
+		selectionCache.MCR.assertParameter("storeSelectedClassName", 0, "candidateClassNames",
+				CANDIDATES);
+	}
+
+	@Test
+	public void testSelectionCacheIsNotUsedForTypes() {
+		initializer.loadOneImplementationOfEachDeclaredType(classToLoadSelectType);
+
+		selectionCache.MCR.assertMethodNotCalled("findSelectedClassName");
+		selectionCache.MCR.assertMethodNotCalled("storeSelectedClassName");
+	}
+
+	@Test
+	public void testSelectionThatCanNotBeStoredIsLoggedAsWarning() {
+		InitializationException exception = new InitializationException(
+				"Could not write selection cache to: some file");
+		selectionCache.MRV.setAlwaysThrowException("storeSelectedClassName", exception);
+
+		Object loadedImpl = initializer.loadOneImplementationBySelectOrder(classToLoadSelectOrder);
+
+		starter.MCR.assertReturn("getImplementationBasedOnSelectOrderThrowErrorIfNone", 0,
+				loadedImpl);
+		loggerSpy.MCR.assertParameters("logWarnUsingMessageAndException", 0,
+				"Could not write selection cache to: some file", exception);
+	}
+
+	private static class OtherSelectOrderExample implements SelectOrderExample {
+		@Override
+		public int getOrderToSelectImplementionsBy() {
+			return 1;
+		}
+	}
+
 	private void assertStarterIsModuleStarter(ModuleStarter starter) {
 		assertTrue(starter instanceof ModuleStarterImp);
 	}
@@ -0,0 +1,420 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.initialize;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import se.uu.ub.cora.initialize.example.SelectOrderExample;
+import se.uu.ub.cora.initialize.example.SelectOrderImplementationExample;
+import se.uu.ub.cora.initialize.example.SelectTypeExample;
+import se.uu.ub.cora.initialize.internal.ImplementationPoolsSpy;
+import se.uu.ub.cora.initialize.internal.InitializedTypesSpy;
+import se.uu.ub.cora.initialize.internal.ProviderSpy;
+import se.uu.ub.cora.initialize.internal.ThreadConfinedTypesSpy;
+
+public class ParallelImplementationLoaderTest {
+	private ConcurrentModuleInitializer moduleInitializer;
+	private InitializationReport report;
+	private ParallelImplementationLoader loader;
+
+	@BeforeMethod
+	public void beforeMethod() {
+		moduleInitializer = new ConcurrentModuleInitializer();
+		report = new InitializationReport();
+		loader = new ParallelImplementationLoader(moduleInitializer);
+		loader.onlyForTestSetReport(report);
+	}
+
+	@Test
+	public void testEachStrategyIsLoadedAndReturned() {
+		ImplementationRequests requests = new ImplementationRequests()
+				.bySelectOrder(SelectOrderExample.class)
+				.byDeclaredSelectOrder(SelectOrderExample.class)
+				.theOnlyExisting(SelectOrderExample.class)
+				.lazyByDeclaredSelectOrder(SelectOrderExample.class)
+				.lazyTheOnlyExisting(SelectOrderExample.class).ofEachType(SelectTypeExample.class)
+				.ofEachDeclaredType(SelectTypeExample.class)
+				.poolOfEachType(SelectTypeExample.class)
+				.threadConfinedOfEachType(SelectTypeExample.class);
+
+		LoadedImplementations loaded = moduleInitializer.loadImplementations(requests);
+
+		assertSame(loaded.getBySelectOrder(SelectOrderExample.class),
+				moduleInitializer.loaded.get("selectOrder"));
+		assertSame(loaded.getByDeclaredSelectOrder(SelectOrderExample.class),
+				moduleInitializer.loaded.get("declaredSelectOrder"));
+		assertSame(loaded.getTheOnlyExisting(SelectOrderExample.class),
+				moduleInitializer.loaded.get("onlyExisting"));
+		assertSame(loaded.getLazyByDeclaredSelectOrder(SelectOrderExample.class),
+				moduleInitializer.loaded.get("lazyDeclaredSelectOrder"));
+		assertSame(loaded.getLazyTheOnlyExisting(SelectOrderExample.class),
+				moduleInitializer.loaded.get("lazyOnlyExisting"));
+		assertSame(loaded.getOfEachType(SelectTypeExample.class),
+				moduleInitializer.loaded.get("eachType"));
+		assertSame(loaded.getOfEachDeclaredType(SelectTypeExample.class),
+				moduleInitializer.loaded.get("eachDeclaredType"));
+		assertSame(loaded.getPoolOfEachType(SelectTypeExample.class),
+				moduleInitializer.loaded.get("poolOfEachType"));
+		assertSame(loaded.getThreadConfinedOfEachType(SelectTypeExample.class),
+				moduleInitializer.loaded.get("threadConfinedOfEachType"));
+	}
+
+	@Test
+	public void testRequestsAreLoadedAtTheSameTime() {
+		moduleInitializer.allStarted = new CountDownLatch(3);
+		ImplementationRequests requests = new ImplementationRequests()
+				.bySelectOrder(SelectOrderExample.class)
+				.byDeclaredSelectOrder(SelectOrderExample.class)
+				.theOnlyExisting(SelectOrderExample.class);
+
+		moduleInitializer.loadImplementations(requests);
+
+		assertEquals(moduleInitializer.allStarted.getCount(), 0);
+		assertEquals(moduleInitializer.loaded.size(), 3);
+	}
+
+	@Test
+	public void testSameRequestIsOnlyLoadedOnce() {
+		ImplementationRequests requests = new ImplementationRequests()
+				.bySelectOrder(SelectOrderExample.class).bySelectOrder(SelectOrderExample.class);
+
+		moduleInitializer.loadImplementations(requests);
+
+		assertEquals(moduleInitializer.noOfLoads, 1);
+	}
+
+	@Test
+	public void testNotRequestedImplementation() {
+		LoadedImplementations loaded = moduleInitializer
+				.loadImplementations(new ImplementationRequests());
+		try {
+			loaded.getBySelectOrder(SelectOrderExample.class);
+			fail();
+		} catch (InitializationException e) {
+			assertEquals(e.getMessage(),
+					"No implementation loaded for: SelectOrderExample (SELECT_ORDER)");
+		}
+	}
+
+	@Test
+	public void testFailuresAreCollectedInOneException() {
+		moduleInitializer.failWith = new InitializationException("some error");
+		ImplementationRequests requests = new ImplementationRequests()
+				.bySelectOrder(SelectOrderExample.class).ofEachType(SelectTypeExample.class)
+				.theOnlyExisting(SelectOrderExample.class);
+		try {
+			moduleInitializer.loadImplementations(requests);
+			fail();
+		} catch (InitializationException e) {
+			assertEquals(e.getMessage(), "Loading failed for 2 of 3 requested implementations, "
+					+ "SelectOrderExample (SELECT_ORDER): some error, "
+					+ "SelectTypeExample (EACH_TYPE): some error");
+			assertEquals(e.getSuppressed().length, 2);
+			assertTrue(e.getSuppressed()[0] instanceof InitializationException);
+		}
+	}
+
+	@Test
+	public void testNoWarmUpsForImplementationsThatAreNotWarmable() {
+		LoadedImplementations loaded = loader
+				.load(new ImplementationRequests().bySelectOrder(SelectOrderExample.class));
+
+		assertTrue(loaded.getWarmUps().isEmpty());
+		assertTrue(report.getWarmUps().isEmpty());
+	}
+
+	@Test
+	public void testWarmableIsWarmedUpBeforeReturned() {
+		WarmableExample warmable = new WarmableExample();
+		moduleInitializer.selectOrderImplementation = warmable;
+
+		LoadedImplementations loaded = loader
+				.load(new ImplementationRequests().bySelectOrder(SelectOrderExample.class));
+
+		assertEquals(warmable.noOfWarmUps.get(), 1);
+		List<WarmUpReport> warmUps = loaded.getWarmUps();
+		assertEquals(warmUps.size(), 1);
+		WarmUpReport warmUp = warmUps.get(0);
+		assertEquals(warmUp.interfaceName(), SelectOrderExample.class.getName());
+		assertEquals(warmUp.className(), WarmableExample.class.getName());
+		assertEquals(warmUp.outcome(), WarmUpOutcome.FINISHED);
+		assertTrue(warmUp.duration().toNanos() > 0);
+		assertEquals(warmUp.failure(), null);
+		assertEquals(report.getWarmUps(), warmUps);
+	}
+
+	@Test
+	public void testWarmUpsRunAtTheSameTime() {
+		CountDownLatch allWarmUpsStarted = new CountDownLatch(2);
+		moduleInitializer.selectOrderImplementation = new WarmableExample(allWarmUpsStarted);
+		moduleInitializer.declaredSelectOrderImplementation = new WarmableExample(
+				allWarmUpsStarted);
+		ImplementationRequests requests = new ImplementationRequests()
+				.bySelectOrder(SelectOrderExample.class)
+				.byDeclaredSelectOrder(SelectOrderExample.class);
+
+		LoadedImplementations loaded = loader.load(requests);
+
+		assertEquals(allWarmUpsStarted.getCount(), 0);
+		assertEquals(loaded.getWarmUps().get(0).outcome(), WarmUpOutcome.FINISHED);
+		assertEquals(loaded.getWarmUps().get(1).outcome(), WarmUpOutcome.FINISHED);
+	}
+
+	@Test
+	public void testSameImplementationIsOnlyWarmedUpOnce() {
+		WarmableExample warmable = new WarmableExample();
+		moduleInitializer.selectOrderImplementation = warmable;
+		moduleInitializer.declaredSelectOrderImplementation = warmable;
+		ImplementationRequests requests = new ImplementationRequests()
+				.bySelectOrder(SelectOrderExample.class)
+				.byDeclaredSelectOrder(SelectOrderExample.class);
+
+		LoadedImplementations loaded = loader.load(requests);
+
+		assertEquals(warmable.noOfWarmUps.get(), 1);
+		assertEquals(loaded.getWarmUps().size(), 1);
+	}
+
+	@Test
+	public void testFailedWarmUpIsReportedAndImplementationReturned() {
+		WarmableExample warmable = new WarmableExample();
+		warmable.failWith = new RuntimeException("some warm-up error");
+		moduleInitializer.selectOrderImplementation = warmable;
+
+		LoadedImplementations loaded = loader
+				.load(new ImplementationRequests().bySelectOrder(SelectOrderExample.class));
+
+		assertSame(loaded.getBySelectOrder(SelectOrderExample.class), warmable);
+		WarmUpReport warmUp = loaded.getWarmUps().get(0);
+		assertEquals(warmUp.outcome(), WarmUpOutcome.FAILED);
+		assertEquals(warmUp.failure(), "some warm-up error");
+		assertTrue(warmUp.duration().toNanos() > 0);
+	}
+
+	@Test
+	public void testDurationIsMeasuredFromStartOfEachWarmUp() {
+		WarmableExample slowWarmable = new WarmableExample();
+		slowWarmable.sleepFor = Duration.ofMillis(200);
+		WarmableExample fastWarmable = new WarmableExample();
+		moduleInitializer.selectOrderImplementation = slowWarmable;
+		moduleInitializer.declaredSelectOrderImplementation = fastWarmable;
+		ImplementationRequests requests = new ImplementationRequests()
+				.bySelectOrder(SelectOrderExample.class)
+				.byDeclaredSelectOrder(SelectOrderExample.class);
+
+		LoadedImplementations loaded = loader.load(requests);
+
+		WarmUpReport slowWarmUp = loaded.getWarmUps().get(0);
+		WarmUpReport fastWarmUp = loaded.getWarmUps().get(1);
+		assertTrue(slowWarmUp.duration().compareTo(Duration.ofMillis(200)) >= 0);
+		assertTrue(fastWarmUp.duration().compareTo(Duration.ofMillis(200)) < 0);
+	}
+
+	@Test
+	public void testWarmUpOutOfTimeIsInterruptedAndReported() throws Exception {
+		WarmableExample warmable = new WarmableExample();
+		warmable.blockUntilInterrupted = true;
+		moduleInitializer.selectOrderImplementation = warmable;
+		ImplementationRequests requests = new ImplementationRequests()
+				.bySelectOrder(SelectOrderExample.class).warmUpWithin(Duration.ofMillis(50));
+
+		LoadedImplementations loaded = loader.load(requests);
+
+		WarmUpReport warmUp = loaded.getWarmUps().get(0);
+		assertEquals(warmUp.outcome(), WarmUpOutcome.OUT_OF_TIME);
+		assertTrue(warmUp.duration().toNanos() > 0);
+		assertTrue(warmUp.duration().compareTo(Duration.ofSeconds(5)) < 0);
+		assertTrue(warmable.interrupted.await(5, TimeUnit.SECONDS));
+	}
+
+	@Test
+	public void testDefaultWarmUpBudget() {
+		assertEquals(ImplementationRequests.DEFAULT_WARM_UP_BUDGET, Duration.ofSeconds(30));
+		assertEquals(new ImplementationRequests().getWarmUpBudget(),
+				ImplementationRequests.DEFAULT_WARM_UP_BUDGET);
+		assertEquals(new ImplementationRequests().warmUpWithin(Duration.ofSeconds(1))
+				.getWarmUpBudget(), Duration.ofSeconds(1));
+	}
+
+	@Test
+	public void testLoadImplementationsReportsWarmUpsToTheRunningSystemsReport() {
+		InitializationReport.getReport().clear();
+		moduleInitializer.selectOrderImplementation = new WarmableExample();
+
+		moduleInitializer.loadImplementations(
+				new ImplementationRequests().bySelectOrder(SelectOrderExample.class));
+
+		assertEquals(InitializationReport.getReport().getWarmUps().size(), 1);
+		InitializationReport.getReport().clear();
+	}
+
+	private static class WarmableExample extends SelectOrderImplementationExample
+			implements Warmable {
+		AtomicInteger noOfWarmUps = new AtomicInteger();
+		CountDownLatch allWarmUpsStarted = new CountDownLatch(0);
+		CountDownLatch interrupted = new CountDownLatch(1);
+		RuntimeException failWith;
+		boolean blockUntilInterrupted = false;
+		Duration sleepFor = Duration.ZERO;
+
+		WarmableExample() {
+		}
+
+		WarmableExample(CountDownLatch allWarmUpsStarted) {
+			this.allWarmUpsStarted = allWarmUpsStarted;
+		}
+
+		@Override
+		public void warmUp() {
+			noOfWarmUps.incrementAndGet();
+			allWarmUpsStarted.countDown();
+			try {
+				allWarmUpsStarted.await(5, TimeUnit.SECONDS);
+				if (blockUntilInterrupted) {
+					Thread.sleep(Duration.ofSeconds(10));
+				}
+				Thread.sleep(sleepFor);
+			} catch (InterruptedException e) {
+				interrupted.countDown();
+			}
+			if (failWith != null) {
+				throw failWith;
+			}
+		}
+	}
+
+	private static class ConcurrentModuleInitializer implements ModuleInitializer {
+		Map<String, Object> loaded = new ConcurrentHashMap<>();
+		Object selectOrderImplementation = new SelectOrderImplementationExample();
+		Object declaredSelectOrderImplementation = new SelectOrderImplementationExample();
+		CountDownLatch allStarted = new CountDownLatch(0);
+		RuntimeException failWith;
+		int noOfLoads = 0;
+
+		private Object load(String name, Object implementation, boolean canFail) {
+			countLoad();
+			allStarted.countDown();
+			waitForAllToStart();
+			if (canFail && failWith != null) {
+				throw failWith;
+			}
+			loaded.put(name, implementation);
+			return implementation;
+		}
+
+		private synchronized void countLoad() {
+			noOfLoads++;
+		}
+
+		private void waitForAllToStart() {
+			try {
+				allStarted.await(5, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public <T extends SelectOrder> T loadOneImplementationBySelectOrder(Class<T> classToLoad) {
+			return (T) load("selectOrder", selectOrderImplementation, true);
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public <T extends SelectOrder> T loadOneImplementationByDeclaredSelectOrder(
+				Class<T> classToLoad) {
+			return (T) load("declaredSelectOrder", declaredSelectOrderImplementation, false);
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public <T> T loadTheOnlyExistingImplementation(Class<T> classToLoad) {
+			return (T) load("onlyExisting", new SelectOrderImplementationExample(), false);
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public <T extends SelectOrder> LazyImplementation<T> loadLazyImplementationByDeclaredSelectOrder(
+				Class<T> classToLoad) {
+			return (LazyImplementation<T>) load("lazyDeclaredSelectOrder",
+					createLazyImplementation(), false);
+		}
+
+		private LazyImplementation<SelectOrderExample> createLazyImplementation() {
+			return new DeferredImplementation<>(SelectOrderExample.class.getName(),
+					new ProviderSpy<>(SelectOrderImplementationExample.class,
+							SelectOrderImplementationExample::new),
+					new InitializationReport());
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public <T> LazyImplementation<T> loadLazyTheOnlyExistingImplementation(
+				Class<T> classToLoad) {
+			return (LazyImplementation<T>) load("lazyOnlyExisting", createLazyImplementation(),
+					false);
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public <T extends SelectType> InitializedTypes<T> loadOneImplementationOfEachType(
+				Class<T> classToLoad) {
+			return (InitializedTypes<T>) load("eachType", new InitializedTypesSpy<>(), true);
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public <T extends SelectType> InitializedTypes<T> loadOneImplementationOfEachDeclaredType(
+				Class<T> classToLoad) {
+			return (InitializedTypes<T>) load("eachDeclaredType", new InitializedTypesSpy<>(),
+					false);
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public <T extends SelectType> ImplementationPools<T> loadPoolOfEachType(
+				Class<T> classToLoad, int maxInstancesPerType) {
+			return (ImplementationPools<T>) load("poolOfEachType", new ImplementationPoolsSpy<>(),
+					false);
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public <T extends SelectType> ThreadConfinedTypes<T> loadThreadConfinedOfEachType(
+				Class<T> classToLoad) {
+			return (ThreadConfinedTypes<T>) load("threadConfinedOfEachType",
+					new ThreadConfinedTypesSpy<>(), false);
+		}
+	}
+}
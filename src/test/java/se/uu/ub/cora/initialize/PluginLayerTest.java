@@ -0,0 +1,259 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.initialize;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.lang.ref.WeakReference;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import se.uu.ub.cora.logger.LoggerProvider;
+import se.uu.ub.cora.logger.spies.LoggerFactorySpy;
+
+public class PluginLayerTest {
+	private static final String PLUGIN_MODULE = "some.plugin";
+	private static final String GREETING = "some.plugin.Greeting";
+	private static final int MAX_GC_ATTEMPTS = 50;
+	private static final long GC_WAIT_MILLIS = 100;
+	private Path pluginDirectory;
+	private List<JavaFileObject> sources;
+
+	@BeforeMethod
+	public void beforeMethod() throws IOException {
+		LoggerProvider.setLoggerFactory(new LoggerFactorySpy());
+		pluginDirectory = Files.createTempDirectory("plugins");
+		sources = new ArrayList<>();
+	}
+
+	private void compilePluginModule() throws IOException {
+		addSource("module-info", """
+				module some.plugin {
+					exports some.plugin;
+					provides some.plugin.Greeting with some.plugin.GreetingImp;
+				}
+				""");
+		addSource("some.plugin.Greeting", """
+				package some.plugin;
+				public interface Greeting {
+					String greet();
+				}
+				""");
+		addSource("some.plugin.GreetingImp", """
+				package some.plugin;
+				public class GreetingImp implements Greeting {
+					public String greet() { return "hello from plugin"; }
+				}
+				""");
+		Path moduleDirectory = pluginDirectory.resolve(PLUGIN_MODULE);
+		Files.createDirectories(moduleDirectory);
+		StringWriter compilerOutput = new StringWriter();
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		List<String> options = List.of("-d", moduleDirectory.toString());
+		boolean compiled = compiler.getTask(compilerOutput, null, null, options, null, sources)
+				.call();
+		assertTrue(compiled, compilerOutput.toString());
+	}
+
+	private void addSource(String className, String source) {
+		URI uri = URI.create("string:///" + className.replace('.', '/') + ".java");
+		sources.add(new SimpleJavaFileObject(uri, JavaFileObject.Kind.SOURCE) {
+			@Override
+			public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+				return source;
+			}
+		});
+	}
+
+	private Class<?> loadGreetingClass(PluginLayer pluginLayer) throws ClassNotFoundException {
+		return pluginLayer.getLayer().findLoader(PLUGIN_MODULE).loadClass(GREETING);
+	}
+
+	@Test
+	public void testLoadImplementationFromPluginLayer() throws Exception {
+		compilePluginModule();
+
+		try (PluginLayer pluginLayer = PluginLayer.loadFromDirectory(pluginDirectory)) {
+			Class<?> greetingClass = loadGreetingClass(pluginLayer);
+
+			Object greeting = pluginLayer.getModuleInitializer()
+					.loadTheOnlyExistingImplementation(greetingClass);
+
+			assertEquals(greeting.getClass().getName(), "some.plugin.GreetingImp");
+			assertEquals(greetingClass.getMethod("greet").invoke(greeting), "hello from plugin");
+			assertSame(greeting.getClass().getModule().getLayer(), pluginLayer.getLayer());
+		}
+	}
+
+	@Test
+	public void testLoadedImplementationIsCachedForTheLayer() throws Exception {
+		compilePluginModule();
+
+		try (PluginLayer pluginLayer = PluginLayer.loadFromDirectory(pluginDirectory)) {
+			Class<?> greetingClass = loadGreetingClass(pluginLayer);
+			ModuleInitializer moduleInitializer = pluginLayer.getModuleInitializer();
+
+			Object greeting = moduleInitializer.loadTheOnlyExistingImplementation(greetingClass);
+
+			assertSame(moduleInitializer.loadTheOnlyExistingImplementation(greetingClass),
+					greeting);
+		}
+	}
+
+	@Test
+	public void testEachLayerHasItsOwnModuleInitializer() throws Exception {
+		compilePluginModule();
+
+		try (PluginLayer pluginLayer = PluginLayer.loadFromDirectory(pluginDirectory);
+				PluginLayer otherPluginLayer = PluginLayer.loadFromDirectory(pluginDirectory)) {
+			assertNotSame(otherPluginLayer.getLayer(), pluginLayer.getLayer());
+			assertNotSame(otherPluginLayer.getModuleInitializer(),
+					pluginLayer.getModuleInitializer());
+			assertNotSame(loadGreetingClass(otherPluginLayer), loadGreetingClass(pluginLayer));
+		}
+	}
+
+	@Test
+	public void testModuleInitializerUsesLayer() throws Exception {
+		try (PluginLayer pluginLayer = PluginLayer.loadFromDirectory(pluginDirectory)) {
+			CachingModuleInitializer cachingInitializer = (CachingModuleInitializer) pluginLayer
+					.getModuleInitializer();
+			ModuleInitializerImp initializer = (ModuleInitializerImp) cachingInitializer
+					.onlyForTestGetModuleInitializer();
+
+			assertSame(initializer.onlyForTestGetLayer(), pluginLayer.getLayer());
+		}
+	}
+
+	@Test
+	public void testPluginDirectoryDoesNotExist() throws Exception {
+		Path missingDirectory = pluginDirectory.resolve("missing");
+		try {
+			PluginLayer.loadFromDirectory(missingDirectory);
+			fail();
+		} catch (InitializationException e) {
+			assertEquals(e.getMessage(), "Plugin directory does not exist: " + missingDirectory);
+		}
+	}
+
+	@Test
+	public void testPluginModulesCanNotBeResolved() throws Exception {
+		Path moduleDirectory = pluginDirectory.resolve("broken.plugin");
+		Files.createDirectories(moduleDirectory);
+		addSource("module-info", """
+				module broken.plugin {
+				}
+				""");
+		StringWriter compilerOutput = new StringWriter();
+		ToolProvider.getSystemJavaCompiler().getTask(compilerOutput, null, null,
+				List.of("-d", moduleDirectory.toString()), null, sources).call();
+		Files.writeString(moduleDirectory.resolve("module-info.class"), "not a class");
+
+		try {
+			PluginLayer.loadFromDirectory(pluginDirectory);
+			fail();
+		} catch (InitializationException e) {
+			assertEquals(e.getMessage(),
+					"Could not load plugin layer from: " + pluginDirectory + ".");
+			assertTrue(e.getCause() != null);
+		}
+	}
+
+	@Test
+	public void testClosedPluginLayer() throws Exception {
+		PluginLayer pluginLayer = PluginLayer.loadFromDirectory(pluginDirectory);
+
+		pluginLayer.close();
+		pluginLayer.close();
+
+		assertClosed(() -> pluginLayer.getModuleInitializer());
+		assertClosed(() -> pluginLayer.getLayer());
+	}
+
+	private void assertClosed(Runnable runnable) {
+		try {
+			runnable.run();
+			fail();
+		} catch (InitializationException e) {
+			assertEquals(e.getMessage(), "Plugin layer is closed: " + pluginDirectory);
+		}
+	}
+
+	@Test
+	public void testCloseClearsLoadedImplementations() throws Exception {
+		compilePluginModule();
+		PluginLayer pluginLayer = PluginLayer.loadFromDirectory(pluginDirectory);
+		Class<?> greetingClass = loadGreetingClass(pluginLayer);
+		CachingModuleInitializer moduleInitializer = (CachingModuleInitializer) pluginLayer
+				.getModuleInitializer();
+		Object greeting = moduleInitializer.loadTheOnlyExistingImplementation(greetingClass);
+
+		pluginLayer.close();
+
+		assertNotSame(moduleInitializer.loadTheOnlyExistingImplementation(greetingClass),
+				greeting);
+	}
+
+	@Test
+	public void testClassLoaderIsGarbageCollectedAfterClose() throws Exception {
+		compilePluginModule();
+
+		WeakReference<ClassLoader> pluginLoader = loadGreetingAndClose();
+
+		assertTrue(isGarbageCollected(pluginLoader),
+				"The class loader of a closed plugin layer should be garbage collected");
+	}
+
+	private WeakReference<ClassLoader> loadGreetingAndClose() throws Exception {
+		PluginLayer pluginLayer = PluginLayer.loadFromDirectory(pluginDirectory);
+		Class<?> greetingClass = loadGreetingClass(pluginLayer);
+		Object greeting = pluginLayer.getModuleInitializer()
+				.loadTheOnlyExistingImplementation(greetingClass);
+		assertEquals(greetingClass.getMethod("greet").invoke(greeting), "hello from plugin");
+
+		pluginLayer.close();
+
+		return new WeakReference<>(greetingClass.getClassLoader());
+	}
+
+	private boolean isGarbageCollected(WeakReference<?> reference) throws InterruptedException {
+		for (int i = 0; i < MAX_GC_ATTEMPTS && reference.get() != null; i++) {
+			System.gc();
+			Thread.sleep(GC_WAIT_MILLIS);
+		}
+		return reference.get() == null;
+	}
+}
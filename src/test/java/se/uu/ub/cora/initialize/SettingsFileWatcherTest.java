@@ -0,0 +1,308 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.initialize;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import se.uu.ub.cora.logger.LoggerProvider;
+import se.uu.ub.cora.logger.spies.LoggerFactorySpy;
+import se.uu.ub.cora.logger.spies.LoggerSpy;
+
+public class SettingsFileWatcherTest {
+	private LoggerFactorySpy loggerFactorySpy;
+	private Path directory;
+	private Path file;
+	private SettingsFileWatcher watcher;
+	private BlockingQueue<Set<String>> changedNamesCalls;
+	private SettingsChangeListener changeListener;
+
+	@BeforeMethod
+	public void beforeMethod() throws IOException {
+		loggerFactorySpy = new LoggerFactorySpy();
+		LoggerProvider.setLoggerFactory(loggerFactorySpy);
+		SettingsProvider.onlyForTestSetLogger(new LoggerSpy());
+		directory = Files.createTempDirectory("settings");
+		file = directory.resolve("settings.properties");
+		changedNamesCalls = new LinkedBlockingQueue<>();
+		changeListener = changedNamesCalls::add;
+	}
+
+	@AfterMethod
+	public void afterMethod() throws IOException {
+		SettingsProvider.removeChangeListener(changeListener);
+		if (watcher != null) {
+			watcher.close();
+		}
+		SettingsProvider.setSettings(null);
+		try (Stream<Path> paths = Files.walk(directory)) {
+			paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+		}
+	}
+
+	@Test
+	public void testSettingsAreReadWhenWatchStarts() throws IOException {
+		Files.writeString(file, "first=1\nsecond = two\n");
+
+		watcher = SettingsFileWatcher.watch(file);
+
+		assertEquals(SettingsProvider.getSetting("first"), "1");
+		assertEquals(SettingsProvider.getSetting("second"), "two");
+	}
+
+	@Test
+	public void testSettingsFromOtherSourcesAreKeptWhenWatchStarts() throws IOException {
+		SettingsProvider.setSettings(Map.of("first", "fromOther", "other", "fromOther"));
+		Files.writeString(file, "first=1\n");
+
+		watcher = SettingsFileWatcher.watch(file);
+
+		assertEquals(SettingsProvider.getSetting("first"), "1");
+		assertEquals(SettingsProvider.getSetting("other"), "fromOther");
+	}
+
+	@Test
+	public void testMissingFileThrowsError() {
+		try {
+			watcher = SettingsFileWatcher.watch(file);
+			fail("An exception should have been thrown");
+		} catch (InitializationException e) {
+			assertEquals(e.getMessage(),
+					"Could not read settings file: " + file.toAbsolutePath());
+			assertTrue(e.getCause() instanceof NoSuchFileException);
+		}
+	}
+
+	@Test
+	public void testReloadReplacesSettingsAndCallsListeners() throws IOException {
+		Files.writeString(file, "first=1\nsecond=2\n");
+		watcher = SettingsFileWatcher.watch(file);
+		SettingsProvider.addChangeListener(changeListener);
+		replaceFile("first=1\nsecond=changed\nthird=3\n");
+
+		watcher.reloadSettings();
+
+		assertEquals(SettingsProvider.getSetting("second"), "changed");
+		assertEquals(SettingsProvider.getSetting("third"), "3");
+		assertEquals(changedNamesCalls.poll(), Set.of("second", "third"));
+		assertTrue(changedNamesCalls.isEmpty());
+		getWatcherLogger().MCR.assertParameters("logInfoUsingMessage", 0,
+				"Settings reloaded from: " + file.toAbsolutePath());
+	}
+
+	private void replaceFile(String content) throws IOException {
+		Path newFile = directory.resolve("settings.new");
+		Files.writeString(newFile, content);
+		Files.move(newFile, file, StandardCopyOption.REPLACE_EXISTING,
+				StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	private LoggerSpy getWatcherLogger() {
+		return (LoggerSpy) loggerFactorySpy.MCR.getReturnValue("factorForClass", 0);
+	}
+
+	@Test
+	public void testReloadReplacesOnlySettingsReadFromFile() throws IOException {
+		SettingsProvider.setSettings(Map.of("other", "fromOther"));
+		Files.writeString(file, "first=1\nsecond=2\n");
+		watcher = SettingsFileWatcher.watch(file);
+		SettingsProvider.addChangeListener(changeListener);
+		replaceFile("third=3\n");
+
+		watcher.reloadSettings();
+
+		assertEquals(SettingsProvider.findSetting("first"), Optional.empty());
+		assertEquals(SettingsProvider.findSetting("second"), Optional.empty());
+		assertEquals(SettingsProvider.getSetting("third"), "3");
+		assertEquals(SettingsProvider.getSetting("other"), "fromOther");
+		assertEquals(changedNamesCalls.poll(), Set.of("first", "second", "third"));
+	}
+
+	@Test
+	public void testReloadKeepsSettingChangedByOtherSource() throws IOException {
+		Files.writeString(file, "first=1\n");
+		watcher = SettingsFileWatcher.watch(file);
+		SettingsProvider.setSettings(Map.of("first", "fromOther"));
+		replaceFile("second=2\n");
+
+		watcher.reloadSettings();
+
+		assertEquals(SettingsProvider.getSetting("first"), "fromOther");
+		assertEquals(SettingsProvider.getSetting("second"), "2");
+	}
+
+	@Test
+	public void testReloadOfUnchangedFileDoesNotReplaceSettings() throws IOException {
+		Files.writeString(file, "first=1\n");
+		watcher = SettingsFileWatcher.watch(file);
+		SettingsProvider.addChangeListener(changeListener);
+
+		watcher.reloadSettings();
+
+		assertTrue(changedNamesCalls.isEmpty());
+		getWatcherLogger().MCR.assertMethodNotCalled("logInfoUsingMessage");
+	}
+
+	@Test
+	public void testFailedReloadKeepsPreviousSettings() throws IOException {
+		Files.writeString(file, "first=1\n");
+		watcher = SettingsFileWatcher.watch(file);
+		Files.delete(file);
+
+		watcher.reloadSettings();
+
+		assertEquals(SettingsProvider.getSetting("first"), "1");
+		getWatcherLogger().MCR.assertParameter("logErrorUsingMessageAndException", 0,
+				"message", "Could not reload settings file: " + file.toAbsolutePath()
+						+ ", keeping previous settings.");
+	}
+
+	@Test
+	public void testMalformedFileThrowsError() throws IOException {
+		Files.writeString(file, "first=\\uZZZZ\n");
+		try {
+			watcher = SettingsFileWatcher.watch(file);
+			fail("An exception should have been thrown");
+		} catch (InitializationException e) {
+			assertEquals(e.getMessage(),
+					"Could not read settings file: " + file.toAbsolutePath());
+			assertTrue(e.getCause() instanceof IllegalArgumentException);
+		}
+	}
+
+	@Test
+	public void testMalformedReloadKeepsPreviousSettings() throws IOException {
+		Files.writeString(file, "first=1\n");
+		watcher = SettingsFileWatcher.watch(file);
+		replaceFile("first=\\uZZZZ\n");
+
+		watcher.reloadSettings();
+
+		assertEquals(SettingsProvider.getSetting("first"), "1");
+		getWatcherLogger().MCR.assertParameter("logErrorUsingMessageAndException", 0,
+				"message", "Could not reload settings file: " + file.toAbsolutePath()
+						+ ", keeping previous settings.");
+	}
+
+	@Test
+	public void testWatcherKeepsWatchingAfterMalformedFile() throws Exception {
+		Files.writeString(file, "first=1\n");
+		watcher = SettingsFileWatcher.watch(file);
+
+		replaceFile("first=\\uZZZZ\n");
+		waitForReloadError();
+		replaceFile("first=3\n");
+
+		waitForSetting("first", "3");
+	}
+
+	private void waitForReloadError() throws InterruptedException {
+		long giveUpTime = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+		while (getWatcherLogger().MCR.getNumberOfCallsToMethod(
+				"logErrorUsingMessageAndException") == 0 && System.nanoTime() < giveUpTime) {
+			Thread.sleep(10);
+		}
+		getWatcherLogger().MCR.assertNumberOfCallsToMethod("logErrorUsingMessageAndException", 1);
+	}
+
+	@Test
+	public void testChangedFileIsReloadedByWatcher() throws Exception {
+		Files.writeString(file, "first=1\n");
+		watcher = SettingsFileWatcher.watch(file);
+		SettingsProvider.addChangeListener(changeListener);
+
+		replaceFile("first=2\n");
+
+		assertEquals(changedNamesCalls.poll(30, TimeUnit.SECONDS), Set.of("first"));
+		assertEquals(SettingsProvider.getSetting("first"), "2");
+	}
+
+	@Test
+	public void testFileChangedInPlaceIsReloadedByWatcher() throws Exception {
+		Files.writeString(file, "first=1\n");
+		watcher = SettingsFileWatcher.watch(file);
+
+		Files.writeString(file, "first=2\n");
+
+		waitForSetting("first", "2");
+	}
+
+	@Test
+	public void testConfigMapSymlinkSwapIsReloadedByWatcher() throws Exception {
+		Path firstVersion = writeConfigMapVersion("..2026_01", "first=1\n");
+		Path data = Files.createSymbolicLink(directory.resolve("..data"),
+				firstVersion.getFileName());
+		Files.createSymbolicLink(file, data.getFileName().resolve(file.getFileName()));
+		watcher = SettingsFileWatcher.watch(file);
+
+		Path secondVersion = writeConfigMapVersion("..2026_02", "first=2\n");
+		Path newData = Files.createSymbolicLink(directory.resolve("..data_tmp"),
+				secondVersion.getFileName());
+		Files.move(newData, data, StandardCopyOption.ATOMIC_MOVE);
+
+		waitForSetting("first", "2");
+	}
+
+	private Path writeConfigMapVersion(String versionName, String content) throws IOException {
+		Path version = Files.createDirectory(directory.resolve(versionName));
+		Files.writeString(version.resolve(file.getFileName()), content);
+		return version;
+	}
+
+	private void waitForSetting(String name, String expectedValue) throws InterruptedException {
+		long giveUpTime = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+		while (!expectedValue.equals(SettingsProvider.getSetting(name))
+				&& System.nanoTime() < giveUpTime) {
+			Thread.sleep(10);
+		}
+		assertEquals(SettingsProvider.getSetting(name), expectedValue);
+	}
+
+	@Test
+	public void testClosedWatcherDoesNotReload() throws Exception {
+		Files.writeString(file, "first=1\n");
+		watcher = SettingsFileWatcher.watch(file);
+		SettingsProvider.addChangeListener(changeListener);
+
+		watcher.close();
+		Files.writeString(file, "first=2\n");
+
+		assertEquals(changedNamesCalls.poll(500, TimeUnit.MILLISECONDS), null);
+		assertEquals(SettingsProvider.getSetting("first"), "1");
+	}
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2022, 2025 Uppsala University Library
+ * Copyright 2022, 2025, 2026 Uppsala University Library
  *
  * This file is part of Cora.
  *
@@ -19,19 +19,34 @@
 package se.uu.ub.cora.initialize;
 
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
 import static org.testng.Assert.assertTrue;
 import static org.testng.Assert.fail;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Modifier;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
 
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import jdk.jfr.EventType;
+import jdk.jfr.consumer.RecordedEvent;
+import se.uu.ub.cora.initialize.internal.EventRecording;
+import se.uu.ub.cora.initialize.internal.SettingMissEvent;
 import se.uu.ub.cora.logger.LoggerProvider;
 import se.uu.ub.cora.logger.spies.LoggerFactorySpy;
 import se.uu.ub.cora.logger.spies.LoggerSpy;
@@ -41,11 +56,15 @@ public class SettingsProviderTest {
 	private static final String SOME_NAME = "someName";
 	private LoggerFactorySpy loggerFactorySpy = new LoggerFactorySpy();
 	private LoggerSpy onlyForTestlogger;
+	private List<Set<String>> changedNamesCalls;
+	private SettingsChangeListener changeListener;
 
 	@BeforeMethod
 	public void beforeMethod() {
 		LoggerProvider.setLoggerFactory(loggerFactorySpy);
 		setOnlyForTestLogger();
+		changedNamesCalls = new ArrayList<>();
+		changeListener = changedNamesCalls::add;
 	}
 
 	private void setOnlyForTestLogger() {
@@ -55,6 +74,7 @@ public class SettingsProviderTest {
 
 	@AfterMethod
 	private void afterMeth() {
+		SettingsProvider.removeChangeListener(changeListener);
 		SettingsProvider.setSettings(null);
 		SettingsProvider.onlyForTestClearLoggedNames();
 	}
@@ -97,6 +117,35 @@ public class SettingsProviderTest {
 		}
 	}
 
+	@Test
+	public void testSettingMissEventIsDisabledByDefault() {
+		assertFalse(EventType.getEventType(SettingMissEvent.class).isEnabled());
+	}
+
+	@Test
+	public void testSettingMissEventForSettingNameNotFound() {
+		SettingsProvider.setSettings(new HashMap<>());
+		EventRecording recording = EventRecording.startRecordingEvents(SettingMissEvent.NAME);
+		try {
+			SettingsProvider.getSetting(SOME_NAME);
+			fail("An exception should have been thrown");
+		} catch (InitializationException e) {
+			List<RecordedEvent> events = recording.stopAndGetEvents();
+			assertEquals(events.size(), 1);
+			assertEquals(events.get(0).getString("settingName"), SOME_NAME);
+		}
+	}
+
+	@Test
+	public void testNoSettingMissEventForFoundSetting() {
+		setOneSetting();
+		EventRecording recording = EventRecording.startRecordingEvents(SettingMissEvent.NAME);
+
+		SettingsProvider.getSetting(SOME_NAME);
+
+		assertTrue(recording.stopAndGetEvents().isEmpty());
+	}
+
 	private void assertErrorIsLogged() {
 		onlyForTestlogger.MCR.assertParameters("logFatalUsingMessage", 0,
 				"Setting name: someName not found in SettingsProvider.");
@@ -108,10 +157,8 @@ public class SettingsProviderTest {
 			SettingsProvider.getSetting(SOME_NAME);
 			assertTrue(false);
 		} catch (Exception e) {
-			assertTrue(e.getCause() instanceof NullPointerException);
-			assertEquals(e.getCause().getMessage(),
-					"Cannot invoke \"java.util.Map.containsKey(Object)\" "
-							+ "because \"se.uu.ub.cora.initialize.SettingsProvider.settings\" is null");
+			assertTrue(e.getCause() instanceof IllegalStateException);
+			assertEquals(e.getCause().getMessage(), "No settings are set in SettingsProvider.");
 			assertErrorIsLogged();
 		}
 	}
@@ -133,6 +180,170 @@ public class SettingsProviderTest {
 		SettingsProvider.setSettings(mapOfInfo);
 	}
 
+	@Test
+	public void testFindSetting() {
+		setOneSetting();
+
+		assertEquals(SettingsProvider.findSetting(SOME_NAME), Optional.of(SOME_VALUE));
+		onlyForTestlogger.MCR.assertParameters("logInfoUsingMessage", 0,
+				"Found: someValue as: someName");
+	}
+
+	@Test
+	public void testFindSettingNotFound() {
+		SettingsProvider.setSettings(new HashMap<>());
+
+		assertTrue(SettingsProvider.findSetting(SOME_NAME).isEmpty());
+		onlyForTestlogger.MCR.assertMethodNotCalled("logFatalUsingMessage");
+		onlyForTestlogger.MCR.assertParameters("logInfoUsingMessage", 0,
+				"No value found for: someName");
+	}
+
+	@Test
+	public void testFindSettingWhenNoSettingsAreSet() {
+		assertTrue(SettingsProvider.findSetting(SOME_NAME).isEmpty());
+		onlyForTestlogger.MCR.assertMethodNotCalled("logFatalUsingMessage");
+	}
+
+	@Test
+	public void testFindSettingWithNullValue() {
+		Map<String, String> mapOfInfo = new HashMap<>();
+		mapOfInfo.put(SOME_NAME, null);
+		SettingsProvider.setSettings(mapOfInfo);
+
+		assertTrue(SettingsProvider.findSetting(SOME_NAME).isEmpty());
+	}
+
+	@Test
+	public void testGetSettingOrDefault() {
+		setOneSetting();
+
+		assertEquals(SettingsProvider.getSettingOrDefault(SOME_NAME, "default"), SOME_VALUE);
+		assertEquals(SettingsProvider.getSettingOrDefault("otherName", "default"), "default");
+		onlyForTestlogger.MCR.assertMethodNotCalled("logFatalUsingMessage");
+	}
+
+	@Test
+	public void testGetSettingOrDefaultWhenNoSettingsAreSet() {
+		assertEquals(SettingsProvider.getSettingOrDefault(SOME_NAME, "default"), "default");
+	}
+
+	@Test
+	public void testMissingOptionalSettingIsOnlyLoggedAndRecordedOnceForEachSnapshot() {
+		SettingsProvider.setSettings(new HashMap<>());
+		EventRecording recording = EventRecording.startRecordingEvents(SettingMissEvent.NAME);
+
+		SettingsProvider.findSetting(SOME_NAME);
+		SettingsProvider.getSettingOrDefault(SOME_NAME, "default");
+		SettingsProvider.findSetting(SOME_NAME);
+
+		assertEquals(recording.stopAndGetEvents().size(), 1);
+		onlyForTestlogger.MCR.assertNumberOfCallsToMethod("logInfoUsingMessage", 1);
+		SettingsProvider.setSettings(Map.of("otherName", "otherValue"));
+		SettingsProvider.findSetting(SOME_NAME);
+		onlyForTestlogger.MCR.assertNumberOfCallsToMethod("logInfoUsingMessage", 2);
+	}
+
+	@Test
+	public void testMissingNamesAreLoggedEachTimeWhenTooManyAreRemembered() {
+		SettingsProvider.setSettings(new HashMap<>());
+		for (int i = 0; i < SettingsSnapshot.MAX_LOGGED_ABSENT_NAMES; i++) {
+			SettingsProvider.findSetting("name" + i);
+		}
+		SettingsProvider.findSetting("name0");
+		int noOfLoggedMisses = SettingsSnapshot.MAX_LOGGED_ABSENT_NAMES;
+		onlyForTestlogger.MCR.assertNumberOfCallsToMethod("logInfoUsingMessage", noOfLoggedMisses);
+
+		SettingsProvider.findSetting(SOME_NAME);
+		SettingsProvider.findSetting(SOME_NAME);
+
+		onlyForTestlogger.MCR.assertNumberOfCallsToMethod("logInfoUsingMessage",
+				noOfLoggedMisses + 2);
+	}
+
+	@Test
+	public void testRequiredSettingStillFailsAfterOptionalMiss() {
+		SettingsProvider.setSettings(new HashMap<>());
+		SettingsProvider.findSetting(SOME_NAME);
+
+		try {
+			SettingsProvider.getSetting(SOME_NAME);
+			fail("An exception should have been thrown");
+		} catch (InitializationException e) {
+			assertErrorIsLogged();
+		}
+	}
+
+	@Test
+	public void testGetSettingWithNullValue() {
+		Map<String, String> mapOfInfo = new HashMap<>();
+		mapOfInfo.put(SOME_NAME, null);
+		SettingsProvider.setSettings(mapOfInfo);
+
+		assertNull(SettingsProvider.getSetting(SOME_NAME));
+	}
+
+	@Test
+	public void testSettingsAreCopiedWhenSet() {
+		Map<String, String> mapOfInfo = new HashMap<>();
+		mapOfInfo.put(SOME_NAME, SOME_VALUE);
+		SettingsProvider.setSettings(mapOfInfo);
+
+		mapOfInfo.put(SOME_NAME, "changedValue");
+		mapOfInfo.put("otherName", "otherValue");
+
+		assertEquals(SettingsProvider.getSetting(SOME_NAME), SOME_VALUE);
+		assertSettingIsMissing("otherName");
+	}
+
+	private void assertSettingIsMissing(String name) {
+		try {
+			SettingsProvider.getSetting(name);
+			fail("An exception should have been thrown");
+		} catch (InitializationException e) {
+			assertEquals(e.getMessage(), "Setting name: " + name + " not found in SettingsProvider.");
+		}
+	}
+
+	@Test
+	public void testSetSettingsReplacesAllSettings() {
+		setOneSetting();
+
+		SettingsProvider.setSettings(Map.of("otherName", "otherValue"));
+
+		assertEquals(SettingsProvider.getSetting("otherName"), "otherValue");
+		assertSettingIsMissing(SOME_NAME);
+	}
+
+	@Test
+	public void testGetSettingFromManyThreadsLogsFirstRequestOnce() throws Exception {
+		setOneSetting();
+		int noOfThreads = 16;
+		CountDownLatch start = new CountDownLatch(1);
+		List<Thread> threads = new ArrayList<>();
+		for (int i = 0; i < noOfThreads; i++) {
+			threads.add(Thread.ofPlatform().start(() -> readSettingManyTimesAfter(start)));
+		}
+
+		start.countDown();
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		onlyForTestlogger.MCR.assertNumberOfCallsToMethod("logInfoUsingMessage", 1);
+	}
+
+	private void readSettingManyTimesAfter(CountDownLatch start) {
+		try {
+			start.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		for (int i = 0; i < 1000; i++) {
+			assertEquals(SettingsProvider.getSetting(SOME_NAME), SOME_VALUE);
+		}
+	}
+
 	@Test
 	public void testGetSettingOnlyLogsFirstRequestOfASettingName() {
 		setOneSetting();
@@ -145,4 +356,301 @@ public class SettingsProviderTest {
 		onlyForTestlogger.MCR.assertParameters("logInfoUsingMessage", 0,
 				"Found: someValue as: someName");
 	}
+
+	@Test
+	public void testSettingIsLoggedAgainAfterSettingsAreSetAgain() {
+		setOneSetting();
+		SettingsProvider.getSetting(SOME_NAME);
+
+		setOneSetting();
+		SettingsProvider.getSetting(SOME_NAME);
+		SettingsProvider.findSetting(SOME_NAME);
+
+		onlyForTestlogger.MCR.assertNumberOfCallsToMethod("logInfoUsingMessage", 2);
+		onlyForTestlogger.MCR.assertParameters("logInfoUsingMessage", 1,
+				"Found: someValue as: someName");
+	}
+
+	@Test
+	public void testOnlyForTestClearLoggedNamesLogsSettingAgain() {
+		setOneSetting();
+		SettingsProvider.getSetting(SOME_NAME);
+
+		SettingsProvider.onlyForTestClearLoggedNames();
+		SettingsProvider.getSetting(SOME_NAME);
+
+		onlyForTestlogger.MCR.assertNumberOfCallsToMethod("logInfoUsingMessage", 2);
+	}
+
+	@Test
+	public void testGetTypedSettings() {
+		SettingsProvider.setSettings(Map.of("int", "42", "long", "12345678901", "boolean",
+				"TRUE", "duration", "PT30S", "uri", "https://cora.epc.ub.uu.se/"));
+
+		assertEquals(SettingsProvider.getIntSetting("int"), 42);
+		assertEquals(SettingsProvider.getLongSetting("long"), 12345678901L);
+		assertTrue(SettingsProvider.getBooleanSetting("boolean"));
+		assertEquals(SettingsProvider.getDurationSetting("duration"), Duration.ofSeconds(30));
+		assertEquals(SettingsProvider.getUriSetting("uri"),
+				URI.create("https://cora.epc.ub.uu.se/"));
+	}
+
+	@Test
+	public void testTypedSettingIsConvertedOnceForEachSnapshot() {
+		SettingsProvider.setSettings(Map.of("duration", "PT30S"));
+
+		Duration first = SettingsProvider.getDurationSetting("duration");
+		Duration second = SettingsProvider.getDurationSetting("duration");
+		SettingsProvider.setSettings(Map.of("duration", "PT30S"));
+		Duration afterSetSettings = SettingsProvider.getDurationSetting("duration");
+
+		assertSame(second, first);
+		assertNotSame(afterSetSettings, first);
+		assertEquals(afterSetSettings, first);
+	}
+
+	@Test
+	public void testTypedSettingCacheIsDroppedWhenSettingsAreSet() {
+		SettingsProvider.setSettings(Map.of("int", "1"));
+		assertEquals(SettingsProvider.getIntSetting("int"), 1);
+
+		SettingsProvider.setSettings(Map.of("int", "2"));
+
+		assertEquals(SettingsProvider.getIntSetting("int"), 2);
+	}
+
+	@Test
+	public void testSameSettingCanBeConvertedToDifferentTypes() {
+		SettingsProvider.setSettings(Map.of("number", "7"));
+
+		assertEquals(SettingsProvider.getIntSetting("number"), 7);
+		assertEquals(SettingsProvider.getLongSetting("number"), 7L);
+		assertEquals(SettingsProvider.getSetting("number"), "7");
+	}
+
+	@Test
+	public void testTypedSettingNotConvertible() {
+		SettingsProvider.setSettings(Map.of("boolean", "yes"));
+		try {
+			SettingsProvider.getBooleanSetting("boolean");
+			fail("An exception should have been thrown");
+		} catch (InitializationException e) {
+			String message = "Setting name: boolean with value: yes could not be converted to boolean.";
+			assertEquals(e.getMessage(), message);
+			assertTrue(e.getCause() instanceof IllegalArgumentException);
+			onlyForTestlogger.MCR.assertParameters("logFatalUsingMessage", 0, message);
+		}
+	}
+
+	@Test
+	public void testTypedSettingNotConvertibleToInt() {
+		SettingsProvider.setSettings(Map.of("int", "PT30S"));
+		try {
+			SettingsProvider.getIntSetting("int");
+			fail("An exception should have been thrown");
+		} catch (InitializationException e) {
+			assertEquals(e.getMessage(),
+					"Setting name: int with value: PT30S could not be converted to int.");
+			assertTrue(e.getCause() instanceof NumberFormatException);
+		}
+	}
+
+	@Test
+	public void testTypedSettingNotFound() {
+		setOneSetting();
+		try {
+			SettingsProvider.getIntSetting("otherName");
+			fail("An exception should have been thrown");
+		} catch (InitializationException e) {
+			assertEquals(e.getMessage(), "Setting name: otherName not found in SettingsProvider.");
+		}
+	}
+
+	@Test
+	public void testTypedSettingWhenNoSettingsAreSet() {
+		try {
+			SettingsProvider.getIntSetting(SOME_NAME);
+			fail("An exception should have been thrown");
+		} catch (InitializationException e) {
+			assertTrue(e.getCause() instanceof IllegalStateException);
+		}
+	}
+
+	@Test
+	public void testChangeListenerIsCalledWithChangedNames() {
+		SettingsProvider.setSettings(Map.of("same", "1", "changed", "1", "removed", "1"));
+		SettingsProvider.addChangeListener(changeListener);
+
+		SettingsProvider.setSettings(Map.of("same", "1", "changed", "2", "added", "1"));
+
+		assertEquals(changedNamesCalls, List.of(Set.of("changed", "removed", "added")));
+	}
+
+	@Test
+	public void testChangeListenerIsNotCalledWhenNothingChanged() {
+		SettingsProvider.setSettings(Map.of("same", "1"));
+		SettingsProvider.addChangeListener(changeListener);
+
+		SettingsProvider.setSettings(Map.of("same", "1"));
+
+		assertTrue(changedNamesCalls.isEmpty());
+	}
+
+	@Test
+	public void testChangeListenerWhenSettingsAreSetAndCleared() {
+		SettingsProvider.addChangeListener(changeListener);
+
+		SettingsProvider.setSettings(Map.of("first", "1"));
+		SettingsProvider.setSettings(null);
+		SettingsProvider.setSettings(null);
+
+		assertEquals(changedNamesCalls, List.of(Set.of("first"), Set.of("first")));
+	}
+
+	@Test
+	public void testNewSettingsCanBeReadInChangeListener() {
+		SettingsProvider.setSettings(Map.of("changed", "1"));
+		List<String> readValues = new ArrayList<>();
+		changeListener = changedNames -> readValues.add(SettingsProvider.getSetting("changed"));
+		SettingsProvider.addChangeListener(changeListener);
+
+		SettingsProvider.setSettings(Map.of("changed", "2"));
+
+		assertEquals(readValues, List.of("2"));
+	}
+
+	@Test
+	public void testRemovedChangeListenerIsNotCalled() {
+		SettingsProvider.addChangeListener(changeListener);
+		SettingsProvider.removeChangeListener(changeListener);
+
+		SettingsProvider.setSettings(Map.of("first", "1"));
+
+		assertTrue(changedNamesCalls.isEmpty());
+	}
+
+	@Test
+	public void testFailingChangeListenerIsLoggedAndOthersAreCalled() {
+		RuntimeException error = new RuntimeException("listener failed");
+		SettingsChangeListener failingListener = changedNames -> {
+			throw error;
+		};
+		SettingsProvider.addChangeListener(failingListener);
+		SettingsProvider.addChangeListener(changeListener);
+		try {
+			SettingsProvider.setSettings(Map.of("first", "1"));
+
+			assertEquals(changedNamesCalls, List.of(Set.of("first")));
+			onlyForTestlogger.MCR.assertParameters("logErrorUsingMessageAndException", 0,
+					"SettingsChangeListener failed for changed settings: [first]", error);
+		} finally {
+			SettingsProvider.removeChangeListener(failingListener);
+		}
+	}
+
+	@Test
+	public void testBindRecordToSettings() {
+		SettingsProvider.setSettings(Map.of("name", "someName", "pool.size", "5", "timeout",
+				"PT2S", "enabled", "true", "maxBytes", "12345678901", "uri", "https://cora/",
+				"retries", "3", "verbose", "false"));
+
+		ServerSettings settings = SettingsProvider.bind(ServerSettings.class);
+
+		assertEquals(settings, new ServerSettings("someName", 5, Duration.ofSeconds(2), true,
+				12345678901L, URI.create("https://cora/"), 3, Boolean.FALSE));
+	}
+
+	public record ServerSettings(String name, @SettingName("pool.size") int poolSize,
+			Duration timeout, boolean enabled, long maxBytes, URI uri, Integer retries,
+			Boolean verbose) {
+	}
+
+	@Test
+	public void testBoundRecordIsCachedUntilSettingsAreSet() {
+		SettingsProvider.setSettings(Map.of("pool.size", "5"));
+
+		PoolSettings first = SettingsProvider.bind(PoolSettings.class);
+		PoolSettings second = SettingsProvider.bind(PoolSettings.class);
+		SettingsProvider.setSettings(Map.of("pool.size", "6"));
+		PoolSettings afterSetSettings = SettingsProvider.bind(PoolSettings.class);
+
+		assertSame(second, first);
+		assertEquals(afterSetSettings.poolSize(), 6);
+	}
+
+	public record PoolSettings(@SettingName("pool.size") int poolSize) {
+	}
+
+	@Test
+	public void testBindReportsAllProblemsAtOnce() {
+		SettingsProvider.setSettings(Map.of("name", "someName", "pool.size", "many", "timeout",
+				"PT2S", "enabled", "yes", "maxBytes", "1", "uri", "https://cora/", "retries",
+				"3"));
+		try {
+			SettingsProvider.bind(ServerSettings.class);
+			fail("An exception should have been thrown");
+		} catch (InitializationException e) {
+			assertEquals(e.getMessage(), "Could not bind settings to "
+					+ ServerSettings.class.getName() + ": "
+					+ "Setting name: pool.size with value: many could not be converted to int. "
+					+ "Setting name: enabled with value: yes could not be converted to boolean. "
+					+ "Setting name: verbose not found in SettingsProvider.");
+		}
+	}
+
+	@Test
+	public void testBindUnsupportedComponentType() {
+		SettingsProvider.setSettings(Map.of("values", "1"));
+		try {
+			SettingsProvider.bind(UnsupportedSettings.class);
+			fail("An exception should have been thrown");
+		} catch (InitializationException e) {
+			assertEquals(e.getMessage(), "Could not bind settings to "
+					+ UnsupportedSettings.class.getName()
+					+ ": Record component: values has unsupported type: java.util.List.");
+		}
+	}
+
+	public record UnsupportedSettings(List<String> values) {
+	}
+
+	@Test
+	public void testBindFailsInRecordValidation() {
+		SettingsProvider.setSettings(Map.of("pool.size", "-1"));
+		try {
+			SettingsProvider.bind(ValidatedSettings.class);
+			fail("An exception should have been thrown");
+		} catch (InitializationException e) {
+			assertEquals(e.getMessage(), "Could not bind settings to "
+					+ ValidatedSettings.class.getName() + ": pool.size must be positive");
+		}
+	}
+
+	public record ValidatedSettings(@SettingName("pool.size") int poolSize) {
+		public ValidatedSettings {
+			if (poolSize < 1) {
+				throw new IllegalArgumentException("pool.size must be positive");
+			}
+		}
+	}
+
+	@Test
+	public void testBindWhenNoSettingsAreSet() {
+		try {
+			SettingsProvider.bind(PoolSettings.class);
+			fail("An exception should have been thrown");
+		} catch (InitializationException e) {
+			assertEquals(e.getMessage(), "Could not bind settings to "
+					+ PoolSettings.class.getName()
+					+ ": Setting name: pool.size not found in SettingsProvider.");
+		}
+	}
+
+	@Test
+	public void testBindRecordWithoutComponents() {
+		assertEquals(SettingsProvider.bind(NoSettings.class), new NoSettings());
+	}
+
+	public record NoSettings() {
+	}
 }
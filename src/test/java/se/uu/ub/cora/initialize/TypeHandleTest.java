@@ -0,0 +1,87 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.initialize;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.util.Map;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import se.uu.ub.cora.initialize.internal.SelectTypeSpy;
+
+public class TypeHandleTest {
+	private SelectTypeSpy implementation;
+	private InitializedTypes<SelectType> initializedTypes;
+
+	@BeforeMethod
+	public void beforeMethod() {
+		implementation = new SelectTypeSpy();
+		Map<String, SelectType> implementations = Map.of("someType", implementation);
+		initializedTypes = implementations::get;
+	}
+
+	@Test
+	public void testHandle() {
+		TypeHandle handle = new TypeHandle(initializedTypes, "someType", 3);
+
+		assertEquals(handle.type(), "someType");
+		assertEquals(handle.slot(), 3);
+		assertTrue(handle.isResolvedBy(initializedTypes));
+		assertFalse(handle.isResolvedBy(type -> null));
+		assertEquals(handle.toString(), "TypeHandle[someType]");
+	}
+
+	@Test
+	public void testDefaultResolveType() {
+		TypeHandle handle = initializedTypes.resolveType("someType");
+
+		assertEquals(handle.type(), "someType");
+		assertEquals(handle.slot(), TypeHandle.NO_SLOT);
+		assertTrue(handle.isResolvedBy(initializedTypes));
+		assertSame(initializedTypes.getImplementationByHandle(handle), implementation);
+	}
+
+	@Test
+	public void testDefaultGetTypesIsNotSupported() {
+		try {
+			initializedTypes.getTypes();
+			fail();
+		} catch (InitializationException e) {
+			assertEquals(e.getMessage(),
+					"getTypes is not supported by " + initializedTypes.getClass().getName());
+		}
+	}
+
+	@Test
+	public void testDefaultResolveUnknownTypeThrowsError() {
+		try {
+			initializedTypes.resolveType("unknownType");
+			fail();
+		} catch (Exception e) {
+			assertTrue(e instanceof InitializationException);
+			assertEquals(e.getMessage(), "No implementation found for type: unknownType");
+		}
+	}
+}
@@ -0,0 +1,230 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.initialize.internal;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import se.uu.ub.cora.initialize.InitializationException;
+import se.uu.ub.cora.initialize.InitializedTypes;
+import se.uu.ub.cora.initialize.MutableInitializedTypes;
+import se.uu.ub.cora.initialize.SelectType;
+import se.uu.ub.cora.initialize.TypeHandle;
+
+public class CopyOnWriteImplementationForTypesTest {
+	private MutableInitializedTypes<SelectType> implementations;
+
+	@BeforeMethod
+	public void beforeMethod() {
+		implementations = MutableInitializedTypes.create();
+	}
+
+	@Test
+	public void testCreateIsCopyOnWrite() {
+		assertTrue(implementations instanceof CopyOnWriteImplementationForTypes);
+	}
+
+	@Test
+	public void testEmpty() {
+		assertNoImplementationFound(() -> implementations.getImplementationByType("typeOne"));
+	}
+
+	private void assertNoImplementationFound(Runnable lookup) {
+		try {
+			lookup.run();
+			fail();
+		} catch (InitializationException e) {
+			assertEquals(e.getMessage(), "No implementation found for type: typeOne");
+		}
+	}
+
+	@Test
+	public void testRegister() {
+		SelectTypeSpy typeOne = createSelectTypeImplementation("typeOne");
+		SelectTypeSpy typeTwo = createSelectTypeImplementation("typeTwo");
+
+		assertNull(implementations.register(typeOne));
+		assertNull(implementations.register(typeTwo));
+
+		assertSame(implementations.getImplementationByType("typeOne"), typeOne);
+		assertSame(implementations.getImplementationByType("typeTwo"), typeTwo);
+	}
+
+	private SelectTypeSpy createSelectTypeImplementation(String type) {
+		SelectTypeSpy implementation = new SelectTypeSpy();
+		implementation.MRV.setDefaultReturnValuesSupplier("getTypeToSelectImplementionsBy",
+				() -> type);
+		return implementation;
+	}
+
+	@Test
+	public void testRegisterReplacesImplementationForType() {
+		SelectTypeSpy first = createSelectTypeImplementation("typeOne");
+		SelectTypeSpy second = createSelectTypeImplementation("typeOne");
+		implementations.register(first);
+
+		SelectType replaced = implementations.register(second);
+
+		assertSame(replaced, first);
+		assertSame(implementations.getImplementationByType("typeOne"), second);
+	}
+
+	@Test
+	public void testRemove() {
+		SelectTypeSpy typeOne = createSelectTypeImplementation("typeOne");
+		SelectTypeSpy typeTwo = createSelectTypeImplementation("typeTwo");
+		implementations.register(typeOne);
+		implementations.register(typeTwo);
+
+		assertSame(implementations.remove("typeOne"), typeOne);
+		assertNull(implementations.remove("typeOne"));
+
+		assertNoImplementationFound(() -> implementations.getImplementationByType("typeOne"));
+		assertSame(implementations.getImplementationByType("typeTwo"), typeTwo);
+	}
+
+	@Test
+	public void testGetTypesFollowsChanges() {
+		implementations.register(createSelectTypeImplementation("typeOne"));
+		implementations.register(createSelectTypeImplementation("typeTwo"));
+		implementations.remove("typeOne");
+
+		assertEquals(implementations.getTypes(), Set.of("typeTwo"));
+	}
+
+	@Test
+	public void testCopyOfHasImplementationsOfCopiedTypes() {
+		SelectTypeSpy typeOne = createSelectTypeImplementation("typeOne");
+		SelectTypeSpy typeTwo = createSelectTypeImplementation("typeTwo");
+		InitializedTypes<SelectType> loaded = new ImplementationForTypesImpl<>(
+				Map.of("typeOne", typeOne, "typeTwo", typeTwo));
+
+		MutableInitializedTypes<SelectType> copy = MutableInitializedTypes.copyOf(loaded);
+
+		assertTrue(copy instanceof CopyOnWriteImplementationForTypes);
+		assertEquals(copy.getTypes(), Set.of("typeOne", "typeTwo"));
+		assertSame(copy.getImplementationByType("typeOne"), typeOne);
+		assertSame(copy.getImplementationByType("typeTwo"), typeTwo);
+	}
+
+	@Test
+	public void testChangesToCopyDoNotChangeCopiedTypes() {
+		InitializedTypes<SelectType> loaded = new ImplementationForTypesImpl<>(
+				Map.of("typeOne", createSelectTypeImplementation("typeOne")));
+		MutableInitializedTypes<SelectType> copy = MutableInitializedTypes.copyOf(loaded);
+
+		copy.remove("typeOne");
+		copy.register(createSelectTypeImplementation("typeTwo"));
+
+		assertEquals(loaded.getTypes(), Set.of("typeOne"));
+		assertEquals(copy.getTypes(), Set.of("typeTwo"));
+	}
+
+	@Test
+	public void testCopyOfLazyTypesCreatesImplementations() {
+		ProviderSpy<SelectType> provider = new ProviderSpy<>(SelectTypeSpy.class,
+				() -> createSelectTypeImplementation("typeOne"));
+		InitializedTypes<SelectType> lazy = new LazyImplementationForTypes<>(
+				Map.of("typeOne", SelectTypeCandidate.forProvider(provider)));
+
+		MutableInitializedTypes<SelectType> copy = MutableInitializedTypes.copyOf(lazy);
+
+		provider.MCR.assertNumberOfCallsToMethod("get", 1);
+		assertSame(copy.getImplementationByType("typeOne"), lazy.getImplementationByType("typeOne"));
+	}
+
+	@Test
+	public void testCopyOfTypesThatCanNotBeListedFails() {
+		InitializedTypes<SelectType> notListing = type -> null;
+		try {
+			MutableInitializedTypes.copyOf(notListing);
+			fail();
+		} catch (InitializationException e) {
+			assertTrue(e.getMessage().startsWith("getTypes is not supported by "));
+		}
+	}
+
+	@Test
+	public void testResolveTypeNotRegistered() {
+		try {
+			implementations.resolveType("typeOne");
+			fail();
+		} catch (InitializationException e) {
+			assertEquals(e.getMessage(), "No implementation found for type: typeOne");
+		}
+	}
+
+	@Test
+	public void testHandleGivesImplementationRegisteredAfterResolve() {
+		implementations.register(createSelectTypeImplementation("typeOne"));
+		TypeHandle handle = implementations.resolveType("typeOne");
+		SelectTypeSpy replacement = createSelectTypeImplementation("typeOne");
+
+		implementations.register(createSelectTypeImplementation("typeTwo"));
+		implementations.register(replacement);
+
+		assertSame(implementations.getImplementationByHandle(handle), replacement);
+	}
+
+	@Test
+	public void testHandleForRemovedType() {
+		implementations.register(createSelectTypeImplementation("typeOne"));
+		TypeHandle handle = implementations.resolveType("typeOne");
+
+		implementations.remove("typeOne");
+
+		assertNoImplementationFound(() -> implementations.getImplementationByHandle(handle));
+	}
+
+	@Test
+	public void testReadersSeeRegisteredTypesWhileOtherTypesChange() throws Exception {
+		SelectTypeSpy stable = createSelectTypeImplementation("stable");
+		implementations.register(stable);
+		AtomicBoolean running = new AtomicBoolean(true);
+		AtomicReference<Object> wrongRead = new AtomicReference<>();
+		Thread reader = Thread.ofVirtual().start(() -> {
+			while (running.get()) {
+				Object read = implementations.getImplementationByType("stable");
+				if (read != stable) {
+					wrongRead.set(read);
+				}
+			}
+		});
+
+		for (int i = 0; i < 1000; i++) {
+			implementations.register(createSelectTypeImplementation("type" + i));
+			implementations.remove("type" + (i / 2));
+		}
+		running.set(false);
+		reader.join();
+
+		assertNull(wrongRead.get());
+	}
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.initialize.internal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+public class EventRecording {
+	private final Recording recording = new Recording();
+
+	public static EventRecording startRecordingEvents(String... eventNames) {
+		return new EventRecording(eventNames);
+	}
+
+	private EventRecording(String... eventNames) {
+		for (String eventName : eventNames) {
+			recording.enable(eventName);
+		}
+		recording.start();
+	}
+
+	public List<RecordedEvent> stopAndGetEvents() {
+		recording.stop();
+		try {
+			return readEvents();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		} finally {
+			recording.close();
+		}
+	}
+
+	private List<RecordedEvent> readEvents() throws IOException {
+		Path file = Files.createTempFile("initialize", ".jfr");
+		try {
+			recording.dump(file);
+			return RecordingFile.readAllEvents(file);
+		} finally {
+			Files.delete(file);
+		}
+	}
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.initialize.internal;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.testng.annotations.Test;
+
+public class FrozenTypeTableTest {
+
+	@Test
+	public void testEmptyTable() {
+		FrozenTypeTable<String> table = new FrozenTypeTable<>(Map.of());
+
+		assertEquals(table.size(), 0);
+		assertEquals(table.slotForType("someType"), FrozenTypeTable.NOT_FOUND);
+		assertNull(table.get("someType"));
+	}
+
+	@Test
+	public void testGetValueForType() {
+		FrozenTypeTable<String> table = new FrozenTypeTable<>(
+				Map.of("typeOne", "valueOne", "typeTwo", "valueTwo"));
+
+		assertEquals(table.size(), 2);
+		assertEquals(table.get("typeOne"), "valueOne");
+		assertEquals(table.get("typeTwo"), "valueTwo");
+		assertNull(table.get("typeThree"));
+	}
+
+	@Test
+	public void testTypes() {
+		FrozenTypeTable<String> table = new FrozenTypeTable<>(
+				Map.of("typeOne", "valueOne", "typeTwo", "valueTwo"));
+
+		assertEquals(table.types(), Set.of("typeOne", "typeTwo"));
+	}
+
+	@Test
+	public void testSlotForTypeHoldsValueOfType() {
+		FrozenTypeTable<String> table = new FrozenTypeTable<>(
+				Map.of("typeOne", "valueOne", "typeTwo", "valueTwo"));
+
+		int slot = table.slotForType("typeTwo");
+
+		assertEquals(table.valueInSlot(slot), "valueTwo");
+	}
+
+	@Test
+	public void testTypesWithSameHashCode() {
+		assertEquals("Aa".hashCode(), "BB".hashCode());
+		FrozenTypeTable<String> table = new FrozenTypeTable<>(Map.of("Aa", "first", "BB", "second"));
+
+		assertEquals(table.get("Aa"), "first");
+		assertEquals(table.get("BB"), "second");
+		assertNull(table.get("C#"));
+	}
+
+	@Test
+	public void testManyTypes() {
+		Map<String, Integer> valuesByType = new HashMap<>();
+		for (int i = 0; i < 10000; i++) {
+			valuesByType.put("type" + i, i);
+		}
+
+		FrozenTypeTable<Integer> table = new FrozenTypeTable<>(valuesByType);
+
+		for (int i = 0; i < 10000; i++) {
+			assertEquals(table.get("type" + i), Integer.valueOf(i));
+		}
+		assertNull(table.get("type10000"));
+		assertEquals(table.onlyForTestGetTableSize(), 16384);
+	}
+
+	@Test
+	public void testTableSizeIsSmallestPowerOfTwoAtMostThreeQuartersFull() {
+		assertEquals(createTableWithNoOfTypes(0).onlyForTestGetTableSize(), 2);
+		assertEquals(createTableWithNoOfTypes(1).onlyForTestGetTableSize(), 2);
+		assertEquals(createTableWithNoOfTypes(3).onlyForTestGetTableSize(), 4);
+		assertEquals(createTableWithNoOfTypes(4).onlyForTestGetTableSize(), 8);
+		assertEquals(createTableWithNoOfTypes(6).onlyForTestGetTableSize(), 8);
+		assertEquals(createTableWithNoOfTypes(7).onlyForTestGetTableSize(), 16);
+	}
+
+	private FrozenTypeTable<Integer> createTableWithNoOfTypes(int noOfTypes) {
+		Map<String, Integer> valuesByType = new HashMap<>();
+		for (int i = 0; i < noOfTypes; i++) {
+			valuesByType.put("type" + i, i);
+		}
+		return new FrozenTypeTable<>(valuesByType);
+	}
+
+	@Test
+	public void testTableDoesNotChangeWhenMapChanges() {
+		Map<String, String> valuesByType = new HashMap<>();
+		valuesByType.put("typeOne", "valueOne");
+		FrozenTypeTable<String> table = new FrozenTypeTable<>(valuesByType);
+
+		valuesByType.put("typeOne", "changed");
+		valuesByType.put("typeTwo", "valueTwo");
+
+		assertEquals(table.get("typeOne"), "valueOne");
+		assertNull(table.get("typeTwo"));
+	}
+
+	@Test
+	public void testToMapIsACopyOfAllTypes() {
+		Map<String, String> valuesByType = Map.of("typeOne", "valueOne", "typeTwo", "valueTwo");
+		FrozenTypeTable<String> table = new FrozenTypeTable<>(valuesByType);
+
+		Map<String, String> copy = table.toMap();
+		copy.put("typeThree", "valueThree");
+
+		assertEquals(table.toMap(), valuesByType);
+		assertNull(table.get("typeThree"));
+	}
+}
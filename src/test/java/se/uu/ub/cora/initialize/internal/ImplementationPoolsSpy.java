@@ -0,0 +1,51 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.initialize.internal;
+
+import se.uu.ub.cora.initialize.ImplementationPools;
+import se.uu.ub.cora.initialize.PoolStatistics;
+import se.uu.ub.cora.initialize.SelectType;
+import se.uu.ub.cora.testutils.mcr.MethodCallRecorder;
+import se.uu.ub.cora.testutils.mrv.MethodReturnValues;
+
+public class ImplementationPoolsSpy<T extends SelectType> implements ImplementationPools<T> {
+
+	MethodCallRecorder MCR = new MethodCallRecorder();
+	MethodReturnValues MRV = new MethodReturnValues();
+
+	public ImplementationPoolsSpy() {
+		MCR.useMRV(MRV);
+		MRV.setDefaultReturnValuesSupplier("borrow", SelectTypeSpy::new);
+	}
+
+	@Override
+	public T borrow(String type) {
+		return (T) MCR.addCallAndReturnFromMRV("type", type);
+	}
+
+	@Override
+	public void giveBack(String type, T implementation) {
+		MCR.addCall("type", type, "implementation", implementation);
+	}
+
+	@Override
+	public PoolStatistics getStatistics(String type) {
+		return (PoolStatistics) MCR.addCallAndReturnFromMRV("type", type);
+	}
+}
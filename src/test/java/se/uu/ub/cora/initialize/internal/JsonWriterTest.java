@@ -0,0 +1,70 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.initialize.internal;
+
+import static org.testng.Assert.assertEquals;
+
+import org.testng.annotations.Test;
+
+public class JsonWriterTest {
+
+	@Test
+	public void testEmptyObject() {
+		assertEquals(new JsonWriter().beginObject().endObject().toString(), "{}");
+	}
+
+	@Test
+	public void testNamesAndValuesAreSeparated() {
+		JsonWriter json = new JsonWriter().beginObject();
+		json.name("text").value("some text").name("number").value(42).name("nothing")
+				.value(null);
+
+		assertEquals(json.endObject().toString(),
+				"{\"text\":\"some text\",\"number\":42,\"nothing\":null}");
+	}
+
+	@Test
+	public void testNestedArraysAndObjects() {
+		JsonWriter json = new JsonWriter().beginObject().name("list").beginArray();
+		json.beginObject().name("a").value(1).endObject();
+		json.beginObject().name("b").value(2).endObject();
+		json.endArray().name("empty").beginArray().endArray().endObject();
+
+		assertEquals(json.toString(), "{\"list\":[{\"a\":1},{\"b\":2}],\"empty\":[]}");
+	}
+
+	@Test
+	public void testValuesInArray() {
+		JsonWriter json = new JsonWriter().beginArray().value("one").value(2).value(null)
+				.endArray();
+
+		assertEquals(json.toString(), "[\"one\",2,null]");
+	}
+
+	@Test
+	public void testStringsAreEscaped() {
+		JsonWriter json = new JsonWriter().beginObject();
+		json.name("na\"me").value("quote\" backslash\\ tab\t newline\n return\r"
+				+ " backspace\b formfeed\f other\u0001 unicodeå");
+
+		assertEquals(json.endObject().toString(),
+				"{\"na\\\"me\":\"quote\\\" backslash\\\\ tab\\t newline\\n return\\r"
+						+ " backspace\\b formfeed\\f other\\u0001 unicodeå\"}");
+	}
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.initialize.internal;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ServiceLoader.Provider;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import jdk.jfr.EventType;
+import jdk.jfr.consumer.RecordedEvent;
+import se.uu.ub.cora.initialize.DeferredInstantiation;
+import se.uu.ub.cora.initialize.LoadReport;
+import se.uu.ub.cora.initialize.LoadStrategy;
+
+public class LoadRecordingTest {
+	private LoadRecording recording;
+
+	@BeforeMethod
+	public void beforeMethod() {
+		recording = new LoadRecording("some.Interface", LoadStrategy.SELECT_ORDER);
+	}
+
+	@Test
+	public void testFinishWithoutRecordings() {
+		LoadReport report = recording.finish("some.Implementation");
+
+		assertEquals(report.interfaceName(), "some.Interface");
+		assertSame(report.strategy(), LoadStrategy.SELECT_ORDER);
+		assertEquals(report.chosenClassName(), "some.Implementation");
+		assertEquals(report.candidateCount(), 0);
+		assertTrue(report.instantiations().isEmpty());
+		assertEquals(report.discovery().toNanos(), 0L);
+		assertEquals(report.selection(), report.total());
+	}
+
+	@Test
+	public void testFinishWithoutChosenClass() {
+		LoadReport report = recording.finish(null);
+
+		assertNull(report.chosenClassName());
+	}
+
+	@Test
+	public void testRecordIterationsRecordsInstantiationOfEachCandidate() {
+		Iterable<Object> implementations = recording
+				.recordIterations(List.of(new SelectOrderSpy(), new SelectTypeSpy()));
+
+		Iterator<Object> iterator = implementations.iterator();
+		while (iterator.hasNext()) {
+			iterator.next();
+		}
+		LoadReport report = recording.finish(SelectOrderSpy.class.getName());
+
+		assertEquals(report.candidateCount(), 2);
+		assertEquals(report.instantiations().size(), 2);
+		assertEquals(report.instantiations().get(0).className(), SelectOrderSpy.class.getName());
+		assertEquals(report.instantiations().get(1).className(), SelectTypeSpy.class.getName());
+		assertTimesAddUpToTotal(report);
+	}
+
+	private void assertTimesAddUpToTotal(LoadReport report) {
+		long instantiationNanos = 0;
+		for (var instantiation : report.instantiations()) {
+			instantiationNanos += instantiation.duration().toNanos();
+		}
+		assertEquals(report.discovery().toNanos() + instantiationNanos
+				+ report.selection().toNanos(), report.total().toNanos());
+	}
+
+	@Test
+	public void testRecordIterationsKeepsImplementations() {
+		List<Object> implementations = List.of();
+
+		RecordingIterable<Object> recordingIterable = (RecordingIterable<Object>) recording
+				.recordIterations(implementations);
+
+		assertSame(recordingIterable.onlyForTestGetImplementations(), implementations);
+		assertFalse(recordingIterable.iterator().hasNext());
+	}
+
+	@Test
+	public void testRecordProvidersRecordsOnlyCreatedCandidates() {
+		ProviderSpy<Object> first = new ProviderSpy<>(SelectOrderSpy.class, SelectOrderSpy::new);
+		ProviderSpy<Object> second = new ProviderSpy<>(SelectTypeSpy.class, SelectTypeSpy::new);
+
+		List<Provider<Object>> providers = recording.recordProviders(List.of(first, second));
+		assertSame(providers.get(1).type(), SelectTypeSpy.class);
+		Object created = providers.get(1).get();
+		LoadReport report = recording.finish(SelectTypeSpy.class.getName());
+
+		second.MCR.assertReturn("get", 0, created);
+		first.MCR.assertMethodNotCalled("get");
+		assertEquals(report.candidateCount(), 2);
+		assertEquals(report.instantiations().size(), 1);
+		assertEquals(report.instantiations().get(0).className(), SelectTypeSpy.class.getName());
+		assertTimesAddUpToTotal(report);
+	}
+
+	@Test
+	public void testInstantiationsAfterFinishAreNotRecorded() {
+		List<Provider<Object>> providers = recording.recordProviders(
+				List.of(new ProviderSpy<>(SelectTypeSpy.class, SelectTypeSpy::new)));
+		LoadReport report = recording.finish(null);
+
+		providers.get(0).get();
+
+		assertTrue(report.instantiations().isEmpty());
+		assertTrue(recording.finish(null).instantiations().isEmpty());
+	}
+
+	@Test
+	public void testInstantiationsAfterFinishAreReportedAsDeferred() {
+		List<DeferredInstantiation> deferredInstantiations = new ArrayList<>();
+		recording.reportDeferredInstantiationsTo(deferredInstantiations::add);
+		List<Provider<Object>> providers = recording.recordProviders(
+				List.of(new ProviderSpy<>(SelectTypeSpy.class, SelectTypeSpy::new)));
+		providers.get(0).get();
+		recording.finish(null);
+
+		providers.get(0).get();
+
+		assertEquals(deferredInstantiations.size(), 1);
+		DeferredInstantiation deferred = deferredInstantiations.get(0);
+		assertEquals(deferred.interfaceName(), "some.Interface");
+		assertEquals(deferred.className(), SelectTypeSpy.class.getName());
+		assertTrue(deferred.duration().toNanos() >= 0);
+		assertEquals(recording.finish(null).instantiations().size(), 1);
+	}
+
+	@Test
+	public void testLoadEventIsDisabledByDefault() {
+		assertFalse(EventType.getEventType(LoadEvent.class).isEnabled());
+	}
+
+	@Test
+	public void testLoadEventIsCommittedOnceWhenFinished() {
+		EventRecording eventRecording = EventRecording.startRecordingEvents(LoadEvent.NAME);
+		recording = new LoadRecording("some.Interface", LoadStrategy.DECLARED_SELECT_ORDER);
+		recording.recordProviders(
+				List.of(new ProviderSpy<>(SelectOrderSpy.class, SelectOrderSpy::new)));
+
+		recording.finish("some.Implementation");
+		recording.finish("some.Implementation");
+
+		List<RecordedEvent> events = eventRecording.stopAndGetEvents();
+		assertEquals(events.size(), 1);
+		RecordedEvent event = events.get(0);
+		assertEquals(event.getString("interfaceName"), "some.Interface");
+		assertEquals(event.getString("strategy"), "DECLARED_SELECT_ORDER");
+		assertEquals(event.getString("implementationClass"), "some.Implementation");
+		assertEquals(event.getInt("candidateCount"), 1);
+	}
+}
@@ -18,9 +18,13 @@
  */
 package se.uu.ub.cora.initialize.internal;
 
+import java.util.ServiceLoader.Provider;
+
+import se.uu.ub.cora.initialize.ImplementationPools;
 import se.uu.ub.cora.initialize.InitializedTypes;
 import se.uu.ub.cora.initialize.SelectOrder;
 import se.uu.ub.cora.initialize.SelectType;
+import se.uu.ub.cora.initialize.ThreadConfinedTypes;
 import se.uu.ub.cora.testutils.mcr.MethodCallRecorder;
 import se.uu.ub.cora.testutils.mrv.MethodReturnValues;
 
@@ -33,11 +37,26 @@ public class ModuleStarterSpy implements ModuleStarter {
 		MCR.useMRV(MRV);
 		MRV.setDefaultReturnValuesSupplier("getImplementationBasedOnSelectOrderThrowErrorIfNone",
 				SelectOrderSpy::new);
+		MRV.setDefaultReturnValuesSupplier(
+				"getImplementationBasedOnDeclaredSelectOrderThrowErrorIfNone", SelectOrderSpy::new);
 		MRV.setDefaultReturnValuesSupplier("getImplementationThrowErrorIfNoneOrMoreThanOne",
 				SelectOrderSpy::new);
 		MRV.setDefaultReturnValuesSupplier(
 				"getImplementationBasedOnSelectTypeThrowErrorIfNoneOrMoreThanOneForEachType",
 				InitializedTypesSpy::new);
+		MRV.setDefaultReturnValuesSupplier(
+				"getImplementationBasedOnDeclaredSelectTypeThrowErrorIfNoneOrMoreThanOneForEachType",
+				InitializedTypesSpy::new);
+		MRV.setDefaultReturnValuesSupplier(
+				"getPoolOfEachTypeThrowErrorIfNoneOrMoreThanOneForEachType",
+				ImplementationPoolsSpy::new);
+		MRV.setDefaultReturnValuesSupplier(
+				"getThreadConfinedOfEachTypeThrowErrorIfNoneOrMoreThanOneForEachType",
+				ThreadConfinedTypesSpy::new);
+		MRV.setDefaultReturnValuesSupplier("getProviderBasedOnDeclaredSelectOrderThrowErrorIfNone",
+				() -> new ProviderSpy<>(SelectOrderSpy.class, SelectOrderSpy::new));
+		MRV.setDefaultReturnValuesSupplier("getProviderThrowErrorIfNoneOrMoreThanOne",
+				() -> new ProviderSpy<>(SelectOrderSpy.class, SelectOrderSpy::new));
 	}
 
 	@Override
@@ -47,6 +66,13 @@ public class ModuleStarterSpy implements ModuleStarter {
 				"interfaceClassName", interfaceClassName);
 	}
 
+	@Override
+	public <T extends SelectOrder> T getImplementationBasedOnDeclaredSelectOrderThrowErrorIfNone(
+			Iterable<Provider<T>> providers, String interfaceClassName) {
+		return (T) MCR.addCallAndReturnFromMRV("providers", providers, "interfaceClassName",
+				interfaceClassName);
+	}
+
 	@Override
 	public <T> T getImplementationThrowErrorIfNoneOrMoreThanOne(Iterable<T> implementations,
 			String interfaceClassName) {
@@ -61,4 +87,40 @@ public class ModuleStarterSpy implements ModuleStarter {
 				implementations, "interfaceClassName", interfaceClassName);
 	}
 
+	@Override
+	public <T extends SelectType> InitializedTypes getImplementationBasedOnDeclaredSelectTypeThrowErrorIfNoneOrMoreThanOneForEachType(
+			Iterable<Provider<T>> providers, String interfaceClassName) {
+		return (InitializedTypes) MCR.addCallAndReturnFromMRV("providers", providers,
+				"interfaceClassName", interfaceClassName);
+	}
+
+	@Override
+	public <T extends SelectOrder> Provider<T> getProviderBasedOnDeclaredSelectOrderThrowErrorIfNone(
+			Iterable<Provider<T>> providers, String interfaceClassName) {
+		return (Provider<T>) MCR.addCallAndReturnFromMRV("providers", providers,
+				"interfaceClassName", interfaceClassName);
+	}
+
+	@Override
+	public <T> Provider<T> getProviderThrowErrorIfNoneOrMoreThanOne(
+			Iterable<Provider<T>> providers, String interfaceClassName) {
+		return (Provider<T>) MCR.addCallAndReturnFromMRV("providers", providers,
+				"interfaceClassName", interfaceClassName);
+	}
+
+	@Override
+	public <T extends SelectType> ImplementationPools getPoolOfEachTypeThrowErrorIfNoneOrMoreThanOneForEachType(
+			Iterable<Provider<T>> providers, String interfaceClassName, int maxInstancesPerType) {
+		return (ImplementationPools) MCR.addCallAndReturnFromMRV("providers", providers,
+				"interfaceClassName", interfaceClassName, "maxInstancesPerType",
+				maxInstancesPerType);
+	}
+
+	@Override
+	public <T extends SelectType> ThreadConfinedTypes getThreadConfinedOfEachTypeThrowErrorIfNoneOrMoreThanOneForEachType(
+			Iterable<Provider<T>> providers, String interfaceClassName) {
+		return (ThreadConfinedTypes) MCR.addCallAndReturnFromMRV("providers", providers,
+				"interfaceClassName", interfaceClassName);
+	}
+
 }
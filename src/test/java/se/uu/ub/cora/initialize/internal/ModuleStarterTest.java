@@ -1,6 +1,6 @@
 /*
  * Copyright 2019 Olov McKie
- * Copyright 2019, 2022 Uppsala University Library
+ * Copyright 2019, 2022, 2026 Uppsala University Library
  *
  * This file is part of Cora.
  *
@@ -20,22 +20,40 @@
 package se.uu.ub.cora.initialize.internal;
 
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotSame;
 import static org.testng.Assert.assertSame;
 import static org.testng.Assert.assertTrue;
 import static org.testng.Assert.fail;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+import java.util.ServiceLoader.Provider;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
-import se.uu.ub.cora.initialize.InitializedTypes;
+import se.uu.ub.cora.initialize.DeclaredSelectOrder;
+import se.uu.ub.cora.initialize.DeclaredSelectType;
+import se.uu.ub.cora.initialize.ImplementationPools;
 import se.uu.ub.cora.initialize.InitializationException;
+import se.uu.ub.cora.initialize.InitializedTypes;
+import se.uu.ub.cora.initialize.LoadLogging;
+import se.uu.ub.cora.initialize.PoolStatistics;
 import se.uu.ub.cora.initialize.SelectOrder;
 import se.uu.ub.cora.initialize.SelectType;
+import se.uu.ub.cora.initialize.ThreadConfinedTypes;
+import se.uu.ub.cora.initialize.TypeHandle;
+import jdk.jfr.EventType;
+import jdk.jfr.consumer.RecordedEvent;
 import se.uu.ub.cora.logger.LoggerProvider;
 import se.uu.ub.cora.logger.spies.LoggerFactorySpy;
 import se.uu.ub.cora.logger.spies.LoggerSpy;
@@ -72,6 +90,22 @@ public class ModuleStarterTest {
 				.getImplementationBasedOnSelectOrderThrowErrorIfNone(Collections.emptyList(),
 						SOME_IMPLEMENTING_CLASSNAME);
 
+		Runnable getImplementationBasedOnDeclaredSelectOrderThrowErrorIfNone = () -> moduleStarter
+				.getImplementationBasedOnDeclaredSelectOrderThrowErrorIfNone(
+						Collections.emptyList(), SOME_IMPLEMENTING_CLASSNAME);
+
+		Runnable getProviderBasedOnDeclaredSelectOrderThrowErrorIfNone = () -> moduleStarter
+				.getProviderBasedOnDeclaredSelectOrderThrowErrorIfNone(Collections.emptyList(),
+						SOME_IMPLEMENTING_CLASSNAME);
+
+		Runnable getProviderThrowErrorIfNoneOrMoreThanOne = () -> moduleStarter
+				.getProviderThrowErrorIfNoneOrMoreThanOne(Collections.emptyList(),
+						SOME_IMPLEMENTING_CLASSNAME);
+
+		Runnable getImplementationBasedOnDeclaredSelectTypeThrowErrorIfNoneOrMoreThanOneForEachType = () -> moduleStarter
+				.getImplementationBasedOnDeclaredSelectTypeThrowErrorIfNoneOrMoreThanOneForEachType(
+						Collections.emptyList(), SOME_IMPLEMENTING_CLASSNAME);
+
 		Runnable getImplementationBasedOnSelectTypeThrowErrorIfNoneOrMoreThanOneForEachType = () -> moduleStarter
 				.getImplementationBasedOnSelectTypeThrowErrorIfNoneOrMoreThanOneForEachType(
 						Collections.emptyList(), SOME_IMPLEMENTING_CLASSNAME);
@@ -80,6 +114,13 @@ public class ModuleStarterTest {
 				{ getImplementationThrowErrorIfNoneOrMoreThanOne, SOME_IMPLEMENTING_CLASSNAME },
 				{ getImplementationBasedOnSelectOrderThrowErrorIfNone,
 						SOME_IMPLEMENTING_CLASSNAME },
+				{ getImplementationBasedOnDeclaredSelectOrderThrowErrorIfNone,
+						SOME_IMPLEMENTING_CLASSNAME },
+				{ getProviderBasedOnDeclaredSelectOrderThrowErrorIfNone,
+						SOME_IMPLEMENTING_CLASSNAME },
+				{ getProviderThrowErrorIfNoneOrMoreThanOne, SOME_IMPLEMENTING_CLASSNAME },
+				{ getImplementationBasedOnDeclaredSelectTypeThrowErrorIfNoneOrMoreThanOneForEachType,
+						SOME_IMPLEMENTING_CLASSNAME },
 				{ getImplementationBasedOnSelectTypeThrowErrorIfNoneOrMoreThanOneForEachType,
 						SOME_IMPLEMENTING_CLASSNAME }, };
 	}
@@ -252,6 +293,73 @@ public class ModuleStarterTest {
 		assertEquals(implThree.getTypeToSelectImplementionsBy(), "typeThree");
 	}
 
+	@Test
+	public void testResolvedTypeHandleGivesImplementationForType() {
+		List<SelectType> implementations = createImplementationsWithType("typeOne", "typeTwo");
+		InitializedTypes<SelectType> implForTypes = moduleStarter
+				.getImplementationBasedOnSelectTypeThrowErrorIfNoneOrMoreThanOneForEachType(
+						implementations, SOME_IMPLEMENTING_CLASSNAME);
+
+		TypeHandle handle = implForTypes.resolveType("typeTwo");
+
+		assertEquals(handle.type(), "typeTwo");
+		assertTrue(handle.isResolvedBy(implForTypes));
+		assertSame(implForTypes.getImplementationByHandle(handle), implementations.get(1));
+	}
+
+	@Test
+	public void testResolveUnknownTypeThrowsError() {
+		InitializedTypes<SelectType> implForTypes = moduleStarter
+				.getImplementationBasedOnSelectTypeThrowErrorIfNoneOrMoreThanOneForEachType(
+						createImplementationsWithType("typeOne"), SOME_IMPLEMENTING_CLASSNAME);
+		try {
+			implForTypes.resolveType("unknownType");
+			fail();
+		} catch (Exception e) {
+			assertTrue(e instanceof InitializationException);
+			assertEquals(e.getMessage(), "No implementation found for type: unknownType");
+		}
+	}
+
+	@Test
+	public void testUnknownTypeThrowsError() {
+		InitializedTypes<SelectType> implForTypes = moduleStarter
+				.getImplementationBasedOnSelectTypeThrowErrorIfNoneOrMoreThanOneForEachType(
+						createImplementationsWithType("typeOne"), SOME_IMPLEMENTING_CLASSNAME);
+		try {
+			implForTypes.getImplementationByType("unknownType");
+			fail();
+		} catch (Exception e) {
+			assertTrue(e instanceof InitializationException);
+			assertEquals(e.getMessage(), "No implementation found for type: unknownType");
+		}
+	}
+
+	@Test
+	public void testGetTypes() {
+		InitializedTypes<SelectType> implForTypes = moduleStarter
+				.getImplementationBasedOnSelectTypeThrowErrorIfNoneOrMoreThanOneForEachType(
+						createImplementationsWithType("typeOne", "typeTwo"),
+						SOME_IMPLEMENTING_CLASSNAME);
+
+		assertEquals(implForTypes.getTypes(), Set.of("typeOne", "typeTwo"));
+	}
+
+	@Test
+	public void testTypeHandleFromOtherInitializedTypesIsLookedUpByType() {
+		List<SelectType> implementations = createImplementationsWithType("typeOne", "typeTwo");
+		InitializedTypes<SelectType> implForTypes = moduleStarter
+				.getImplementationBasedOnSelectTypeThrowErrorIfNoneOrMoreThanOneForEachType(
+						implementations, SOME_IMPLEMENTING_CLASSNAME);
+		InitializedTypes<SelectType> otherImplForTypes = moduleStarter
+				.getImplementationBasedOnSelectTypeThrowErrorIfNoneOrMoreThanOneForEachType(
+						createImplementationsWithType("typeTwo"), SOME_IMPLEMENTING_CLASSNAME);
+
+		TypeHandle otherHandle = otherImplForTypes.resolveType("typeTwo");
+
+		assertSame(implForTypes.getImplementationByHandle(otherHandle), implementations.get(1));
+	}
+
 	@Test
 	public void testImplementations_onlyOneOfEachType() {
 		List<SelectType> implementations = createImplementationsWithType("typeOne", "typeTwo",
@@ -269,4 +377,720 @@ public class ModuleStarterTest {
 			loggerSpy.MCR.assertParameters("logFatalUsingMessage", 0, errorMessage);
 		}
 	}
+
+	@Test
+	public void testDeclaredSelectOrderOnlyInstantiatesChosenProvider() {
+		ProviderSpy<SelectOrder> providerOne = new ProviderSpy<>(DeclaredSelectOrderOne.class,
+				DeclaredSelectOrderOne::new);
+		ProviderSpy<SelectOrder> providerTwo = new ProviderSpy<>(DeclaredSelectOrderTwo.class,
+				DeclaredSelectOrderTwo::new);
+		List<Provider<SelectOrder>> providers = List.of(providerOne, providerTwo);
+
+		SelectOrder startedImplementation = moduleStarter
+				.getImplementationBasedOnDeclaredSelectOrderThrowErrorIfNone(providers,
+						SOME_IMPLEMENTING_CLASSNAME);
+
+		providerOne.MCR.assertMethodNotCalled("get");
+		providerTwo.MCR.assertNumberOfCallsToMethod("get", 1);
+		providerTwo.MCR.assertReturn("get", 0, startedImplementation);
+		loggerSpy.MCR.assertParameters("logInfoUsingMessage", 0, "Found "
+				+ DeclaredSelectOrderOne.class.getName()
+				+ " as someImplementingClassname implementation with declared select order 1.");
+		loggerSpy.MCR.assertParameters("logInfoUsingMessage", 1, "Found "
+				+ DeclaredSelectOrderTwo.class.getName()
+				+ " as someImplementingClassname implementation with declared select order 2.");
+		loggerSpy.MCR.assertParameters("logInfoUsingMessage", 2, "Using "
+				+ DeclaredSelectOrderTwo.class.getName()
+				+ " as someImplementingClassname implementation.");
+	}
+
+	@Test
+	public void testProviderWithoutDeclaredSelectOrderIsInstantiatedOnlyOnce() {
+		SelectOrderSpy undeclared = createSelectOrderImplementation(5);
+		ProviderSpy<SelectOrder> undeclaredProvider = new ProviderSpy<>(SelectOrderSpy.class,
+				() -> undeclared);
+		ProviderSpy<SelectOrder> declaredProvider = new ProviderSpy<>(
+				DeclaredSelectOrderTwo.class, DeclaredSelectOrderTwo::new);
+		List<Provider<SelectOrder>> providers = List.of(declaredProvider, undeclaredProvider);
+
+		SelectOrder startedImplementation = moduleStarter
+				.getImplementationBasedOnDeclaredSelectOrderThrowErrorIfNone(providers,
+						SOME_IMPLEMENTING_CLASSNAME);
+
+		assertSame(startedImplementation, undeclared);
+		declaredProvider.MCR.assertMethodNotCalled("get");
+		undeclaredProvider.MCR.assertNumberOfCallsToMethod("get", 1);
+		loggerSpy.MCR.assertParameters("logInfoUsingMessage", 1,
+				"Found se.uu.ub.cora.initialize.internal.SelectOrderSpy as "
+						+ "someImplementingClassname implementation with select order 5.");
+	}
+
+	@Test
+	public void testProviderBasedOnDeclaredSelectOrderInstantiatesNothing() {
+		ProviderSpy<SelectOrder> providerOne = new ProviderSpy<>(DeclaredSelectOrderOne.class,
+				DeclaredSelectOrderOne::new);
+		ProviderSpy<SelectOrder> providerTwo = new ProviderSpy<>(DeclaredSelectOrderTwo.class,
+				DeclaredSelectOrderTwo::new);
+		List<Provider<SelectOrder>> providers = List.of(providerOne, providerTwo);
+
+		Provider<SelectOrder> chosenProvider = moduleStarter
+				.getProviderBasedOnDeclaredSelectOrderThrowErrorIfNone(providers,
+						SOME_IMPLEMENTING_CLASSNAME);
+
+		providerOne.MCR.assertMethodNotCalled("get");
+		providerTwo.MCR.assertMethodNotCalled("get");
+		assertEquals(chosenProvider.type(), DeclaredSelectOrderTwo.class);
+		SelectOrder implementation = chosenProvider.get();
+		providerTwo.MCR.assertReturn("get", 0, implementation);
+		loggerSpy.MCR.assertParameters("logInfoUsingMessage", 2, "Using "
+				+ DeclaredSelectOrderTwo.class.getName()
+				+ " as someImplementingClassname implementation.");
+	}
+
+	@Test
+	public void testProviderBasedOnDeclaredSelectOrderReturnsInstanceCreatedToReadOrder() {
+		SelectOrderSpy undeclared = createSelectOrderImplementation(5);
+		ProviderSpy<SelectOrder> undeclaredProvider = new ProviderSpy<>(SelectOrderSpy.class,
+				() -> undeclared);
+
+		Provider<SelectOrder> chosenProvider = moduleStarter
+				.getProviderBasedOnDeclaredSelectOrderThrowErrorIfNone(List.of(undeclaredProvider),
+						SOME_IMPLEMENTING_CLASSNAME);
+
+		assertSame(chosenProvider.get(), undeclared);
+		undeclaredProvider.MCR.assertNumberOfCallsToMethod("get", 1);
+	}
+
+	@Test
+	public void testProviderThrowErrorIfNoneOrMoreThanOneInstantiatesNothing() {
+		ProviderSpy<SelectOrder> provider = new ProviderSpy<>(DeclaredSelectOrderOne.class,
+				DeclaredSelectOrderOne::new);
+
+		Provider<SelectOrder> chosenProvider = moduleStarter
+				.getProviderThrowErrorIfNoneOrMoreThanOne(List.of(provider),
+						SOME_IMPLEMENTING_CLASSNAME);
+
+		provider.MCR.assertMethodNotCalled("get");
+		assertEquals(chosenProvider.type(), DeclaredSelectOrderOne.class);
+		loggerSpy.MCR.assertParameters("logInfoUsingMessage", 0,
+				"Found " + DeclaredSelectOrderOne.class.getName()
+						+ " as someImplementingClassname implementation.");
+		loggerSpy.MCR.assertParameters("logInfoUsingMessage", 1, "Using "
+				+ DeclaredSelectOrderOne.class.getName()
+				+ " as someImplementingClassname implementation.");
+	}
+
+	@Test
+	public void testProviderThrowErrorIfNoneOrMoreThanOneWithTwoProviders() {
+		List<Provider<SelectOrder>> providers = List.of(
+				new ProviderSpy<>(DeclaredSelectOrderOne.class, DeclaredSelectOrderOne::new),
+				new ProviderSpy<>(DeclaredSelectOrderTwo.class, DeclaredSelectOrderTwo::new));
+		try {
+			moduleStarter.getProviderThrowErrorIfNoneOrMoreThanOne(providers,
+					SOME_IMPLEMENTING_CLASSNAME);
+			fail();
+		} catch (InitializationException e) {
+			String errorMessage = "More than one implementation found for: "
+					+ SOME_IMPLEMENTING_CLASSNAME;
+			assertEquals(e.getMessage(), errorMessage);
+			loggerSpy.MCR.assertParameters("logFatalUsingMessage", 0, errorMessage);
+		}
+	}
+
+	@Test
+	public void testDeclaredSelectTypeCreatesImplementationOnFirstRequest() {
+		ProviderSpy<SelectType> providerOne = new ProviderSpy<>(DeclaredSelectTypeOne.class,
+				DeclaredSelectTypeOne::new);
+		ProviderSpy<SelectType> providerTwo = new ProviderSpy<>(DeclaredSelectTypeTwo.class,
+				DeclaredSelectTypeTwo::new);
+		List<Provider<SelectType>> providers = List.of(providerOne, providerTwo);
+
+		InitializedTypes<SelectType> implForTypes = moduleStarter
+				.getImplementationBasedOnDeclaredSelectTypeThrowErrorIfNoneOrMoreThanOneForEachType(
+						providers, SOME_IMPLEMENTING_CLASSNAME);
+
+		providerOne.MCR.assertMethodNotCalled("get");
+		providerTwo.MCR.assertMethodNotCalled("get");
+		SelectType implTwo = implForTypes.getImplementationByType("typeTwo");
+		SelectType implTwoAgain = implForTypes.getImplementationByType("typeTwo");
+		providerOne.MCR.assertMethodNotCalled("get");
+		providerTwo.MCR.assertNumberOfCallsToMethod("get", 1);
+		providerTwo.MCR.assertReturn("get", 0, implTwo);
+		assertSame(implTwoAgain, implTwo);
+		loggerSpy.MCR.assertParameters("logInfoUsingMessage", 0, "Found "
+				+ DeclaredSelectTypeOne.class.getName()
+				+ " as someImplementingClassname implementation with declared select type typeOne.");
+	}
+
+	@Test
+	public void testDeclaredSelectTypeGetTypesDoesNotCreateImplementations() {
+		ProviderSpy<SelectType> providerOne = new ProviderSpy<>(DeclaredSelectTypeOne.class,
+				DeclaredSelectTypeOne::new);
+		ProviderSpy<SelectType> providerTwo = new ProviderSpy<>(DeclaredSelectTypeTwo.class,
+				DeclaredSelectTypeTwo::new);
+
+		InitializedTypes<SelectType> implForTypes = moduleStarter
+				.getImplementationBasedOnDeclaredSelectTypeThrowErrorIfNoneOrMoreThanOneForEachType(
+						List.of(providerOne, providerTwo), SOME_IMPLEMENTING_CLASSNAME);
+
+		assertEquals(implForTypes.getTypes(), Set.of("typeOne", "typeTwo"));
+		providerOne.MCR.assertMethodNotCalled("get");
+		providerTwo.MCR.assertMethodNotCalled("get");
+	}
+
+	@Test
+	public void testProviderWithoutDeclaredSelectTypeIsInstantiatedOnlyOnce() {
+		SelectTypeSpy undeclared = createSelectTypeImplementation("typeThree");
+		ProviderSpy<SelectType> undeclaredProvider = new ProviderSpy<>(SelectTypeSpy.class,
+				() -> undeclared);
+
+		InitializedTypes<SelectType> implForTypes = moduleStarter
+				.getImplementationBasedOnDeclaredSelectTypeThrowErrorIfNoneOrMoreThanOneForEachType(
+						List.of(undeclaredProvider), SOME_IMPLEMENTING_CLASSNAME);
+
+		assertSame(implForTypes.getImplementationByType("typeThree"), undeclared);
+		undeclaredProvider.MCR.assertNumberOfCallsToMethod("get", 1);
+		loggerSpy.MCR.assertParameters("logInfoUsingMessage", 0,
+				"Found se.uu.ub.cora.initialize.internal.SelectTypeSpy as "
+						+ "someImplementingClassname implementation with select type typeThree.");
+	}
+
+	@Test
+	public void testDeclaredSelectTypeDuplicateTypeFailsWhenLoading() {
+		ProviderSpy<SelectType> providerOne = new ProviderSpy<>(DeclaredSelectTypeOne.class,
+				DeclaredSelectTypeOne::new);
+		ProviderSpy<SelectType> providerDuplicate = new ProviderSpy<>(SelectTypeSpy.class,
+				() -> createSelectTypeImplementation("typeOne"));
+		try {
+			moduleStarter
+					.getImplementationBasedOnDeclaredSelectTypeThrowErrorIfNoneOrMoreThanOneForEachType(
+							List.of(providerOne, providerDuplicate), SOME_IMPLEMENTING_CLASSNAME);
+			fail();
+		} catch (Exception e) {
+			assertTrue(e instanceof InitializationException);
+			String errorMessage = "More than one implementation found for: "
+					+ "someImplementingClassname with type: typeOne";
+			assertEquals(e.getMessage(), errorMessage);
+			loggerSpy.MCR.assertParameters("logFatalUsingMessage", 0, errorMessage);
+		}
+	}
+
+	@Test
+	public void testDeclaredSelectTypeHandleCreatesImplementationOnFirstRequest() {
+		ProviderSpy<SelectType> providerOne = new ProviderSpy<>(DeclaredSelectTypeOne.class,
+				DeclaredSelectTypeOne::new);
+		InitializedTypes<SelectType> implForTypes = moduleStarter
+				.getImplementationBasedOnDeclaredSelectTypeThrowErrorIfNoneOrMoreThanOneForEachType(
+						List.of(providerOne), SOME_IMPLEMENTING_CLASSNAME);
+
+		TypeHandle handle = implForTypes.resolveType("typeOne");
+		providerOne.MCR.assertMethodNotCalled("get");
+		SelectType implOne = implForTypes.getImplementationByHandle(handle);
+
+		providerOne.MCR.assertReturn("get", 0, implOne);
+		assertSame(implForTypes.getImplementationByType("typeOne"), implOne);
+		assertSame(implForTypes.getImplementationByHandle(new TypeHandle(null, "typeOne", 0)),
+				implOne);
+	}
+
+	@Test
+	public void testDeclaredSelectTypeResolveUnknownTypeThrowsError() {
+		InitializedTypes<SelectType> implForTypes = moduleStarter
+				.getImplementationBasedOnDeclaredSelectTypeThrowErrorIfNoneOrMoreThanOneForEachType(
+						List.of(new ProviderSpy<>(DeclaredSelectTypeOne.class,
+								DeclaredSelectTypeOne::new)),
+						SOME_IMPLEMENTING_CLASSNAME);
+		try {
+			implForTypes.resolveType("unknownType");
+			fail();
+		} catch (Exception e) {
+			assertTrue(e instanceof InitializationException);
+			assertEquals(e.getMessage(), "No implementation found for type: unknownType");
+		}
+	}
+
+	@Test
+	public void testDeclaredSelectTypeUnknownTypeThrowsError() {
+		ProviderSpy<SelectType> providerOne = new ProviderSpy<>(DeclaredSelectTypeOne.class,
+				DeclaredSelectTypeOne::new);
+		InitializedTypes<SelectType> implForTypes = moduleStarter
+				.getImplementationBasedOnDeclaredSelectTypeThrowErrorIfNoneOrMoreThanOneForEachType(
+						List.of(providerOne), SOME_IMPLEMENTING_CLASSNAME);
+		try {
+			implForTypes.getImplementationByType("unknownType");
+			fail();
+		} catch (Exception e) {
+			assertTrue(e instanceof InitializationException);
+			assertEquals(e.getMessage(), "No implementation found for type: unknownType");
+		}
+	}
+
+	@Test
+	public void testInstantiationEventsAreDisabledByDefault() {
+		assertFalse(EventType.getEventType(CandidateInstantiationEvent.class).isEnabled());
+	}
+
+	@Test
+	public void testInstantiationEventsForEachCreatedImplementation_selectOrder() {
+		EventRecording recording = EventRecording
+				.startRecordingEvents(CandidateInstantiationEvent.NAME);
+
+		moduleStarter.getImplementationBasedOnSelectOrderThrowErrorIfNone(
+				createImplementationsWithOrder(3, 7), SOME_IMPLEMENTING_CLASSNAME);
+
+		List<RecordedEvent> events = recording.stopAndGetEvents();
+		assertEquals(events.size(), 2);
+		assertInstantiationEvent(events.get(0), SelectOrderSpy.class);
+		assertEquals(events.get(0).getInt("selectOrder"), 3);
+		assertEquals(events.get(1).getInt("selectOrder"), 7);
+	}
+
+	private void assertInstantiationEvent(RecordedEvent event, Class<?> implementationClass) {
+		assertEquals(event.getString("interfaceName"), SOME_IMPLEMENTING_CLASSNAME);
+		assertEquals(event.getString("implementationClass"), implementationClass.getName());
+	}
+
+	@Test
+	public void testInstantiationEventsForEachCreatedImplementation_selectType() {
+		EventRecording recording = EventRecording
+				.startRecordingEvents(CandidateInstantiationEvent.NAME);
+
+		moduleStarter.getImplementationBasedOnSelectTypeThrowErrorIfNoneOrMoreThanOneForEachType(
+				createImplementationsWithType("typeOne"), SOME_IMPLEMENTING_CLASSNAME);
+
+		List<RecordedEvent> events = recording.stopAndGetEvents();
+		assertEquals(events.size(), 1);
+		assertInstantiationEvent(events.get(0), SelectTypeSpy.class);
+		assertEquals(events.get(0).getString("selectType"), "typeOne");
+	}
+
+	@Test
+	public void testInstantiationEventsOnlyForCreatedImplementations_declaredSelectOrder() {
+		List<Provider<SelectOrder>> providers = List.of(
+				new ProviderSpy<>(DeclaredSelectOrderOne.class, DeclaredSelectOrderOne::new),
+				new ProviderSpy<>(DeclaredSelectOrderTwo.class, DeclaredSelectOrderTwo::new));
+		EventRecording recording = EventRecording
+				.startRecordingEvents(CandidateInstantiationEvent.NAME);
+
+		moduleStarter.getImplementationBasedOnDeclaredSelectOrderThrowErrorIfNone(providers,
+				SOME_IMPLEMENTING_CLASSNAME);
+
+		List<RecordedEvent> events = recording.stopAndGetEvents();
+		assertEquals(events.size(), 1);
+		assertInstantiationEvent(events.get(0), DeclaredSelectOrderTwo.class);
+		assertEquals(events.get(0).getInt("selectOrder"), 2);
+	}
+
+	@Test
+	public void testInstantiationEventWhenTypeIsFirstRequested_declaredSelectType() {
+		InitializedTypes<SelectType> implForTypes = moduleStarter
+				.getImplementationBasedOnDeclaredSelectTypeThrowErrorIfNoneOrMoreThanOneForEachType(
+						List.of(new ProviderSpy<>(DeclaredSelectTypeOne.class,
+								DeclaredSelectTypeOne::new)),
+						SOME_IMPLEMENTING_CLASSNAME);
+		EventRecording recording = EventRecording
+				.startRecordingEvents(CandidateInstantiationEvent.NAME);
+
+		implForTypes.getImplementationByType("typeOne");
+
+		List<RecordedEvent> events = recording.stopAndGetEvents();
+		assertEquals(events.size(), 1);
+		assertInstantiationEvent(events.get(0), DeclaredSelectTypeOne.class);
+		assertEquals(events.get(0).getString("selectType"), "typeOne");
+	}
+
+	@Test
+	public void testPoolOfEachTypeCreatesImplementationsUsingProvider() {
+		ProviderSpy<SelectType> providerOne = new ProviderSpy<>(DeclaredSelectTypeOne.class,
+				DeclaredSelectTypeOne::new);
+		ProviderSpy<SelectType> providerTwo = new ProviderSpy<>(DeclaredSelectTypeTwo.class,
+				DeclaredSelectTypeTwo::new);
+
+		ImplementationPools<SelectType> pools = moduleStarter
+				.getPoolOfEachTypeThrowErrorIfNoneOrMoreThanOneForEachType(
+						List.of(providerOne, providerTwo), SOME_IMPLEMENTING_CLASSNAME, 2);
+
+		providerOne.MCR.assertMethodNotCalled("get");
+		SelectType first = pools.borrow("typeOne");
+		SelectType second = pools.borrow("typeOne");
+		providerOne.MCR.assertNumberOfCallsToMethod("get", 2);
+		assertNotSame(second, first);
+		pools.giveBack("typeOne", first);
+		assertSame(pools.borrow("typeOne"), first);
+		providerOne.MCR.assertNumberOfCallsToMethod("get", 2);
+		providerTwo.MCR.assertMethodNotCalled("get");
+		assertEquals(pools.getStatistics("typeOne"), new PoolStatistics("typeOne", 2, 2, 0, 1, 2,
+				0, Duration.ZERO));
+		loggerSpy.MCR.assertParameters("logInfoUsingMessage", 0, "Found "
+				+ DeclaredSelectTypeOne.class.getName()
+				+ " as someImplementingClassname implementation with declared select type typeOne.");
+	}
+
+	@Test
+	public void testPoolOfEachTypeUsesImplementationCreatedToReadType() {
+		SelectTypeSpy undeclared = createSelectTypeImplementation("typeThree");
+		ProviderSpy<SelectType> undeclaredProvider = new ProviderSpy<>(SelectTypeSpy.class,
+				() -> undeclared);
+
+		ImplementationPools<SelectType> pools = moduleStarter
+				.getPoolOfEachTypeThrowErrorIfNoneOrMoreThanOneForEachType(
+						List.of(undeclaredProvider), SOME_IMPLEMENTING_CLASSNAME, 2);
+
+		assertSame(pools.borrow("typeThree"), undeclared);
+		undeclaredProvider.MCR.assertNumberOfCallsToMethod("get", 1);
+		assertEquals(pools.getStatistics("typeThree").hits(), 1);
+	}
+
+	@Test
+	public void testPoolOfEachTypeUnknownType() {
+		ImplementationPools<SelectType> pools = moduleStarter
+				.getPoolOfEachTypeThrowErrorIfNoneOrMoreThanOneForEachType(
+						List.of(new ProviderSpy<>(DeclaredSelectTypeOne.class,
+								DeclaredSelectTypeOne::new)),
+						SOME_IMPLEMENTING_CLASSNAME, 1);
+		try {
+			pools.borrow("typeTwo");
+			fail();
+		} catch (InitializationException e) {
+			assertEquals(e.getMessage(), "No implementation found for type: typeTwo");
+		}
+	}
+
+	@Test
+	public void testPoolOfEachTypeMaxInstancesMustBeAtLeastOne() {
+		try {
+			moduleStarter.getPoolOfEachTypeThrowErrorIfNoneOrMoreThanOneForEachType(
+					List.of(new ProviderSpy<>(DeclaredSelectTypeOne.class,
+							DeclaredSelectTypeOne::new)),
+					SOME_IMPLEMENTING_CLASSNAME, 0);
+			fail();
+		} catch (InitializationException e) {
+			String errorMessage = "Max instances per type must be at least 1 for: "
+					+ "someImplementingClassname, was: 0";
+			assertEquals(e.getMessage(), errorMessage);
+			loggerSpy.MCR.assertParameters("logFatalUsingMessage", 0, errorMessage);
+		}
+	}
+
+	@Test
+	public void testPoolOfEachTypeDuplicateTypeFails() {
+		List<Provider<SelectType>> providers = List.of(
+				new ProviderSpy<>(DeclaredSelectTypeOne.class, DeclaredSelectTypeOne::new),
+				new ProviderSpy<>(DeclaredSelectTypeOne.class, DeclaredSelectTypeOne::new));
+		try {
+			moduleStarter.getPoolOfEachTypeThrowErrorIfNoneOrMoreThanOneForEachType(providers,
+					SOME_IMPLEMENTING_CLASSNAME, 1);
+			fail();
+		} catch (InitializationException e) {
+			assertEquals(e.getMessage(), "More than one implementation found for: "
+					+ "someImplementingClassname with type: typeOne");
+		}
+	}
+
+	@Test
+	public void testThreadConfinedOfEachTypeCreatesImplementationsUsingProvider() {
+		ProviderSpy<SelectType> providerOne = new ProviderSpy<>(DeclaredSelectTypeOne.class,
+				DeclaredSelectTypeOne::new);
+		ProviderSpy<SelectType> providerTwo = new ProviderSpy<>(DeclaredSelectTypeTwo.class,
+				DeclaredSelectTypeTwo::new);
+
+		ThreadConfinedTypes<SelectType> confinedTypes = moduleStarter
+				.getThreadConfinedOfEachTypeThrowErrorIfNoneOrMoreThanOneForEachType(
+						List.of(providerOne, providerTwo), SOME_IMPLEMENTING_CLASSNAME);
+
+		providerOne.MCR.assertMethodNotCalled("get");
+		SelectType implOne = confinedTypes.withImplementation("typeOne", impl -> impl);
+		assertSame(confinedTypes.withImplementation("typeOne", impl -> impl), implOne);
+		providerOne.MCR.assertNumberOfCallsToMethod("get", 1);
+		providerTwo.MCR.assertMethodNotCalled("get");
+		loggerSpy.MCR.assertParameters("logInfoUsingMessage", 0, "Found "
+				+ DeclaredSelectTypeOne.class.getName()
+				+ " as someImplementingClassname implementation with declared select type typeOne.");
+	}
+
+	@Test
+	public void testThreadConfinedOfEachTypeUsesImplementationCreatedToReadType()
+			throws Exception {
+		SelectTypeSpy undeclared = createSelectTypeImplementation("typeThree");
+		ProviderSpy<SelectType> undeclaredProvider = new ProviderSpy<>(SelectTypeSpy.class,
+				() -> undeclared);
+
+		ThreadConfinedTypes<SelectType> confinedTypes = moduleStarter
+				.getThreadConfinedOfEachTypeThrowErrorIfNoneOrMoreThanOneForEachType(
+						List.of(undeclaredProvider), SOME_IMPLEMENTING_CLASSNAME);
+
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			Future<SelectType> used = executor
+					.submit(() -> confinedTypes.withImplementation("typeThree", impl -> impl));
+			assertSame(used.get(5, TimeUnit.SECONDS), undeclared);
+		}
+		undeclaredProvider.MCR.assertNumberOfCallsToMethod("get", 1);
+	}
+
+	@Test
+	public void testThreadConfinedOfEachTypeUnknownType() {
+		ThreadConfinedTypes<SelectType> confinedTypes = moduleStarter
+				.getThreadConfinedOfEachTypeThrowErrorIfNoneOrMoreThanOneForEachType(
+						List.of(new ProviderSpy<>(DeclaredSelectTypeOne.class,
+								DeclaredSelectTypeOne::new)),
+						SOME_IMPLEMENTING_CLASSNAME);
+		assertUnknownTypeFails(() -> confinedTypes.withImplementation("typeTwo", impl -> impl));
+	}
+
+	private void assertUnknownTypeFails(Runnable lookup) {
+		try {
+			lookup.run();
+			fail();
+		} catch (InitializationException e) {
+			assertEquals(e.getMessage(), "No implementation found for type: typeTwo");
+		}
+	}
+
+	@Test
+	public void testThreadConfinedOfEachTypeCloseClosesEachType() {
+		ThreadConfinedTypes<SelectType> confinedTypes = moduleStarter
+				.getThreadConfinedOfEachTypeThrowErrorIfNoneOrMoreThanOneForEachType(
+						List.of(new ProviderSpy<>(DeclaredSelectTypeOne.class,
+								DeclaredSelectTypeOne::new),
+								new ProviderSpy<>(DeclaredSelectTypeTwo.class,
+										DeclaredSelectTypeTwo::new)),
+						SOME_IMPLEMENTING_CLASSNAME);
+
+		confinedTypes.close();
+
+		assertClosed(() -> confinedTypes.withImplementation("typeOne", impl -> impl));
+		assertClosed(() -> confinedTypes.withImplementation("typeTwo", impl -> impl));
+	}
+
+	private void assertClosed(Runnable use) {
+		try {
+			use.run();
+			fail();
+		} catch (InitializationException e) {
+			assertEquals(e.getMessage(), "Thread confined implementations are closed");
+		}
+	}
+
+	@Test
+	public void testThreadConfinedOfEachTypeDuplicateTypeFails() {
+		List<Provider<SelectType>> providers = List.of(
+				new ProviderSpy<>(DeclaredSelectTypeOne.class, DeclaredSelectTypeOne::new),
+				new ProviderSpy<>(DeclaredSelectTypeOne.class, DeclaredSelectTypeOne::new));
+		try {
+			moduleStarter.getThreadConfinedOfEachTypeThrowErrorIfNoneOrMoreThanOneForEachType(
+					providers, SOME_IMPLEMENTING_CLASSNAME);
+			fail();
+		} catch (InitializationException e) {
+			assertEquals(e.getMessage(), "More than one implementation found for: "
+					+ "someImplementingClassname with type: typeOne");
+		}
+	}
+
+	@DeclaredSelectType("typeOne")
+	public static class DeclaredSelectTypeOne implements SelectType {
+		@Override
+		public String getTypeToSelectImplementionsBy() {
+			return "typeOne";
+		}
+	}
+
+	@DeclaredSelectType("typeTwo")
+	public static class DeclaredSelectTypeTwo implements SelectType {
+		@Override
+		public String getTypeToSelectImplementionsBy() {
+			return "typeTwo";
+		}
+	}
+
+	@DeclaredSelectOrder(1)
+	public static class DeclaredSelectOrderOne implements SelectOrder {
+		@Override
+		public int getOrderToSelectImplementionsBy() {
+			return 1;
+		}
+	}
+
+	@DeclaredSelectOrder(2)
+	public static class DeclaredSelectOrderTwo implements SelectOrder {
+		@Override
+		public int getOrderToSelectImplementionsBy() {
+			return 2;
+		}
+	}
+
+	@Test
+	public void testDefaultLoadLoggingIsDetailed() {
+		ModuleStarterImp starter = new ModuleStarterImp();
+
+		assertEquals(starter.onlyForTestGetLoadLogging(), LoadLogging.DETAILED);
+	}
+
+	@Test
+	public void testSummaryWithDetailsLoggingLogsOneInfoLinePerInterface_selectOrder() {
+		moduleStarter = createModuleStarterWithLoadLogging(
+				LoadLogging.SUMMARY_WITH_DETAILS);
+		List<SelectOrder> implementations = createImplementationsWithOrder(0, 2);
+
+		SelectOrder startedImplementation = moduleStarter
+				.getImplementationBasedOnSelectOrderThrowErrorIfNone(implementations,
+						SOME_IMPLEMENTING_CLASSNAME);
+
+		assertSame(startedImplementation, implementations.get(1));
+		loggerSpy.MCR.assertNumberOfCallsToMethod("logDebugUsingMessage", 1);
+		loggerSpy.MCR.assertParameters("logDebugUsingMessage", 0,
+				"Found se.uu.ub.cora.initialize.internal.SelectOrderSpy as "
+						+ "someImplementingClassname implementation with select order 0. "
+						+ "Found se.uu.ub.cora.initialize.internal.SelectOrderSpy as "
+						+ "someImplementingClassname implementation with select order 2.");
+		loggerSpy.MCR.assertNumberOfCallsToMethod("logInfoUsingMessage", 1);
+		assertSummaryMessage("Loaded someImplementingClassname, found: 2, chosen: "
+				+ "se.uu.ub.cora.initialize.internal.SelectOrderSpy, elapsed: ");
+	}
+
+	private ModuleStarter createModuleStarterWithLoadLogging(LoadLogging loadLogging) {
+		ModuleStarterImp starter = new ModuleStarterImp(loadLogging);
+		loggerSpy = (LoggerSpy) loggerFactorySpy.MCR.getReturnValue("factorForClass", 1);
+		return starter;
+	}
+
+	private void assertSummaryMessage(String expectedStart) {
+		String message = (String) loggerSpy.MCR
+				.getParameterForMethodAndCallNumberAndParameter("logInfoUsingMessage", 0, "message");
+		assertTrue(message.startsWith(expectedStart), message);
+		assertTrue(message.endsWith(" ms."), message);
+	}
+
+	@Test
+	public void testSummaryWithDetailsLoggingLogsOneInfoLinePerInterface_onlyOne() {
+		moduleStarter = createModuleStarterWithLoadLogging(
+				LoadLogging.SUMMARY_WITH_DETAILS);
+
+		moduleStarter.getImplementationThrowErrorIfNoneOrMoreThanOne(
+				List.of(new SelectOrderSpy()), SOME_IMPLEMENTING_CLASSNAME);
+
+		loggerSpy.MCR.assertParameters("logDebugUsingMessage", 0,
+				"Found se.uu.ub.cora.initialize.internal.SelectOrderSpy as "
+						+ "someImplementingClassname implementation.");
+		assertSummaryMessage("Loaded someImplementingClassname, found: 1, chosen: "
+				+ "se.uu.ub.cora.initialize.internal.SelectOrderSpy, elapsed: ");
+	}
+
+	@Test
+	public void testSummaryWithDetailsLoggingLogsOneInfoLinePerInterface_declaredSelectOrder() {
+		moduleStarter = createModuleStarterWithLoadLogging(
+				LoadLogging.SUMMARY_WITH_DETAILS);
+		List<Provider<SelectOrder>> providers = List.of(
+				new ProviderSpy<>(DeclaredSelectOrderOne.class, DeclaredSelectOrderOne::new),
+				new ProviderSpy<>(DeclaredSelectOrderTwo.class, DeclaredSelectOrderTwo::new));
+
+		moduleStarter.getImplementationBasedOnDeclaredSelectOrderThrowErrorIfNone(providers,
+				SOME_IMPLEMENTING_CLASSNAME);
+
+		loggerSpy.MCR.assertParameters("logDebugUsingMessage", 0, "Found "
+				+ DeclaredSelectOrderOne.class.getName()
+				+ " as someImplementingClassname implementation with declared select order 1. "
+				+ "Found " + DeclaredSelectOrderTwo.class.getName()
+				+ " as someImplementingClassname implementation with declared select order 2.");
+		assertSummaryMessage("Loaded someImplementingClassname, found: 2, chosen: "
+				+ DeclaredSelectOrderTwo.class.getName() + ", elapsed: ");
+	}
+
+	@Test
+	public void testSummaryWithDetailsLoggingLogsOneInfoLinePerInterface_selectType() {
+		moduleStarter = createModuleStarterWithLoadLogging(
+				LoadLogging.SUMMARY_WITH_DETAILS);
+		List<SelectType> implementations = createImplementationsWithType("typeOne", "typeTwo");
+
+		moduleStarter.getImplementationBasedOnSelectTypeThrowErrorIfNoneOrMoreThanOneForEachType(
+				implementations, SOME_IMPLEMENTING_CLASSNAME);
+
+		loggerSpy.MCR.assertParameters("logDebugUsingMessage", 0,
+				"Found se.uu.ub.cora.initialize.internal.SelectTypeSpy as "
+						+ "someImplementingClassname implementation with select type typeOne. "
+						+ "Found se.uu.ub.cora.initialize.internal.SelectTypeSpy as "
+						+ "someImplementingClassname implementation with select type typeTwo.");
+		loggerSpy.MCR.assertNumberOfCallsToMethod("logInfoUsingMessage", 1);
+		assertSummaryMessage("Loaded someImplementingClassname, found: 2, chosen: "
+				+ "one for each type, elapsed: ");
+	}
+
+	@Test
+	public void testSummaryWithDetailsLoggingLogsOneInfoLinePerInterface_declaredSelectType() {
+		moduleStarter = createModuleStarterWithLoadLogging(
+				LoadLogging.SUMMARY_WITH_DETAILS);
+		List<Provider<SelectType>> providers = List.of(
+				new ProviderSpy<>(DeclaredSelectTypeOne.class, DeclaredSelectTypeOne::new));
+
+		moduleStarter
+				.getImplementationBasedOnDeclaredSelectTypeThrowErrorIfNoneOrMoreThanOneForEachType(
+						providers, SOME_IMPLEMENTING_CLASSNAME);
+
+		loggerSpy.MCR.assertParameters("logDebugUsingMessage", 0, "Found "
+				+ DeclaredSelectTypeOne.class.getName()
+				+ " as someImplementingClassname implementation with declared select type typeOne.");
+		assertSummaryMessage("Loaded someImplementingClassname, found: 1, chosen: "
+				+ "one for each type, elapsed: ");
+	}
+
+	@Test
+	public void testSummaryLoggingLogsOnlyOneInfoLinePerInterface_selectOrder() {
+		moduleStarter = createModuleStarterWithLoadLogging(LoadLogging.SUMMARY);
+		List<SelectOrder> implementations = createImplementationsWithOrder(0, 2);
+
+		SelectOrder startedImplementation = moduleStarter
+				.getImplementationBasedOnSelectOrderThrowErrorIfNone(implementations,
+						SOME_IMPLEMENTING_CLASSNAME);
+
+		assertSame(startedImplementation, implementations.get(1));
+		loggerSpy.MCR.assertMethodNotCalled("logDebugUsingMessage");
+		loggerSpy.MCR.assertNumberOfCallsToMethod("logInfoUsingMessage", 1);
+		assertSummaryMessage("Loaded someImplementingClassname, found: 2, chosen: "
+				+ "se.uu.ub.cora.initialize.internal.SelectOrderSpy, elapsed: ");
+	}
+
+	@Test
+	public void testSummaryLoggingLogsOnlyOneInfoLinePerInterface_declaredSelectOrder() {
+		moduleStarter = createModuleStarterWithLoadLogging(LoadLogging.SUMMARY);
+		List<Provider<SelectOrder>> providers = List.of(
+				new ProviderSpy<>(DeclaredSelectOrderOne.class, DeclaredSelectOrderOne::new),
+				new ProviderSpy<>(DeclaredSelectOrderTwo.class, DeclaredSelectOrderTwo::new));
+
+		moduleStarter.getImplementationBasedOnDeclaredSelectOrderThrowErrorIfNone(providers,
+				SOME_IMPLEMENTING_CLASSNAME);
+
+		loggerSpy.MCR.assertMethodNotCalled("logDebugUsingMessage");
+		assertSummaryMessage("Loaded someImplementingClassname, found: 2, chosen: "
+				+ DeclaredSelectOrderTwo.class.getName() + ", elapsed: ");
+	}
+
+	@Test
+	public void testSummaryLoggingLogsOnlyOneInfoLinePerInterface_selectType() {
+		moduleStarter = createModuleStarterWithLoadLogging(LoadLogging.SUMMARY);
+		List<SelectType> implementations = createImplementationsWithType("typeOne", "typeTwo");
+
+		moduleStarter.getImplementationBasedOnSelectTypeThrowErrorIfNoneOrMoreThanOneForEachType(
+				implementations, SOME_IMPLEMENTING_CLASSNAME);
+
+		loggerSpy.MCR.assertMethodNotCalled("logDebugUsingMessage");
+		assertSummaryMessage("Loaded someImplementingClassname, found: 2, chosen: "
+				+ "one for each type, elapsed: ");
+	}
+
+	@Test
+	public void testSummaryLoggingLogsNothingButFatalWhenLoadingFails() {
+		moduleStarter = createModuleStarterWithLoadLogging(LoadLogging.SUMMARY);
+		List<SelectOrder> implementations = createImplementationsWithOrder(0, 2);
+
+		try {
+			moduleStarter.getImplementationThrowErrorIfNoneOrMoreThanOne(implementations,
+					SOME_IMPLEMENTING_CLASSNAME);
+			fail();
+		} catch (InitializationException e) {
+			loggerSpy.MCR.assertParameters("logFatalUsingMessage", 0,
+					"More than one implementation found for: someImplementingClassname");
+		}
+		loggerSpy.MCR.assertMethodNotCalled("logInfoUsingMessage");
+		loggerSpy.MCR.assertMethodNotCalled("logDebugUsingMessage");
+	}
+
 }
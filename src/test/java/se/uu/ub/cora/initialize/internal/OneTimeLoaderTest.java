@@ -0,0 +1,128 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.initialize.internal;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.fail;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class OneTimeLoaderTest {
+	private OneTimeLoader<Object> loader;
+	private AtomicInteger noOfLoads;
+
+	@BeforeMethod
+	public void beforeMethod() {
+		loader = new OneTimeLoader<>();
+		noOfLoads = new AtomicInteger();
+	}
+
+	@Test
+	public void testLoadIsOnlyDoneOnce() {
+		Object first = loader.getOrLoad(this::countAndCreate);
+		Object second = loader.getOrLoad(this::countAndCreate);
+
+		assertSame(second, first);
+		assertEquals(noOfLoads.get(), 1);
+	}
+
+	private Object countAndCreate() {
+		noOfLoads.incrementAndGet();
+		return new Object();
+	}
+
+	@Test
+	public void testFailedLoadIsRetried() {
+		try {
+			loader.getOrLoad(() -> {
+				throw new RuntimeException("failed");
+			});
+			fail();
+		} catch (RuntimeException e) {
+			assertEquals(e.getMessage(), "failed");
+		}
+		loader.getOrLoad(this::countAndCreate);
+
+		assertEquals(noOfLoads.get(), 1);
+	}
+
+	@Test
+	public void testClearMakesNextCallLoadAgain() {
+		Object first = loader.getOrLoad(this::countAndCreate);
+
+		loader.clear();
+		Object second = loader.getOrLoad(this::countAndCreate);
+
+		assertNotSame(second, first);
+		assertEquals(noOfLoads.get(), 2);
+	}
+
+	@Test
+	public void testLoadIsNotDoneHoldingTheMonitorOfTheLoader() {
+		AtomicBoolean monitorHeld = new AtomicBoolean();
+
+		loader.getOrLoad(() -> {
+			monitorHeld.set(Thread.holdsLock(loader));
+			return new Object();
+		});
+
+		assertFalse(monitorHeld.get());
+	}
+
+	@Test
+	public void testVirtualThreadsLoadingAtTheSameTimeGetSameResult() throws Exception {
+		CountDownLatch loading = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			Future<Object> first = executor
+					.submit(() -> loader.getOrLoad(() -> waitForRelease(loading, release)));
+			loading.await(5, TimeUnit.SECONDS);
+			Future<Object> second = executor.submit(() -> loader.getOrLoad(this::countAndCreate));
+			Thread.sleep(50);
+			assertFalse(second.isDone());
+
+			release.countDown();
+
+			assertSame(second.get(5, TimeUnit.SECONDS), first.get(5, TimeUnit.SECONDS));
+		}
+		assertEquals(noOfLoads.get(), 1);
+	}
+
+	private Object waitForRelease(CountDownLatch loading, CountDownLatch release) {
+		loading.countDown();
+		try {
+			release.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			throw new RuntimeException(e);
+		}
+		return countAndCreate();
+	}
+}
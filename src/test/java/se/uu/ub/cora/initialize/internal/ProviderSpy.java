@@ -0,0 +1,48 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.initialize.internal;
+
+import java.util.ServiceLoader.Provider;
+import java.util.function.Supplier;
+
+import se.uu.ub.cora.testutils.mcr.MethodCallRecorder;
+import se.uu.ub.cora.testutils.mrv.MethodReturnValues;
+
+public class ProviderSpy<T> implements Provider<T> {
+	public MethodCallRecorder MCR = new MethodCallRecorder();
+	public MethodReturnValues MRV = new MethodReturnValues();
+
+	public ProviderSpy(Class<? extends T> type, Supplier<T> instanceSupplier) {
+		MCR.useMRV(MRV);
+		MRV.setDefaultReturnValuesSupplier("type", () -> type);
+		MRV.setDefaultReturnValuesSupplier("get", instanceSupplier);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public Class<? extends T> type() {
+		return (Class<? extends T>) MCR.addCallAndReturnFromMRV();
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public T get() {
+		return (T) MCR.addCallAndReturnFromMRV();
+	}
+}
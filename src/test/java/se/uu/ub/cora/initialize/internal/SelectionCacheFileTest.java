@@ -0,0 +1,220 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.initialize.internal;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.stream.Stream;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import se.uu.ub.cora.initialize.InitializationException;
+import se.uu.ub.cora.initialize.LoadStrategy;
+
+public class SelectionCacheFileTest {
+	private static final String INTERFACE_NAME = "se.uu.ub.cora.SomeInterface";
+	private static final String CLASS_NAME = "se.uu.ub.cora.SomeImplementation";
+	private static final List<String> CANDIDATES = List.of("se.uu.ub.cora.OtherImplementation",
+			CLASS_NAME);
+	private Path directory;
+	private Path file;
+
+	@BeforeMethod
+	public void beforeMethod() throws IOException {
+		directory = Files.createTempDirectory("selectionCache");
+		file = directory.resolve("selections.properties");
+	}
+
+	@AfterMethod
+	public void afterMethod() throws IOException {
+		try (Stream<Path> paths = Files.walk(directory)) {
+			paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+		}
+	}
+
+	private Optional<String> findSelection(SelectionCache cache, LoadStrategy strategy) {
+		return cache.findSelectedClassName(INTERFACE_NAME, strategy, CANDIDATES);
+	}
+
+	private void storeSelection(SelectionCache cache, LoadStrategy strategy) {
+		cache.storeSelectedClassName(INTERFACE_NAME, strategy, CANDIDATES, CLASS_NAME);
+	}
+
+	@Test
+	public void testMissingFileFindsNoSelection() {
+		SelectionCache cache = new SelectionCacheFile(file);
+
+		Optional<String> className = findSelection(cache, LoadStrategy.SELECT_ORDER);
+
+		assertTrue(className.isEmpty());
+		assertFalse(Files.exists(file));
+	}
+
+	@Test
+	public void testStoredSelectionIsFound() {
+		SelectionCache cache = new SelectionCacheFile(file);
+
+		storeSelection(cache, LoadStrategy.SELECT_ORDER);
+
+		assertEquals(findSelection(cache, LoadStrategy.SELECT_ORDER).get(), CLASS_NAME);
+		assertTrue(findSelection(cache, LoadStrategy.ONLY_EXISTING).isEmpty());
+	}
+
+	@Test
+	public void testStoredSelectionIsFoundWhenFileIsReadAgain() {
+		storeSelection(new SelectionCacheFile(file), LoadStrategy.SELECT_ORDER);
+
+		SelectionCache cache = new SelectionCacheFile(file);
+
+		assertEquals(findSelection(cache, LoadStrategy.SELECT_ORDER).get(), CLASS_NAME);
+	}
+
+	@Test
+	public void testSelectionIsNotFoundWhenOtherCandidatesAreFound() {
+		SelectionCache cache = new SelectionCacheFile(file);
+		storeSelection(cache, LoadStrategy.SELECT_ORDER);
+
+		List<String> candidates = List.of("se.uu.ub.cora.AddedImplementation", CLASS_NAME);
+
+		Optional<String> className = cache.findSelectedClassName(INTERFACE_NAME,
+				LoadStrategy.SELECT_ORDER, candidates);
+
+		assertTrue(className.isEmpty());
+	}
+
+	@Test
+	public void testSelectionFromOtherCandidatesIsRewritten() throws IOException {
+		SelectionCache cache = new SelectionCacheFile(file);
+		storeSelection(cache, LoadStrategy.SELECT_ORDER);
+
+		cache.storeSelectedClassName(INTERFACE_NAME, LoadStrategy.SELECT_ORDER,
+				List.of(CLASS_NAME), CLASS_NAME);
+
+		assertEquals(readFile().getProperty("candidates.SELECT_ORDER:" + INTERFACE_NAME),
+				CLASS_NAME);
+		assertTrue(findSelection(cache, LoadStrategy.SELECT_ORDER).isEmpty());
+	}
+
+	@Test
+	public void testFileContainsSelectionAndCandidates() throws IOException {
+		storeSelection(new SelectionCacheFile(file), LoadStrategy.SELECT_ORDER);
+
+		Properties stored = readFile();
+		assertEquals(stored.size(), 2);
+		assertEquals(stored.getProperty("SELECT_ORDER:" + INTERFACE_NAME), CLASS_NAME);
+		assertEquals(stored.getProperty("candidates.SELECT_ORDER:" + INTERFACE_NAME),
+				"se.uu.ub.cora.OtherImplementation," + CLASS_NAME);
+	}
+
+	private Properties readFile() throws IOException {
+		Properties stored = new Properties();
+		try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+			stored.load(reader);
+		}
+		return stored;
+	}
+
+	@Test
+	public void testSameSelectionIsNotRewritten() throws IOException {
+		SelectionCache cache = new SelectionCacheFile(file);
+		storeSelection(cache, LoadStrategy.SELECT_ORDER);
+		Files.writeString(file, "changed outside of cache");
+
+		storeSelection(cache, LoadStrategy.SELECT_ORDER);
+
+		assertEquals(Files.readString(file), "changed outside of cache");
+	}
+
+	@Test
+	public void testUnreadableFileFindsNoSelection() throws IOException {
+		Files.writeString(file, "broken=\\u00zz\n");
+
+		SelectionCache cache = new SelectionCacheFile(file);
+
+		assertTrue(findSelection(cache, LoadStrategy.SELECT_ORDER).isEmpty());
+	}
+
+	@Test
+	public void testMissingDirectoryIsCreatedOnStore() {
+		Path fileInNewDirectory = directory.resolve("new").resolve("selections.properties");
+		SelectionCache cache = new SelectionCacheFile(fileInNewDirectory);
+
+		storeSelection(cache, LoadStrategy.SELECT_ORDER);
+
+		assertTrue(Files.isRegularFile(fileInNewDirectory));
+	}
+
+	@Test
+	public void testStoreThrowsErrorIfFileCanNotBeWritten() throws IOException {
+		Path fileInFile = file.resolve("selections.properties");
+		Files.writeString(file, "");
+		SelectionCache cache = new SelectionCacheFile(fileInFile);
+		try {
+			storeSelection(cache, LoadStrategy.SELECT_ORDER);
+			fail("An exception should have been thrown");
+		} catch (InitializationException e) {
+			assertEquals(e.getMessage(), "Could not write selection cache to: " + fileInFile);
+			assertTrue(e.getCause() instanceof IOException);
+		}
+	}
+
+	@Test
+	public void testTempFileIsRemovedIfFileCanNotBeReplaced() throws IOException {
+		Files.createDirectories(file.resolve("notEmpty"));
+		SelectionCache cache = new SelectionCacheFile(file);
+		try {
+			storeSelection(cache, LoadStrategy.SELECT_ORDER);
+			fail("An exception should have been thrown");
+		} catch (InitializationException e) {
+			assertEquals(e.getMessage(), "Could not write selection cache to: " + file);
+			assertEquals(listFileNames(directory), List.of("selections.properties"));
+		}
+	}
+
+	private List<String> listFileNames(Path directoryToList) throws IOException {
+		try (Stream<Path> paths = Files.list(directoryToList)) {
+			return paths.map(path -> path.getFileName().toString()).toList();
+		}
+	}
+
+	@Test
+	public void testDisabledCacheFindsNothingAndStoresNothing() {
+		SelectionCache cache = SelectionCache.disabled();
+
+		storeSelection(cache, LoadStrategy.SELECT_ORDER);
+
+		assertTrue(findSelection(cache, LoadStrategy.SELECT_ORDER).isEmpty());
+		assertSame(SelectionCache.disabled(), cache);
+	}
+}
@@ -0,0 +1,267 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.initialize.internal;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.lang.ref.WeakReference;
+import java.util.ServiceLoader.Provider;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import se.uu.ub.cora.initialize.InitializationException;
+import se.uu.ub.cora.initialize.SelectType;
+
+public class ThreadConfinedTypeTest {
+	private static final int MAX_GC_ATTEMPTS = 20;
+	private static final int GC_WAIT_MILLIS = 50;
+	private ProviderSpy<SelectType> provider;
+	private ThreadConfinedType<SelectType> confinedType;
+
+	@BeforeMethod
+	public void beforeMethod() {
+		provider = new ProviderSpy<>(SelectTypeSpy.class, SelectTypeSpy::new);
+		confinedType = new ThreadConfinedType<>("someType", provider, 1);
+	}
+
+	@Test
+	public void testPlatformThreadGetsSameImplementationEveryTime() {
+		SelectType first = confinedType.withImplementation(Function.identity());
+
+		assertSame(confinedType.withImplementation(Function.identity()), first);
+		provider.MCR.assertNumberOfCallsToMethod("get", 1);
+	}
+
+	@Test
+	public void testPlatformThreadsGetOneImplementationEach() throws Exception {
+		SelectType onThisThread = confinedType.withImplementation(Function.identity());
+
+		SelectType onOtherThread;
+		try (ExecutorService executor = Executors.newSingleThreadExecutor()) {
+			onOtherThread = executor.submit(() -> confinedType.withImplementation(
+					Function.identity())).get(5, TimeUnit.SECONDS);
+		}
+
+		assertNotSame(onOtherThread, onThisThread);
+		provider.MCR.assertNumberOfCallsToMethod("get", 2);
+	}
+
+	private <R> R runOnVirtualThread(Callable<R> callable) throws Exception {
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			return executor.submit(callable).get(5, TimeUnit.SECONDS);
+		}
+	}
+
+	@Test
+	public void testVirtualThreadsReuseIdleImplementation() throws Exception {
+		SelectType first = runOnVirtualThread(
+				() -> confinedType.withImplementation(Function.identity()));
+		SelectType second = runOnVirtualThread(
+				() -> confinedType.withImplementation(Function.identity()));
+
+		assertSame(second, first);
+		provider.MCR.assertNumberOfCallsToMethod("get", 1);
+		assertEquals(confinedType.onlyForTestGetNoOfIdle(), 1);
+	}
+
+	@Test
+	public void testVirtualThreadsAtTheSameTimeGetDifferentImplementations() throws Exception {
+		confinedType = new ThreadConfinedType<>("someType", provider, 2);
+		SelectType[] inner = new SelectType[1];
+
+		SelectType outer = runOnVirtualThread(() -> confinedType.withImplementation(
+				implementation -> runNestedOnVirtualThread(inner, implementation)));
+
+		assertNotSame(inner[0], outer);
+		provider.MCR.assertNumberOfCallsToMethod("get", 2);
+		assertEquals(confinedType.onlyForTestGetNoOfIdle(), 2);
+	}
+
+	private SelectType runNestedOnVirtualThread(SelectType[] inner, SelectType implementation) {
+		try {
+			inner[0] = runOnVirtualThread(
+					() -> confinedType.withImplementation(Function.identity()));
+		} catch (Exception e) {
+			throw new RuntimeException(e);
+		}
+		return implementation;
+	}
+
+	@Test
+	public void testVirtualThreadWaitsWhenMaxImplementationsAreInUse() throws Exception {
+		CountDownLatch inUse = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			Future<SelectType> first = executor.submit(() -> confinedType
+					.withImplementation(implementation -> holdUntilReleased(implementation, inUse,
+							release)));
+			assertTrue(inUse.await(5, TimeUnit.SECONDS));
+			Future<SelectType> second = executor
+					.submit(() -> confinedType.withImplementation(Function.identity()));
+			Thread.sleep(50);
+			assertFalse(second.isDone());
+
+			release.countDown();
+
+			assertSame(second.get(5, TimeUnit.SECONDS), first.get(5, TimeUnit.SECONDS));
+		}
+		provider.MCR.assertNumberOfCallsToMethod("get", 1);
+	}
+
+	private SelectType holdUntilReleased(SelectType implementation, CountDownLatch inUse,
+			CountDownLatch release) {
+		inUse.countDown();
+		try {
+			release.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			throw new RuntimeException(e);
+		}
+		return implementation;
+	}
+
+	@Test
+	public void testImplementationIsGivenBackWhenWorkFails() throws Exception {
+		try {
+			runOnVirtualThread(() -> confinedType.withImplementation(implementation -> {
+				throw new RuntimeException("work failed");
+			}));
+		} catch (Exception e) {
+			assertEquals(e.getCause().getMessage(), "work failed");
+		}
+
+		assertEquals(confinedType.onlyForTestGetNoOfIdle(), 1);
+	}
+
+	@Test
+	public void testAddCreatedIsIdleForVirtualThreads() throws Exception {
+		SelectTypeSpy created = new SelectTypeSpy();
+
+		confinedType.addCreated(created);
+
+		assertSame(runOnVirtualThread(() -> confinedType.withImplementation(Function.identity())),
+				created);
+		provider.MCR.assertMethodNotCalled("get");
+	}
+
+	@Test
+	public void testUseAfterCloseFails() throws Exception {
+		confinedType.close();
+
+		assertClosed(() -> confinedType.withImplementation(Function.identity()));
+		try {
+			runOnVirtualThread(() -> confinedType.withImplementation(Function.identity()));
+			fail("An exception should have been thrown");
+		} catch (ExecutionException e) {
+			assertEquals(e.getCause().getMessage(), "Thread confined implementations are closed");
+		}
+		provider.MCR.assertMethodNotCalled("get");
+	}
+
+	private void assertClosed(Runnable use) {
+		try {
+			use.run();
+			fail("An exception should have been thrown");
+		} catch (InitializationException e) {
+			assertEquals(e.getMessage(), "Thread confined implementations are closed");
+		}
+	}
+
+	@Test
+	public void testCloseEmptiesHoldersOfAllPlatformThreads() throws Exception {
+		try (ExecutorService pooledThread = Executors.newSingleThreadExecutor()) {
+			pooledThread.submit(() -> confinedType.withImplementation(Function.identity()))
+					.get(5, TimeUnit.SECONDS);
+			confinedType.withImplementation(Function.identity());
+			assertEquals(confinedType.onlyForTestGetNoOfPlatformThreadHolders(), 2);
+
+			confinedType.close();
+
+			assertEquals(confinedType.onlyForTestGetNoOfPlatformThreadHolders(), 0);
+			Future<?> useAfterClose = pooledThread
+					.submit(() -> confinedType.withImplementation(Function.identity()));
+			try {
+				useAfterClose.get(5, TimeUnit.SECONDS);
+				fail("An exception should have been thrown");
+			} catch (ExecutionException e) {
+				assertTrue(e.getCause() instanceof InitializationException);
+			}
+		}
+	}
+
+	@Test
+	public void testCloseIdleForVirtualThreadsAreDropped() throws Exception {
+		runOnVirtualThread(() -> confinedType.withImplementation(Function.identity()));
+
+		confinedType.close();
+
+		assertEquals(confinedType.onlyForTestGetNoOfIdle(), 0);
+	}
+
+	@Test
+	public void testImplementationOfPooledPlatformThreadIsGarbageCollectedAfterClose()
+			throws Exception {
+		try (ExecutorService pooledThread = Executors.newSingleThreadExecutor()) {
+			ThreadConfinedType<SelectType> notRecordingType = new ThreadConfinedType<>(
+					"someType", new NotRecordingProvider(), 1);
+			WeakReference<SelectType> implementation = pooledThread
+					.submit(() -> new WeakReference<>(
+							notRecordingType.withImplementation(Function.identity())))
+					.get(5, TimeUnit.SECONDS);
+
+			notRecordingType.close();
+
+			assertTrue(isGarbageCollected(implementation),
+					"The implementation of a pooled thread should be released by close");
+		}
+	}
+
+	private boolean isGarbageCollected(WeakReference<?> reference) throws InterruptedException {
+		for (int i = 0; i < MAX_GC_ATTEMPTS && reference.get() != null; i++) {
+			System.gc();
+			Thread.sleep(GC_WAIT_MILLIS);
+		}
+		return reference.get() == null;
+	}
+
+	private static class NotRecordingProvider implements Provider<SelectType> {
+		@Override
+		public Class<? extends SelectType> type() {
+			return SelectTypeSpy.class;
+		}
+
+		@Override
+		public SelectType get() {
+			return new SelectTypeSpy();
+		}
+	}
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.initialize.internal;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import se.uu.ub.cora.initialize.InitializationException;
+import se.uu.ub.cora.initialize.PoolStatistics;
+import se.uu.ub.cora.initialize.SelectType;
+
+public class TypePoolTest {
+	private ProviderSpy<SelectType> provider;
+	private TypePool<SelectType> pool;
+	private AtomicInteger noOfCreations;
+
+	@BeforeMethod
+	public void beforeMethod() {
+		noOfCreations = new AtomicInteger();
+		provider = new ProviderSpy<>(SelectTypeSpy.class, SelectTypeSpy::new);
+		pool = new TypePool<>("someType", provider, 1);
+	}
+
+	@Test
+	public void testBorrowWaitsForImplementationWhenPoolIsFull() throws Exception {
+		SelectType borrowed = pool.borrow();
+		CompletableFuture<SelectType> waiting = CompletableFuture.supplyAsync(pool::borrow);
+		waitUntilWaitIsCounted();
+
+		pool.giveBack(borrowed);
+
+		assertSame(waiting.get(5, TimeUnit.SECONDS), borrowed);
+		provider.MCR.assertNumberOfCallsToMethod("get", 1);
+		PoolStatistics statistics = pool.getStatistics();
+		assertEquals(statistics.misses(), 1);
+		assertEquals(statistics.waits(), 1);
+		assertTrue(statistics.waitTime().toNanos() > 0);
+	}
+
+	private void waitUntilWaitIsCounted() throws InterruptedException {
+		long stopAt = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (pool.getStatistics().waits() == 0 && System.nanoTime() < stopAt) {
+			Thread.sleep(1);
+		}
+	}
+
+	@Test
+	public void testFailedCreationDoesNotUseUpPool() {
+		provider = new ProviderSpy<>(SelectTypeSpy.class, this::failFirstCreation);
+		pool = new TypePool<>("someType", provider, 1);
+		try {
+			pool.borrow();
+			fail();
+		} catch (RuntimeException e) {
+			assertEquals(e.getMessage(), "creation failed");
+		}
+
+		assertEquals(pool.getStatistics().created(), 0);
+		assertTrue(pool.borrow() instanceof SelectTypeSpy);
+	}
+
+	private SelectType failFirstCreation() {
+		if (noOfCreations.getAndIncrement() == 0) {
+			throw new RuntimeException("creation failed");
+		}
+		return new SelectTypeSpy();
+	}
+
+	@Test
+	public void testMoreGivenBackThanBorrowed() {
+		pool.giveBack(pool.borrow());
+		try {
+			pool.giveBack(new SelectTypeSpy());
+			fail();
+		} catch (InitializationException e) {
+			assertEquals(e.getMessage(),
+					"More implementations given back than borrowed for type: someType");
+		}
+	}
+
+	@Test
+	public void testAddCreatedIsIdle() {
+		SelectTypeSpy created = new SelectTypeSpy();
+
+		pool.addCreated(created);
+
+		assertEquals(pool.getStatistics(),
+				new PoolStatistics("someType", 1, 1, 1, 0, 0, 0, Duration.ZERO));
+		assertSame(pool.borrow(), created);
+		provider.MCR.assertMethodNotCalled("get");
+	}
+}